@@ -2,18 +2,36 @@
 package consultorio.api.controller;
 
 import consultorio.api.dto.request.AgendamentoRequest;
+import consultorio.api.dto.request.RemanejamentoRequest;
+import consultorio.api.dto.request.ReservaTemporariaRequest;
+import consultorio.api.dto.request.SerieAgendamentoRequest;
 import consultorio.api.dto.response.AgendamentoResponse;
+import consultorio.api.dto.response.AlteracoesResponse;
+import consultorio.api.dto.response.DisponibilidadePeriodoResponse;
+import consultorio.api.dto.response.HorarioDisponivelResponse;
+import consultorio.api.dto.response.RemanejamentoResponse;
+import consultorio.api.dto.response.ReservaTemporariaResponse;
+import consultorio.api.dto.response.SerieAgendamentoResponse;
+import consultorio.config.ListagemVersionada;
 import consultorio.domain.service.AgendamentoService;
+import consultorio.domain.service.BuscaHorarioService;
+import consultorio.domain.service.RemanejamentoService;
+import consultorio.domain.service.SincronizacaoService;
+import consultorio.domain.service.VersaoRecurso;
+import consultorio.domain.service.VersoesColecao.Colecao;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/agendamentos")
@@ -22,6 +40,9 @@ import java.util.List;
 public class AgendamentoController {
 
     private final AgendamentoService agendamentoService;
+    private final BuscaHorarioService buscaHorarioService;
+    private final RemanejamentoService remanejamentoService;
+    private final SincronizacaoService sincronizacaoService;
 
     // ====================== CREATE ======================
     @PostMapping
@@ -30,34 +51,79 @@ public class AgendamentoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/serie")
+    public ResponseEntity<SerieAgendamentoResponse> criarSerie(@Valid @RequestBody SerieAgendamentoRequest request) {
+        SerieAgendamentoResponse response = agendamentoService.criarSerie(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    // Move todos os agendamentos ativos de um dentista indisponível no período
+    @PostMapping("/remanejamento")
+    public ResponseEntity<RemanejamentoResponse> remanejar(@Valid @RequestBody RemanejamentoRequest request) {
+        return ResponseEntity.ok(remanejamentoService.remanejar(request));
+    }
+
+    // ====================== RESERVA TEMPORÁRIA ======================
+    @PostMapping("/holds")
+    public ResponseEntity<ReservaTemporariaResponse> reservarHorario(@Valid @RequestBody ReservaTemporariaRequest request) {
+        ReservaTemporariaResponse response = agendamentoService.reservarHorario(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/holds/{reservaId}/confirmar")
+    public ResponseEntity<AgendamentoResponse> confirmarReserva(@PathVariable UUID reservaId,
+                                                                @Valid @RequestBody AgendamentoRequest request) {
+        AgendamentoResponse response = agendamentoService.confirmarReserva(reservaId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/holds/{reservaId}")
+    public ResponseEntity<Void> liberarReserva(@PathVariable UUID reservaId) {
+        agendamentoService.liberarReserva(reservaId);
+        return ResponseEntity.noContent().build();
+    }
+
     // ====================== READ ======================
+    // Listagens: ETag do contador de alterações (o agendamento embute paciente e dentista).
+    // /hoje, /proximos e as disponibilidades dependem do relógio e das reservas: sem GET condicional
     @GetMapping("/{id}")
-    public ResponseEntity<AgendamentoResponse> buscarPorId(@PathVariable Long id) {
-        AgendamentoResponse response = agendamentoService.findById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<AgendamentoResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        return RespostasCondicionais.obter(webRequest, () -> agendamentoService.versao(id), () -> agendamentoService.findByIdVersionado(id));
     }
 
+    @ListagemVersionada({Colecao.AGENDAMENTOS, Colecao.PACIENTES, Colecao.DENTISTAS})
     @GetMapping
     public ResponseEntity<List<AgendamentoResponse>> listarTodos() {
         return ResponseEntity.ok(agendamentoService.findAll());
     }
 
+    // Sincronização incremental: ?desde=<token da resposta anterior>; sem token, todos os ids (completo=true).
+    // 410 quando o token passou da retenção: refazer sem token
+    @GetMapping("/alteracoes")
+    public ResponseEntity<AlteracoesResponse> alteracoes(@RequestParam(required = false) String desde) {
+        return ResponseEntity.ok(sincronizacaoService.alteracoes(SincronizacaoService.Agregado.AGENDAMENTOS, desde));
+    }
+
+    @ListagemVersionada({Colecao.AGENDAMENTOS, Colecao.PACIENTES, Colecao.DENTISTAS})
     @GetMapping("/dentista/{dentistaId}")
     public ResponseEntity<List<AgendamentoResponse>> porDentista(@PathVariable Long dentistaId) {
         return ResponseEntity.ok(agendamentoService.findByDentista(dentistaId));
     }
 
+    @ListagemVersionada({Colecao.AGENDAMENTOS, Colecao.PACIENTES, Colecao.DENTISTAS})
     @GetMapping("/paciente/{pacienteId}")
     public ResponseEntity<List<AgendamentoResponse>> porPaciente(@PathVariable Long pacienteId) {
         return ResponseEntity.ok(agendamentoService.findByPaciente(pacienteId));
     }
 
+    @ListagemVersionada({Colecao.AGENDAMENTOS, Colecao.PACIENTES, Colecao.DENTISTAS})
     @GetMapping("/data/{data}")
     public ResponseEntity<List<AgendamentoResponse>> porData(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
         return ResponseEntity.ok(agendamentoService.findByData(data));
     }
 
+    @ListagemVersionada({Colecao.AGENDAMENTOS, Colecao.PACIENTES, Colecao.DENTISTAS})
     @GetMapping("/dentista/{dentistaId}/data/{data}")
     public ResponseEntity<List<AgendamentoResponse>> porDentistaEData(
             @PathVariable Long dentistaId,
@@ -65,6 +131,7 @@ public class AgendamentoController {
         return ResponseEntity.ok(agendamentoService.findByDentistaAndData(dentistaId, data));
     }
 
+    @ListagemVersionada({Colecao.AGENDAMENTOS, Colecao.PACIENTES, Colecao.DENTISTAS})
     @GetMapping("/periodo")
     public ResponseEntity<List<AgendamentoResponse>> porPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
@@ -72,6 +139,7 @@ public class AgendamentoController {
         return ResponseEntity.ok(agendamentoService.findByPeriodo(inicio, fim));
     }
 
+    @ListagemVersionada({Colecao.AGENDAMENTOS, Colecao.PACIENTES, Colecao.DENTISTAS})
     @GetMapping("/dentista/{dentistaId}/periodo")
     public ResponseEntity<List<AgendamentoResponse>> porDentistaEPeriodo(
             @PathVariable Long dentistaId,
@@ -104,12 +172,31 @@ public class AgendamentoController {
         return ResponseEntity.ok(agendamentoService.consultarHorariosDisponiveis(dentistaId, data));
     }
 
+    @GetMapping("/disponiveis/{dentistaId}")
+    public ResponseEntity<DisponibilidadePeriodoResponse> disponibilidadePeriodo(
+            @PathVariable Long dentistaId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(agendamentoService.consultarDisponibilidadePeriodo(dentistaId, inicio, fim));
+    }
+
+    @GetMapping("/primeiro-disponivel")
+    public ResponseEntity<List<HorarioDisponivelResponse>> primeiroDisponivel(
+            @RequestParam String especialidade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime aPartirDe,
+            @RequestParam(required = false) Integer duracao,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(buscaHorarioService.buscarPrimeirosHorarios(especialidade, aPartirDe, duracao, limite));
+    }
+
     // ====================== UPDATE ======================
+    // If-Match com o ETag lido: 412 se outra pessoa gravou antes
     @PutMapping("/{id}")
     public ResponseEntity<AgendamentoResponse> atualizar(
             @PathVariable Long id,
-            @Valid @RequestBody AgendamentoRequest request) {
-        AgendamentoResponse response = agendamentoService.update(id, request);
+            @Valid @RequestBody AgendamentoRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AgendamentoResponse response = agendamentoService.update(id, request, VersaoRecurso.aceitas(ifMatch));
         return ResponseEntity.ok(response);
     }
 
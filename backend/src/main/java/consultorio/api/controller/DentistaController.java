@@ -2,11 +2,18 @@ package consultorio.api.controller;
 
 import consultorio.api.dto.request.DentistaRequest;
 import consultorio.api.dto.request.HorarioTrabalhoRequest;
+import consultorio.api.dto.response.AlteracoesResponse;
 import consultorio.api.dto.response.DentistaResponse;
+import consultorio.config.ListagemVersionada;
 import consultorio.domain.service.DentistaService;
+import consultorio.domain.service.SincronizacaoService;
+import consultorio.domain.service.VersaoRecurso;
+import consultorio.domain.service.VersoesColecao.Colecao;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.DayOfWeek;
@@ -21,6 +28,7 @@ import java.util.List;
 public class DentistaController {
 
     private final DentistaService dentistaService;
+    private final SincronizacaoService sincronizacaoService;
 
     // ====================== CRUD BÁSICO ======================
     @PostMapping
@@ -28,21 +36,31 @@ public class DentistaController {
         return ResponseEntity.status(201).body(dentistaService.create(request));
     }
 
+    @ListagemVersionada(Colecao.DENTISTAS)
     @GetMapping
     public ResponseEntity<List<DentistaResponse>> listarTodos() {
         return ResponseEntity.ok(dentistaService.findAll());
     }
 
+    // Sincronização incremental: ?desde=<token da resposta anterior>; sem token, todos os ids (completo=true).
+    // 410 quando o token passou da retenção: refazer sem token
+    @GetMapping("/alteracoes")
+    public ResponseEntity<AlteracoesResponse> alteracoes(@RequestParam(required = false) String desde) {
+        return ResponseEntity.ok(sincronizacaoService.alteracoes(SincronizacaoService.Agregado.DENTISTAS, desde));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<DentistaResponse> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(dentistaService.findById(id));
+    public ResponseEntity<DentistaResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        return RespostasCondicionais.obter(webRequest, () -> dentistaService.versao(id), () -> dentistaService.findByIdVersionado(id));
     }
 
+    // If-Match com o ETag lido: 412 se outra pessoa gravou antes
     @PutMapping("/{id}")
     public ResponseEntity<DentistaResponse> atualizar(
             @PathVariable Long id,
-            @Valid @RequestBody DentistaRequest request) {
-        return ResponseEntity.ok(dentistaService.update(id, request));
+            @Valid @RequestBody DentistaRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(dentistaService.update(id, request, VersaoRecurso.aceitas(ifMatch)));
     }
 
     @PatchMapping("/{id}/ativar")
@@ -62,21 +80,25 @@ public class DentistaController {
     }
 
     // ====================== BUSCAS AVANÇADAS ======================
+    @ListagemVersionada(Colecao.DENTISTAS)
     @GetMapping("/ativos")
     public ResponseEntity<List<DentistaResponse>> ativos() {
         return ResponseEntity.ok(dentistaService.findByStatus(true));
     }
 
+    @ListagemVersionada(Colecao.DENTISTAS)
     @GetMapping("/inativos")
     public ResponseEntity<List<DentistaResponse>> inativos() {
         return ResponseEntity.ok(dentistaService.findByStatus(false));
     }
 
+    @ListagemVersionada(Colecao.DENTISTAS)
     @GetMapping("/especialidade/{especialidade}")
     public ResponseEntity<List<DentistaResponse>> porEspecialidade(@PathVariable String especialidade) {
         return ResponseEntity.ok(dentistaService.findByEspecialidade(especialidade));
     }
 
+    @ListagemVersionada(Colecao.DENTISTAS)
     @GetMapping("/buscar")
     public ResponseEntity<List<DentistaResponse>> buscarPorNome(@RequestParam String nome) {
         return ResponseEntity.ok(dentistaService.findByNomeContaining(nome));
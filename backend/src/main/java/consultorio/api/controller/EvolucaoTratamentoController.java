@@ -1,19 +1,25 @@
 package consultorio.api.controller;
 
 import consultorio.api.dto.request.EvolucaoTratamentoRequest;
+import consultorio.api.dto.response.BuscaEvolucaoResponse;
 import consultorio.api.dto.response.EvolucaoTratamentoResponse;
 import consultorio.domain.service.EvolucaoTratamentoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
-@RequestMapping("/evolucao-tratamento")
+// /api/evolucoes-tratamento é o caminho usado pelo evolucaoTratamentoService.ts do front-end
+@RequestMapping({"/evolucao-tratamento", "/api/evolucoes-tratamento"})
 @RequiredArgsConstructor
 public class EvolucaoTratamentoController {
 
+    public static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
     private final EvolucaoTratamentoService service;
 
     @PostMapping
@@ -21,6 +27,17 @@ public class EvolucaoTratamentoController {
         return ResponseEntity.ok(service.criar(dto));
     }
 
+    // ?q=complicação extração&pacienteId=&inicio=2025-01-01&fim=2025-12-31&limit=20
+    @GetMapping("/busca")
+    public ResponseEntity<List<BuscaEvolucaoResponse>> buscarTexto(
+            @RequestParam String q,
+            @RequestParam(required = false) Long pacienteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.buscarTexto(q, pacienteId, inicio, fim, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EvolucaoTratamentoResponse> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(service.buscarPorId(id));
@@ -31,6 +48,23 @@ public class EvolucaoTratamentoController {
         return ResponseEntity.ok(service.listarTodos());
     }
 
+    // ?cursor=&size=20&resumo=true&caracteres=200 — corpo continua sendo a lista; o cursor da próxima
+    // página vem no cabeçalho X-Proximo-Cursor (ausente na última)
+    @GetMapping("/paciente/{pacienteId}")
+    public ResponseEntity<List<EvolucaoTratamentoResponse>> linhaDoTempo(
+            @PathVariable Long pacienteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean resumo,
+            @RequestParam(required = false) Integer caracteres) {
+        EvolucaoTratamentoService.LinhaDoTempo linha = service.linhaDoTempo(pacienteId, cursor, size, resumo, caracteres);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (linha.proximoCursor() != null) {
+            resposta.header(CABECALHO_PROXIMO_CURSOR, linha.proximoCursor());
+        }
+        return resposta.body(linha.itens());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<EvolucaoTratamentoResponse> atualizar(@PathVariable Long id,
                                                                    @RequestBody EvolucaoTratamentoRequest dto) {
@@ -0,0 +1,59 @@
+package consultorio.api.controller;
+
+import consultorio.domain.service.ExportacaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+// Exportações para relatórios (CSV ou NDJSON), escritas em streaming: a resposta começa antes de a consulta
+// terminar e não passa por List nem pelo mapper. ?formato=csv (padrão) ou ?formato=ndjson
+@RestController
+@RequestMapping("/api/exportacoes")
+@RequiredArgsConstructor
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    // Sem o limite de 3 meses da consulta de período: a memória não cresce com o intervalo
+    @GetMapping("/agendamentos")
+    public ResponseEntity<StreamingResponseBody> agendamentos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) Long dentistaId,
+            @RequestParam(required = false) String formato) {
+        ExportacaoService.Formato f = ExportacaoService.Formato.de(formato);
+        exportacaoService.validarPeriodo(inicio, fim);
+
+        String arquivo = "agendamentos-" + inicio.toLocalDate() + "_" + fim.toLocalDate() + "." + f.getExtensao();
+        return resposta(f, arquivo, saida -> exportacaoService.exportarAgendamentos(inicio, fim, dentistaId, f, saida));
+    }
+
+    @GetMapping("/planos-dentais")
+    public ResponseEntity<StreamingResponseBody> planosDentais(
+            @RequestParam(required = false) Long pacienteId,
+            @RequestParam(required = false) String formato) {
+        ExportacaoService.Formato f = ExportacaoService.Formato.de(formato);
+
+        String arquivo = "planos-dentais" + (pacienteId != null ? "-" + pacienteId : "") + "." + f.getExtensao();
+        return resposta(f, arquivo, saida -> exportacaoService.exportarPlanosDentais(pacienteId, f, saida));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> resposta(ExportacaoService.Formato formato, String arquivo,
+                                                                  StreamingResponseBody corpo) {
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(formato.getContentType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+}
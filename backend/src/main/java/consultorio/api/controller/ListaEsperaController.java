@@ -0,0 +1,39 @@
+package consultorio.api.controller;
+
+import consultorio.api.dto.request.ListaEsperaRequest;
+import consultorio.api.dto.response.ListaEsperaResponse;
+import consultorio.domain.entity.enums.StatusListaEspera;
+import consultorio.domain.service.ListaEsperaService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/lista-espera")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ListaEsperaController {
+
+    private final ListaEsperaService listaEsperaService;
+
+    @PostMapping
+    public ResponseEntity<ListaEsperaResponse> criar(@Valid @RequestBody ListaEsperaRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(listaEsperaService.criar(request));
+    }
+
+    // AGUARDANDO por padrão; OFERTADO traz as entradas com reserva temporária criada
+    @GetMapping
+    public ResponseEntity<List<ListaEsperaResponse>> listar(@RequestParam(required = false) StatusListaEspera status) {
+        return ResponseEntity.ok(listaEsperaService.listar(status));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelar(@PathVariable Long id) {
+        listaEsperaService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
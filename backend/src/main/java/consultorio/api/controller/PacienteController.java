@@ -1,22 +1,53 @@
 package consultorio.api.controller;
 
 import consultorio.api.dto.request.EvolucaoTratamentoRequest;
+import consultorio.api.dto.request.PacienteAnamneseRequest;
+import consultorio.api.dto.request.PacienteExameClinicoRequest;
+import consultorio.api.dto.request.PacienteFiltroRequest;
 import consultorio.api.dto.request.PacienteRequest;
+import consultorio.api.dto.request.PacienteResponsavelRequest;
 import consultorio.api.dto.request.PlanoDentalRequest;
 
+import consultorio.api.dto.response.AlteracoesResponse;
+import consultorio.api.dto.response.CoorteResponse;
 import consultorio.api.dto.response.EvolucaoTratamentoResponse;
+import consultorio.api.dto.response.OdontogramaResponse;
+import consultorio.api.dto.response.PacienteAnamneseResponse;
+import consultorio.api.dto.response.PacienteCoreResponse;
+import consultorio.api.dto.response.PacienteExameClinicoResponse;
 import consultorio.api.dto.response.PacienteResponse;
+import consultorio.api.dto.response.PacienteResponsavelResponse;
+import consultorio.api.dto.response.PacienteResumoResponse;
+import consultorio.api.dto.response.PaginaResponse;
+import consultorio.api.dto.response.ProntuarioCompletoResponse;
+import consultorio.api.dto.response.SugestaoPacienteResponse;
 
+import consultorio.api.dto.response.PlanoDentalPacienteResponse;
 import consultorio.api.dto.response.PlanoDentalResponse;
+import consultorio.config.ListagemVersionada;
 import consultorio.domain.repository.projection.PacienteResumoProjection;
 
+import consultorio.domain.service.CoorteService;
+import consultorio.domain.service.PacienteSecoesService;
 import consultorio.domain.service.PacienteService;
+import consultorio.domain.service.PlanoDentalService;
+import consultorio.domain.service.ProntuarioCompletoService;
+import consultorio.domain.service.SincronizacaoService;
+import consultorio.domain.service.VersaoRecurso;
+import consultorio.domain.service.VersoesColecao.Colecao;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +56,11 @@ import java.util.List;
 public class PacienteController {
 
     private final PacienteService pacienteService;
+    private final PacienteSecoesService pacienteSecoesService;
+    private final CoorteService coorteService;
+    private final PlanoDentalService planoDentalService;
+    private final ProntuarioCompletoService prontuarioCompletoService;
+    private final SincronizacaoService sincronizacaoService;
 
     @PostMapping
     public ResponseEntity<PacienteResponse> create(@Valid @RequestBody PacienteRequest request) {
@@ -32,22 +68,94 @@ public class PacienteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @ListagemVersionada(Colecao.PACIENTES)
     @GetMapping
     public ResponseEntity<List<PacienteResponse>> findAll() {
         List<PacienteResponse> responses = pacienteService.findAll();
         return ResponseEntity.ok(responses);
     }
 
+    // ?nome=&cpf=&prontuario=&status=&page=0&size=20&sort=nome,asc (&cursor= para seguir em páginas profundas)
+    @ListagemVersionada(Colecao.PACIENTES)
+    @GetMapping("/paginado")
+    public ResponseEntity<PaginaResponse<PacienteResumoResponse>> findPaginado(
+            @ModelAttribute PacienteFiltroRequest filtro,
+            @PageableDefault(size = 20, sort = "nome", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam(required = false) String cursor) {
+        PaginaResponse<PacienteResumoResponse> response = pacienteService.findPaginado(filtro, pageable, cursor);
+        return ResponseEntity.ok(response);
+    }
+
+    @ListagemVersionada(Colecao.PACIENTES)
     @GetMapping("/resumo")
     public ResponseEntity<List<PacienteResumoProjection>> findAllResumo() {
         List<PacienteResumoProjection> responses = pacienteService.findAllResumo();
         return ResponseEntity.ok(responses);
     }
 
+    // Sincronização incremental: ?desde=<token da resposta anterior>; sem token, todos os ids (completo=true).
+    // 410 quando o token passou da retenção: refazer sem token
+    @GetMapping("/alteracoes")
+    public ResponseEntity<AlteracoesResponse> alteracoes(@RequestParam(required = false) String desde) {
+        return ResponseEntity.ok(sincronizacaoService.alteracoes(SincronizacaoService.Agregado.PACIENTES, desde));
+    }
+
+    // ETag forte da versão do paciente; If-None-Match igual responde 304 só com a consulta de versão
     @GetMapping("/{id}")
-    public ResponseEntity<PacienteResponse> findById(@PathVariable Long id) {
-        PacienteResponse response = pacienteService.findById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PacienteResponse> findById(@PathVariable Long id, WebRequest webRequest) {
+        return RespostasCondicionais.obter(webRequest, () -> pacienteService.versao(id), () -> pacienteService.findByIdVersionado(id));
+    }
+
+    @GetMapping("/{id}/core")
+    public ResponseEntity<PacienteCoreResponse> findCoreById(@PathVariable Long id, WebRequest webRequest) {
+        return RespostasCondicionais.obter(webRequest, () -> pacienteService.versao(id), () -> pacienteService.findCoreByIdVersionado(id));
+    }
+
+    // ====================== SEÇÕES ======================
+    @GetMapping("/{id}/responsavel")
+    public ResponseEntity<PacienteResponsavelResponse> findResponsavel(@PathVariable Long id) {
+        return ResponseEntity.ok(pacienteSecoesService.findResponsavel(id));
+    }
+
+    @PutMapping("/{id}/responsavel")
+    public ResponseEntity<PacienteResponsavelResponse> updateResponsavel(
+            @PathVariable Long id,
+            @RequestBody PacienteResponsavelRequest request) {
+        return ResponseEntity.ok(pacienteSecoesService.updateResponsavel(id, request));
+    }
+
+    @GetMapping("/{id}/anamnese")
+    public ResponseEntity<PacienteAnamneseResponse> findAnamnese(@PathVariable Long id) {
+        return ResponseEntity.ok(pacienteSecoesService.findAnamnese(id));
+    }
+
+    @PutMapping("/{id}/anamnese")
+    public ResponseEntity<PacienteAnamneseResponse> updateAnamnese(
+            @PathVariable Long id,
+            @RequestBody PacienteAnamneseRequest request) {
+        return ResponseEntity.ok(pacienteSecoesService.updateAnamnese(id, request));
+    }
+
+    @GetMapping("/{id}/exame-clinico")
+    public ResponseEntity<PacienteExameClinicoResponse> findExameClinico(@PathVariable Long id) {
+        return ResponseEntity.ok(pacienteSecoesService.findExameClinico(id));
+    }
+
+    @PutMapping("/{id}/exame-clinico")
+    public ResponseEntity<PacienteExameClinicoResponse> updateExameClinico(
+            @PathVariable Long id,
+            @RequestBody PacienteExameClinicoRequest request) {
+        return ResponseEntity.ok(pacienteSecoesService.updateExameClinico(id, request));
+    }
+
+    @GetMapping("/{id}/plano-dental")
+    public ResponseEntity<PlanoDentalPacienteResponse> findPlanoDental(@PathVariable Long id) {
+        return ResponseEntity.ok(planoDentalService.buscarPorPaciente(id));
+    }
+
+    @GetMapping("/{id}/odontograma")
+    public ResponseEntity<OdontogramaResponse> findOdontograma(@PathVariable Long id) {
+        return ResponseEntity.ok(planoDentalService.odontograma(id));
     }
 
     @GetMapping("/prontuario/{prontuario}")
@@ -56,17 +164,33 @@ public class PacienteController {
         return ResponseEntity.ok(response);
     }
 
+    // Cadastro, plano dental, evoluções (?page=&size=) e próximos agendamentos numa chamada.
+    // If-None-Match com o ETag anterior responde 304 só com a consulta de versão
+    @GetMapping("/prontuario/{prontuario}/completo")
+    public ResponseEntity<ProntuarioCompletoResponse> findProntuarioCompleto(
+            @PathVariable String prontuario,
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
+        ProntuarioCompletoService.VersaoProntuario versao = prontuarioCompletoService.versao(prontuario, pageable);
+        if (webRequest.checkNotModified(versao.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versao.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(versao.etag()).body(prontuarioCompletoService.carregar(versao));
+    }
+
     @GetMapping("/cpf/{cpf}")
     public ResponseEntity<PacienteResponse> findByCpf(@PathVariable String cpf) {
         PacienteResponse response = pacienteService.findByCpf(cpf);
         return ResponseEntity.ok(response);
     }
 
+    // If-Match com o ETag lido: 412 se outra pessoa gravou antes
     @PutMapping("/{id}")
     public ResponseEntity<PacienteResponse> update(
             @PathVariable Long id,
-            @Valid @RequestBody PacienteRequest request) {
-        PacienteResponse response = pacienteService.update(id, request);
+            @Valid @RequestBody PacienteRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PacienteResponse response = pacienteService.update(id, request, VersaoRecurso.aceitas(ifMatch));
         return ResponseEntity.ok(response);
     }
 
@@ -88,12 +212,14 @@ public class PacienteController {
         return ResponseEntity.ok(response);
     }
 
+    @ListagemVersionada(Colecao.PACIENTES)
     @GetMapping("/status/{status}")
     public ResponseEntity<List<PacienteResponse>> findByStatus(@PathVariable Boolean status) {
         List<PacienteResponse> responses = pacienteService.findByStatus(status);
         return ResponseEntity.ok(responses);
     }
 
+    @ListagemVersionada(Colecao.PACIENTES)
     @GetMapping("/search")
     public ResponseEntity<List<PacienteResponse>> findByNomeContaining(
             @RequestParam String nome) {
@@ -101,6 +227,38 @@ public class PacienteController {
         return ResponseEntity.ok(responses);
     }
 
+    // Nome sem acento/caixa, tolerante a erros de digitação; os mais parecidos primeiro
+    @ListagemVersionada(Colecao.PACIENTES)
+    @GetMapping("/busca")
+    public ResponseEntity<List<PacienteResumoProjection>> buscarPorNome(
+            @RequestParam String termo,
+            @RequestParam(required = false) Integer limite) {
+        List<PacienteResumoProjection> responses = pacienteService.buscarPorNome(termo, limite);
+        return ResponseEntity.ok(responses);
+    }
+
+    // Autocompletar: prefixo de nome (sem acento), CPF ou prontuário, sem consulta ao banco
+    @ListagemVersionada(Colecao.PACIENTES)
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<SugestaoPacienteResponse>> sugerir(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(pacienteService.sugerir(q, limit));
+    }
+
+    // Triagem de risco: ?flags=problemasHemorragia|problemasAnestesia,diabetes (vírgula = E, '|' = OU),
+    // opcionalmente cruzada com a agenda do período (inicio/fim inclusivos, dentistaId)
+    @ListagemVersionada({Colecao.PACIENTES, Colecao.AGENDAMENTOS})
+    @GetMapping("/coorte")
+    public ResponseEntity<CoorteResponse> coorte(
+            @RequestParam String flags,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) Long dentistaId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(coorteService.coorte(flags, inicio, fim, dentistaId, limit));
+    }
+
     @GetMapping("/exists/cpf/{cpf}")
     public ResponseEntity<Boolean> existsByCpf(@PathVariable String cpf) {
         boolean exists = pacienteService.existsByCpf(cpf);
@@ -0,0 +1,71 @@
+package consultorio.api.controller;
+
+import consultorio.domain.service.VersaoRecurso;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// GET condicional de um registro. Com If-None-Match/If-Modified-Since a versão é lida antes e o 304 sai
+// sem carregar nem mapear a entidade; sem eles a versão vem da própria entidade carregada (uma consulta só).
+// Registro inexistente segue para o carregamento, que responde o erro de sempre.
+final class RespostasCondicionais {
+
+    // no-cache: o navegador guarda a resposta, mas sempre revalida (o padrão do Spring Security é no-store)
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private RespostasCondicionais() {
+    }
+
+    static <T> ResponseEntity<T> obter(WebRequest webRequest,
+                                       Supplier<Optional<VersaoRecurso>> versao,
+                                       Supplier<VersaoRecurso.Versionado<T>> carregar) {
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifNoneMatch != null || ifModifiedSince != null) {
+            Optional<VersaoRecurso> atual = versao.get();
+            // o 304 é decidido aqui, sem checkNotModified: os cabeçalhos de validação saem só pelo ResponseEntity
+            if (atual.isPresent() && naoModificado(atual.get(), ifNoneMatch, ifModifiedSince)) {
+                return comValidadores(ResponseEntity.status(HttpStatus.NOT_MODIFIED), atual.get()).build();
+            }
+        }
+        VersaoRecurso.Versionado<T> carregado = carregar.get();
+        return comValidadores(ResponseEntity.ok(), carregado.versao()).body(carregado.corpo());
+    }
+
+    private static ResponseEntity.BodyBuilder comValidadores(ResponseEntity.BodyBuilder resposta, VersaoRecurso versao) {
+        resposta.cacheControl(REVALIDAR).eTag(versao.etag());
+        if (versao.ultimaAlteracao() > 0) {
+            resposta.lastModified(versao.ultimaAlteracao());
+        }
+        return resposta;
+    }
+
+    // RFC 9110: If-None-Match tem precedência e usa comparação fraca (W/ ignorado);
+    // If-Modified-Since só vale sem ele, na resolução de segundos do cabeçalho
+    private static boolean naoModificado(VersaoRecurso atual, String ifNoneMatch, String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            for (String etag : ifNoneMatch.split(",")) {
+                String tag = etag.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(atual.etag())) return true;
+            }
+            return false;
+        }
+        if (atual.ultimaAlteracao() <= 0) return false;
+        try {
+            long desde = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return atual.ultimaAlteracao() / 1000 <= desde / 1000;
+        } catch (DateTimeParseException e) {
+            return false; // data inválida: o cabeçalho é ignorado
+        }
+    }
+}
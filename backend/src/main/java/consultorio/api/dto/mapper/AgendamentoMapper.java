@@ -2,36 +2,30 @@ package consultorio.api.dto.mapper;
 
 import consultorio.api.dto.request.AgendamentoRequest;
 import consultorio.api.dto.response.AgendamentoResponse;
+import consultorio.api.dto.response.PacienteResumoResponse;
 import consultorio.domain.entity.Agendamento;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import consultorio.domain.entity.Paciente;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class AgendamentoMapper {
+// paciente e dentista são resolvidos pelo service a partir dos ids do request
+@Mapper(config = MapStructConfig.class, uses = DentistaMapper.class)
+public interface AgendamentoMapper {
 
-    private final ModelMapper mapper;
+    Agendamento toEntity(AgendamentoRequest request);
 
-    public Agendamento toEntity(AgendamentoRequest request) {
-        return mapper.map(request, Agendamento.class);
-    }
+    AgendamentoResponse toEntityResponse(Agendamento agendamento);
 
-    public AgendamentoResponse toEntityResponse(Agendamento agendamento) {
-        return mapper.map(agendamento, AgendamentoResponse.class);
-    }
+    List<AgendamentoResponse> toEntityResponseList(List<Agendamento> agendamentos);
 
-    public List<AgendamentoResponse> toEntityResponseList(List<Agendamento> agendamentos) {
-        return agendamentos.stream()
-                .map(this::toEntityResponse)
-                .collect(Collectors.toList());
-    }
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(AgendamentoRequest request, @MappingTarget Agendamento agendamento);
 
-    public void updateFromRequest(AgendamentoRequest request, Agendamento agendamento) {
-        Agendamento tempAgendamento = toEntity(request);
-        mapper.map(tempAgendamento, agendamento);
-    }
-}
\ No newline at end of file
+    @Mapping(target = "criadoEm", source = "createdAt")
+    PacienteResumoResponse toPacienteResumo(Paciente paciente);
+}
@@ -1,39 +1,32 @@
 package consultorio.api.dto.mapper;
 
-
 import consultorio.api.dto.request.DentistaRequest;
+import consultorio.api.dto.request.HorarioTrabalhoRequest;
 import consultorio.api.dto.response.DentistaResponse;
+import consultorio.api.dto.response.HorarioTrabalhoResponse;
 import consultorio.domain.entity.Dentista;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import consultorio.domain.entity.HorarioTrabalho;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class DentistaMapper {
+@Mapper(config = MapStructConfig.class)
+public interface DentistaMapper {
 
-    private final ModelMapper mapper;
+    Dentista toEntity(DentistaRequest request);
 
-    public Dentista toEntity(DentistaRequest request){
-        return mapper.map(request, Dentista.class);
-    }
+    DentistaResponse toEntityResponse(Dentista dentista);
 
-    public DentistaResponse toEntityResponse(Dentista dentista){
-        return mapper.map(dentista, DentistaResponse.class);
-    }
+    List<DentistaResponse> toEntityResponseList(List<Dentista> dentistas);
 
-    public List<DentistaResponse> toEntityResponseList(List<Dentista> dentistas){
-        return dentistas.stream()
-                .map(this::toEntityResponse)
-                .collect(Collectors.toList());
-    }
+    // horarios informados substituem a coleção atual; ausentes (null) mantêm os existentes
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(DentistaRequest request, @MappingTarget Dentista dentista);
 
-    public void updateFromRequest(DentistaRequest request, Dentista dentista){
-        Dentista tempDentista = toEntity(request);
+    HorarioTrabalho toHorario(HorarioTrabalhoRequest request);
 
-        mapper.map(tempDentista, dentista);
-    }
+    HorarioTrabalhoResponse toHorarioResponse(HorarioTrabalho horario);
 }
@@ -3,35 +3,26 @@ package consultorio.api.dto.mapper;
 import consultorio.api.dto.request.EvolucaoTratamentoRequest;
 import consultorio.api.dto.response.EvolucaoTratamentoResponse;
 import consultorio.domain.entity.EvolucaoTratamento;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-@Component
-@RequiredArgsConstructor
-public class EvolucaoTratamentoMapper {
+// paciente é resolvido pelo service a partir de pacienteId
+@Mapper(config = MapStructConfig.class)
+public interface EvolucaoTratamentoMapper {
 
-    private final ModelMapper mapper;
+    EvolucaoTratamento toEntity(EvolucaoTratamentoRequest request);
 
-    public EvolucaoTratamento toEntity(EvolucaoTratamentoRequest request){
-        return mapper.map(request, EvolucaoTratamento.class);
-    }
+    @Mapping(target = "pacienteId", source = "paciente.id")
+    @Mapping(target = "nomePaciente", source = "paciente.nome")
+    EvolucaoTratamentoResponse toResponse(EvolucaoTratamento evolucao);
 
-    public EvolucaoTratamentoResponse toResponse(EvolucaoTratamento evolucao){
-        return mapper.map(evolucao, EvolucaoTratamentoResponse.class);
-    }
+    List<EvolucaoTratamentoResponse> toResponseList(List<EvolucaoTratamento> evolucoes);
 
-    public List<EvolucaoTratamentoResponse> toResponseList(List<EvolucaoTratamento> evolucoes){
-        return evolucoes.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
-
-    public void updateFromRequest(EvolucaoTratamentoRequest request, EvolucaoTratamento evolucao){
-        EvolucaoTratamento temp = toEntity(request);
-        mapper.map(temp, evolucao);
-    }
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(EvolucaoTratamentoRequest request, @MappingTarget EvolucaoTratamento evolucao);
 }
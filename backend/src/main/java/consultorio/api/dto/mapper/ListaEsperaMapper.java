@@ -0,0 +1,19 @@
+package consultorio.api.dto.mapper;
+
+import consultorio.api.dto.response.ListaEsperaResponse;
+import consultorio.domain.entity.ListaEspera;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(config = MapStructConfig.class)
+public interface ListaEsperaMapper {
+
+    @Mapping(target = "pacienteId", source = "paciente.id")
+    @Mapping(target = "pacienteNome", source = "paciente.nome")
+    @Mapping(target = "dentistaId", source = "dentista.id")
+    ListaEsperaResponse toResponse(ListaEspera espera);
+
+    List<ListaEsperaResponse> toResponseList(List<ListaEspera> esperas);
+}
@@ -0,0 +1,19 @@
+package consultorio.api.dto.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.NullValueCheckStrategy;
+import org.mapstruct.ReportingPolicy;
+
+// Configuração comum dos mappers: implementações geradas em tempo de compilação (sem reflexão),
+// registradas como beans do Spring. Como no ModelMapper (STRICT + skipNull), campos sem correspondência
+// são ignorados e valores nulos não sobrescrevem os padrões da entidade
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE,
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+)
+public interface MapStructConfig {
+}
@@ -1,39 +1,32 @@
 package consultorio.api.dto.mapper;
 
-
 import consultorio.api.dto.request.PacienteRequest;
+import consultorio.api.dto.response.PacienteCoreResponse;
 import consultorio.api.dto.response.PacienteResponse;
 import consultorio.domain.entity.Paciente;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
-
-import java.util.List;
-import java.util.stream.Collectors;
-
-@Component
-@RequiredArgsConstructor
-public class PacienteMapper {
-
-    private final ModelMapper mapper;
-
-    public Paciente toEntity(PacienteRequest request){
-        return mapper.map(request, Paciente.class);
-    }
-
-    public PacienteResponse toEntityResponse(Paciente paciente){
-        return mapper.map(paciente, PacienteResponse.class);
-    }
-
-    public List<PacienteResponse> toEntityResponseList(List<Paciente> pacientes){
-        return pacientes.stream()
-                .map(this::toEntityResponse)
-                .collect(Collectors.toList());
-    }
-
-    public void updateFromRequest(PacienteRequest request, Paciente paciente){
-        Paciente tempPaciente = toEntity(request);
-
-        mapper.map(tempPaciente, paciente);
-    }
-}
\ No newline at end of file
+import consultorio.domain.entity.PacienteAnamnese;
+import consultorio.domain.entity.PacienteExameClinico;
+import consultorio.domain.entity.PacienteResponsavel;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+@Mapper(config = MapStructConfig.class)
+public interface PacienteMapper {
+
+    // só os campos do cadastro; as seções saem do mesmo request pelo PacienteSecoesMapper
+    Paciente toEntity(PacienteRequest request);
+
+    PacienteCoreResponse toCoreResponse(Paciente paciente);
+
+    // ficha completa: cadastro + seções (seção ausente deixa os campos nulos)
+    @Mapping(target = "id", source = "paciente.id")
+    PacienteResponse toEntityResponse(Paciente paciente, PacienteResponsavel responsavel,
+                                      PacienteAnamnese anamnese, PacienteExameClinico exameClinico);
+
+    // Atualização parcial direto na entidade gerenciada: campos nulos do request não sobrescrevem
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PacienteRequest request, @MappingTarget Paciente paciente);
+}
@@ -0,0 +1,58 @@
+package consultorio.api.dto.mapper;
+
+import consultorio.api.dto.request.PacienteAnamneseRequest;
+import consultorio.api.dto.request.PacienteExameClinicoRequest;
+import consultorio.api.dto.request.PacienteRequest;
+import consultorio.api.dto.request.PacienteResponsavelRequest;
+import consultorio.api.dto.response.PacienteAnamneseResponse;
+import consultorio.api.dto.response.PacienteExameClinicoResponse;
+import consultorio.api.dto.response.PacienteResponsavelResponse;
+import consultorio.domain.entity.PacienteAnamnese;
+import consultorio.domain.entity.PacienteExameClinico;
+import consultorio.domain.entity.PacienteResponsavel;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+// Seções 1:1 do paciente: a partir do request completo (cadastro) ou do request da própria seção
+@Mapper(config = MapStructConfig.class)
+public interface PacienteSecoesMapper {
+
+    // ====================== RESPONSÁVEL ======================
+    PacienteResponsavel toResponsavel(PacienteRequest request);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PacienteRequest request, @MappingTarget PacienteResponsavel responsavel);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PacienteResponsavelRequest request, @MappingTarget PacienteResponsavel responsavel);
+
+    @Mapping(target = "pacienteId", source = "paciente.id")
+    PacienteResponsavelResponse toEntityResponse(PacienteResponsavel responsavel);
+
+    // ====================== ANAMNESE ======================
+    PacienteAnamnese toAnamnese(PacienteRequest request);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PacienteRequest request, @MappingTarget PacienteAnamnese anamnese);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PacienteAnamneseRequest request, @MappingTarget PacienteAnamnese anamnese);
+
+    @Mapping(target = "pacienteId", source = "paciente.id")
+    PacienteAnamneseResponse toEntityResponse(PacienteAnamnese anamnese);
+
+    // ====================== EXAME CLÍNICO ======================
+    PacienteExameClinico toExameClinico(PacienteRequest request);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PacienteRequest request, @MappingTarget PacienteExameClinico exameClinico);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PacienteExameClinicoRequest request, @MappingTarget PacienteExameClinico exameClinico);
+
+    @Mapping(target = "pacienteId", source = "paciente.id")
+    PacienteExameClinicoResponse toEntityResponse(PacienteExameClinico exameClinico);
+}
@@ -1,38 +1,28 @@
 package consultorio.api.dto.mapper;
 
-
 import consultorio.api.dto.request.PlanoDentalRequest;
 import consultorio.api.dto.response.PlanoDentalResponse;
 import consultorio.domain.entity.PlanoDental;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
-import java.util.stream.Collectors;
-
-@Component
-@RequiredArgsConstructor
-public class PlanoDentalMapper {
 
-    private final ModelMapper mapper;
+// paciente é resolvido pelo service a partir de pacienteId
+@Mapper(config = MapStructConfig.class)
+public interface PlanoDentalMapper {
 
-    public PlanoDental toEntity(PlanoDentalRequest request){
-        return mapper.map(request, PlanoDental.class);
-    }
+    PlanoDental toEntity(PlanoDentalRequest request);
 
-    public PlanoDentalResponse toResponse(PlanoDental plano){
-        return mapper.map(plano, PlanoDentalResponse.class);
-    }
+    @Mapping(target = "pacienteId", source = "paciente.id")
+    @Mapping(target = "nomePaciente", source = "paciente.nome")
+    PlanoDentalResponse toResponse(PlanoDental plano);
 
-    public List<PlanoDentalResponse> toResponseList(List<PlanoDental> planos){
-        return planos.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
+    List<PlanoDentalResponse> toResponseList(List<PlanoDental> planos);
 
-    public void updateFromRequest(PlanoDentalRequest request, PlanoDental plano){
-        PlanoDental temp = toEntity(request);
-        mapper.map(temp, plano);
-    }
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateFromRequest(PlanoDentalRequest request, @MappingTarget PlanoDental plano);
 }
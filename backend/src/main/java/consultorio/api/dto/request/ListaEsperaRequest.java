@@ -0,0 +1,28 @@
+package consultorio.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+public class ListaEsperaRequest {
+
+    @NotNull(message = "Paciente é obrigatório")
+    private Long pacienteId;
+
+    // informe o dentista ou a especialidade
+    private Long dentistaId;
+    private String especialidade;
+
+    private LocalDate disponivelDe;
+    private LocalDate disponivelAte;
+    private LocalTime horaInicio;
+    private LocalTime horaFim;
+
+    private Integer duracaoMinutos;
+    private Integer prioridade;
+}
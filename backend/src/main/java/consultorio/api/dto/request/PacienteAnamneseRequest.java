@@ -0,0 +1,56 @@
+package consultorio.api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PacienteAnamneseRequest {
+
+    // Anamnese
+    private Boolean febreReumatica;
+    private Boolean hepatite;
+    private Boolean diabetes;
+    private Boolean hipertensaoArterialSistemica;
+    private Boolean portadorHiv;
+    private Boolean alteracaoCoagulacaoSanguinea;
+    private Boolean reacoesAlergicas;
+    private Boolean doencasSistemicas;
+    private Boolean internacaoRecente;
+    private Boolean utilizandoMedicacao;
+    private Boolean fumante;
+    private String fumanteQuantidade;
+    private String tempoFumo;
+    private Boolean bebidasAlcoolicas;
+    private Boolean problemasCardiacos;
+    private Boolean problemasRenais;
+    private Boolean problemasGastricos;
+    private Boolean problemasRespiratorios;
+    private Boolean problemasAlergicos;
+    private String problemasAlergicosQuais;
+    private Boolean problemasArticularesOuReumatismo;
+    private String queixaPrincipal;
+    private String evolucaoDoencaAtual;
+
+    // Questionário saúde
+    private Boolean sofreDoenca;
+    private String sofreDoencaQuais;
+    private Boolean tratamentoMedicoAtual;
+    private Boolean gravidez;
+    private Boolean usoMedicacao;
+    private String usoMedicacaoQuais;
+    private String medicoAssistenteTelefone;
+    private Boolean teveAlergia;
+    private String teveAlergiaQuais;
+    private Boolean foiOperado;
+    private String foiOperadoQuais;
+    private Boolean problemasCicatrizacao;
+    private Boolean problemasAnestesia;
+    private Boolean problemasHemorragia;
+    private String habitos;
+    private String antecedentesFamiliares;
+}
@@ -0,0 +1,14 @@
+package consultorio.api.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Filtros opcionais da listagem paginada; campos nulos ou em branco não filtram
+@Getter
+@Setter
+public class PacienteFiltroRequest {
+    private String nome;
+    private String cpf;
+    private String prontuario;
+    private Boolean status;
+}
@@ -0,0 +1,24 @@
+package consultorio.api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PacienteResponsavelRequest {
+
+    // Responsável pelo tratamento
+    private String nomeResponsavel;
+    private String rgResponsavel;
+    private String orgaoExpedidorResponsavel;
+    private String cpfResponsavel;
+    private String estadoCivilResponsavel;
+    private String conjugeResponsavel;
+    private String rgConjuge;
+    private String orgaoExpedidorConjuge;
+    private String cpfConjuge;
+}
@@ -0,0 +1,29 @@
+package consultorio.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class RemanejamentoRequest {
+
+    // dentista indisponível e o período afetado
+    @NotNull(message = "Dentista é obrigatório")
+    private Long dentistaId;
+
+    @NotNull(message = "Início do período é obrigatório")
+    private LocalDateTime inicio;
+
+    @NotNull(message = "Fim do período é obrigatório")
+    private LocalDateTime fim;
+
+    // destino: outro dentista, ou o mesmo (vazio); novos horários a partir de "reagendarAPartirDe"
+    private Long dentistaDestinoId;
+    private LocalDateTime reagendarAPartirDe;
+
+    // sem horário livre no horizonte: cancela (true) ou mantém o agendamento como está (false)
+    private Boolean cancelarSemHorario = false;
+}
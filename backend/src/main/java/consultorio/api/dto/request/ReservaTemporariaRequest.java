@@ -0,0 +1,20 @@
+package consultorio.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class ReservaTemporariaRequest {
+
+    @NotNull(message = "Dentista é obrigatório")
+    private Long dentistaId;
+
+    @NotNull(message = "Data e hora são obrigatórias")
+    private LocalDateTime dataHora;
+
+    private Integer duracaoMinutos;
+}
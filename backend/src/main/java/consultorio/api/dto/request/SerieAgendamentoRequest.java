@@ -0,0 +1,40 @@
+package consultorio.api.dto.request;
+
+import consultorio.domain.entity.enums.FrequenciaRecorrencia;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class SerieAgendamentoRequest {
+
+    @NotNull(message = "Paciente é obrigatório")
+    private Long pacienteId;
+
+    @NotNull(message = "Dentista é obrigatório")
+    private Long dentistaId;
+
+    // primeira ocorrência da série
+    @NotNull(message = "Data e hora são obrigatórias")
+    private LocalDateTime dataHora;
+
+    private Integer duracaoMinutos;
+    private String procedimento;
+    private String observacoes;
+
+    // Regra de recorrência: a cada "intervalo" dias/semanas/meses, até "ocorrencias" ou até a data "ate"
+    private FrequenciaRecorrencia frequencia = FrequenciaRecorrencia.SEMANAL;
+
+    @Positive(message = "Intervalo deve ser positivo")
+    private Integer intervalo = 1;
+
+    @Positive(message = "Número de ocorrências deve ser positivo")
+    private Integer ocorrencias;
+
+    private LocalDate ate;
+}
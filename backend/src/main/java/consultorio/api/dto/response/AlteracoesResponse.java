@@ -0,0 +1,22 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Resposta de /alteracoes: ids gravados e excluídos desde o token informado e o token da próxima consulta.
+// completo = true quando veio sem token: alterados tem todos os ids e o cliente descarta o que não estiver nela.
+// Um id pode voltar em mais de uma resposta (commits perto do token); aplicar de novo não muda nada.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracoesResponse {
+    private List<Long> alterados;
+    private List<Long> excluidos;
+    private String token;
+    private Boolean completo;
+}
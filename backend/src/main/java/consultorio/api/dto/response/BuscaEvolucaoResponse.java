@@ -0,0 +1,23 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// Resultado da busca textual nas evoluções; trecho em HTML escapado com os termos entre <mark></mark>
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuscaEvolucaoResponse {
+    private Long id;
+    private Long pacienteId;
+    private String nomePaciente;
+    private String prontuarioNumero;
+    private LocalDate dataProcedimento;
+    private Double relevancia;
+    private String trecho;
+}
@@ -0,0 +1,18 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoorteAgendamentoResponse {
+    private Long agendamentoId;
+    private Long dentistaId;
+    private LocalDateTime dataHora;
+}
@@ -0,0 +1,20 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoortePacienteResponse {
+    private Long pacienteId;
+    private String nome;
+    private String prontuarioNumero;
+    private List<String> condicoes;
+    private List<CoorteAgendamentoResponse> agendamentos;
+}
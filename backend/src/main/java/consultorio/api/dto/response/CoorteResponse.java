@@ -0,0 +1,17 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoorteResponse {
+    private Integer total;
+    private List<CoortePacienteResponse> pacientes;
+}
@@ -0,0 +1,16 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DenteOdontogramaResponse {
+    private String dente;
+    private Integer quantidade;
+    private Double total;
+}
@@ -0,0 +1,19 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DentePlanoDentalResponse {
+    private String dente;
+    private Integer quantidade;
+    private Double total;
+    private List<ItemPlanoDentalResponse> itens;
+}
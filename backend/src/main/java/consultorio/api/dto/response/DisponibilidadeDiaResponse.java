@@ -0,0 +1,27 @@
+package consultorio.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadeDiaResponse {
+    private LocalDate data;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime inicio;
+
+    private Integer larguraSlotMinutos;
+    private Integer totalSlots;
+
+    // Bitmap em Base64: o bit i (byte i / 8, bit i % 8) indica se o slot inicio + i * largura está livre
+    private String livres;
+}
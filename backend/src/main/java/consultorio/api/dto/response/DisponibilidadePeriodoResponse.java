@@ -0,0 +1,23 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadePeriodoResponse {
+    private Long dentistaId;
+    private LocalDate inicio;
+    private LocalDate fim;
+    private Integer duracaoMinutos;
+
+    // Apenas os dias em que o dentista atende
+    private List<DisponibilidadeDiaResponse> dias;
+}
@@ -18,4 +18,7 @@ public class EvolucaoTratamentoResponse {
 
     private Long pacienteId;
     private String nomePaciente;
+
+    // linha do tempo em modo resumo: true quando o texto foi cortado
+    private Boolean textoTruncado;
 }
@@ -0,0 +1,20 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HorarioDisponivelResponse {
+    private Long dentistaId;
+    private String dentistaNome;
+    private String especialidade;
+    private LocalDateTime dataHora;
+    private Integer duracaoMinutos;
+}
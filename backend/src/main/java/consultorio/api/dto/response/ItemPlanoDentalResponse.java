@@ -0,0 +1,18 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPlanoDentalResponse {
+    private Long id;
+    private String procedimento;
+    private Double valor;
+    // soma do plano até este item, na ordem dente/id
+    private Double acumulado;
+}
@@ -0,0 +1,30 @@
+package consultorio.api.dto.response;
+
+import consultorio.domain.entity.enums.StatusListaEspera;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class ListaEsperaResponse {
+    private Long id;
+    private Long pacienteId;
+    private String pacienteNome;
+    private Long dentistaId;
+    private String especialidade;
+    private LocalDate disponivelDe;
+    private LocalDate disponivelAte;
+    private LocalTime horaInicio;
+    private LocalTime horaFim;
+    private Integer duracaoMinutos;
+    private Integer prioridade;
+    private StatusListaEspera status;
+    private UUID reservaId;
+    private LocalDateTime ofertadoEm;
+    private LocalDateTime createdAt;
+}
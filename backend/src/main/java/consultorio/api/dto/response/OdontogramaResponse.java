@@ -0,0 +1,20 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Resumo do odontograma: só os dentes com itens no plano, com quantidade e valor
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OdontogramaResponse {
+    private Long pacienteId;
+    private Integer quantidade;
+    private Double total;
+    private List<DenteOdontogramaResponse> dentes;
+}
@@ -0,0 +1,40 @@
+package consultorio.api.dto.response;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Só o cadastro (linha de pacientes), para telas que não mostram responsável nem ficha clínica
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PacienteCoreResponse {
+    private Long id;
+
+    // Dados básicos
+    private String prontuarioNumero;
+
+    @NotBlank(message = "Nome é obrigatório")
+    @Size(max = 100, message = "Nome deve ter no máximo 100 caracteres")
+    private String nome;
+
+    private String telefone;
+    private String rg;
+    private String orgaoExpedidor;
+    private String cpf;
+    private LocalDate dataNascimento;
+    private String naturalidade;
+    private String nacionalidade;
+    private String profissao;
+    private String enderecoResidencial;
+    private String indicadoPor;
+    @Builder.Default
+    private Boolean status = true;
+
+    // Convênio médico
+    private String convenio;
+    private String numeroInscricao;
+}
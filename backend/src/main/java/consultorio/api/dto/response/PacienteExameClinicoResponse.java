@@ -0,0 +1,27 @@
+package consultorio.api.dto.response;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PacienteExameClinicoResponse {
+    private Long pacienteId;
+
+    // Inspeção bucal
+    private String lingua;
+    private String mucosa;
+    private String palato;
+    private String labios;
+    private String gengivas;
+    private String nariz;
+    private String face;
+    private String ganglios;
+    private String glandulasSalivares;
+    private Boolean alteracaoOclusao;
+    private String alteracaoOclusaoTipo;
+    private Boolean protese;
+    private String proteseTipo;
+    private String outrasObservacoes;
+}
@@ -0,0 +1,22 @@
+package consultorio.api.dto.response;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PacienteResponsavelResponse {
+    private Long pacienteId;
+
+    // Responsável pelo tratamento
+    private String nomeResponsavel;
+    private String rgResponsavel;
+    private String orgaoExpedidorResponsavel;
+    private String cpfResponsavel;
+    private String estadoCivilResponsavel;
+    private String conjugeResponsavel;
+    private String rgConjuge;
+    private String orgaoExpedidorConjuge;
+    private String cpfConjuge;
+}
@@ -19,4 +19,6 @@ public class PacienteResumoResponse{
     private LocalDate dataNascimento;
     private LocalDateTime criadoEm;
     private String prontuarioNumero;
+    private Boolean status;
+    private String telefone;
 }
@@ -0,0 +1,24 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Mesmo formato do PaginatedResponse do front-end; proximoCursor permite seguir por keyset nas páginas profundas
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaResponse<T> {
+    private List<T> content;
+    private Long totalElements;
+    private Integer totalPages;
+    private Integer size;
+    private Integer number;
+    private Boolean first;
+    private Boolean last;
+    private String proximoCursor;
+}
@@ -0,0 +1,19 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Plano dental de um paciente agrupado por dente, com totais já somados pelo banco
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanoDentalPacienteResponse {
+    private Long pacienteId;
+    private Double total;
+    private List<DentePlanoDentalResponse> dentes;
+}
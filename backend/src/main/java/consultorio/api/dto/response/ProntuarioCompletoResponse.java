@@ -0,0 +1,20 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Tela paciente_completo numa única chamada: cadastro, plano dental, evoluções (paginadas) e próximos agendamentos
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProntuarioCompletoResponse {
+    private PacienteCoreResponse paciente;
+    private List<PlanoDentalResponse> planosDentais;
+    private PaginaResponse<EvolucaoTratamentoResponse> evolucoes;
+    private List<AgendamentoResponse> proximosAgendamentos;
+}
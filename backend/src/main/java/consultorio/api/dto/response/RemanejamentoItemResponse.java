@@ -0,0 +1,21 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemanejamentoItemResponse {
+    private Long agendamentoId;
+    private Long pacienteId;
+    private String pacienteNome;
+    private LocalDateTime dataHoraOriginal;
+    private Long dentistaDestinoId;
+    private LocalDateTime dataHoraNova;
+}
@@ -0,0 +1,19 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemanejamentoResponse {
+    private Integer total;
+    private List<RemanejamentoItemResponse> remanejados;
+    private List<RemanejamentoItemResponse> cancelados;
+    private List<RemanejamentoItemResponse> mantidos;
+}
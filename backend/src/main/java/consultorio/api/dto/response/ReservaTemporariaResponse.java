@@ -0,0 +1,21 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaTemporariaResponse {
+    private UUID id;
+    private Long dentistaId;
+    private LocalDateTime dataHora;
+    private LocalDateTime dataHoraFim;
+    private LocalDateTime expiraEm;
+}
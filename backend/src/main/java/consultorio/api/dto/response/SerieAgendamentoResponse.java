@@ -0,0 +1,20 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerieAgendamentoResponse {
+    private Integer totalOcorrencias;
+    private List<AgendamentoResponse> criados;
+
+    // Ocorrências recusadas (fora do expediente, conflito ou sem antecedência); as demais foram gravadas
+    private List<OcorrenciaRecusadaResponse> recusadas;
+}
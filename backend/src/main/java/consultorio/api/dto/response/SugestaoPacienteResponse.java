@@ -0,0 +1,17 @@
+package consultorio.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoPacienteResponse {
+    private Long id;
+    private String nome;
+    private String cpf;
+    private String prontuarioNumero;
+}
@@ -0,0 +1,37 @@
+package consultorio.config;
+
+import consultorio.domain.service.VersoesColecao;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// If-None-Match / If-Modified-Since das listagens @ListagemVersionada: o 304 sai daqui, antes do controller,
+// sem nenhuma consulta ao banco. Na resposta 200 o ETag e o Last-Modified ficam nos cabeçalhos.
+@Component
+@RequiredArgsConstructor
+public class ListagemCondicionalInterceptor implements HandlerInterceptor {
+
+    private final VersoesColecao versoesColecao;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        ListagemVersionada listagem = metodo.getMethodAnnotation(ListagemVersionada.class);
+        if (listagem == null) {
+            return true;
+        }
+        // no-cache: o navegador guarda a resposta, mas sempre revalida (o padrão do Spring Security é no-store)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        String etag = versoesColecao.etag(listagem.value());
+        long ultimaAlteracao = versoesColecao.ultimaAlteracao(listagem.value());
+        return !new ServletWebRequest(request, response).checkNotModified(etag, ultimaAlteracao);
+    }
+}
@@ -0,0 +1,16 @@
+package consultorio.config;
+
+import consultorio.domain.service.VersoesColecao.Colecao;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Listagem cujo conteúdo só depende das coleções informadas: GET condicional pelo VersoesColecao
+// (ListagemCondicionalInterceptor). Não usar em endpoints que dependem do relógio ou de reservas em memória.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ListagemVersionada {
+    Colecao[] value();
+}
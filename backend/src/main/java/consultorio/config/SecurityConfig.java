@@ -38,6 +38,8 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(List.of("*")); // 👈 libera todas as origens
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // ETag: front-end reenvia em If-None-Match; X-Proximo-Cursor: paginação da linha do tempo de evoluções
+        config.setExposedHeaders(List.of("ETag", "X-Proximo-Cursor"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -10,14 +10,31 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "agendamentos")
+// Plano de carga do AgendamentoResponse: paciente, dentista e horários do dentista no mesmo SELECT
+@NamedEntityGraph(name = Agendamento.GRAFO_RESPOSTA,
+        attributeNodes = {
+                @NamedAttributeNode("paciente"),
+                @NamedAttributeNode(value = "dentista", subgraph = "dentista")
+        },
+        subgraphs = @NamedSubgraph(name = "dentista", attributeNodes = @NamedAttributeNode("horarios")))
+@Table(name = "agendamentos", indexes = {
+        @Index(name = "idx_agendamentos_dentista_data_hora", columnList = "dentista_id, data_hora"),
+        @Index(name = "idx_agendamentos_paciente_data_hora", columnList = "paciente_id, data_hora")
+})
+@EntityListeners(VersaoColecaoListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Agendamento {
+
+    public static final String GRAFO_RESPOSTA = "Agendamento.resposta";
+
+    // Sequence com allocationSize 50: permite batch de inserts (IDENTITY desliga o batching do Hibernate).
+    // O valor inicial é ajustado ao MAX(id) existente em db/agendamentos-sequence.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agendamentos_seq")
+    @SequenceGenerator(name = "agendamentos_seq", sequenceName = "agendamentos_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,6 +67,11 @@ public class Agendamento {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // ETag do GET /api/agendamentos/{id} (junto com as versões do paciente e do dentista) e If-Match do PUT
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
     // ✅ CALLBACKS UNIFICADOS - APENAS UM @PreUpdate
     @PrePersist
     @PreUpdate
@@ -12,6 +12,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "dentistas")
+@EntityListeners(VersaoColecaoListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -45,6 +46,11 @@ public class Dentista {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // ETag do GET /api/dentistas/{id} e If-Match do PUT
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
     // ✅ ADICIONAR Callback para updatedAt
     @PreUpdate
     public void preUpdate() {
@@ -7,9 +7,13 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "evolucao_tratamento")
+@Table(name = "evolucao_tratamento", indexes = {
+        // evoluções do paciente, mais recentes primeiro (data DESC, id DESC): lidas de trás para frente no índice
+        @Index(name = "idx_evolucao_tratamento_paciente_data_id", columnList = "paciente_id, data_procedimento, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,8 +27,18 @@ public class EvolucaoTratamento {
     private LocalDate dataProcedimento;
     private String evolucaoIntercorrenciasTratamento;
 
+    // versão da linha: entra no ETag do prontuário completo
+    @Column(name = "atualizado_em")
+    private LocalDateTime updatedAt;
+
     // RELACIONAMENTO COM PACIENTE
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paciente_id", nullable = false)
     private Paciente paciente;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
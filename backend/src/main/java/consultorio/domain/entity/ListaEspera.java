@@ -0,0 +1,63 @@
+package consultorio.domain.entity;
+
+import consultorio.domain.entity.enums.StatusListaEspera;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "lista_espera", indexes = {
+        @Index(name = "idx_lista_espera_status", columnList = "status"),
+        @Index(name = "idx_lista_espera_reserva", columnList = "reserva_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListaEspera {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "paciente_id", nullable = false)
+    private Paciente paciente;
+
+    // dentista específico OU qualquer dentista da especialidade
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dentista_id")
+    private Dentista dentista;
+
+    private String especialidade;
+
+    // janela preferida: período de datas e faixa de horário do dia (todas opcionais)
+    private LocalDate disponivelDe;
+    private LocalDate disponivelAte;
+    private LocalTime horaInicio;
+    private LocalTime horaFim;
+
+    private Integer duracaoMinutos = 30;
+
+    // maior valor = atendido primeiro; empate pela ordem de chegada
+    @Column(nullable = false)
+    private Integer prioridade = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusListaEspera status = StatusListaEspera.AGUARDANDO;
+
+    // reserva temporária criada para o paciente quando um horário é ofertado
+    private UUID reservaId;
+    private LocalDateTime ofertadoEm;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
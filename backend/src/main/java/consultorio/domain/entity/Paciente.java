@@ -14,7 +14,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "pacientes")
+@Table(name = "pacientes", indexes = {
+        // keyset da listagem paginada: (ordenação, id) com e sem filtro de status
+        @Index(name = "idx_pacientes_nome_id", columnList = "nome_paciente, id"),
+        @Index(name = "idx_pacientes_status_nome_id", columnList = "status_paciente, nome_paciente, id"),
+        @Index(name = "idx_pacientes_criado_em_id", columnList = "criado_em, id")
+})
+@EntityListeners(VersaoColecaoListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -71,108 +77,6 @@ public class Paciente {
 
 
 
-    //responsavel pelo tratamento
-    @Column(name = "nome_responsavel")
-    private String nomeResponsavel;
-
-    @Column(name = "rg_responsavel")
-    private String rgResponsavel;
-
-    @Column(name = "orgao_expedidor_responsavel")
-    private String orgaoExpedidorResponsavel;
-
-    @Column(name = "cpf_responsavel")
-    private String cpfResponsavel;
-
-    @Column(name = "estado_civil_responsavel")
-    private String estadoCivilResponsavel;
-
-    @Column(name = "conjuge_responsavel")
-    private String conjugeResponsavel;
-
-    @Column(name = "rg_conjuge")
-    private String rgConjuge;
-
-    @Column(name = "orgao_expedidor_conjuge")
-    private String orgaoExpedidorConjuge;
-
-    @Column(name = "cpf_conjuge")
-    private String cpfConjuge;
-
-
-
-
-    //Anamnese
-    @Column(name = "febre_reumatica")
-    private Boolean febreReumatica;
-
-    @Column(name = "hepatite")
-    private Boolean hepatite;
-
-    @Column(name = "diabetes")
-    private Boolean diabetes;
-
-    @Column(name = "hipertensao_arterial_sistemica")
-    private Boolean hipertensaoArterialSistemica;
-
-    @Column(name = "portador_hiv")
-    private Boolean portadorHiv;
-
-    @Column(name = "alteracao_coagulacao_sanguinea")
-    private Boolean alteracaoCoagulacaoSanguinea;
-
-    @Column(name = "reacoes_alergicas")
-    private Boolean reacoesAlergicas;
-
-    @Column(name = "doencas_sistemicas")
-    private Boolean doencasSistemicas;
-
-    @Column(name = "internacao_recente")
-    private Boolean internacaoRecente;
-
-    @Column(name = "utilizando_medicacao")
-    private Boolean utilizandoMedicacao;
-
-    @Column(name = "fumante")
-    private Boolean fumante;
-
-    @Column(name = "fumante_quantidade")
-    private String fumanteQuantidade;
-
-    @Column(name = "tempo_fumo")
-    private String tempoFumo;
-
-    @Column(name = "bebidas_alcoolicas")
-    private Boolean bebidasAlcoolicas;
-
-    @Column(name = "problemas_cardiacos")
-    private Boolean problemasCardiacos;
-
-    @Column(name = "problemas_renais")
-    private Boolean problemasRenais;
-
-    @Column(name = "problemas_gastricos")
-    private Boolean problemasGastricos;
-
-    @Column(name = "problemas_respiratorios")
-    private Boolean problemasRespiratorios;
-
-    @Column(name = "problemas_alergicos")
-    private Boolean problemasAlergicos;
-
-    @Column(name = "problemas_alergicos_quais")
-    private String problemasAlergicosQuais;
-
-    @Column(name = "problemas_articulares_ou_reumatismo")
-    private Boolean problemasArticularesOuReumatismo;
-
-    @Column(name = "queixa_principal")
-    private String queixaPrincipal;
-
-    @Column(name = "evolucao_doenca_atual")
-    private String evolucaoDoencaAtual;
-
-
     //convenio medico
     @Column(name = "convenio_paciente")
     private String convenio;
@@ -180,100 +84,8 @@ public class Paciente {
     @Column(name = "numero_inscricao_convenio")
     private String numeroInscricao;
 
-
-
-    //inspeção bucal
-    @Column(name = "lingua")
-    private String lingua;
-
-    @Column(name = "mucosa")
-    private String mucosa;
-
-    @Column(name = "palato")
-    private String palato;
-
-    @Column(name = "labios")
-    private String labios;
-
-    @Column(name = "gengivas")
-    private String gengivas;
-
-    @Column(name = "nariz")
-    private String nariz;
-
-    @Column(name = "face")
-    private String face;
-
-    @Column(name = "ganglios")
-    private String ganglios;
-
-    @Column(name = "glandulas_salivares")
-    private String glandulasSalivares;
-
-    @Column(name = "alteracao_oclusao")
-    private Boolean alteracaoOclusao;
-
-    @Column(name = "alteracao_oclusao_tipo")
-    private String alteracaoOclusaoTipo;
-
-    @Column(name = "protese")
-    private Boolean protese;
-
-    @Column(name = "protese_tipo")
-    private String proteseTipo;
-
-    @Column(name = "outras_observacoes")
-    private String outrasObservacoes;
-
-
-    //questionario saude
-    @Column(name = "sofre_doenca")
-    private Boolean sofreDoenca;
-
-    @Column(name = "sofre_doenca_quais")
-    private String sofreDoencaQuais;
-
-    @Column(name = "tratamento_medico_atual")
-    private Boolean tratamentoMedicoAtual;
-
-    @Column(name = "gravidez")
-    private Boolean gravidez;
-
-    @Column(name = "uso_medicacao")
-    private Boolean usoMedicacao;
-
-    @Column(name = "uso_medicacao_quais")
-    private String usoMedicacaoQuais;
-
-    @Column(name = "medico_assistente_telefone")
-    private String medicoAssistenteTelefone;
-
-    @Column(name = "teve_alergia")
-    private Boolean teveAlergia;
-
-    @Column(name = "teve_alergia_quais")
-    private String teveAlergiaQuais;
-
-    @Column(name = "foi_operado")
-    private Boolean foiOperado;
-
-    @Column(name = "foi_operado_quais")
-    private String foiOperadoQuais;
-
-    @Column(name = "problemas_cicatrizacao")
-    private Boolean problemasCicatrizacao;
-
-    @Column(name = "problemas_anestesia")
-    private Boolean problemasAnestesia;
-
-    @Column(name = "problemas_hemorragia")
-    private Boolean problemasHemorragia;
-
-    @Column(name = "habitos")
-    private String habitos;
-
-    @Column(name = "antecedentes_familiares")
-    private String antecedentesFamiliares;
+    // responsável, anamnese e exame clínico ficam em tabelas 1:1 (PacienteResponsavel, PacienteAnamnese,
+    // PacienteExameClinico): a linha de pacientes carregada pela agenda e pelas listagens só tem o cadastro
 
     @Column(name = "criado_em")
     private LocalDateTime createdAt;
@@ -281,6 +93,11 @@ public class Paciente {
     @Column(name = "atualizado_em")
     private LocalDateTime updatedAt;
 
+    // ETag do GET /api/pacientes/{id} e If-Match do PUT; as seções também incrementam (PacienteSecoesService)
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
     // Enum para sexo
     public enum Sexo {
         MASCULINO, FEMININO, OUTRO
@@ -0,0 +1,159 @@
+package consultorio.domain.entity;
+
+import consultorio.domain.entity.enums.CondicaoClinica;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Anamnese e questionário de saúde, carregados só pela ficha clínica
+@Entity
+@Table(name = "pacientes_anamnese")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PacienteAnamnese {
+
+    // chave compartilhada com o paciente (1:1); a linha some junto com o paciente (ON DELETE CASCADE)
+    @Id
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "paciente_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Paciente paciente;
+
+    //Anamnese
+    @Column(name = "febre_reumatica")
+    private Boolean febreReumatica;
+
+    @Column(name = "hepatite")
+    private Boolean hepatite;
+
+    @Column(name = "diabetes")
+    private Boolean diabetes;
+
+    @Column(name = "hipertensao_arterial_sistemica")
+    private Boolean hipertensaoArterialSistemica;
+
+    @Column(name = "portador_hiv")
+    private Boolean portadorHiv;
+
+    @Column(name = "alteracao_coagulacao_sanguinea")
+    private Boolean alteracaoCoagulacaoSanguinea;
+
+    @Column(name = "reacoes_alergicas")
+    private Boolean reacoesAlergicas;
+
+    @Column(name = "doencas_sistemicas")
+    private Boolean doencasSistemicas;
+
+    @Column(name = "internacao_recente")
+    private Boolean internacaoRecente;
+
+    @Column(name = "utilizando_medicacao")
+    private Boolean utilizandoMedicacao;
+
+    @Column(name = "fumante")
+    private Boolean fumante;
+
+    @Column(name = "fumante_quantidade")
+    private String fumanteQuantidade;
+
+    @Column(name = "tempo_fumo")
+    private String tempoFumo;
+
+    @Column(name = "bebidas_alcoolicas")
+    private Boolean bebidasAlcoolicas;
+
+    @Column(name = "problemas_cardiacos")
+    private Boolean problemasCardiacos;
+
+    @Column(name = "problemas_renais")
+    private Boolean problemasRenais;
+
+    @Column(name = "problemas_gastricos")
+    private Boolean problemasGastricos;
+
+    @Column(name = "problemas_respiratorios")
+    private Boolean problemasRespiratorios;
+
+    @Column(name = "problemas_alergicos")
+    private Boolean problemasAlergicos;
+
+    @Column(name = "problemas_alergicos_quais")
+    private String problemasAlergicosQuais;
+
+    @Column(name = "problemas_articulares_ou_reumatismo")
+    private Boolean problemasArticularesOuReumatismo;
+
+    @Column(name = "queixa_principal")
+    private String queixaPrincipal;
+
+    @Column(name = "evolucao_doenca_atual")
+    private String evolucaoDoencaAtual;
+
+    //questionario saude
+    @Column(name = "sofre_doenca")
+    private Boolean sofreDoenca;
+
+    @Column(name = "sofre_doenca_quais")
+    private String sofreDoencaQuais;
+
+    @Column(name = "tratamento_medico_atual")
+    private Boolean tratamentoMedicoAtual;
+
+    @Column(name = "gravidez")
+    private Boolean gravidez;
+
+    @Column(name = "uso_medicacao")
+    private Boolean usoMedicacao;
+
+    @Column(name = "uso_medicacao_quais")
+    private String usoMedicacaoQuais;
+
+    @Column(name = "medico_assistente_telefone")
+    private String medicoAssistenteTelefone;
+
+    @Column(name = "teve_alergia")
+    private Boolean teveAlergia;
+
+    @Column(name = "teve_alergia_quais")
+    private String teveAlergiaQuais;
+
+    @Column(name = "foi_operado")
+    private Boolean foiOperado;
+
+    @Column(name = "foi_operado_quais")
+    private String foiOperadoQuais;
+
+    @Column(name = "problemas_cicatrizacao")
+    private Boolean problemasCicatrizacao;
+
+    @Column(name = "problemas_anestesia")
+    private Boolean problemasAnestesia;
+
+    @Column(name = "problemas_hemorragia")
+    private Boolean problemasHemorragia;
+
+    @Column(name = "habitos")
+    private String habitos;
+
+    @Column(name = "antecedentes_familiares")
+    private String antecedentesFamiliares;
+
+    // respostas "sim" empacotadas (bit = ordinal de CondicaoClinica): triagem de risco sem ler as colunas
+    @Column(name = "condicoes")
+    private Long condicoes;
+
+    @PrePersist
+    @PreUpdate
+    protected void empacotarCondicoes() {
+        condicoes = CondicaoClinica.mascara(this);
+    }
+}
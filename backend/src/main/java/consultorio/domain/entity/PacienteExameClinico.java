@@ -0,0 +1,72 @@
+package consultorio.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Inspeção bucal do exame clínico, carregada só pela ficha clínica
+@Entity
+@Table(name = "pacientes_exame_clinico")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PacienteExameClinico {
+
+    // chave compartilhada com o paciente (1:1); a linha some junto com o paciente (ON DELETE CASCADE)
+    @Id
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "paciente_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Paciente paciente;
+
+    //inspeção bucal
+    @Column(name = "lingua")
+    private String lingua;
+
+    @Column(name = "mucosa")
+    private String mucosa;
+
+    @Column(name = "palato")
+    private String palato;
+
+    @Column(name = "labios")
+    private String labios;
+
+    @Column(name = "gengivas")
+    private String gengivas;
+
+    @Column(name = "nariz")
+    private String nariz;
+
+    @Column(name = "face")
+    private String face;
+
+    @Column(name = "ganglios")
+    private String ganglios;
+
+    @Column(name = "glandulas_salivares")
+    private String glandulasSalivares;
+
+    @Column(name = "alteracao_oclusao")
+    private Boolean alteracaoOclusao;
+
+    @Column(name = "alteracao_oclusao_tipo")
+    private String alteracaoOclusaoTipo;
+
+    @Column(name = "protese")
+    private Boolean protese;
+
+    @Column(name = "protese_tipo")
+    private String proteseTipo;
+
+    @Column(name = "outras_observacoes")
+    private String outrasObservacoes;
+}
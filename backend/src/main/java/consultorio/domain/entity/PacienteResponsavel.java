@@ -0,0 +1,57 @@
+package consultorio.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Responsável pelo tratamento, fora da linha de pacientes: só a ficha completa e a tela do responsável leem
+@Entity
+@Table(name = "pacientes_responsavel")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PacienteResponsavel {
+
+    // chave compartilhada com o paciente (1:1); a linha some junto com o paciente (ON DELETE CASCADE)
+    @Id
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "paciente_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Paciente paciente;
+
+    //responsavel pelo tratamento
+    @Column(name = "nome_responsavel")
+    private String nomeResponsavel;
+
+    @Column(name = "rg_responsavel")
+    private String rgResponsavel;
+
+    @Column(name = "orgao_expedidor_responsavel")
+    private String orgaoExpedidorResponsavel;
+
+    @Column(name = "cpf_responsavel")
+    private String cpfResponsavel;
+
+    @Column(name = "estado_civil_responsavel")
+    private String estadoCivilResponsavel;
+
+    @Column(name = "conjuge_responsavel")
+    private String conjugeResponsavel;
+
+    @Column(name = "rg_conjuge")
+    private String rgConjuge;
+
+    @Column(name = "orgao_expedidor_conjuge")
+    private String orgaoExpedidorConjuge;
+
+    @Column(name = "cpf_conjuge")
+    private String cpfConjuge;
+}
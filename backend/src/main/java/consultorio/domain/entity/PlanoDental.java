@@ -6,8 +6,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "plano_dental")
+@Table(name = "plano_dental", indexes = {
+        @Index(name = "idx_plano_dental_paciente", columnList = "paciente_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,8 +26,18 @@ public class PlanoDental {
     private String procedimento;
     private Double valor;
 
+    // versão da linha: entra no ETag do prontuário completo
+    @Column(name = "atualizado_em")
+    private LocalDateTime updatedAt;
+
     // RELACIONAMENTO COM PACIENTE
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paciente_id", nullable = false)
     private Paciente paciente;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
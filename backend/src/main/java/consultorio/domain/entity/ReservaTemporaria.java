@@ -0,0 +1,47 @@
+package consultorio.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Bloqueio temporário de um horário enquanto o paciente preenche o formulário.
+// Fica em memória por padrão; a tabela só é usada com consultorio.agenda.reservas-compartilhadas=true.
+@Entity
+@Table(name = "reservas_temporarias", indexes = {
+        @Index(name = "idx_reservas_temporarias_dentista_data_hora", columnList = "dentista_id, data_hora"),
+        @Index(name = "idx_reservas_temporarias_expira_em", columnList = "expira_em")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaTemporaria {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "dentista_id", nullable = false)
+    private Long dentistaId;
+
+    @Column(name = "data_hora", nullable = false)
+    private LocalDateTime dataHora;
+
+    @Column(name = "data_hora_fim", nullable = false)
+    private LocalDateTime dataHoraFim;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    public boolean isAtiva(LocalDateTime agora) {
+        return expiraEm.isAfter(agora);
+    }
+
+    public boolean sobrepoe(LocalDateTime inicio, LocalDateTime fim) {
+        return dataHora.isBefore(fim) && dataHoraFim.isAfter(inicio);
+    }
+}
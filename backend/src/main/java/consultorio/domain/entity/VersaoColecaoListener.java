@@ -0,0 +1,31 @@
+package consultorio.domain.entity;
+
+import consultorio.domain.service.VersoesColecao;
+import consultorio.domain.service.VersoesColecao.Colecao;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Toda gravação de Paciente, Dentista ou Agendamento pelo JPA (inclusive em lote e por cascata)
+// marca a coleção como alterada. Instanciado pelo Spring (SpringBeanContainer do Hibernate).
+@Component
+@RequiredArgsConstructor
+public class VersaoColecaoListener {
+
+    private final VersoesColecao versoesColecao;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void alterada(Object entidade) {
+        if (entidade instanceof Paciente) {
+            versoesColecao.alterada(Colecao.PACIENTES);
+        } else if (entidade instanceof Dentista) {
+            versoesColecao.alterada(Colecao.DENTISTAS);
+        } else if (entidade instanceof Agendamento) {
+            versoesColecao.alterada(Colecao.AGENDAMENTOS);
+        }
+    }
+}
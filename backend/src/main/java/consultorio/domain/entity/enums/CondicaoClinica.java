@@ -0,0 +1,72 @@
+package consultorio.domain.entity.enums;
+
+import consultorio.domain.entity.PacienteAnamnese;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Perguntas sim/não da anamnese, empacotadas na máscara pacientes_anamnese.condicoes.
+// O bit de cada condição é o ordinal: só acrescentar no fim (db/condicoes-clinicas.sql usa a mesma ordem).
+public enum CondicaoClinica {
+    FEBRE_REUMATICA("febreReumatica", PacienteAnamnese::getFebreReumatica),
+    HEPATITE("hepatite", PacienteAnamnese::getHepatite),
+    DIABETES("diabetes", PacienteAnamnese::getDiabetes),
+    HIPERTENSAO_ARTERIAL_SISTEMICA("hipertensaoArterialSistemica", PacienteAnamnese::getHipertensaoArterialSistemica),
+    PORTADOR_HIV("portadorHiv", PacienteAnamnese::getPortadorHiv),
+    ALTERACAO_COAGULACAO_SANGUINEA("alteracaoCoagulacaoSanguinea", PacienteAnamnese::getAlteracaoCoagulacaoSanguinea),
+    REACOES_ALERGICAS("reacoesAlergicas", PacienteAnamnese::getReacoesAlergicas),
+    DOENCAS_SISTEMICAS("doencasSistemicas", PacienteAnamnese::getDoencasSistemicas),
+    INTERNACAO_RECENTE("internacaoRecente", PacienteAnamnese::getInternacaoRecente),
+    UTILIZANDO_MEDICACAO("utilizandoMedicacao", PacienteAnamnese::getUtilizandoMedicacao),
+    FUMANTE("fumante", PacienteAnamnese::getFumante),
+    BEBIDAS_ALCOOLICAS("bebidasAlcoolicas", PacienteAnamnese::getBebidasAlcoolicas),
+    PROBLEMAS_CARDIACOS("problemasCardiacos", PacienteAnamnese::getProblemasCardiacos),
+    PROBLEMAS_RENAIS("problemasRenais", PacienteAnamnese::getProblemasRenais),
+    PROBLEMAS_GASTRICOS("problemasGastricos", PacienteAnamnese::getProblemasGastricos),
+    PROBLEMAS_RESPIRATORIOS("problemasRespiratorios", PacienteAnamnese::getProblemasRespiratorios),
+    PROBLEMAS_ALERGICOS("problemasAlergicos", PacienteAnamnese::getProblemasAlergicos),
+    PROBLEMAS_ARTICULARES_OU_REUMATISMO("problemasArticularesOuReumatismo", PacienteAnamnese::getProblemasArticularesOuReumatismo),
+    SOFRE_DOENCA("sofreDoenca", PacienteAnamnese::getSofreDoenca),
+    TRATAMENTO_MEDICO_ATUAL("tratamentoMedicoAtual", PacienteAnamnese::getTratamentoMedicoAtual),
+    GRAVIDEZ("gravidez", PacienteAnamnese::getGravidez),
+    USO_MEDICACAO("usoMedicacao", PacienteAnamnese::getUsoMedicacao),
+    TEVE_ALERGIA("teveAlergia", PacienteAnamnese::getTeveAlergia),
+    FOI_OPERADO("foiOperado", PacienteAnamnese::getFoiOperado),
+    PROBLEMAS_CICATRIZACAO("problemasCicatrizacao", PacienteAnamnese::getProblemasCicatrizacao),
+    PROBLEMAS_ANESTESIA("problemasAnestesia", PacienteAnamnese::getProblemasAnestesia),
+    PROBLEMAS_HEMORRAGIA("problemasHemorragia", PacienteAnamnese::getProblemasHemorragia);
+
+    private static final Map<String, CondicaoClinica> POR_CAMPO = Arrays.stream(values())
+            .collect(Collectors.toMap(CondicaoClinica::getCampo, Function.identity()));
+
+    private final String campo;
+    private final Function<PacienteAnamnese, Boolean> valor;
+
+    CondicaoClinica(String campo, Function<PacienteAnamnese, Boolean> valor) {
+        this.campo = campo;
+        this.valor = valor;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    // nome do campo na API (o mesmo do PacienteAnamneseResponse), ou null
+    public static CondicaoClinica doCampo(String campo) {
+        return POR_CAMPO.get(campo);
+    }
+
+    public static long mascara(PacienteAnamnese anamnese) {
+        long mascara = 0L;
+        for (CondicaoClinica condicao : values()) {
+            if (Boolean.TRUE.equals(condicao.valor.apply(anamnese))) mascara |= condicao.bit();
+        }
+        return mascara;
+    }
+}
@@ -0,0 +1,7 @@
+package consultorio.domain.entity.enums;
+
+public enum FrequenciaRecorrencia {
+    DIARIA,
+    SEMANAL,
+    MENSAL
+}
@@ -0,0 +1,8 @@
+package consultorio.domain.entity.enums;
+
+public enum StatusListaEspera {
+    AGUARDANDO,
+    OFERTADO,
+    ATENDIDO,
+    CANCELADO
+}
@@ -0,0 +1,42 @@
+package consultorio.domain.event;
+
+import consultorio.domain.entity.Agendamento;
+import consultorio.domain.entity.enums.StatusAgendamento;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Publicado pelo AgendamentoService dentro da transação; os ouvintes reagem após o commit
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AgendamentoAlteradoEvent {
+    private final Long agendamentoId;
+    private final Long dentistaId;
+    private final Long pacienteId;
+    private final LocalDateTime inicio;
+    private final LocalDateTime fim;
+    private final StatusAgendamento status;
+    private final boolean removido;
+
+    public static AgendamentoAlteradoEvent de(Agendamento agendamento) {
+        return criar(agendamento, false);
+    }
+
+    public static AgendamentoAlteradoEvent removido(Agendamento agendamento) {
+        return criar(agendamento, true);
+    }
+
+    private static AgendamentoAlteradoEvent criar(Agendamento agendamento, boolean removido) {
+        return new AgendamentoAlteradoEvent(
+                agendamento.getId(),
+                agendamento.getDentista().getId(),
+                agendamento.getPaciente().getId(),
+                agendamento.getDataHora(),
+                agendamento.getDataHoraFim(),
+                agendamento.getStatus(),
+                removido
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package consultorio.domain.event;
+
+import consultorio.domain.entity.PacienteAnamnese;
+import consultorio.domain.entity.enums.CondicaoClinica;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado pelo PacienteSecoesService ao gravar a anamnese; o IndiceCondicoes reage após o commit.
+// A máscara é calculada aqui: o @PreUpdate da entidade só roda no flush.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AnamneseAlteradaEvent {
+    private final Long pacienteId;
+    private final long condicoes;
+
+    public static AnamneseAlteradaEvent de(PacienteAnamnese anamnese) {
+        return new AnamneseAlteradaEvent(anamnese.getPaciente().getId(), CondicaoClinica.mascara(anamnese));
+    }
+}
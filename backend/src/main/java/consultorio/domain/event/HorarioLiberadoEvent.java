@@ -0,0 +1,15 @@
+package consultorio.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Horário que deixou de estar ocupado (cancelamento, remarcação ou exclusão); consumido pela lista de espera
+@Getter
+@AllArgsConstructor
+public class HorarioLiberadoEvent {
+    private final Long dentistaId;
+    private final LocalDateTime inicio;
+    private final LocalDateTime fim;
+}
@@ -0,0 +1,26 @@
+package consultorio.domain.event;
+
+import consultorio.domain.entity.Paciente;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado pelo PacienteService dentro da transação; IndicePacientes e IndiceCondicoes reagem após o commit
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PacienteAlteradoEvent {
+    private final Long pacienteId;
+    private final String nome;
+    private final String cpf;
+    private final String prontuarioNumero;
+    private final boolean removido;
+
+    public static PacienteAlteradoEvent de(Paciente paciente) {
+        return new PacienteAlteradoEvent(paciente.getId(), paciente.getNome(), paciente.getCpf(),
+                paciente.getProntuarioNumero(), false);
+    }
+
+    public static PacienteAlteradoEvent removido(Long pacienteId) {
+        return new PacienteAlteradoEvent(pacienteId, null, null, null, true);
+    }
+}
@@ -0,0 +1,12 @@
+package consultorio.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado pelo PlanoDentalService ao criar/atualizar/deletar um item; o CacheOdontograma descarta o
+// resumo do paciente após o commit
+@Getter
+@AllArgsConstructor
+public class PlanoDentalAlteradoEvent {
+    private final Long pacienteId;
+}
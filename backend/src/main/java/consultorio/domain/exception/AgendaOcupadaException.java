@@ -0,0 +1,15 @@
+package consultorio.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AgendaOcupadaException extends RuntimeException {
+    public AgendaOcupadaException(String message) {
+        super(message);
+    }
+
+    public AgendaOcupadaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
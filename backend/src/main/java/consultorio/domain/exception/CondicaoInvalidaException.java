@@ -0,0 +1,12 @@
+package consultorio.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Cabeçalho condicional (If-Match) fora da sintaxe de entity-tag: erro do cliente, não divergência de versão
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CondicaoInvalidaException extends RuntimeException {
+    public CondicaoInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package consultorio.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflitoHorarioException extends RuntimeException {
+    public ConflitoHorarioException(String message) {
+        super(message);
+    }
+
+    public ConflitoHorarioException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
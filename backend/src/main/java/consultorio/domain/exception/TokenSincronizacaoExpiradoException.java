@@ -0,0 +1,12 @@
+package consultorio.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Token mais antigo que a retenção das lápides: o cliente refaz a carga completa (sem token)
+@ResponseStatus(HttpStatus.GONE)
+public class TokenSincronizacaoExpiradoException extends RuntimeException {
+    public TokenSincronizacaoExpiradoException(String message) {
+        super(message);
+    }
+}
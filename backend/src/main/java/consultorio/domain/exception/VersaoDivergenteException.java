@@ -0,0 +1,16 @@
+package consultorio.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// If-Match do PUT não confere com a versão gravada (ou o registro mudou durante a gravação)
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VersaoDivergenteException extends RuntimeException {
+    public VersaoDivergenteException(String message) {
+        super(message);
+    }
+
+    public VersaoDivergenteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
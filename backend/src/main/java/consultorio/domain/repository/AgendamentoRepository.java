@@ -2,40 +2,79 @@ package consultorio.domain.repository;
 
 import consultorio.domain.entity.Agendamento;
 import consultorio.domain.entity.enums.StatusAgendamento;
+import consultorio.domain.repository.projection.AgendamentoExportacaoProjection;
+import consultorio.domain.repository.projection.IntervaloAgendamentoProjection;
+import consultorio.domain.repository.projection.VersaoAgendamentoProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AgendamentoRepository extends JpaRepository<Agendamento, Long> {
 
     // ===========================================================
     // 🔍 BUSCAS SIMPLES (Spring Data Method Query)
+    // Leituras que viram AgendamentoResponse usam o grafo GRAFO_RESPOSTA:
+    // um único SELECT com paciente, dentista e horários (sem N+1 no mapper)
     // ===========================================================
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
+    Optional<Agendamento> findDetalhadoById(Long id);
+
+    // GET condicional: versões do agendamento, do paciente e do dentista, sem carregar as entidades
+    @Query("""
+        SELECT a.versao AS versao, a.updatedAt AS atualizadoEm,
+               p.versao AS versaoPaciente, p.updatedAt AS pacienteAtualizadoEm,
+               d.versao AS versaoDentista, d.updatedAt AS dentistaAtualizadoEm
+        FROM Agendamento a JOIN a.paciente p JOIN a.dentista d
+        WHERE a.id = :id
+    """)
+    Optional<VersaoAgendamentoProjection> findVersaoById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
+    List<Agendamento> findAll();
+
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByPacienteId(Long pacienteId);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDentistaId(Long dentistaId);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDentistaIdAndPacienteId(Long dentistaId, Long pacienteId);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByStatus(StatusAgendamento status);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByStatusIn(List<StatusAgendamento> statuses);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDataHoraBetween(LocalDateTime start, LocalDateTime end);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDataHoraAfter(LocalDateTime dataHora);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDataHoraBefore(LocalDateTime dataHora);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDentistaIdAndDataHoraBetween(Long dentistaId, LocalDateTime start, LocalDateTime end);
 
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDentistaIdAndDataHoraAfter(Long dentistaId, LocalDateTime dataHora);
 
 
@@ -47,6 +86,7 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
         SELECT a FROM Agendamento a
         WHERE a.dataHora >= :inicio AND a.dataHora < :fim
     """)
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByData(
             @Param("inicio") LocalDateTime inicio,
             @Param("fim") LocalDateTime fim
@@ -57,6 +97,7 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
         WHERE a.dentista.id = :dentistaId
         AND a.dataHora >= :inicio AND a.dataHora < :fim
     """)
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDentistaIdAndData(
             @Param("dentistaId") Long dentistaId,
             @Param("inicio") LocalDateTime inicio,
@@ -67,19 +108,88 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
     // ===========================================================
     // 🔍 CONFLITOS DE HORÁRIO
     // ===========================================================
+    // Sobreposição de tsrange sobre a coluna gerada "periodo" (db/agendamentos-periodo.sql).
+    // Os status ficam literais para casar com o predicado do índice GiST parcial da exclusion constraint.
+    @Query(value = """
+        SELECT EXISTS (
+            SELECT 1 FROM agendamentos a
+            WHERE a.dentista_id = :dentistaId
+            AND a.status IN ('AGENDADO', 'CONFIRMADO', 'EM_ATENDIMENTO')
+            AND a.periodo && tsrange(CAST(:inicio AS timestamp), CAST(:fim AS timestamp), '[)')
+            AND (CAST(:agendamentoId AS bigint) IS NULL OR a.id <> CAST(:agendamentoId AS bigint))
+        )
+    """, nativeQuery = true)
+    boolean existsConflitoHorario(
+            @Param("dentistaId") Long dentistaId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("agendamentoId") Long agendamentoId
+    );
+
+
+    // ===========================================================
+    // 🔍 INTERVALOS OCUPADOS (uma consulta por dia/período)
+    // ===========================================================
     @Query("""
-        SELECT COUNT(a) > 0 FROM Agendamento a
+        SELECT a.id AS id, a.dentista.id AS dentistaId, a.paciente.id AS pacienteId,
+               a.dataHora AS dataHora, a.dataHoraFim AS dataHoraFim
+        FROM Agendamento a
         WHERE a.dentista.id = :dentistaId
         AND a.status IN :statuses
-        AND (a.dataHora < :fim AND a.dataHoraFim > :inicio)
-        AND (:agendamentoId IS NULL OR a.id <> :agendamentoId)
+        AND a.dataHora < :fim AND a.dataHoraFim > :inicio
+        ORDER BY a.dataHora ASC
     """)
-    boolean existsConflitoHorario(
+    List<IntervaloAgendamentoProjection> findIntervalosOcupados(
             @Param("dentistaId") Long dentistaId,
             @Param("inicio") LocalDateTime inicio,
             @Param("fim") LocalDateTime fim,
-            @Param("statuses") List<StatusAgendamento> statuses,
-            @Param("agendamentoId") Long agendamentoId
+            @Param("statuses") List<StatusAgendamento> statuses
+    );
+
+
+    @Query("""
+        SELECT a.id AS id, a.dentista.id AS dentistaId, a.paciente.id AS pacienteId,
+               a.dataHora AS dataHora, a.dataHoraFim AS dataHoraFim
+        FROM Agendamento a
+        WHERE a.status IN :statuses
+        AND a.dataHoraFim > :inicio
+    """)
+    List<IntervaloAgendamentoProjection> findIntervalosAtivosAPartirDe(
+            @Param("inicio") LocalDateTime inicio,
+            @Param("statuses") List<StatusAgendamento> statuses
+    );
+
+    @Query("""
+        SELECT a.id AS id, a.dentista.id AS dentistaId, a.paciente.id AS pacienteId,
+               a.dataHora AS dataHora, a.dataHoraFim AS dataHoraFim
+        FROM Agendamento a
+        WHERE a.status IN :statuses
+        AND a.dataHora >= :inicio AND a.dataHora < :fim
+        ORDER BY a.dataHora ASC
+    """)
+    List<IntervaloAgendamentoProjection> findIntervalosAtivosEntre(
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("statuses") List<StatusAgendamento> statuses
+    );
+
+
+    // ===========================================================
+    // 🔍 REMANEJAMENTO (agendamentos ativos do período com o paciente)
+    // ===========================================================
+    @Query("""
+        SELECT a FROM Agendamento a
+        JOIN FETCH a.paciente
+        WHERE a.dentista.id = :dentistaId
+        AND a.status IN :statuses
+        AND a.dataHora >= :inicio AND a.dataHora < :fim
+        ORDER BY a.dataHora ASC
+    """)
+    List<Agendamento> findAtivosParaRemanejamento(
+            @Param("dentistaId") Long dentistaId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("statuses") List<StatusAgendamento> statuses
     );
 
 
@@ -108,11 +218,53 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
         AND a.status IN :statuses
         ORDER BY a.dataHora ASC
     """)
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findProximosAgendamentos(
             @Param("hoje") LocalDateTime hoje,
             @Param("statuses") List<StatusAgendamento> statuses
     );
 
+    // próximos de um paciente (prontuário completo); Pageable limita a quantidade
+    @Query("""
+        SELECT a FROM Agendamento a
+        WHERE a.paciente.id = :pacienteId
+        AND a.dataHora >= :agora
+        AND a.status IN :statuses
+        ORDER BY a.dataHora ASC, a.id ASC
+    """)
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
+    List<Agendamento> findProximosByPacienteId(
+            @Param("pacienteId") Long pacienteId,
+            @Param("agora") LocalDateTime agora,
+            @Param("statuses") List<StatusAgendamento> statuses,
+            Pageable pageable
+    );
+
+
+    // ===========================================================
+    // 📤 EXPORTAÇÃO (stream com cursor do driver; exige transação aberta e fechamento do Stream)
+    // ===========================================================
+    @Query("""
+        SELECT a.id AS id, a.dataHora AS dataHora, a.dataHoraFim AS dataHoraFim,
+               a.duracaoMinutos AS duracaoMinutos, a.status AS status,
+               a.procedimento AS procedimento, a.observacoes AS observacoes,
+               p.id AS pacienteId, p.nome AS pacienteNome, p.prontuarioNumero AS prontuarioNumero,
+               d.id AS dentistaId, d.nome AS dentistaNome
+        FROM Agendamento a JOIN a.paciente p JOIN a.dentista d
+        WHERE a.dataHora >= :inicio AND a.dataHora < :fim
+        AND (:dentistaId IS NULL OR d.id = :dentistaId)
+        ORDER BY a.dataHora ASC, a.id ASC
+    """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AgendamentoExportacaoProjection> streamExportacao(
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("dentistaId") Long dentistaId
+    );
+
 
     // ===========================================================
     // 🔍 AGENDAMENTOS DO DIA (SEM CURRENT_DATE + 1)
@@ -124,6 +276,7 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
         AND a.status IN :statuses
         ORDER BY a.dataHora ASC
     """)
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findAgendamentosHoje(
             @Param("dentistaId") Long dentistaId,
             @Param("inicio") LocalDateTime inicio,
@@ -141,6 +294,7 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
         AND a.dataHora >= :inicio AND a.dataHora < :fim
         ORDER BY a.dataHora ASC
     """)
+    @EntityGraph(Agendamento.GRAFO_RESPOSTA)
     List<Agendamento> findByDentistaIdAndMes(
             @Param("dentistaId") Long dentistaId,
             @Param("inicio") LocalDateTime inicio,
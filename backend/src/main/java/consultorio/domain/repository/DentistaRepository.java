@@ -1,6 +1,8 @@
 package consultorio.domain.repository;
 
 import consultorio.domain.entity.Dentista;
+import consultorio.domain.repository.projection.ChavesDentistaProjection;
+import consultorio.domain.repository.projection.VersaoRegistroProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,8 +24,32 @@ public interface DentistaRepository extends JpaRepository<Dentista, Long> {
 
     List<Dentista> findByEspecialidadeContainingIgnoreCase(String especialidade);
 
-    @Query("SELECT d FROM Dentista d WHERE LOWER(d.nome) LIKE LOWER(CONCAT('%', :nome, '%')) AND d.ativo = true")
-    List<Dentista> findByNomeContainingIgnoreCaseAndAtivo(@Param("nome") String nome);
+    // Sem acento/caixa pelo índice GIN de trigramas; os nomes mais próximos do termo vêm primeiro.
+    // :padrao é o termo escapado para o LIKE (PadraoLike.escapar); a similaridade usa o termo cru
+    @Query(value = """
+        SELECT d.* FROM dentistas d
+        WHERE d.ativo = true
+          AND f_unaccent(lower(d.nome)) LIKE '%' || f_unaccent(lower(:padrao)) || '%' ESCAPE '\\'
+        ORDER BY word_similarity(f_unaccent(lower(:nome)), f_unaccent(lower(d.nome))) DESC, d.nome, d.id
+    """, nativeQuery = true)
+    List<Dentista> findByNomeContainingIgnoreCaseAndAtivo(@Param("nome") String nome, @Param("padrao") String padrao);
+
+    // Checagem de duplicidade em uma consulta só: null nunca casa, então campos não informados não filtram
+    @Query("""
+        SELECT d.cro AS cro, d.email AS email
+        FROM Dentista d
+        WHERE (d.cro = :cro OR d.email = :email)
+          AND d.id <> :excluirId
+    """)
+    List<ChavesDentistaProjection> findChavesEmUso(@Param("cro") String cro, @Param("email") String email,
+                                                   @Param("excluirId") Long excluirId);
+
+    @Query("SELECT d.cro AS cro, d.email AS email FROM Dentista d")
+    List<ChavesDentistaProjection> findAllChaves();
+
+    // GET condicional: só a versão, pela chave primária
+    @Query("SELECT d.versao AS versao, d.updatedAt AS atualizadoEm FROM Dentista d WHERE d.id = :id")
+    Optional<VersaoRegistroProjection> findVersaoById(@Param("id") Long id);
 
     boolean existsByCro(String cro);
 
@@ -1,7 +1,67 @@
 package consultorio.domain.repository;
 
 import consultorio.domain.entity.EvolucaoTratamento;
+import consultorio.domain.repository.projection.LinhaEvolucaoProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface EvolucaoTratamentoRepository extends JpaRepository<EvolucaoTratamento, Long> {
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EvolucaoTratamentoRepository extends JpaRepository<EvolucaoTratamento, Long>, EvolucaoTratamentoRepositoryCustom {
+
+    // página sem COUNT (o total vem da versão do prontuário); paciente no mesmo SELECT, o mapper lê paciente.nome
+    @EntityGraph(attributePaths = "paciente")
+    List<EvolucaoTratamento> findByPacienteId(Long pacienteId, Pageable pageable);
+
+    // ===========================================================
+    // LINHA DO TEMPO (keyset): dataProcedimento DESC, id DESC, sem data primeiro (padrão do PostgreSQL
+    // para DESC). Pageable só limita; idx_evolucao_tratamento_paciente_data_id cobre a ordem.
+    // ===========================================================
+
+    @Query("""
+        SELECT e.id AS id, e.dataProcedimento AS dataProcedimento,
+               SUBSTRING(e.evolucaoIntercorrenciasTratamento, 1, :caracteres) AS texto,
+               LENGTH(e.evolucaoIntercorrenciasTratamento) AS tamanhoTexto
+        FROM EvolucaoTratamento e
+        WHERE e.paciente.id = :pacienteId
+        ORDER BY e.dataProcedimento DESC NULLS FIRST, e.id DESC
+    """)
+    List<LinhaEvolucaoProjection> findLinhaDoTempo(@Param("pacienteId") Long pacienteId,
+                                                   @Param("caracteres") int caracteres,
+                                                   Pageable limite);
+
+    // depois de uma entrada com data
+    @Query("""
+        SELECT e.id AS id, e.dataProcedimento AS dataProcedimento,
+               SUBSTRING(e.evolucaoIntercorrenciasTratamento, 1, :caracteres) AS texto,
+               LENGTH(e.evolucaoIntercorrenciasTratamento) AS tamanhoTexto
+        FROM EvolucaoTratamento e
+        WHERE e.paciente.id = :pacienteId
+          AND (e.dataProcedimento < :data OR (e.dataProcedimento = :data AND e.id < :id))
+        ORDER BY e.dataProcedimento DESC, e.id DESC
+    """)
+    List<LinhaEvolucaoProjection> findLinhaDoTempoApos(@Param("pacienteId") Long pacienteId,
+                                                       @Param("data") LocalDate data,
+                                                       @Param("id") Long id,
+                                                       @Param("caracteres") int caracteres,
+                                                       Pageable limite);
+
+    // depois de uma entrada sem data: restante das sem data, depois todas as datadas
+    @Query("""
+        SELECT e.id AS id, e.dataProcedimento AS dataProcedimento,
+               SUBSTRING(e.evolucaoIntercorrenciasTratamento, 1, :caracteres) AS texto,
+               LENGTH(e.evolucaoIntercorrenciasTratamento) AS tamanhoTexto
+        FROM EvolucaoTratamento e
+        WHERE e.paciente.id = :pacienteId
+          AND ((e.dataProcedimento IS NULL AND e.id < :id) OR e.dataProcedimento IS NOT NULL)
+        ORDER BY e.dataProcedimento DESC NULLS FIRST, e.id DESC
+    """)
+    List<LinhaEvolucaoProjection> findLinhaDoTempoAposSemData(@Param("pacienteId") Long pacienteId,
+                                                              @Param("id") Long id,
+                                                              @Param("caracteres") int caracteres,
+                                                              Pageable limite);
 }
@@ -0,0 +1,12 @@
+package consultorio.domain.repository;
+
+import consultorio.api.dto.response.BuscaEvolucaoResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EvolucaoTratamentoRepositoryCustom {
+
+    // Busca textual (tsvector + GIN) com filtros opcionais de paciente e período, mais relevantes primeiro
+    List<BuscaEvolucaoResponse> buscarTexto(String termo, Long pacienteId, LocalDate inicio, LocalDate fim, int limite);
+}
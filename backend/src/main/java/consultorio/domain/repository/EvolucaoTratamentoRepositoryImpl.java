@@ -0,0 +1,76 @@
+package consultorio.domain.repository;
+
+import consultorio.api.dto.response.BuscaEvolucaoResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Busca textual nas evoluções (db/evolucao-tratamento.sql: coluna busca + idx_evolucao_tratamento_busca).
+// Só os filtros informados entram no SQL; o ts_headline, que relê o texto, roda apenas nas linhas da página.
+public class EvolucaoTratamentoRepositoryImpl implements EvolucaoTratamentoRepositoryCustom {
+
+    private static final String CONFIGURACAO = "'portugues_sem_acento'";
+    private static final String OPCOES_TRECHO = "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=25, MinWords=8'";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BuscaEvolucaoResponse> buscarTexto(String termo, Long pacienteId, LocalDate inicio, LocalDate fim, int limite) {
+        StringBuilder filtros = new StringBuilder();
+        if (pacienteId != null) filtros.append(" AND e.paciente_id = :pacienteId");
+        if (inicio != null) filtros.append(" AND e.data_procedimento >= :inicio");
+        if (fim != null) filtros.append(" AND e.data_procedimento <= :fim");
+
+        // texto escapado antes do ts_headline: o trecho devolvido só tem como HTML as marcas <mark>
+        String sql = """
+            SELECT t.id, t.paciente_id, p.nome_paciente, p.prontuario_numero, t.data_procedimento, t.relevancia,
+                   ts_headline(%1$s,
+                               replace(replace(replace(t.texto, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                               t.consulta, %2$s)
+            FROM (
+                SELECT e.id, e.paciente_id, e.data_procedimento, e.evolucao_intercorrencias_tratamento AS texto,
+                       q.consulta, ts_rank_cd(e.busca, q.consulta) AS relevancia
+                FROM evolucao_tratamento e,
+                     websearch_to_tsquery(%1$s, :termo) AS q(consulta)
+                WHERE e.busca @@ q.consulta%3$s
+                ORDER BY relevancia DESC, e.data_procedimento DESC NULLS LAST, e.id DESC
+                LIMIT :limite
+            ) t
+            JOIN pacientes p ON p.id = t.paciente_id
+            ORDER BY t.relevancia DESC, t.data_procedimento DESC NULLS LAST, t.id DESC
+            """.formatted(CONFIGURACAO, OPCOES_TRECHO, filtros);
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("termo", termo)
+                .setParameter("limite", limite);
+        if (pacienteId != null) query.setParameter("pacienteId", pacienteId);
+        if (inicio != null) query.setParameter("inicio", inicio);
+        if (fim != null) query.setParameter("fim", fim);
+
+        List<BuscaEvolucaoResponse> resultados = new ArrayList<>();
+        for (Object linha : query.getResultList()) {
+            Object[] c = (Object[]) linha;
+            resultados.add(new BuscaEvolucaoResponse(
+                    ((Number) c[0]).longValue(),
+                    ((Number) c[1]).longValue(),
+                    (String) c[2],
+                    (String) c[3],
+                    data(c[4]),
+                    c[5] != null ? ((Number) c[5]).doubleValue() : null,
+                    (String) c[6]));
+        }
+        return resultados;
+    }
+
+    // o driver pode devolver java.sql.Date ou LocalDate conforme a versão do Hibernate
+    private static LocalDate data(Object valor) {
+        if (valor instanceof Date d) return d.toLocalDate();
+        return (LocalDate) valor;
+    }
+}
@@ -0,0 +1,38 @@
+package consultorio.domain.repository;
+
+import consultorio.domain.entity.ListaEspera;
+import consultorio.domain.entity.enums.StatusListaEspera;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ListaEsperaRepository extends JpaRepository<ListaEspera, Long> {
+
+    @Query("""
+        SELECT l FROM ListaEspera l
+        JOIN FETCH l.paciente
+        LEFT JOIN FETCH l.dentista
+        WHERE l.status = :status
+        ORDER BY l.prioridade DESC, l.createdAt ASC
+    """)
+    List<ListaEspera> findByStatusComPaciente(@Param("status") StatusListaEspera status);
+
+    List<ListaEspera> findByStatusAndOfertadoEmLessThanEqual(StatusListaEspera status, LocalDateTime limite);
+
+    // a reserva ofertada virou agendamento: a entrada sai da fila
+    @Modifying
+    @Query("""
+        UPDATE ListaEspera l
+        SET l.status = consultorio.domain.entity.enums.StatusListaEspera.ATENDIDO
+        WHERE l.reservaId = :reservaId
+        AND l.status = consultorio.domain.entity.enums.StatusListaEspera.OFERTADO
+    """)
+    int marcarAtendidaPorReserva(@Param("reservaId") UUID reservaId);
+}
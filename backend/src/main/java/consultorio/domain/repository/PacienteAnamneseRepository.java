@@ -0,0 +1,15 @@
+package consultorio.domain.repository;
+
+import consultorio.domain.entity.PacienteAnamnese;
+import consultorio.domain.repository.projection.CondicoesPacienteProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PacienteAnamneseRepository extends JpaRepository<PacienteAnamnese, Long> {
+
+    // só quem tem alguma condição marcada
+    @Query("SELECT a.id AS pacienteId, a.condicoes AS condicoes FROM PacienteAnamnese a WHERE a.condicoes <> 0")
+    List<CondicoesPacienteProjection> findAllCondicoes();
+}
@@ -0,0 +1,7 @@
+package consultorio.domain.repository;
+
+import consultorio.domain.entity.PacienteExameClinico;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PacienteExameClinicoRepository extends JpaRepository<PacienteExameClinico, Long> {
+}
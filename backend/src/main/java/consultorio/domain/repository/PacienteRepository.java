@@ -2,7 +2,10 @@ package consultorio.domain.repository;
 
 import consultorio.api.dto.response.PacienteResponse;
 import consultorio.domain.entity.Paciente;
+import consultorio.domain.repository.projection.ChavesPacienteProjection;
 import consultorio.domain.repository.projection.PacienteResumoProjection;
+import consultorio.domain.repository.projection.VersaoProntuarioProjection;
+import consultorio.domain.repository.projection.VersaoRegistroProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,11 +13,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PacienteRepository extends JpaRepository<Paciente, Long> {
+public interface PacienteRepository extends JpaRepository<Paciente, Long>, PacienteRepositoryCustom {
 
     // Consulta otimizada usando projection
     @Query("""
@@ -29,9 +34,8 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
     """)
     List<PacienteResumoProjection> findAllResumo();
 
-    // Consulta com busca por nome
     @Query("""
-        SELECT 
+        SELECT
             p.id as id,
             p.nome as nome,
             p.cpf as cpf,
@@ -39,10 +43,45 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
             p.createdAt as criadoEm,
             p.prontuarioNumero as prontuarioNumero
         FROM Paciente p
-        WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%'))
+        WHERE p.id IN :ids
     """)
+    List<PacienteResumoProjection> findResumoByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Busca por nome sem acento/caixa (índice GIN de trigramas em f_unaccent(lower(nome_paciente))).
+    // :nome já vem escapado (PadraoLike.escapar): % e _ digitados não viram curingas
+    @Query(value = """
+        SELECT
+            p.id AS "id",
+            p.nome_paciente AS "nome",
+            p.cpf AS "cpf",
+            p.data_nascimento AS "dataNascimento",
+            p.criado_em AS "criadoEm",
+            p.prontuario_numero AS "prontuarioNumero"
+        FROM pacientes p
+        WHERE f_unaccent(lower(p.nome_paciente)) LIKE '%' || f_unaccent(lower(:nome)) || '%' ESCAPE '\\'
+    """, nativeQuery = true)
     List<PacienteResumoProjection> findResumoByNomeContaining(@Param("nome") String nome);
 
+    // Mesma chave, ranqueada por similaridade: substring exata ou nome parecido (erros de digitação),
+    // com os mais próximos primeiro. :padrao é o termo escapado para o LIKE; a similaridade usa o termo cru
+    @Query(value = """
+        SELECT
+            p.id AS "id",
+            p.nome_paciente AS "nome",
+            p.cpf AS "cpf",
+            p.data_nascimento AS "dataNascimento",
+            p.criado_em AS "criadoEm",
+            p.prontuario_numero AS "prontuarioNumero"
+        FROM pacientes p
+        WHERE f_unaccent(lower(p.nome_paciente)) LIKE '%' || f_unaccent(lower(:padrao)) || '%' ESCAPE '\\'
+           OR f_unaccent(lower(:termo)) <% f_unaccent(lower(p.nome_paciente))
+        ORDER BY word_similarity(f_unaccent(lower(:termo)), f_unaccent(lower(p.nome_paciente))) DESC,
+                 p.nome_paciente, p.id
+        LIMIT :limite
+    """, nativeQuery = true)
+    List<PacienteResumoProjection> buscarPorNomeSemelhante(@Param("termo") String termo, @Param("padrao") String padrao,
+                                                            @Param("limite") int limite);
+
     // Métodos existentes mantidos...
     Optional<Paciente> findByCpf(String cpf);
     Optional<Paciente> findByRg(String rg);
@@ -61,9 +100,55 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
     @Query("SELECT p FROM Paciente p WHERE p.prontuarioNumero = :prontuarioNumero AND p.id != :id")
     boolean existsByProntuarioNumeroAndIdNot(@Param("prontuarioNumero") String prontuarioNumero, @Param("id") Long id);
 
+    // Checagem de duplicidade em uma consulta só: null nunca casa, então campos não informados não filtram
+    @Query("""
+        SELECT p.cpf AS cpf, p.rg AS rg, p.prontuarioNumero AS prontuarioNumero
+        FROM Paciente p
+        WHERE (p.cpf = :cpf OR p.rg = :rg OR p.prontuarioNumero = :prontuarioNumero)
+          AND p.id <> :excluirId
+    """)
+    List<ChavesPacienteProjection> findChavesEmUso(@Param("cpf") String cpf, @Param("rg") String rg,
+                                                   @Param("prontuarioNumero") String prontuarioNumero,
+                                                   @Param("excluirId") Long excluirId);
+
+    @Query("SELECT p.cpf AS cpf, p.rg AS rg, p.prontuarioNumero AS prontuarioNumero FROM Paciente p")
+    List<ChavesPacienteProjection> findAllChaves();
+
     List<Paciente> findByStatus(Boolean status);
-    List<Paciente> findByNomeContainingIgnoreCase(String nome);
+
+    // :nome já escapado (PadraoLike.escapar), como nas buscas acima
+    @Query(value = "SELECT * FROM pacientes p WHERE f_unaccent(lower(p.nome_paciente)) LIKE '%' || f_unaccent(lower(:nome)) || '%' ESCAPE '\\'",
+            nativeQuery = true)
+    List<Paciente> findByNomeContainingIgnoreCase(@Param("nome") String nome);
 
     Page<Paciente> findByStatus(Boolean status, Pageable pageable);
-    Page<Paciente> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT * FROM pacientes p WHERE f_unaccent(lower(p.nome_paciente)) LIKE '%' || f_unaccent(lower(:nome)) || '%' ESCAPE '\\'",
+            countQuery = "SELECT count(*) FROM pacientes p WHERE f_unaccent(lower(p.nome_paciente)) LIKE '%' || f_unaccent(lower(:nome)) || '%' ESCAPE '\\'",
+            nativeQuery = true)
+    Page<Paciente> findByNomeContainingIgnoreCase(@Param("nome") String nome, Pageable pageable);
+
+    // GET condicional: só a versão, pela chave primária (seções alteradas também a incrementam)
+    @Query("SELECT p.versao AS versao, p.updatedAt AS atualizadoEm FROM Paciente p WHERE p.id = :id")
+    Optional<VersaoRegistroProjection> findVersaoById(@Param("id") Long id);
+
+    // Versão do prontuário completo num único SELECT: maior atualizado_em (epoch ms) entre paciente, planos,
+    // evoluções e próximos agendamentos, mais as contagens (exclusões não movem o máximo)
+    @Query(value = """
+        SELECT p.id AS "pacienteId",
+               CAST(EXTRACT(EPOCH FROM GREATEST(p.atualizado_em,
+                        (SELECT MAX(pd.atualizado_em) FROM plano_dental pd WHERE pd.paciente_id = p.id),
+                        (SELECT MAX(e.atualizado_em) FROM evolucao_tratamento e WHERE e.paciente_id = p.id),
+                        (SELECT MAX(a.updated_at) FROM agendamentos a
+                          WHERE a.paciente_id = p.id AND a.data_hora >= :agora AND a.status IN (:statuses)))) * 1000 AS bigint) AS "atualizadoEm",
+               (SELECT COUNT(*) FROM plano_dental pd WHERE pd.paciente_id = p.id) AS "planos",
+               (SELECT COUNT(*) FROM evolucao_tratamento e WHERE e.paciente_id = p.id) AS "evolucoes",
+               (SELECT COUNT(*) FROM agendamentos a
+                 WHERE a.paciente_id = p.id AND a.data_hora >= :agora AND a.status IN (:statuses)) AS "agendamentos"
+        FROM pacientes p
+        WHERE p.prontuario_numero = :prontuarioNumero
+    """, nativeQuery = true)
+    Optional<VersaoProntuarioProjection> findVersaoProntuario(@Param("prontuarioNumero") String prontuarioNumero,
+                                                              @Param("agora") LocalDateTime agora,
+                                                              @Param("statuses") Collection<String> statuses);
+}
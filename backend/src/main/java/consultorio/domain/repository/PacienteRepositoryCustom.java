@@ -0,0 +1,16 @@
+package consultorio.domain.repository;
+
+import consultorio.api.dto.request.PacienteFiltroRequest;
+import consultorio.api.dto.response.PacienteResumoResponse;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface PacienteRepositoryCustom {
+
+    // Resumo paginado: por offset, ou por keyset quando (valorApos, idApos) vier do último item da página anterior
+    List<PacienteResumoResponse> buscarResumo(PacienteFiltroRequest filtro, Sort.Order ordem,
+                                              Object valorApos, Long idApos, int offset, int limite);
+
+    long contarResumo(PacienteFiltroRequest filtro);
+}
@@ -0,0 +1,106 @@
+package consultorio.domain.repository;
+
+import consultorio.api.dto.request.PacienteFiltroRequest;
+import consultorio.api.dto.response.PacienteResumoResponse;
+import consultorio.domain.entity.Paciente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Consultas dinâmicas da listagem de pacientes: só as colunas do resumo saem do banco
+public class PacienteRepositoryImpl implements PacienteRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<PacienteResumoResponse> buscarResumo(PacienteFiltroRequest filtro, Sort.Order ordem,
+                                                     Object valorApos, Long idApos, int offset, int limite) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<PacienteResumoResponse> query = cb.createQuery(PacienteResumoResponse.class);
+        Root<Paciente> p = query.from(Paciente.class);
+
+        query.select(cb.construct(PacienteResumoResponse.class,
+                p.get("id"), p.get("nome"), p.get("cpf"), p.get("dataNascimento"),
+                p.get("createdAt"), p.get("prontuarioNumero"), p.get("status"), p.get("telefone")));
+
+        List<Predicate> predicados = filtros(cb, p, filtro);
+        Expression<Comparable> campo = p.get(ordem.getProperty());
+        Expression<Long> id = p.get("id");
+
+        // keyset: (campo, id) estritamente depois do último item já entregue, na direção da ordenação
+        if (idApos != null) {
+            predicados.add(depois(cb, campo, id, (Comparable) valorApos, idApos, ordem.isAscending()));
+        }
+
+        // nulo ordena como o maior valor (NULLS LAST crescente, NULLS FIRST decrescente): a ordem
+        // dos índices (campo, id), lidos para frente ou para trás
+        query.where(predicados.toArray(Predicate[]::new));
+        query.orderBy(ordem.isAscending()
+                ? List.of(cb.asc(campo, false), cb.asc(id))
+                : List.of(cb.desc(campo, true), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate depois(CriteriaBuilder cb, Expression<Comparable> campo, Expression<Long> id,
+                                    Comparable valor, Long idApos, boolean crescente) {
+        if (valor == null) {
+            // último item com campo nulo: na ordem crescente só restam nulos; na decrescente, os não nulos vêm depois
+            Predicate nulosSeguintes = cb.and(cb.isNull(campo), crescente ? cb.greaterThan(id, idApos) : cb.lessThan(id, idApos));
+            return crescente ? nulosSeguintes : cb.or(nulosSeguintes, cb.isNotNull(campo));
+        }
+        return crescente
+                ? cb.or(cb.greaterThan(campo, valor), cb.and(cb.equal(campo, valor), cb.greaterThan(id, idApos)), cb.isNull(campo))
+                : cb.or(cb.lessThan(campo, valor), cb.and(cb.equal(campo, valor), cb.lessThan(id, idApos)));
+    }
+
+    @Override
+    public long contarResumo(PacienteFiltroRequest filtro) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Paciente> p = query.from(Paciente.class);
+        query.select(cb.count(p)).where(filtros(cb, p, filtro).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Termos do usuário sempre como parâmetros vinculados (value), nunca inline no SQL
+    private static List<Predicate> filtros(HibernateCriteriaBuilder cb, Root<Paciente> p, PacienteFiltroRequest filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+        if (filtro.getStatus() != null) {
+            predicados.add(cb.equal(p.get("status"), filtro.getStatus()));
+        }
+        if (preenchido(filtro.getNome())) {
+            // mesma chave do índice de trigramas (db/busca-nomes.sql): f_unaccent(lower(nome))
+            Expression<String> padrao = cb.function("f_unaccent", String.class,
+                    cb.lower(cb.value("%" + PadraoLike.escapar(filtro.getNome().trim()) + "%")));
+            predicados.add(cb.like(cb.function("f_unaccent", String.class, cb.lower(p.get("nome"))), padrao, PadraoLike.ESCAPE));
+        }
+        if (preenchido(filtro.getCpf())) {
+            predicados.add(cb.like(p.get("cpf"), "%" + PadraoLike.escapar(filtro.getCpf().trim()) + "%", PadraoLike.ESCAPE));
+        }
+        if (preenchido(filtro.getProntuario())) {
+            predicados.add(cb.like(p.get("prontuarioNumero"), PadraoLike.escapar(filtro.getProntuario().trim()) + "%", PadraoLike.ESCAPE));
+        }
+        return predicados;
+    }
+
+    private static boolean preenchido(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
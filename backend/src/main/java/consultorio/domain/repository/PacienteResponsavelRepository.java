@@ -0,0 +1,7 @@
+package consultorio.domain.repository;
+
+import consultorio.domain.entity.PacienteResponsavel;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PacienteResponsavelRepository extends JpaRepository<PacienteResponsavel, Long> {
+}
@@ -0,0 +1,15 @@
+package consultorio.domain.repository;
+
+// Termos digitados pelo usuário em LIKE: % e _ são texto, não curingas.
+// As consultas nativas declaram ESCAPE '\'; as Criteria usam ESCAPE.
+public final class PadraoLike {
+
+    public static final char ESCAPE = '\\';
+
+    private PadraoLike() {
+    }
+
+    public static String escapar(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,7 +1,62 @@
 package consultorio.domain.repository;
 
 import consultorio.domain.entity.PlanoDental;
+import consultorio.domain.repository.projection.DenteOdontogramaProjection;
+import consultorio.domain.repository.projection.ItemPlanoDentalProjection;
+import consultorio.domain.repository.projection.PlanoDentalExportacaoProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface PlanoDentalRepository extends JpaRepository<PlanoDental, Long> {
+
+    // paciente no mesmo SELECT: o mapper lê paciente.nome
+    @EntityGraph(attributePaths = "paciente")
+    List<PlanoDental> findByPacienteIdOrderByIdAsc(Long pacienteId);
+
+    // Itens do paciente na ordem do odontograma (dente, id) com total do dente e acumulado do plano
+    // calculados pelo banco (idx_plano_dental_paciente)
+    @Query(value = """
+        SELECT pd.id AS "id",
+               pd.dente AS "dente",
+               pd.procedimento AS "procedimento",
+               pd.valor AS "valor",
+               COUNT(*) OVER (PARTITION BY pd.dente) AS "quantidadeDente",
+               COALESCE(SUM(pd.valor) OVER (PARTITION BY pd.dente), 0) AS "totalDente",
+               COALESCE(SUM(pd.valor) OVER (ORDER BY pd.dente, pd.id ROWS UNBOUNDED PRECEDING), 0) AS "acumulado"
+        FROM plano_dental pd
+        WHERE pd.paciente_id = :pacienteId
+        ORDER BY pd.dente, pd.id
+    """, nativeQuery = true)
+    List<ItemPlanoDentalProjection> findItensComTotais(@Param("pacienteId") Long pacienteId);
+
+    @Query("""
+        SELECT pd.dente AS dente, COUNT(pd) AS quantidade, COALESCE(SUM(pd.valor), 0.0) AS total
+        FROM PlanoDental pd
+        WHERE pd.paciente.id = :pacienteId
+        GROUP BY pd.dente
+        ORDER BY pd.dente
+    """)
+    List<DenteOdontogramaProjection> findOdontograma(@Param("pacienteId") Long pacienteId);
+
+    // Exportação (stream com cursor do driver; exige transação aberta e fechamento do Stream)
+    @Query("""
+        SELECT pd.id AS id, p.id AS pacienteId, p.nome AS pacienteNome, p.prontuarioNumero AS prontuarioNumero,
+               pd.dente AS dente, pd.procedimento AS procedimento, pd.valor AS valor
+        FROM PlanoDental pd JOIN pd.paciente p
+        WHERE (:pacienteId IS NULL OR p.id = :pacienteId)
+        ORDER BY p.id ASC, pd.id ASC
+    """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PlanoDentalExportacaoProjection> streamExportacao(@Param("pacienteId") Long pacienteId);
 }
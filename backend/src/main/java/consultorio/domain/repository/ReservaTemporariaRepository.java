@@ -0,0 +1,34 @@
+package consultorio.domain.repository;
+
+import consultorio.domain.entity.ReservaTemporaria;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReservaTemporariaRepository extends JpaRepository<ReservaTemporaria, UUID> {
+
+    @Query("""
+        SELECT r FROM ReservaTemporaria r
+        WHERE r.dentistaId = :dentistaId
+        AND r.expiraEm > :agora
+        AND r.dataHora < :fim AND r.dataHoraFim > :inicio
+        ORDER BY r.dataHora ASC
+    """)
+    List<ReservaTemporaria> findAtivasNoPeriodo(
+            @Param("dentistaId") Long dentistaId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("agora") LocalDateTime agora
+    );
+
+    @Modifying
+    @Query("DELETE FROM ReservaTemporaria r WHERE r.expiraEm <= :agora")
+    int deleteExpiradas(@Param("agora") LocalDateTime agora);
+}
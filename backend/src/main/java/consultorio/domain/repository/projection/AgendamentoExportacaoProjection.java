@@ -0,0 +1,21 @@
+package consultorio.domain.repository.projection;
+
+import consultorio.domain.entity.enums.StatusAgendamento;
+
+import java.time.LocalDateTime;
+
+// Linha da exportação da agenda: colunas planas, nenhuma entidade gerenciada pela sessão durante o stream
+public interface AgendamentoExportacaoProjection {
+    Long getId();
+    LocalDateTime getDataHora();
+    LocalDateTime getDataHoraFim();
+    Integer getDuracaoMinutos();
+    StatusAgendamento getStatus();
+    String getProcedimento();
+    String getObservacoes();
+    Long getPacienteId();
+    String getPacienteNome();
+    String getProntuarioNumero();
+    Long getDentistaId();
+    String getDentistaNome();
+}
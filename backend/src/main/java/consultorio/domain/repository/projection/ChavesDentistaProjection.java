@@ -0,0 +1,7 @@
+package consultorio.domain.repository.projection;
+
+// Campos únicos do dentista: carga dos filtros de Bloom e checagem de duplicidade
+public interface ChavesDentistaProjection {
+    String getCro();
+    String getEmail();
+}
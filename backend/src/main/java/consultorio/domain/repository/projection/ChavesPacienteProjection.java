@@ -0,0 +1,8 @@
+package consultorio.domain.repository.projection;
+
+// Campos únicos do paciente: carga dos filtros de Bloom e checagem de duplicidade
+public interface ChavesPacienteProjection {
+    String getCpf();
+    String getRg();
+    String getProntuarioNumero();
+}
@@ -0,0 +1,7 @@
+package consultorio.domain.repository.projection;
+
+// Máscara de condições da anamnese por paciente: carga do IndiceCondicoes
+public interface CondicoesPacienteProjection {
+    Long getPacienteId();
+    Long getCondicoes();
+}
@@ -0,0 +1,8 @@
+package consultorio.domain.repository.projection;
+
+// Resumo de um dente no odontograma do paciente: quantidade de itens e soma dos valores
+public interface DenteOdontogramaProjection {
+    String getDente();
+    Long getQuantidade();
+    Double getTotal();
+}
@@ -0,0 +1,11 @@
+package consultorio.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface IntervaloAgendamentoProjection {
+    Long getId();
+    Long getDentistaId();
+    Long getPacienteId();
+    LocalDateTime getDataHora();
+    LocalDateTime getDataHoraFim();
+}
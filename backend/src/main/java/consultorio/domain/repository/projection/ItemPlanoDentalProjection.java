@@ -0,0 +1,12 @@
+package consultorio.domain.repository.projection;
+
+// Item do plano dental com os totais calculados no SELECT (PlanoDentalRepository.findItensComTotais)
+public interface ItemPlanoDentalProjection {
+    Long getId();
+    String getDente();
+    String getProcedimento();
+    Double getValor();
+    Long getQuantidadeDente();
+    Double getTotalDente();
+    Double getAcumulado();
+}
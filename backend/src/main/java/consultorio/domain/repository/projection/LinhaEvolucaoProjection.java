@@ -0,0 +1,11 @@
+package consultorio.domain.repository.projection;
+
+import java.time.LocalDate;
+
+// Entrada da linha do tempo de evoluções: texto já cortado no SELECT, tamanho original para saber se houve corte
+public interface LinhaEvolucaoProjection {
+    Long getId();
+    LocalDate getDataProcedimento();
+    String getTexto();
+    Integer getTamanhoTexto();
+}
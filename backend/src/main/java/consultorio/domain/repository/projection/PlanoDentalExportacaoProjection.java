@@ -0,0 +1,12 @@
+package consultorio.domain.repository.projection;
+
+// Linha da exportação do plano dental (relatório financeiro)
+public interface PlanoDentalExportacaoProjection {
+    Long getId();
+    Long getPacienteId();
+    String getPacienteNome();
+    String getProntuarioNumero();
+    String getDente();
+    String getProcedimento();
+    Double getValor();
+}
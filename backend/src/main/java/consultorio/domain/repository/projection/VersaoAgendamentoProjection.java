@@ -0,0 +1,13 @@
+package consultorio.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+// O AgendamentoResponse embute paciente e dentista: as versões deles também entram no ETag
+public interface VersaoAgendamentoProjection {
+    Long getVersao();
+    LocalDateTime getAtualizadoEm();
+    Long getVersaoPaciente();
+    LocalDateTime getPacienteAtualizadoEm();
+    Long getVersaoDentista();
+    LocalDateTime getDentistaAtualizadoEm();
+}
@@ -0,0 +1,10 @@
+package consultorio.domain.repository.projection;
+
+// Versão do prontuário completo: base do ETag (PacienteRepository.findVersaoProntuario)
+public interface VersaoProntuarioProjection {
+    Long getPacienteId();
+    Long getAtualizadoEm();
+    Long getPlanos();
+    Long getEvolucoes();
+    Long getAgendamentos();
+}
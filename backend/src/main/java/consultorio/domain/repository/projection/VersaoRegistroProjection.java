@@ -0,0 +1,9 @@
+package consultorio.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Versão (@Version) e última alteração de um registro: ETag/Last-Modified sem carregar a entidade
+public interface VersaoRegistroProjection {
+    Long getVersao();
+    LocalDateTime getAtualizadoEm();
+}
@@ -2,24 +2,47 @@ package consultorio.domain.service;
 
 import consultorio.api.dto.mapper.AgendamentoMapper;
 import consultorio.api.dto.request.AgendamentoRequest;
+import consultorio.api.dto.request.ReservaTemporariaRequest;
+import consultorio.api.dto.request.SerieAgendamentoRequest;
 import consultorio.api.dto.response.AgendamentoResponse;
+import consultorio.api.dto.response.DisponibilidadeDiaResponse;
+import consultorio.api.dto.response.DisponibilidadePeriodoResponse;
+import consultorio.api.dto.response.OcorrenciaRecusadaResponse;
+import consultorio.api.dto.response.ReservaTemporariaResponse;
+import consultorio.api.dto.response.SerieAgendamentoResponse;
 import consultorio.domain.entity.Agendamento;
 import consultorio.domain.entity.Dentista;
 import consultorio.domain.entity.HorarioTrabalho;
 import consultorio.domain.entity.Paciente;
+import consultorio.domain.entity.ReservaTemporaria;
+import consultorio.domain.entity.enums.FrequenciaRecorrencia;
 import consultorio.domain.entity.enums.StatusAgendamento;
+import consultorio.domain.event.AgendamentoAlteradoEvent;
+import consultorio.domain.event.HorarioLiberadoEvent;
+import consultorio.domain.exception.ConflitoHorarioException;
+import consultorio.domain.exception.RecursoNaoEncontradoException;
+import consultorio.domain.exception.VersaoDivergenteException;
 import consultorio.domain.repository.AgendamentoRepository;
 import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.ListaEsperaRepository;
 import consultorio.domain.repository.PacienteRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +53,12 @@ public class AgendamentoService {
     private final DentistaRepository dentistaRepository;
     private final AgendamentoMapper agendamentoMapper;
     private final DentistaService dentistaService;
+    private final DisponibilidadeService disponibilidadeService;
+    private final IndiceAgenda indiceAgenda;
+    private final CoordenadorReservas coordenadorReservas;
+    private final ReservasTemporarias reservasTemporarias;
+    private final ListaEsperaRepository listaEsperaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final List<StatusAgendamento> STATUS_ATIVOS = Arrays.asList(
             StatusAgendamento.AGENDADO,
@@ -38,29 +67,39 @@ public class AgendamentoService {
     );
 
     private static final Integer DURACAO_PADRAO_MINUTOS = 30;
+    private static final int MAXIMO_OCORRENCIAS_SERIE = 104;
+
+    // SQLSTATE exclusion_violation do PostgreSQL (ex_agendamentos_dentista_periodo)
+    private static final String SQLSTATE_VIOLACAO_EXCLUSAO = "23P01";
 
     // ====================== CREATE ======================
     @Transactional
     public AgendamentoResponse create(AgendamentoRequest request) {
+        return criar(request, null);
+    }
+
+    private AgendamentoResponse criar(AgendamentoRequest request, UUID reservaConfirmada) {
         Paciente paciente = pacienteRepository.findById(request.getPacienteId())
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
 
         Dentista dentista = dentistaRepository.findById(request.getDentistaId())
                 .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
 
+        int duracao = (request.getDuracaoMinutos() != null && request.getDuracaoMinutos() > 0)
+                ? request.getDuracaoMinutos()
+                : DURACAO_PADRAO_MINUTOS;
+
         validarDataAgendamento(request.getDataHora());
         validarHorarioTrabalhoDentista(dentista, request.getDataHora());
-        validarConflitoHorario(dentista.getId(), request.getDataHora(), null);
+
+        // fila por dentista até o commit: a checagem de conflito e o insert ficam atômicos
+        coordenadorReservas.bloquear(dentista.getId(), request.getDataHora().toLocalDate());
+        validarConflitoHorario(dentista.getId(), request.getDataHora(), duracao, null, reservaConfirmada);
 
         Agendamento agendamento = Agendamento.criarAgendamento(
                 paciente, dentista, request.getDataHora(), request.getProcedimento()
         );
-
-        if (request.getDuracaoMinutos() != null && request.getDuracaoMinutos() > 0) {
-            agendamento.setDuracaoMinutos(request.getDuracaoMinutos());
-        } else {
-            agendamento.setDuracaoMinutos(DURACAO_PADRAO_MINUTOS);
-        }
+        agendamento.setDuracaoMinutos(duracao);
 
         if (request.getObservacoes() != null) {
             agendamento.setObservacoes(request.getObservacoes());
@@ -68,19 +107,197 @@ public class AgendamentoService {
 
         agendamento.calcularCampos(); // calcula dataHoraFim
 
-        Agendamento saved = agendamentoRepository.save(agendamento);
+        Agendamento saved = salvar(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvent.de(saved));
         return agendamentoMapper.toEntityResponse(saved);
     }
 
+    // ====================== RESERVA TEMPORÁRIA ======================
+    @Transactional
+    public ReservaTemporariaResponse reservarHorario(ReservaTemporariaRequest request) {
+        return reservarHorario(request, null);
+    }
+
+    // validade null = TTL padrão das reservas; a lista de espera usa uma validade maior
+    @Transactional
+    public ReservaTemporariaResponse reservarHorario(ReservaTemporariaRequest request, Duration validade) {
+        Dentista dentista = dentistaRepository.findById(request.getDentistaId())
+                .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
+
+        if (!dentista.getAtivo()) {
+            throw new RuntimeException("Dentista não está ativo");
+        }
+
+        int duracao = (request.getDuracaoMinutos() != null && request.getDuracaoMinutos() > 0)
+                ? request.getDuracaoMinutos()
+                : DURACAO_PADRAO_MINUTOS;
+
+        validarDataAgendamento(request.getDataHora());
+        validarHorarioTrabalhoDentista(dentista, request.getDataHora());
+
+        coordenadorReservas.bloquear(dentista.getId(), request.getDataHora().toLocalDate());
+        validarConflitoHorario(dentista.getId(), request.getDataHora(), duracao, null, null);
+
+        LocalDateTime fim = request.getDataHora().plusMinutes(duracao);
+        ReservaTemporaria reserva = validade == null
+                ? reservasTemporarias.criar(dentista.getId(), request.getDataHora(), fim)
+                : reservasTemporarias.criar(dentista.getId(), request.getDataHora(), fim, validade);
+        return toReservaResponse(reserva);
+    }
+
+    // Converte a reserva em agendamento; horário, dentista e duração vêm da própria reserva
+    @Transactional
+    public AgendamentoResponse confirmarReserva(UUID reservaId, AgendamentoRequest request) {
+        ReservaTemporaria reserva = reservasTemporarias.buscarAtiva(reservaId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Reserva temporária não encontrada ou expirada"));
+
+        request.setDentistaId(reserva.getDentistaId());
+        request.setDataHora(reserva.getDataHora());
+        request.setDuracaoMinutos((int) Duration.between(reserva.getDataHora(), reserva.getDataHoraFim()).toMinutes());
+
+        AgendamentoResponse response = criar(request, reservaId);
+        reservasTemporarias.removerAposCommit(reservaId);
+        // reserva ofertada pela lista de espera: a entrada é atendida na mesma transação
+        listaEsperaRepository.marcarAtendidaPorReserva(reservaId);
+        return response;
+    }
+
+    public void liberarReserva(UUID reservaId) {
+        reservasTemporarias.remover(reservaId);
+    }
+
+    private ReservaTemporariaResponse toReservaResponse(ReservaTemporaria reserva) {
+        return new ReservaTemporariaResponse(reserva.getId(), reserva.getDentistaId(),
+                reserva.getDataHora(), reserva.getDataHoraFim(), reserva.getExpiraEm());
+    }
+
+    // ====================== SÉRIE ======================
+    // Todas as ocorrências são validadas contra UMA consulta de intervalos do período inteiro
+    // e as aceitas são gravadas num único batch JDBC (id por sequence, ver Agendamento)
+    @Transactional
+    public SerieAgendamentoResponse criarSerie(SerieAgendamentoRequest request) {
+        Paciente paciente = pacienteRepository.findById(request.getPacienteId())
+                .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
+
+        Dentista dentista = dentistaRepository.findById(request.getDentistaId())
+                .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
+
+        if (!dentista.getAtivo()) {
+            throw new RuntimeException("Dentista não está ativo");
+        }
+
+        int duracao = (request.getDuracaoMinutos() != null && request.getDuracaoMinutos() > 0)
+                ? request.getDuracaoMinutos()
+                : DURACAO_PADRAO_MINUTOS;
+
+        List<LocalDateTime> ocorrencias = gerarOcorrencias(request);
+        LocalDateTime inicio = ocorrencias.get(0);
+        LocalDateTime fim = ocorrencias.get(ocorrencias.size() - 1).plusMinutes(duracao);
+
+        coordenadorReservas.bloquear(ocorrencias.stream()
+                .map(o -> new CoordenadorReservas.Chave(dentista.getId(), o.toLocalDate()))
+                .distinct()
+                .toList());
+
+        List<DisponibilidadeService.Intervalo> ocupados = new ArrayList<>();
+        agendamentoRepository.findIntervalosOcupados(dentista.getId(), inicio, fim, STATUS_ATIVOS)
+                .forEach(i -> ocupados.add(new DisponibilidadeService.Intervalo(i.getDataHora(), i.getDataHoraFim())));
+        ocupados.addAll(reservasTemporarias.intervalosReservados(dentista.getId(), inicio, fim));
+
+        // ocorrências em ordem crescente: um único ponteiro percorre os blocos ocupados
+        DisponibilidadeService.Varredura varredura =
+                new DisponibilidadeService.Varredura(DisponibilidadeService.unirIntervalos(ocupados));
+        LocalDateTime antecedenciaMinima = LocalDateTime.now().plusHours(1);
+
+        List<Agendamento> aceitos = new ArrayList<>();
+        List<OcorrenciaRecusadaResponse> recusadas = new ArrayList<>();
+        for (LocalDateTime dataHora : ocorrencias) {
+            String motivo = null;
+            if (dataHora.isBefore(antecedenciaMinima)) {
+                motivo = "Agendamento deve ter pelo menos 1 hora de antecedência";
+            } else if (!isDentistaDisponivelNoHorario(dentista, dataHora)) {
+                motivo = "Dentista não atende neste horário";
+            } else if (!varredura.livre(dataHora, dataHora.plusMinutes(duracao))) {
+                motivo = "Conflito de horário: já existe agendamento neste período";
+            }
+
+            if (motivo != null) {
+                recusadas.add(new OcorrenciaRecusadaResponse(dataHora, motivo));
+                continue;
+            }
+
+            Agendamento agendamento = Agendamento.criarAgendamento(
+                    paciente, dentista, dataHora, request.getProcedimento());
+            agendamento.setDuracaoMinutos(duracao);
+            agendamento.setObservacoes(request.getObservacoes());
+            agendamento.calcularCampos();
+            aceitos.add(agendamento);
+        }
+
+        List<Agendamento> salvos = salvarTodos(aceitos);
+        salvos.forEach(a -> eventPublisher.publishEvent(AgendamentoAlteradoEvent.de(a)));
+
+        return new SerieAgendamentoResponse(ocorrencias.size(),
+                agendamentoMapper.toEntityResponseList(salvos), recusadas);
+    }
+
+    private List<LocalDateTime> gerarOcorrencias(SerieAgendamentoRequest request) {
+        if (request.getOcorrencias() == null && request.getAte() == null) {
+            throw new RuntimeException("Informe o número de ocorrências ou a data final da série");
+        }
+
+        FrequenciaRecorrencia frequencia = request.getFrequencia() != null
+                ? request.getFrequencia()
+                : FrequenciaRecorrencia.SEMANAL;
+        int intervalo = (request.getIntervalo() != null && request.getIntervalo() > 0) ? request.getIntervalo() : 1;
+        int limite = request.getOcorrencias() != null
+                ? Math.min(request.getOcorrencias(), MAXIMO_OCORRENCIAS_SERIE)
+                : MAXIMO_OCORRENCIAS_SERIE;
+
+        List<LocalDateTime> ocorrencias = new ArrayList<>();
+        for (int i = 0; ocorrencias.size() < limite; i++) {
+            // sempre a partir da primeira data: evita o deslocamento de dias em séries mensais
+            long passos = (long) i * intervalo;
+            LocalDateTime dataHora = switch (frequencia) {
+                case DIARIA -> request.getDataHora().plusDays(passos);
+                case SEMANAL -> request.getDataHora().plusWeeks(passos);
+                case MENSAL -> request.getDataHora().plusMonths(passos);
+            };
+            if (request.getAte() != null && dataHora.toLocalDate().isAfter(request.getAte())) break;
+            ocorrencias.add(dataHora);
+        }
+
+        if (ocorrencias.isEmpty()) {
+            throw new RuntimeException("A série não possui ocorrências");
+        }
+        return ocorrencias;
+    }
+
     // ====================== READ ======================
     private Agendamento findByIdOrThrow(Long id) {
         return agendamentoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Agendamento não encontrado: " + id));
     }
 
+    // ETag/Last-Modified do GET /{id}: versões do agendamento, do paciente e do dentista; vazio se não existir
+    @Transactional(readOnly = true)
+    public Optional<VersaoRecurso> versao(Long id) {
+        return agendamentoRepository.findVersaoById(id)
+                .map(v -> VersaoRecurso.de(new long[]{v.getVersao(), v.getVersaoPaciente(), v.getVersaoDentista()},
+                        v.getAtualizadoEm(), v.getPacienteAtualizadoEm(), v.getDentistaAtualizadoEm()));
+    }
+
     @Transactional(readOnly = true)
     public AgendamentoResponse findById(Long id) {
-        return agendamentoMapper.toEntityResponse(findByIdOrThrow(id));
+        return findByIdVersionado(id).corpo();
+    }
+
+    // paciente e dentista vêm no mesmo SELECT (GRAFO_RESPOSTA): as versões não custam outra consulta
+    @Transactional(readOnly = true)
+    public VersaoRecurso.Versionado<AgendamentoResponse> findByIdVersionado(Long id) {
+        Agendamento agendamento = agendamentoRepository.findDetalhadoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Agendamento não encontrado: " + id));
+        return new VersaoRecurso.Versionado<>(agendamentoMapper.toEntityResponse(agendamento), VersaoRecurso.de(agendamento));
     }
 
     @Transactional(readOnly = true)
@@ -138,7 +355,14 @@ public class AgendamentoService {
     // ====================== UPDATE ======================
     @Transactional
     public AgendamentoResponse update(Long id, AgendamentoRequest request) {
+        return update(id, request, null);
+    }
+
+    // versoesAceitas: If-Match do PUT (null = sem conferência)
+    @Transactional
+    public AgendamentoResponse update(Long id, AgendamentoRequest request, Set<Long> versoesAceitas) {
         Agendamento agendamento = findByIdOrThrow(id);
+        VersaoRecurso.conferir(versoesAceitas, agendamento.getVersao());
 
         Paciente paciente = pacienteRepository.findById(request.getPacienteId())
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
@@ -150,9 +374,24 @@ public class AgendamentoService {
             throw new RuntimeException("Dentista não está ativo");
         }
 
+        int duracao = (request.getDuracaoMinutos() != null && request.getDuracaoMinutos() > 0)
+                ? request.getDuracaoMinutos()
+                : (agendamento.getDuracaoMinutos() != null ? agendamento.getDuracaoMinutos() : DURACAO_PADRAO_MINUTOS);
+
         validarDataAgendamento(request.getDataHora());
         validarHorarioTrabalhoDentista(dentista, request.getDataHora());
-        validarConflitoHorario(dentista.getId(), request.getDataHora(), id);
+
+        // agenda de origem e de destino (pode mudar de dentista e/ou de dia)
+        coordenadorReservas.bloquear(List.of(
+                new CoordenadorReservas.Chave(agendamento.getDentista().getId(), agendamento.getDataHora().toLocalDate()),
+                new CoordenadorReservas.Chave(dentista.getId(), request.getDataHora().toLocalDate())));
+        validarConflitoHorario(dentista.getId(), request.getDataHora(), duracao, id, null);
+
+        boolean remarcado = !agendamento.getDentista().getId().equals(dentista.getId())
+                || !agendamento.getDataHora().equals(request.getDataHora());
+        if (remarcado) {
+            publicarHorarioLiberado(agendamento);
+        }
 
         agendamento.setPaciente(paciente);
         agendamento.setDentista(dentista);
@@ -160,26 +399,37 @@ public class AgendamentoService {
         agendamento.setProcedimento(request.getProcedimento());
         agendamento.setObservacoes(request.getObservacoes());
 
-        if (request.getDuracaoMinutos() != null && request.getDuracaoMinutos() > 0) {
-            agendamento.setDuracaoMinutos(request.getDuracaoMinutos());
-        }
+        agendamento.setDuracaoMinutos(duracao);
 
         agendamento.calcularCampos(); // recalcula dataHoraFim
 
-        return agendamentoMapper.toEntityResponse(agendamentoRepository.save(agendamento));
+        Agendamento saved = salvar(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvent.de(saved));
+        return agendamentoMapper.toEntityResponse(saved);
     }
 
     // ====================== STATUS ======================
     @Transactional
     public AgendamentoResponse updateStatus(Long id, StatusAgendamento status) {
         Agendamento agendamento = findByIdOrThrow(id);
+        if (STATUS_ATIVOS.contains(status)) {
+            coordenadorReservas.bloquear(agendamento.getDentista().getId(), agendamento.getDataHora().toLocalDate());
+        } else if (status == StatusAgendamento.CANCELADO) {
+            publicarHorarioLiberado(agendamento);
+        }
         agendamento.setStatus(status);
-        return agendamentoMapper.toEntityResponse(agendamentoRepository.save(agendamento));
+        Agendamento saved = salvar(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvent.de(saved));
+        return agendamentoMapper.toEntityResponse(saved);
     }
 
+    @Transactional
     public AgendamentoResponse confirmar(Long id) { return updateStatus(id, StatusAgendamento.CONFIRMADO); }
+    @Transactional
     public AgendamentoResponse cancelar(Long id) { return updateStatus(id, StatusAgendamento.CANCELADO); }
+    @Transactional
     public AgendamentoResponse emAtendimento(Long id) { return updateStatus(id, StatusAgendamento.EM_ATENDIMENTO); }
+    @Transactional
     public AgendamentoResponse finalizar(Long id) { return updateStatus(id, StatusAgendamento.CONCLUIDO); }
 
     // ====================== CONSULTAS ESPECIAIS ======================
@@ -216,9 +466,28 @@ public class AgendamentoService {
                 .findFirst()
                 .orElse(null);
 
-        if (horario == null) return List.of();
+        return disponibilidadeService.consultarHorariosLivres(dentistaId, data, horario, DURACAO_PADRAO_MINUTOS);
+    }
+
+    @Transactional(readOnly = true)
+    public DisponibilidadePeriodoResponse consultarDisponibilidadePeriodo(Long dentistaId, LocalDate inicio, LocalDate fim) {
+        validarPeriodoConsulta(inicio.atStartOfDay(), fim.atStartOfDay());
+
+        Dentista dentista = dentistaRepository.findById(dentistaId)
+                .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
 
-        return gerarSlotsDisponiveis(dentistaId, data, horario);
+        List<DisponibilidadeDiaResponse> dias = disponibilidadeService
+                .consultarMapaPeriodo(dentistaId, dentista.getHorarios(), inicio, fim, DURACAO_PADRAO_MINUTOS)
+                .stream()
+                .map(mapa -> new DisponibilidadeDiaResponse(
+                        mapa.data(),
+                        mapa.inicio(),
+                        mapa.larguraMinutos(),
+                        mapa.totalSlots(),
+                        Base64.getEncoder().encodeToString(mapa.livres().toByteArray())))
+                .toList();
+
+        return new DisponibilidadePeriodoResponse(dentistaId, inicio, fim, DURACAO_PADRAO_MINUTOS, dias);
     }
 
     // ====================== VALIDAÇÕES ======================
@@ -241,15 +510,63 @@ public class AgendamentoService {
         }
     }
 
-    private void validarConflitoHorario(Long dentistaId, LocalDateTime inicio, Long excluirId) {
-        int duracao = DURACAO_PADRAO_MINUTOS;
+    // Considera agendamentos ativos e reservas temporárias vigentes (exceto a que está sendo confirmada)
+    private void validarConflitoHorario(Long dentistaId, LocalDateTime inicio, int duracao,
+                                        Long excluirId, UUID reservaIgnorada) {
         LocalDateTime fim = inicio.plusMinutes(duracao);
 
-        if (agendamentoRepository.existsConflitoHorario(dentistaId, inicio, fim, STATUS_ATIVOS, excluirId)) {
-            throw new RuntimeException("Conflito de horário: já existe agendamento neste período");
+        boolean conflito = indiceAgenda.cobre(inicio)
+                ? indiceAgenda.temConflito(dentistaId, inicio, fim, excluirId)
+                : agendamentoRepository.existsConflitoHorario(dentistaId, inicio, fim, excluirId);
+
+        if (!conflito) {
+            conflito = reservasTemporarias.temConflito(dentistaId, inicio, fim, reservaIgnorada);
+        }
+
+        if (conflito) {
+            throw new ConflitoHorarioException("Conflito de horário: já existe agendamento neste período");
+        }
+    }
+
+    // A checagem acima é só um atalho: quem garante a exclusividade sob concorrência é a exclusion
+    // constraint do banco. O flush imediato faz a violação aparecer aqui, e não no commit.
+    private Agendamento salvar(Agendamento agendamento) {
+        try {
+            return agendamentoRepository.saveAndFlush(agendamento);
+        } catch (DataIntegrityViolationException e) {
+            if (isViolacaoExclusao(e)) {
+                throw new ConflitoHorarioException("Conflito de horário: já existe agendamento neste período", e);
+            }
+            throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // gravação concorrente depois da leitura: o @Version recusa o UPDATE
+            throw new VersaoDivergenteException("Agendamento alterado por outra pessoa durante a gravação: " + agendamento.getId(), e);
         }
     }
 
+    private List<Agendamento> salvarTodos(List<Agendamento> agendamentos) {
+        if (agendamentos.isEmpty()) return List.of();
+        try {
+            List<Agendamento> salvos = agendamentoRepository.saveAll(agendamentos);
+            agendamentoRepository.flush();
+            return salvos;
+        } catch (DataIntegrityViolationException e) {
+            if (isViolacaoExclusao(e)) {
+                throw new ConflitoHorarioException("Conflito de horário: já existe agendamento neste período", e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isViolacaoExclusao(Throwable erro) {
+        for (Throwable t = erro; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && SQLSTATE_VIOLACAO_EXCLUSAO.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isDentistaDisponivelNoHorario(Dentista dentista, LocalDateTime dataHora) {
         DayOfWeek dia = dataHora.getDayOfWeek();
         LocalTime hora = dataHora.toLocalTime();
@@ -265,41 +582,29 @@ public class AgendamentoService {
                 });
     }
 
-    private List<LocalDateTime> gerarSlotsDisponiveis(Long dentistaId, LocalDate data, HorarioTrabalho horario) {
-        List<LocalDateTime> slots = new ArrayList<>();
-
-        if (horario.getHoraInicioManha() != null && horario.getHoraFimManha() != null) {
-            slots.addAll(gerarSlotsTurno(dentistaId, data, horario.getHoraInicioManha(), horario.getHoraFimManha()));
-        }
-        if (horario.getHoraInicioTarde() != null && horario.getHoraFimTarde() != null) {
-            slots.addAll(gerarSlotsTurno(dentistaId, data, horario.getHoraInicioTarde(), horario.getHoraFimTarde()));
-        }
-
-        return slots;
+    // ====================== OUTROS ======================
+    @Transactional
+    public void delete(Long id) {
+        Agendamento agendamento = agendamentoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Agendamento não encontrado"));
+        publicarHorarioLiberado(agendamento);
+        agendamentoRepository.delete(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvent.removido(agendamento));
     }
 
-    private List<LocalDateTime> gerarSlotsTurno(Long dentistaId, LocalDate data, LocalTime inicio, LocalTime fim) {
-        List<LocalDateTime> slots = new ArrayList<>();
-        LocalTime atual = inicio;
-
-        while (!atual.plusMinutes(DURACAO_PADRAO_MINUTOS).isAfter(fim)) {
-            LocalDateTime slot = LocalDateTime.of(data, atual);
-            if (!agendamentoRepository.existsConflitoHorario(
-                    dentistaId, slot, slot.plusMinutes(DURACAO_PADRAO_MINUTOS), STATUS_ATIVOS, null)) {
-                slots.add(slot);
-            }
-            atual = atual.plusMinutes(DURACAO_PADRAO_MINUTOS);
-        }
-        return slots;
+    private void publicarHorarioLiberado(Agendamento agendamento) {
+        horarioLiberado(agendamento).ifPresent(eventPublisher::publishEvent);
     }
 
-    // ====================== OUTROS ======================
-    @Transactional
-    public void delete(Long id) {
-        if (!agendamentoRepository.existsById(id)) {
-            throw new EntityNotFoundException("Agendamento não encontrado");
+    // Só interessa à lista de espera um horário ativo e ainda futuro; chamado antes de alterar a entidade
+    // (também pelo RemanejamentoService, para cada horário que o lote desocupa)
+    static Optional<HorarioLiberadoEvent> horarioLiberado(Agendamento agendamento) {
+        if (DisponibilidadeService.STATUS_ATIVOS.contains(agendamento.getStatus())
+                && agendamento.getDataHora().isAfter(LocalDateTime.now())) {
+            return Optional.of(new HorarioLiberadoEvent(
+                    agendamento.getDentista().getId(), agendamento.getDataHora(), agendamento.getDataHoraFim()));
         }
-        agendamentoRepository.deleteById(id);
+        return Optional.empty();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,159 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.HorarioDisponivelResponse;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.HorarioTrabalho;
+import consultorio.domain.repository.DentistaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// "Primeiro horário livre com qualquer dentista da especialidade": cada dentista vira um fluxo
+// preguiçoso de horários livres (janelas de alguns dias) e os fluxos são intercalados por uma fila de prioridade.
+@Service
+@RequiredArgsConstructor
+public class BuscaHorarioService {
+
+    private static final int JANELA_DIAS = 7;
+    private static final int HORIZONTE_MAXIMO_DIAS = 60;
+    private static final Duration ORCAMENTO = Duration.ofSeconds(2);
+    private static final int LIMITE_MAXIMO = 20;
+
+    private final DentistaRepository dentistaRepository;
+    private final DisponibilidadeService disponibilidadeService;
+    private final Executor applicationTaskExecutor;
+
+    @Transactional(readOnly = true)
+    public List<HorarioDisponivelResponse> buscarPrimeirosHorarios(String especialidade, LocalDateTime aPartirDe,
+                                                                   Integer duracaoMinutos, Integer limite) {
+        int duracao = (duracaoMinutos != null && duracaoMinutos > 0) ? duracaoMinutos : DisponibilidadeService.DURACAO_SLOT_MINUTOS;
+        int k = (limite != null && limite > 0) ? Math.min(limite, LIMITE_MAXIMO) : 1;
+
+        // mesma antecedência mínima exigida na criação do agendamento
+        LocalDateTime minimo = LocalDateTime.now().plusHours(1);
+        LocalDateTime inicio = (aPartirDe == null || aPartirDe.isBefore(minimo)) ? minimo : aPartirDe;
+        LocalDate horizonte = inicio.toLocalDate().plusDays(HORIZONTE_MAXIMO_DIAS);
+        long prazo = System.nanoTime() + ORCAMENTO.toNanos();
+
+        List<FluxoDentista> fluxos = dentistaRepository.findByEspecialidadeContainingIgnoreCase(especialidade).stream()
+                .filter(d -> Boolean.TRUE.equals(d.getAtivo()))
+                .map(d -> new FluxoDentista(d, inicio, horizonte, duracao))
+                .toList();
+
+        // primeira janela de cada dentista em paralelo, limitada pelo orçamento de tempo
+        List<CompletableFuture<List<LocalDateTime>>> primeiras = fluxos.stream()
+                .map(f -> CompletableFuture.supplyAsync(f::calcularProximaJanela, applicationTaskExecutor))
+                .toList();
+        try {
+            CompletableFuture.allOf(primeiras.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // segue apenas com os dentistas que responderam dentro do prazo
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        PriorityQueue<Candidato> fila = new PriorityQueue<>(Comparator
+                .comparing(Candidato::dataHora)
+                .thenComparing(c -> c.fluxo().dentistaId));
+
+        for (int i = 0; i < fluxos.size(); i++) {
+            CompletableFuture<List<LocalDateTime>> janela = primeiras.get(i);
+            if (janela.isDone() && !janela.isCompletedExceptionally()) {
+                FluxoDentista fluxo = fluxos.get(i);
+                fluxo.receberJanela(janela.join());
+                fluxo.proximo(prazo).ifPresent(fila::add);
+            }
+        }
+
+        List<HorarioDisponivelResponse> resultado = new ArrayList<>(k);
+        while (resultado.size() < k && !fila.isEmpty()) {
+            Candidato candidato = fila.poll();
+            FluxoDentista fluxo = candidato.fluxo();
+            resultado.add(new HorarioDisponivelResponse(
+                    fluxo.dentistaId, fluxo.nome, fluxo.especialidade, candidato.dataHora(), duracao));
+            fluxo.proximo(prazo).ifPresent(fila::add);
+        }
+        return resultado;
+    }
+
+    private record Candidato(LocalDateTime dataHora, FluxoDentista fluxo) {
+    }
+
+    // Estado mutável só é tocado pela thread da requisição; as threads do executor
+    // apenas devolvem a primeira janela calculada.
+    private final class FluxoDentista {
+        private final Long dentistaId;
+        private final String nome;
+        private final String especialidade;
+        private final List<HorarioTrabalho> horarios;
+        private final LocalDateTime aPartirDe;
+        private final LocalDate horizonte;
+        private final int duracao;
+
+        private final Deque<LocalDateTime> buffer = new ArrayDeque<>();
+        private LocalDate proximoDia;
+
+        FluxoDentista(Dentista dentista, LocalDateTime aPartirDe, LocalDate horizonte, int duracao) {
+            this.dentistaId = dentista.getId();
+            this.nome = dentista.getNome();
+            this.especialidade = dentista.getEspecialidade();
+            // cópia desanexada: a coleção lazy não pode ser lida fora da sessão da requisição
+            this.horarios = dentista.getHorarios().stream()
+                    .map(h -> new HorarioTrabalho(h.getDiaSemana(), h.getHoraInicioManha(), h.getHoraFimManha(),
+                            h.getHoraInicioTarde(), h.getHoraFimTarde(), h.getAtivo()))
+                    .toList();
+            this.aPartirDe = aPartirDe;
+            this.horizonte = horizonte;
+            this.duracao = duracao;
+            this.proximoDia = aPartirDe.toLocalDate();
+        }
+
+        List<LocalDateTime> calcularProximaJanela() {
+            LocalDate inicio = proximoDia;
+            LocalDate fim = inicio.plusDays(JANELA_DIAS - 1);
+            if (fim.isAfter(horizonte)) fim = horizonte;
+
+            List<LocalDateTime> livres = new ArrayList<>();
+            for (DisponibilidadeService.MapaDia mapa :
+                    disponibilidadeService.consultarMapaPeriodo(dentistaId, horarios, inicio, fim, duracao)) {
+                LocalDateTime origem = mapa.data().atTime(mapa.inicio());
+                for (int i = mapa.livres().nextSetBit(0); i >= 0; i = mapa.livres().nextSetBit(i + 1)) {
+                    LocalDateTime slot = origem.plusMinutes((long) i * mapa.larguraMinutos());
+                    if (!slot.isBefore(aPartirDe)) livres.add(slot);
+                }
+            }
+            return livres;
+        }
+
+        void receberJanela(List<LocalDateTime> janela) {
+            buffer.addAll(janela);
+            proximoDia = proximoDia.plusDays(JANELA_DIAS);
+        }
+
+        // avalia dias adiante apenas quando o buffer esvazia, respeitando horizonte e orçamento
+        Optional<Candidato> proximo(long prazo) {
+            while (buffer.isEmpty() && !proximoDia.isAfter(horizonte) && System.nanoTime() < prazo) {
+                receberJanela(calcularProximaJanela());
+            }
+            LocalDateTime slot = buffer.pollFirst();
+            return slot == null ? Optional.empty() : Optional.of(new Candidato(slot, this));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.DenteOdontogramaResponse;
+import consultorio.api.dto.response.OdontogramaResponse;
+import consultorio.domain.event.PacienteAlteradoEvent;
+import consultorio.domain.event.PlanoDentalAlteradoEvent;
+import consultorio.domain.repository.PlanoDentalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Resumo do odontograma por paciente, calculado no primeiro acesso e descartado após o commit de
+// qualquer alteração no plano dental do paciente (ou da exclusão do paciente).
+// A carga roda dentro do computeIfAbsent: uma invalidação concorrente espera a carga terminar e
+// remove o resultado, então um resumo lido antes do commit não sobrevive a ele.
+@Component
+@RequiredArgsConstructor
+public class CacheOdontograma {
+
+    private static final int MAXIMO_PACIENTES = 10_000;
+
+    private final PlanoDentalRepository planoDentalRepository;
+
+    private final Map<Long, OdontogramaResponse> resumos = new ConcurrentHashMap<>();
+
+    public OdontogramaResponse obter(Long pacienteId) {
+        OdontogramaResponse resumo = resumos.get(pacienteId);
+        if (resumo != null) return resumo;
+        // limite simples: recomeça vazio em vez de manter ordem de uso
+        if (resumos.size() >= MAXIMO_PACIENTES) resumos.clear();
+        return resumos.computeIfAbsent(pacienteId, this::carregar);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlanoDentalAlterado(PlanoDentalAlteradoEvent evento) {
+        resumos.remove(evento.getPacienteId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPacienteAlterado(PacienteAlteradoEvent evento) {
+        if (evento.isRemovido()) {
+            resumos.remove(evento.getPacienteId());
+        }
+    }
+
+    private OdontogramaResponse carregar(Long pacienteId) {
+        List<DenteOdontogramaResponse> dentes = planoDentalRepository.findOdontograma(pacienteId).stream()
+                .map(d -> new DenteOdontogramaResponse(d.getDente(), d.getQuantidade().intValue(), d.getTotal()))
+                .toList();
+        int quantidade = dentes.stream().mapToInt(DenteOdontogramaResponse::getQuantidade).sum();
+        double total = dentes.stream().mapToDouble(DenteOdontogramaResponse::getTotal).sum();
+        return new OdontogramaResponse(pacienteId, quantidade, total, dentes);
+    }
+}
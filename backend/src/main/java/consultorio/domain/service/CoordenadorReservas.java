@@ -0,0 +1,142 @@
+package consultorio.domain.service;
+
+import consultorio.domain.exception.AgendaOcupadaException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Serializa reservas do MESMO dentista: um conjunto fixo de faixas de lock (justas, com timeout)
+// indexadas pelo dentistaId. Dentistas em faixas diferentes reservam em paralelo.
+// Com várias instâncias, um advisory lock transacional do PostgreSQL por dentista/dia completa a exclusão.
+@Component
+public class CoordenadorReservas {
+
+    private static final int FAIXAS = 64;
+
+    private final ReentrantLock[] faixas = new ReentrantLock[FAIXAS];
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean lockDistribuido;
+    private final long timeoutMillis;
+
+    public CoordenadorReservas(JdbcTemplate jdbcTemplate,
+                               @Value("${consultorio.agenda.lock-distribuido:false}") boolean lockDistribuido,
+                               @Value("${consultorio.agenda.lock-timeout-ms:3000}") long timeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockDistribuido = lockDistribuido;
+        this.timeoutMillis = timeoutMillis;
+        for (int i = 0; i < FAIXAS; i++) {
+            faixas[i] = new ReentrantLock(true);
+        }
+    }
+
+    public record Chave(Long dentistaId, LocalDate dia) {
+    }
+
+    // ====================== TRANSACIONAL ======================
+    // Mantém os locks até o fim da transação corrente (commit ou rollback): quem entra depois
+    // já enxerga a reserva gravada. Deve ser chamado de dentro de um método @Transactional.
+    public void bloquear(Long dentistaId, LocalDate dia) {
+        bloquear(List.of(new Chave(dentistaId, dia)));
+    }
+
+    public void bloquear(Collection<Chave> chaves) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("CoordenadorReservas.bloquear exige uma transação ativa");
+        }
+
+        SortedSet<Long> dentistas = new TreeSet<>();
+        chaves.forEach(c -> dentistas.add(c.dentistaId()));
+        Bloqueio bloqueio = adquirir(dentistas);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                bloqueio.close();
+            }
+        });
+
+        if (lockDistribuido) {
+            bloquearNoBanco(chaves);
+        }
+    }
+
+    // Advisory locks liberados pelo próprio PostgreSQL no fim da transação; ordem fixa evita deadlock
+    private void bloquearNoBanco(Collection<Chave> chaves) {
+        SortedSet<long[]> ordenadas = new TreeSet<>((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        chaves.forEach(c -> ordenadas.add(new long[]{c.dentistaId(), c.dia().toEpochDay()}));
+
+        try {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + timeoutMillis + "ms'");
+            for (long[] chave : ordenadas) {
+                jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", (int) chave[0], (int) chave[1]);
+            }
+        } catch (PessimisticLockingFailureException e) {
+            throw new AgendaOcupadaException("Agenda do dentista ocupada, tente novamente", e);
+        }
+    }
+
+    // ====================== FAIXAS ======================
+    // Adquire as faixas em ordem crescente de índice (sem deadlock entre reservas que tocam dois dentistas)
+    public Bloqueio adquirir(Collection<Long> dentistaIds) {
+        SortedSet<Integer> indices = new TreeSet<>();
+        dentistaIds.forEach(id -> indices.add(faixa(id)));
+
+        List<ReentrantLock> adquiridos = new ArrayList<>(indices.size());
+        try {
+            for (int indice : indices) {
+                ReentrantLock lock = faixas[indice];
+                if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new AgendaOcupadaException("Agenda do dentista ocupada, tente novamente");
+                }
+                adquiridos.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            liberar(adquiridos);
+            throw new AgendaOcupadaException("Reserva interrompida", e);
+        } catch (RuntimeException e) {
+            liberar(adquiridos);
+            throw e;
+        }
+        return new Bloqueio(adquiridos);
+    }
+
+    private static int faixa(Long dentistaId) {
+        return Math.floorMod(Long.hashCode(dentistaId), FAIXAS);
+    }
+
+    private static void liberar(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    // Deve ser fechado pela mesma thread que adquiriu (exigência do ReentrantLock)
+    public static final class Bloqueio implements AutoCloseable {
+        private final List<ReentrantLock> locks;
+        private boolean liberado;
+
+        private Bloqueio(List<ReentrantLock> locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            if (liberado) return;
+            liberado = true;
+            liberar(locks);
+        }
+    }
+}
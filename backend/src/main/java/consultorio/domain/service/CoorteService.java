@@ -0,0 +1,181 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.CoorteAgendamentoResponse;
+import consultorio.api.dto.response.CoortePacienteResponse;
+import consultorio.api.dto.response.CoorteResponse;
+import consultorio.domain.entity.enums.CondicaoClinica;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.PacienteAnamneseRepository;
+import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.projection.CondicoesPacienteProjection;
+import consultorio.domain.repository.projection.PacienteResumoProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+// Triagem de risco: pacientes com combinações de condições da anamnese, opcionalmente só os que têm
+// agendamento ativo no período. Condições e agenda vêm dos índices residentes; o banco só completa
+// nome/prontuário da página devolvida (e cobre o período em que os índices ainda aquecem).
+@Service
+@RequiredArgsConstructor
+public class CoorteService {
+
+    private static final int LIMITE_PADRAO = 100;
+    private static final int LIMITE_MAXIMO = 500;
+    private static final int HORIZONTE_DIAS = 90;
+
+    private final IndiceCondicoes indiceCondicoes;
+    private final IndiceAgenda indiceAgenda;
+    private final PacienteAnamneseRepository anamneseRepository;
+    private final AgendamentoRepository agendamentoRepository;
+    private final PacienteRepository pacienteRepository;
+
+    private record Horario(long agendamentoId, long dentistaId, long pacienteId, LocalDateTime dataHora) {
+    }
+
+    // flags: cláusulas separadas por vírgula (E), condições dentro da cláusula por '|' (OU).
+    // "problemasHemorragia|problemasAnestesia,diabetes" = (hemorragia ou anestesia) e diabetes
+    @Transactional(readOnly = true)
+    public CoorteResponse coorte(String flags, LocalDate inicio, LocalDate fim, Long dentistaId, Integer limite) {
+        long[] clausulas = clausulas(flags);
+        int n = (limite != null && limite > 0) ? Math.min(limite, LIMITE_MAXIMO) : LIMITE_PADRAO;
+
+        LongUnaryOperator condicoes;
+        LongPredicate atende;
+        IndiceCondicoes.MapaBits mapa = indiceCondicoes.avaliar(clausulas);
+        // índice aquecendo: máscaras lidas do banco
+        Map<Long, Long> mascaras = mapa == null ? mascaras() : Map.of();
+        if (mapa != null) {
+            condicoes = indiceCondicoes::condicoes;
+            atende = id -> id <= Integer.MAX_VALUE && mapa.contem((int) id);
+        } else {
+            condicoes = id -> mascaras.getOrDefault(id, 0L);
+            atende = id -> IndiceCondicoes.atende(mascaras.getOrDefault(id, 0L), clausulas);
+        }
+
+        Map<Long, List<CoorteAgendamentoResponse>> porPaciente = new LinkedHashMap<>();
+        int total;
+        if (inicio == null && fim == null) {
+            List<Long> ids = new ArrayList<>(n);
+            if (mapa != null) {
+                total = mapa.cardinalidade();
+                mapa.paraCada(id -> {
+                    if (ids.size() < n) ids.add((long) id);
+                });
+            } else {
+                List<Long> todos = mascaras.keySet().stream()
+                        .filter(atende::test)
+                        .sorted()
+                        .toList();
+                total = todos.size();
+                ids.addAll(todos.subList(0, Math.min(n, todos.size())));
+            }
+            ids.forEach(id -> porPaciente.put(id, List.of()));
+        } else {
+            LocalDate de = inicio != null ? inicio : fim;
+            LocalDate ate = fim != null ? fim : inicio;
+            if (ate.isBefore(de)) {
+                throw new RuntimeException("Data inicial deve ser anterior à final");
+            }
+            if (ChronoUnit.DAYS.between(de, ate) > HORIZONTE_DIAS) {
+                throw new RuntimeException("Período não pode exceder 3 meses");
+            }
+
+            // agenda do período filtrada pelo bitmap; pacientes na ordem do primeiro horário
+            List<Horario> horarios = agenda(dentistaId, de.atStartOfDay(), ate.plusDays(1).atStartOfDay(), atende);
+            horarios.sort(Comparator.comparing(Horario::dataHora).thenComparingLong(Horario::agendamentoId));
+            Map<Long, List<CoorteAgendamentoResponse>> todos = new LinkedHashMap<>();
+            for (Horario h : horarios) {
+                todos.computeIfAbsent(h.pacienteId(), id -> new ArrayList<>())
+                        .add(new CoorteAgendamentoResponse(h.agendamentoId(), h.dentistaId(), h.dataHora()));
+            }
+            total = todos.size();
+            todos.entrySet().stream().limit(n).forEach(e -> porPaciente.put(e.getKey(), e.getValue()));
+        }
+
+        Map<Long, PacienteResumoProjection> resumos = new HashMap<>();
+        if (!porPaciente.isEmpty()) {
+            pacienteRepository.findResumoByIdIn(porPaciente.keySet()).forEach(r -> resumos.put(r.getId(), r));
+        }
+
+        List<CoortePacienteResponse> pacientes = new ArrayList<>(porPaciente.size());
+        porPaciente.forEach((id, agendamentos) -> {
+            PacienteResumoProjection resumo = resumos.get(id);
+            pacientes.add(new CoortePacienteResponse(id,
+                    resumo != null ? resumo.getNome() : null,
+                    resumo != null ? resumo.getProntuarioNumero() : null,
+                    campos(condicoes.applyAsLong(id)),
+                    agendamentos));
+        });
+        return new CoorteResponse(total, pacientes);
+    }
+
+    private List<Horario> agenda(Long dentistaId, LocalDateTime inicio, LocalDateTime fim, LongPredicate atende) {
+        List<Horario> horarios = new ArrayList<>();
+        if (indiceAgenda.cobre(inicio)) {
+            indiceAgenda.visitar(dentistaId, inicio, fim, (agendamentoId, dentista, pacienteId, dataHora) -> {
+                if (atende.test(pacienteId)) horarios.add(new Horario(agendamentoId, dentista, pacienteId, dataHora));
+            });
+            return horarios;
+        }
+
+        // período anterior ao coberto pelo índice da agenda
+        agendamentoRepository.findIntervalosAtivosEntre(inicio, fim, DisponibilidadeService.STATUS_ATIVOS).forEach(i -> {
+            if ((dentistaId == null || dentistaId.equals(i.getDentistaId())) && atende.test(i.getPacienteId())) {
+                horarios.add(new Horario(i.getId(), i.getDentistaId(), i.getPacienteId(), i.getDataHora()));
+            }
+        });
+        return horarios;
+    }
+
+    private Map<Long, Long> mascaras() {
+        Map<Long, Long> mascaras = new HashMap<>();
+        for (CondicoesPacienteProjection linha : anamneseRepository.findAllCondicoes()) {
+            mascaras.put(linha.getPacienteId(), linha.getCondicoes());
+        }
+        return mascaras;
+    }
+
+    static long[] clausulas(String flags) {
+        if (flags == null || flags.isBlank()) {
+            throw new RuntimeException("Informe ao menos uma condição");
+        }
+        List<Long> clausulas = new ArrayList<>();
+        for (String clausula : flags.split(",")) {
+            long mascara = 0L;
+            for (String campo : clausula.split("\\|")) {
+                if (campo.isBlank()) continue;
+                CondicaoClinica condicao = CondicaoClinica.doCampo(campo.trim());
+                if (condicao == null) {
+                    throw new RuntimeException("Condição desconhecida: " + campo.trim());
+                }
+                mascara |= condicao.bit();
+            }
+            if (mascara != 0) clausulas.add(mascara);
+        }
+        if (clausulas.isEmpty()) {
+            throw new RuntimeException("Informe ao menos uma condição");
+        }
+        return clausulas.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<String> campos(long mascara) {
+        List<String> campos = new ArrayList<>();
+        for (CondicaoClinica condicao : CondicaoClinica.values()) {
+            if ((mascara & condicao.bit()) != 0) campos.add(condicao.getCampo());
+        }
+        return campos;
+    }
+}
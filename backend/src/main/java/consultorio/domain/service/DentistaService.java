@@ -6,15 +6,21 @@ import consultorio.api.dto.response.DentistaResponse;
 import consultorio.domain.entity.Dentista;
 import consultorio.domain.entity.HorarioTrabalho;
 import consultorio.domain.entity.enums.StatusAgendamento;
+import consultorio.domain.exception.VersaoDivergenteException;
 import consultorio.domain.repository.AgendamentoRepository;
 import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.PadraoLike;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,8 +29,8 @@ public class DentistaService {
     private final DentistaRepository dentistaRepository;
     private final AgendamentoRepository agendamentoRepository;
     private final DentistaMapper dentistaMapper;
-
-    private static final int DURACAO_PADRAO_MINUTOS = 30;
+    private final VerificadorUnicidade verificadorUnicidade;
+    private final DisponibilidadeService disponibilidadeService;
 
     // ====================== CREATE ======================
     @Transactional
@@ -33,6 +39,7 @@ public class DentistaService {
         validarUnicidade(request.getCro(), request.getEmail(), null);
 
         Dentista dentista = dentistaMapper.toEntity(request);
+        registrarChaves(dentista);
         Dentista saved = dentistaRepository.save(dentista);
 
         //horarios padrão automatico
@@ -50,10 +57,22 @@ public class DentistaService {
         return dentistaMapper.toEntityResponseList(dentistaRepository.findAll());
     }
 
+    // ETag/Last-Modified do GET /{id} sem carregar o dentista nem os horários; vazio se não existir
+    @Transactional(readOnly = true)
+    public Optional<VersaoRecurso> versao(Long id) {
+        return dentistaRepository.findVersaoById(id)
+                .map(v -> VersaoRecurso.de(new long[]{v.getVersao()}, v.getAtualizadoEm()));
+    }
+
     @Transactional(readOnly = true)
     public DentistaResponse findById(Long id) {
+        return findByIdVersionado(id).corpo();
+    }
+
+    @Transactional(readOnly = true)
+    public VersaoRecurso.Versionado<DentistaResponse> findByIdVersionado(Long id) {
         Dentista dentista = findDentistaOrThrow(id);
-        return dentistaMapper.toEntityResponse(dentista);
+        return new VersaoRecurso.Versionado<>(dentistaMapper.toEntityResponse(dentista), VersaoRecurso.de(dentista));
     }
 
     @Transactional(readOnly = true)
@@ -86,28 +105,41 @@ public class DentistaService {
     @Transactional(readOnly = true)
     public List<DentistaResponse> findByNomeContaining(String nome) {
         return dentistaMapper.toEntityResponseList(
-                dentistaRepository.findByNomeContainingIgnoreCaseAndAtivo(nome));
+                dentistaRepository.findByNomeContainingIgnoreCaseAndAtivo(nome, PadraoLike.escapar(nome)));
     }
 
     @Transactional(readOnly = true)
     public boolean existsByCro(String cro) {
-        return dentistaRepository.existsByCro(cro);
+        return verificadorUnicidade.existe(VerificadorUnicidade.Campo.CRO, cro);
     }
 
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return dentistaRepository.existsByEmail(email);
+        return verificadorUnicidade.existe(VerificadorUnicidade.Campo.EMAIL, email);
     }
 
     // ====================== UPDATE ======================
     @Transactional
     public DentistaResponse update(Long id, DentistaRequest request) {
+        return update(id, request, null);
+    }
+
+    // versoesAceitas: If-Match do PUT (null = sem conferência)
+    @Transactional
+    public DentistaResponse update(Long id, DentistaRequest request, Set<Long> versoesAceitas) {
         Dentista dentista = findDentistaOrThrow(id);
+        VersaoRecurso.conferir(versoesAceitas, dentista.getVersao());
         validarUnicidade(request.getCro(), request.getEmail(), id);
 
         dentistaMapper.updateFromRequest(request, dentista);
-        Dentista updated = dentistaRepository.save(dentista);
-        return dentistaMapper.toEntityResponse(updated);
+        registrarChaves(dentista);
+        // gravação concorrente depois da leitura: o @Version recusa o UPDATE
+        try {
+            Dentista updated = dentistaRepository.saveAndFlush(dentista);
+            return dentistaMapper.toEntityResponse(updated);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new VersaoDivergenteException("Dentista alterado por outra pessoa durante a gravação: " + id, e);
+        }
     }
 
     // ====================== STATUS ======================
@@ -192,43 +224,8 @@ public class DentistaService {
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Dentista não atende neste dia: " + dia));
 
-        List<LocalDateTime> slots = new ArrayList<>();
-
-        // Manhã
-        if (horario.getHoraInicioManha() != null && horario.getHoraFimManha() != null) {
-            slots.addAll(gerarSlotsDoTurno(dentistaId, data, horario.getHoraInicioManha(), horario.getHoraFimManha()));
-        }
-
-        // Tarde
-        if (horario.getHoraInicioTarde() != null && horario.getHoraFimTarde() != null) {
-            slots.addAll(gerarSlotsDoTurno(dentistaId, data, horario.getHoraInicioTarde(), horario.getHoraFimTarde()));
-        }
-
-        return slots;
-    }
-
-    private List<LocalDateTime> gerarSlotsDoTurno(Long dentistaId, LocalDate data, LocalTime inicio, LocalTime fim) {
-        List<LocalDateTime> slots = new ArrayList<>();
-        LocalTime atual = inicio;
-
-        while (!atual.plusMinutes(DURACAO_PADRAO_MINUTOS).isAfter(fim)) {
-            LocalDateTime slot = LocalDateTime.of(data, atual);
-
-            boolean ocupado = agendamentoRepository.existsConflitoHorario(
-                    dentistaId,
-                    slot,
-                    slot.plusMinutes(DURACAO_PADRAO_MINUTOS),
-                    List.of(StatusAgendamento.AGENDADO, StatusAgendamento.CONFIRMADO, StatusAgendamento.EM_ATENDIMENTO),
-                    null
-            );
-
-            if (!ocupado) {
-                slots.add(slot);
-            }
-
-            atual = atual.plusMinutes(DURACAO_PADRAO_MINUTOS);
-        }
-        return slots;
+        return disponibilidadeService.consultarHorariosLivres(
+                dentistaId, data, horario, DisponibilidadeService.DURACAO_SLOT_MINUTOS);
     }
 
     private HorarioTrabalho criarHorario(DayOfWeek dia, LocalTime im, LocalTime fm, LocalTime it, LocalTime ft) {
@@ -248,20 +245,20 @@ public class DentistaService {
                 .orElseThrow(() -> new RuntimeException("Dentista não encontrado com id: " + id));
     }
 
+    // CRO e email: negativos pelo filtro de Bloom, possíveis positivos numa única consulta
     private void validarUnicidade(String cro, String email, Long excluirId) {
-        if (cro != null && !cro.isBlank()) {
-            boolean existe = (excluirId == null)
-                    ? dentistaRepository.existsByCro(cro)
-                    : dentistaRepository.existsByCroAndIdNot(cro, excluirId);
-            if (existe) throw new RuntimeException("CRO já cadastrado: " + cro);
-        }
+        Map<VerificadorUnicidade.Campo, String> chaves = new EnumMap<>(VerificadorUnicidade.Campo.class);
+        if (cro != null) chaves.put(VerificadorUnicidade.Campo.CRO, cro);
+        if (email != null) chaves.put(VerificadorUnicidade.Campo.EMAIL, email);
 
-        if (email != null && !email.isBlank()) {
-            boolean existe = (excluirId == null)
-                    ? dentistaRepository.existsByEmail(email)
-                    : dentistaRepository.existsByEmailAndIdNot(email, excluirId);
-            if (existe) throw new RuntimeException("Email já cadastrado: " + email);
-        }
+        Set<VerificadorUnicidade.Campo> conflitos = verificadorUnicidade.conflitos(chaves, excluirId);
+        if (conflitos.contains(VerificadorUnicidade.Campo.CRO)) throw new RuntimeException("CRO já cadastrado: " + cro);
+        if (conflitos.contains(VerificadorUnicidade.Campo.EMAIL)) throw new RuntimeException("Email já cadastrado: " + email);
+    }
+
+    private void registrarChaves(Dentista dentista) {
+        verificadorUnicidade.registrar(VerificadorUnicidade.Campo.CRO, dentista.getCro());
+        verificadorUnicidade.registrar(VerificadorUnicidade.Campo.EMAIL, dentista.getEmail());
     }
 
     private boolean temAgendamentosFuturos(Dentista dentista) {
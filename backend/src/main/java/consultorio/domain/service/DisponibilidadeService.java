@@ -0,0 +1,211 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.HorarioTrabalho;
+import consultorio.domain.entity.enums.StatusAgendamento;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.projection.IntervaloAgendamentoProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Motor de disponibilidade compartilhado por AgendamentoService e DentistaService:
+// carrega os intervalos ocupados do dia (ou do período) em UMA consulta e varre os slots em memória.
+@Service
+@RequiredArgsConstructor
+public class DisponibilidadeService {
+
+    public static final int DURACAO_SLOT_MINUTOS = 30;
+
+    public static final List<StatusAgendamento> STATUS_ATIVOS = List.of(
+            StatusAgendamento.AGENDADO,
+            StatusAgendamento.CONFIRMADO,
+            StatusAgendamento.EM_ATENDIMENTO
+    );
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final IndiceAgenda indiceAgenda;
+    private final ReservasTemporarias reservasTemporarias;
+
+    public record Intervalo(LocalDateTime inicio, LocalDateTime fim) {
+    }
+
+    // ====================== CONSULTA ======================
+    @Transactional(readOnly = true)
+    public List<LocalDateTime> consultarHorariosLivres(Long dentistaId, LocalDate data,
+                                                       HorarioTrabalho horario, int duracaoMinutos) {
+        if (horario == null) return List.of();
+
+        List<Intervalo> ocupados = carregarOcupados(dentistaId,
+                data.atStartOfDay(), data.plusDays(1).atStartOfDay());
+
+        return calcularHorariosLivres(data, horario, ocupados, duracaoMinutos);
+    }
+
+    // Agendamentos ativos + reservas temporárias vigentes; a varredura funde as sobreposições
+    private List<Intervalo> carregarOcupados(Long dentistaId, LocalDateTime inicio, LocalDateTime fim) {
+        List<Intervalo> intervalos = new ArrayList<>(carregarAgendados(dentistaId, inicio, fim));
+        intervalos.addAll(reservasTemporarias.intervalosReservados(dentistaId, inicio, fim));
+        return intervalos;
+    }
+
+    private List<Intervalo> carregarAgendados(Long dentistaId, LocalDateTime inicio, LocalDateTime fim) {
+        if (indiceAgenda.cobre(inicio)) {
+            return indiceAgenda.intervalosOcupados(dentistaId, inicio, fim);
+        }
+
+        // índice aquecendo ou período anterior à carga: uma consulta no banco
+        List<IntervaloAgendamentoProjection> linhas =
+                agendamentoRepository.findIntervalosOcupados(dentistaId, inicio, fim, STATUS_ATIVOS);
+
+        List<Intervalo> intervalos = new ArrayList<>(linhas.size());
+        for (IntervaloAgendamentoProjection linha : linhas) {
+            intervalos.add(new Intervalo(linha.getDataHora(), linha.getDataHoraFim()));
+        }
+        return intervalos;
+    }
+
+    // Um único carregamento de intervalos cobre o período inteiro; cada dia vira um bitmap de slots
+    @Transactional(readOnly = true)
+    public List<MapaDia> consultarMapaPeriodo(Long dentistaId, List<HorarioTrabalho> horarios,
+                                              LocalDate inicio, LocalDate fim, int duracaoMinutos) {
+        Map<DayOfWeek, HorarioTrabalho> porDia = new EnumMap<>(DayOfWeek.class);
+        for (HorarioTrabalho h : horarios) {
+            if (Boolean.TRUE.equals(h.getAtivo())) porDia.putIfAbsent(h.getDiaSemana(), h);
+        }
+
+        Varredura varredura = new Varredura(unirIntervalos(
+                carregarOcupados(dentistaId, inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay())));
+
+        List<MapaDia> mapas = new ArrayList<>();
+        for (LocalDate data = inicio; !data.isAfter(fim); data = data.plusDays(1)) {
+            HorarioTrabalho horario = porDia.get(data.getDayOfWeek());
+            if (horario == null) continue;
+
+            List<LocalTime[]> turnos = turnos(horario);
+            if (turnos.isEmpty()) continue;
+
+            LocalTime inicioGrade = turnos.get(0)[0];
+            LocalTime fimGrade = turnos.stream().map(t -> t[1]).max(Comparator.naturalOrder()).get();
+
+            // largura do slot no bitmap: 30 min, ou menos se o turno da tarde não estiver alinhado à manhã
+            int largura = DURACAO_SLOT_MINUTOS;
+            for (LocalTime[] turno : turnos) {
+                largura = mdc(largura, (int) Duration.between(inicioGrade, turno[0]).toMinutes());
+            }
+            int larguraFinal = largura;
+
+            BitSet livres = new BitSet();
+            LocalDateTime origem = LocalDateTime.of(data, inicioGrade);
+            varrerDia(data, turnos, varredura, duracaoMinutos, slot ->
+                    livres.set((int) (Duration.between(origem, slot).toMinutes() / larguraFinal)));
+
+            int total = (int) (Duration.between(inicioGrade, fimGrade).toMinutes() / larguraFinal);
+            mapas.add(new MapaDia(data, inicioGrade, larguraFinal, total, livres));
+        }
+        return mapas;
+    }
+
+    // ====================== VARREDURA ======================
+    static List<LocalDateTime> calcularHorariosLivres(LocalDate data, HorarioTrabalho horario,
+                                                      List<Intervalo> ocupados, int duracaoMinutos) {
+        List<LocalDateTime> livres = new ArrayList<>();
+        varrerDia(data, turnos(horario), new Varredura(unirIntervalos(ocupados)), duracaoMinutos, livres::add);
+        return livres;
+    }
+
+    // Turnos válidos do dia em ordem cronológica: a varredura só avança no tempo
+    static List<LocalTime[]> turnos(HorarioTrabalho horario) {
+        List<LocalTime[]> turnos = new ArrayList<>(2);
+        if (horario.getHoraInicioManha() != null && horario.getHoraFimManha() != null) {
+            turnos.add(new LocalTime[]{horario.getHoraInicioManha(), horario.getHoraFimManha()});
+        }
+        if (horario.getHoraInicioTarde() != null && horario.getHoraFimTarde() != null) {
+            turnos.add(new LocalTime[]{horario.getHoraInicioTarde(), horario.getHoraFimTarde()});
+        }
+        turnos.sort(Comparator.comparing(t -> t[0]));
+        return turnos;
+    }
+
+    // Ordena por início e funde sobreposições: os fins ficam crescentes e a varredura usa um único ponteiro
+    static List<Intervalo> unirIntervalos(List<Intervalo> intervalos) {
+        if (intervalos.isEmpty()) return List.of();
+
+        List<Intervalo> ordenados = new ArrayList<>(intervalos);
+        ordenados.sort(Comparator.comparing(Intervalo::inicio));
+
+        List<Intervalo> blocos = new ArrayList<>();
+        Intervalo atual = ordenados.get(0);
+        for (int i = 1; i < ordenados.size(); i++) {
+            Intervalo proximo = ordenados.get(i);
+            if (!proximo.inicio().isAfter(atual.fim())) {
+                if (proximo.fim().isAfter(atual.fim())) {
+                    atual = new Intervalo(atual.inicio(), proximo.fim());
+                }
+            } else {
+                blocos.add(atual);
+                atual = proximo;
+            }
+        }
+        blocos.add(atual);
+        return blocos;
+    }
+
+    private static void varrerDia(LocalDate data, List<LocalTime[]> turnos, Varredura varredura,
+                                  int duracaoMinutos, Consumer<LocalDateTime> saida) {
+        for (LocalTime[] turno : turnos) {
+            LocalDateTime slot = LocalDateTime.of(data, turno[0]);
+            LocalDateTime limite = LocalDateTime.of(data, turno[1]);
+
+            while (!slot.plusMinutes(duracaoMinutos).isAfter(limite)) {
+                if (varredura.livre(slot, slot.plusMinutes(duracaoMinutos))) {
+                    saida.accept(slot);
+                }
+                slot = slot.plusMinutes(DURACAO_SLOT_MINUTOS);
+            }
+        }
+    }
+
+    private static int mdc(int a, int b) {
+        return b == 0 ? a : mdc(b, a % b);
+    }
+
+    // Ponteiro único sobre blocos ordenados e disjuntos; consultas em ordem crescente custam O(1) amortizado
+    static final class Varredura {
+        private final List<Intervalo> blocos;
+        private LocalDateTime ultimaConsulta;
+        private int j;
+
+        Varredura(List<Intervalo> blocos) {
+            this.blocos = blocos;
+        }
+
+        boolean livre(LocalDateTime inicio, LocalDateTime fim) {
+            if (ultimaConsulta != null && inicio.isBefore(ultimaConsulta)) {
+                j = 0; // turnos sobrepostos: recomeça do primeiro bloco
+            }
+            ultimaConsulta = inicio;
+
+            // descarta blocos que terminam antes do slot atual
+            while (j < blocos.size() && !blocos.get(j).fim().isAfter(inicio)) {
+                j++;
+            }
+            return j == blocos.size() || !blocos.get(j).inicio().isBefore(fim);
+        }
+    }
+
+    public record MapaDia(LocalDate data, LocalTime inicio, int larguraMinutos, int totalSlots, BitSet livres) {
+    }
+}
@@ -2,20 +2,36 @@ package consultorio.domain.service;
 
 import consultorio.api.dto.mapper.EvolucaoTratamentoMapper;
 import consultorio.api.dto.request.EvolucaoTratamentoRequest;
+import consultorio.api.dto.response.BuscaEvolucaoResponse;
 import consultorio.api.dto.response.EvolucaoTratamentoResponse;
 import consultorio.domain.entity.EvolucaoTratamento;
 import consultorio.domain.entity.Paciente;
 import consultorio.domain.repository.EvolucaoTratamentoRepository;
 import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.projection.LinhaEvolucaoProjection;
+import consultorio.domain.repository.projection.PacienteResumoProjection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class EvolucaoTratamentoService {
 
+    private static final int TAMANHO_PADRAO = 20;
+    private static final int TAMANHO_MAXIMO = 100;
+    private static final int CARACTERES_RESUMO_PADRAO = 200;
+    private static final int LIMITE_BUSCA_PADRAO = 20;
+    private static final int LIMITE_BUSCA_MAXIMO = 100;
+
     private final EvolucaoTratamentoRepository repository;
     private final PacienteRepository pacienteRepository;
     private final EvolucaoTratamentoMapper mapper;
@@ -64,4 +80,81 @@ public class EvolucaoTratamentoService {
 
         repository.delete(entity);
     }
+
+    // ====================== LINHA DO TEMPO ======================
+    // Mais recentes primeiro, paginada por cursor (data, id) da última entrada devolvida.
+    // Resumo: texto cortado em N caracteres pelo próprio SELECT.
+    public record LinhaDoTempo(List<EvolucaoTratamentoResponse> itens, String proximoCursor) {
+    }
+
+    @Transactional(readOnly = true)
+    public LinhaDoTempo linhaDoTempo(Long pacienteId, String cursor, Integer tamanho, boolean resumo, Integer caracteres) {
+        List<PacienteResumoProjection> pacientes = pacienteRepository.findResumoByIdIn(List.of(pacienteId));
+        if (pacientes.isEmpty()) {
+            throw new RuntimeException("Paciente não encontrado");
+        }
+        String nomePaciente = pacientes.get(0).getNome();
+
+        int n = (tamanho != null && tamanho > 0) ? Math.min(tamanho, TAMANHO_MAXIMO) : TAMANHO_PADRAO;
+        int corte = !resumo ? Integer.MAX_VALUE
+                : (caracteres != null && caracteres > 0) ? caracteres : CARACTERES_RESUMO_PADRAO;
+        // um item a mais indica se existe próxima página
+        Pageable limite = PageRequest.of(0, n + 1);
+
+        List<LinhaEvolucaoProjection> linhas;
+        if (cursor == null || cursor.isBlank()) {
+            linhas = repository.findLinhaDoTempo(pacienteId, corte, limite);
+        } else {
+            String[] partes = decodificarCursor(cursor);
+            Long id = Long.valueOf(partes[0]);
+            linhas = partes[1].isEmpty()
+                    ? repository.findLinhaDoTempoAposSemData(pacienteId, id, corte, limite)
+                    : repository.findLinhaDoTempoApos(pacienteId, LocalDate.parse(partes[1]), id, corte, limite);
+        }
+
+        boolean temMais = linhas.size() > n;
+        List<EvolucaoTratamentoResponse> itens = new ArrayList<>(Math.min(linhas.size(), n));
+        for (LinhaEvolucaoProjection linha : linhas.subList(0, Math.min(linhas.size(), n))) {
+            boolean truncado = linha.getTamanhoTexto() != null && linha.getTamanhoTexto() > corte;
+            itens.add(new EvolucaoTratamentoResponse(linha.getId(), linha.getDataProcedimento(), linha.getTexto(),
+                    pacienteId, nomePaciente, resumo ? truncado : null));
+        }
+        String proximoCursor = temMais ? codificarCursor(linhas.get(n - 1)) : null;
+        return new LinhaDoTempo(itens, proximoCursor);
+    }
+
+    // ====================== BUSCA TEXTUAL ======================
+    // Sintaxe de busca web do PostgreSQL: complicação extração, "alveolite seca", dor -implante, a or b
+    @Transactional(readOnly = true)
+    public List<BuscaEvolucaoResponse> buscarTexto(String termo, Long pacienteId, LocalDate inicio, LocalDate fim,
+                                                   Integer limite) {
+        if (termo == null || termo.isBlank()) {
+            throw new RuntimeException("Informe o texto da busca");
+        }
+        if (inicio != null && fim != null && fim.isBefore(inicio)) {
+            throw new RuntimeException("Data inicial deve ser anterior à final");
+        }
+        int n = (limite != null && limite > 0) ? Math.min(limite, LIMITE_BUSCA_MAXIMO) : LIMITE_BUSCA_PADRAO;
+        return repository.buscarTexto(termo.trim(), pacienteId, inicio, fim, n);
+    }
+
+    private static String codificarCursor(LinhaEvolucaoProjection ultima) {
+        String data = ultima.getDataProcedimento() != null ? ultima.getDataProcedimento().toString() : "";
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (ultima.getId() + "|" + data).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (partes.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            Long.parseLong(partes[0]);
+            if (!partes[1].isEmpty()) LocalDate.parse(partes[1]);
+            return partes;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+    }
 }
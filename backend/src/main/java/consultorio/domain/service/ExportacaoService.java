@@ -0,0 +1,183 @@
+package consultorio.domain.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.PlanoDentalRepository;
+import consultorio.domain.repository.projection.AgendamentoExportacaoProjection;
+import consultorio.domain.repository.projection.PlanoDentalExportacaoProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Exportação para relatórios: linhas lidas por cursor do driver (fetch size nas consultas do repositório)
+// e escritas direto na resposta, uma a uma. Memória constante, qualquer que seja o período.
+// Cliente que desconecta faz a escrita falhar: o Stream é fechado e a transação desfeita, liberando o cursor.
+@Service
+@RequiredArgsConstructor
+public class ExportacaoService {
+
+    private static final int PERIODO_MAXIMO_ANOS = 10;
+    private static final int LINHAS_POR_FLUSH = 1000;
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final PlanoDentalRepository planoDentalRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Formato {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extensao;
+
+        Formato(String contentType, String extensao) {
+            this.contentType = contentType;
+            this.extensao = extensao;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        public static Formato de(String valor) {
+            if (valor == null || valor.isBlank()) return CSV;
+            for (Formato formato : values()) {
+                if (formato.extensao.equalsIgnoreCase(valor.trim())) return formato;
+            }
+            throw new RuntimeException("Formato de exportação não suportado: " + valor);
+        }
+    }
+
+    private record Coluna<T>(String nome, Function<T, Object> valor) {
+    }
+
+    private static final List<Coluna<AgendamentoExportacaoProjection>> COLUNAS_AGENDAMENTO = List.of(
+            new Coluna<>("id", AgendamentoExportacaoProjection::getId),
+            new Coluna<>("dataHora", AgendamentoExportacaoProjection::getDataHora),
+            new Coluna<>("dataHoraFim", AgendamentoExportacaoProjection::getDataHoraFim),
+            new Coluna<>("duracaoMinutos", AgendamentoExportacaoProjection::getDuracaoMinutos),
+            new Coluna<>("status", AgendamentoExportacaoProjection::getStatus),
+            new Coluna<>("procedimento", AgendamentoExportacaoProjection::getProcedimento),
+            new Coluna<>("observacoes", AgendamentoExportacaoProjection::getObservacoes),
+            new Coluna<>("pacienteId", AgendamentoExportacaoProjection::getPacienteId),
+            new Coluna<>("pacienteNome", AgendamentoExportacaoProjection::getPacienteNome),
+            new Coluna<>("prontuarioNumero", AgendamentoExportacaoProjection::getProntuarioNumero),
+            new Coluna<>("dentistaId", AgendamentoExportacaoProjection::getDentistaId),
+            new Coluna<>("dentistaNome", AgendamentoExportacaoProjection::getDentistaNome));
+
+    private static final List<Coluna<PlanoDentalExportacaoProjection>> COLUNAS_PLANO_DENTAL = List.of(
+            new Coluna<>("id", PlanoDentalExportacaoProjection::getId),
+            new Coluna<>("pacienteId", PlanoDentalExportacaoProjection::getPacienteId),
+            new Coluna<>("pacienteNome", PlanoDentalExportacaoProjection::getPacienteNome),
+            new Coluna<>("prontuarioNumero", PlanoDentalExportacaoProjection::getProntuarioNumero),
+            new Coluna<>("dente", PlanoDentalExportacaoProjection::getDente),
+            new Coluna<>("procedimento", PlanoDentalExportacaoProjection::getProcedimento),
+            new Coluna<>("valor", PlanoDentalExportacaoProjection::getValor));
+
+    // Chamado antes de a resposta começar: erro aqui ainda vira status de erro, não arquivo truncado
+    public void validarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio == null || fim == null) {
+            throw new RuntimeException("Informe o início e o fim do período");
+        }
+        if (!fim.isAfter(inicio)) {
+            throw new RuntimeException("Data inicial deve ser anterior à final");
+        }
+        if (ChronoUnit.YEARS.between(inicio, fim) >= PERIODO_MAXIMO_ANOS) {
+            throw new RuntimeException("Período não pode exceder " + PERIODO_MAXIMO_ANOS + " anos");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarAgendamentos(LocalDateTime inicio, LocalDateTime fim, Long dentistaId, Formato formato,
+                                     OutputStream saida) throws IOException {
+        try (Stream<AgendamentoExportacaoProjection> linhas = agendamentoRepository.streamExportacao(inicio, fim, dentistaId)) {
+            escrever(linhas, COLUNAS_AGENDAMENTO, formato, saida);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarPlanosDentais(Long pacienteId, Formato formato, OutputStream saida) throws IOException {
+        try (Stream<PlanoDentalExportacaoProjection> linhas = planoDentalRepository.streamExportacao(pacienteId)) {
+            escrever(linhas, COLUNAS_PLANO_DENTAL, formato, saida);
+        }
+    }
+
+    private <T> void escrever(Stream<T> linhas, List<Coluna<T>> colunas, Formato formato, OutputStream saida)
+            throws IOException {
+        if (formato == Formato.NDJSON) {
+            escreverNdjson(linhas.iterator(), colunas, saida);
+        } else {
+            escreverCsv(linhas.iterator(), colunas, saida);
+        }
+    }
+
+    private <T> void escreverCsv(Iterator<T> linhas, List<Coluna<T>> colunas, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        for (int i = 0; i < colunas.size(); i++) {
+            if (i > 0) writer.write(',');
+            writer.write(colunas.get(i).nome());
+        }
+        writer.write("\r\n");
+
+        int escritas = 0;
+        while (linhas.hasNext()) {
+            T linha = linhas.next();
+            for (int i = 0; i < colunas.size(); i++) {
+                if (i > 0) writer.write(',');
+                Object valor = colunas.get(i).valor().apply(linha);
+                if (valor != null) writer.write(campoCsv(valor.toString()));
+            }
+            writer.write("\r\n");
+            if (++escritas % LINHAS_POR_FLUSH == 0) writer.flush();
+        }
+        writer.flush();
+    }
+
+    private <T> void escreverNdjson(Iterator<T> linhas, List<Coluna<T>> colunas, OutputStream saida) throws IOException {
+        // gerador da mesma configuração do ObjectMapper da aplicação (datas ISO-8601)
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        // um objeto por linha (o separador padrão entre valores de raiz é espaço)
+        gerador.setRootValueSeparator(new SerializedString("\n"));
+
+        int escritas = 0;
+        while (linhas.hasNext()) {
+            T linha = linhas.next();
+            gerador.writeStartObject();
+            for (Coluna<T> coluna : colunas) {
+                gerador.writeObjectField(coluna.nome(), coluna.valor().apply(linha));
+            }
+            gerador.writeEndObject();
+            if (++escritas % LINHAS_POR_FLUSH == 0) gerador.flush();
+        }
+        if (escritas > 0) gerador.writeRaw('\n');
+        gerador.flush();
+    }
+
+    // RFC 4180: aspas quando houver separador, aspas ou quebra de linha
+    static String campoCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
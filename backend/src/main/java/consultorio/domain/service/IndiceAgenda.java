@@ -0,0 +1,325 @@
+package consultorio.domain.service;
+
+import consultorio.domain.event.AgendamentoAlteradoEvent;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.projection.IntervaloAgendamentoProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+// Índice residente da agenda ativa, um snapshot imutável por dentista.
+// Leituras não bloqueiam (ConcurrentHashMap + arrays imutáveis); escritas, raras,
+// chegam pelos eventos pós-commit do AgendamentoService e são serializadas.
+@Component
+@RequiredArgsConstructor
+public class IndiceAgenda {
+
+    private static final long SEM_EXCLUSAO = -1L;
+
+    private final AgendamentoRepository agendamentoRepository;
+
+    private final Map<Long, AgendaDentista> agendas = new ConcurrentHashMap<>();
+    private final Map<Long, Long> dentistaPorAgendamento = new ConcurrentHashMap<>();
+    private final List<AgendamentoAlteradoEvent> pendentes = new ArrayList<>();
+
+    // null enquanto o índice aquece: os chamadores voltam para a consulta no banco
+    private volatile LocalDateTime cobreDesde;
+    private boolean carregando;
+
+    // ====================== CARGA ======================
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        synchronized (this) {
+            cobreDesde = null;
+            carregando = true;
+            pendentes.clear();
+        }
+
+        LocalDateTime desde = LocalDate.now().atStartOfDay();
+        List<IntervaloAgendamentoProjection> linhas = agendamentoRepository.findIntervalosAtivosAPartirDe(
+                desde, DisponibilidadeService.STATUS_ATIVOS);
+
+        Map<Long, List<IntervaloAgendamentoProjection>> porDentista = linhas.stream()
+                .collect(Collectors.groupingBy(IntervaloAgendamentoProjection::getDentistaId));
+
+        synchronized (this) {
+            agendas.clear();
+            dentistaPorAgendamento.clear();
+            porDentista.forEach((dentistaId, lista) -> agendas.put(dentistaId, AgendaDentista.de(lista)));
+            linhas.forEach(l -> dentistaPorAgendamento.put(l.getId(), l.getDentistaId()));
+
+            // alterações confirmadas durante a carga são reaplicadas (upserts idempotentes)
+            pendentes.forEach(this::aplicar);
+            pendentes.clear();
+            carregando = false;
+            cobreDesde = desde;
+        }
+    }
+
+    // ====================== ATUALIZAÇÃO ======================
+    // Roda antes da liberação dos locks do CoordenadorReservas: a próxima reserva já vê o índice atualizado
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onAgendamentoAlterado(AgendamentoAlteradoEvent evento) {
+        if (carregando) {
+            pendentes.add(evento);
+            return;
+        }
+        aplicar(evento);
+    }
+
+    private void aplicar(AgendamentoAlteradoEvent evento) {
+        Long id = evento.getAgendamentoId();
+
+        Long dentistaAnterior = dentistaPorAgendamento.remove(id);
+        if (dentistaAnterior != null) {
+            agendas.computeIfPresent(dentistaAnterior, (dentistaId, agenda) -> agenda.sem(id));
+        }
+
+        // agendamentos que terminam antes da janela coberta ficam só no banco
+        LocalDateTime desde = cobreDesde;
+        boolean ativo = !evento.isRemovido() && DisponibilidadeService.STATUS_ATIVOS.contains(evento.getStatus())
+                && (desde == null || evento.getFim().isAfter(desde));
+        if (ativo) {
+            dentistaPorAgendamento.put(id, evento.getDentistaId());
+            agendas.compute(evento.getDentistaId(), (dentistaId, agenda) ->
+                    (agenda == null ? AgendaDentista.VAZIA : agenda).com(
+                            id, evento.getPacienteId(), segundos(evento.getInicio()), segundos(evento.getFim())));
+        }
+    }
+
+    // ====================== PODA ======================
+    // Avança a janela para o início do dia corrente e descarta o que terminou antes dela;
+    // cobre() passa a mandar para o banco as consultas anteriores ao novo início.
+    @Scheduled(cron = "${consultorio.agenda.indice-poda-cron:0 5 0 * * *}")
+    public void podar() {
+        podar(LocalDate.now().atStartOfDay());
+    }
+
+    synchronized void podar(LocalDateTime novoInicio) {
+        LocalDateTime desde = cobreDesde;
+        if (carregando || desde == null || !novoInicio.isAfter(desde)) return;
+
+        // a janela avança antes da poda: nenhuma leitura coberta depende do que será descartado
+        cobreDesde = novoInicio;
+        long corte = segundos(novoInicio);
+        for (Long dentistaId : List.copyOf(agendas.keySet())) {
+            agendas.computeIfPresent(dentistaId, (id, agenda) -> {
+                AgendaDentista podada = agenda.terminadosAte(corte, dentistaPorAgendamento::remove);
+                return podada.tamanho() == 0 ? null : podada;
+            });
+        }
+    }
+
+    // ====================== LEITURA ======================
+    public boolean cobre(LocalDateTime inicio) {
+        LocalDateTime desde = cobreDesde;
+        return desde != null && !inicio.isBefore(desde);
+    }
+
+    public boolean temConflito(Long dentistaId, LocalDateTime inicio, LocalDateTime fim, Long excluirId) {
+        AgendaDentista agenda = agendas.get(dentistaId);
+        return agenda != null && agenda.temConflito(
+                segundos(inicio), segundos(fim), excluirId == null ? SEM_EXCLUSAO : excluirId);
+    }
+
+    public List<DisponibilidadeService.Intervalo> intervalosOcupados(Long dentistaId, LocalDateTime inicio, LocalDateTime fim) {
+        AgendaDentista agenda = agendas.get(dentistaId);
+        if (agenda == null) return List.of();
+        return agenda.intervalos(segundos(inicio), segundos(fim));
+    }
+
+    // agendamentos ativos que começam em [inicio, fim), de um dentista ou de todos (dentistaId null)
+    public void visitar(Long dentistaId, LocalDateTime inicio, LocalDateTime fim, VisitanteAgenda visitante) {
+        long de = segundos(inicio);
+        long ate = segundos(fim);
+        if (dentistaId != null) {
+            AgendaDentista agenda = agendas.get(dentistaId);
+            if (agenda != null) agenda.visitar(dentistaId, de, ate, visitante);
+            return;
+        }
+        agendas.forEach((id, agenda) -> agenda.visitar(id, de, ate, visitante));
+    }
+
+    @FunctionalInterface
+    public interface VisitanteAgenda {
+        void visitar(long agendamentoId, long dentistaId, long pacienteId, LocalDateTime inicio);
+    }
+
+    static long segundos(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime dataHora(long segundos) {
+        return LocalDateTime.ofEpochSecond(segundos, 0, ZoneOffset.UTC);
+    }
+
+    // ====================== ESTRUTURA ======================
+    // Intervalos ordenados pelo início com o máximo acumulado dos fins: a busca de sobreposição
+    // desce a partir do último início < fim e para assim que o máximo acumulado não alcança o início.
+    static final class AgendaDentista {
+
+        static final AgendaDentista VAZIA = new AgendaDentista(new long[0], new long[0], new long[0], new long[0]);
+
+        private final long[] ids;
+        private final long[] pacientes;
+        private final long[] inicios;
+        private final long[] fins;
+        private final long[] maxFim;
+
+        private AgendaDentista(long[] ids, long[] pacientes, long[] inicios, long[] fins) {
+            this.ids = ids;
+            this.pacientes = pacientes;
+            this.inicios = inicios;
+            this.fins = fins;
+            this.maxFim = new long[fins.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < fins.length; i++) {
+                max = Math.max(max, fins[i]);
+                maxFim[i] = max;
+            }
+        }
+
+        static AgendaDentista de(List<IntervaloAgendamentoProjection> linhas) {
+            List<IntervaloAgendamentoProjection> ordenadas = new ArrayList<>(linhas);
+            ordenadas.sort((a, b) -> a.getDataHora().compareTo(b.getDataHora()));
+
+            int n = ordenadas.size();
+            long[] ids = new long[n];
+            long[] pacientes = new long[n];
+            long[] inicios = new long[n];
+            long[] fins = new long[n];
+            for (int i = 0; i < n; i++) {
+                IntervaloAgendamentoProjection linha = ordenadas.get(i);
+                ids[i] = linha.getId();
+                pacientes[i] = linha.getPacienteId();
+                inicios[i] = segundos(linha.getDataHora());
+                fins[i] = segundos(linha.getDataHoraFim());
+            }
+            return new AgendaDentista(ids, pacientes, inicios, fins);
+        }
+
+        int tamanho() {
+            return ids.length;
+        }
+
+        AgendaDentista com(long id, long paciente, long inicio, long fim) {
+            int pos = quantidadeComInicioAntesDe(inicio + 1);
+            return new AgendaDentista(
+                    inserir(ids, pos, id),
+                    inserir(pacientes, pos, paciente),
+                    inserir(inicios, pos, inicio),
+                    inserir(fins, pos, fim));
+        }
+
+        AgendaDentista sem(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return new AgendaDentista(remover(ids, i), remover(pacientes, i), remover(inicios, i), remover(fins, i));
+                }
+            }
+            return this;
+        }
+
+        // novo snapshot sem os intervalos que terminam até o corte; os ids descartados vão para o consumidor
+        AgendaDentista terminadosAte(long corte, LongConsumer descartado) {
+            int mantidos = 0;
+            for (long fim : fins) {
+                if (fim > corte) mantidos++;
+            }
+            if (mantidos == fins.length) return this;
+
+            long[] novosIds = new long[mantidos];
+            long[] novosPacientes = new long[mantidos];
+            long[] novosInicios = new long[mantidos];
+            long[] novosFins = new long[mantidos];
+            int j = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (fins[i] > corte) {
+                    novosIds[j] = ids[i];
+                    novosPacientes[j] = pacientes[i];
+                    novosInicios[j] = inicios[i];
+                    novosFins[j] = fins[i];
+                    j++;
+                } else {
+                    descartado.accept(ids[i]);
+                }
+            }
+            return new AgendaDentista(novosIds, novosPacientes, novosInicios, novosFins);
+        }
+
+        boolean temConflito(long inicio, long fim, long excluirId) {
+            for (int i = quantidadeComInicioAntesDe(fim) - 1; i >= 0 && maxFim[i] > inicio; i--) {
+                if (fins[i] > inicio && ids[i] != excluirId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<DisponibilidadeService.Intervalo> intervalos(long inicio, long fim) {
+            List<DisponibilidadeService.Intervalo> saida = new ArrayList<>();
+            for (int i = quantidadeComInicioAntesDe(fim) - 1; i >= 0 && maxFim[i] > inicio; i--) {
+                if (fins[i] > inicio) {
+                    saida.add(new DisponibilidadeService.Intervalo(dataHora(inicios[i]), dataHora(fins[i])));
+                }
+            }
+            Collections.reverse(saida);
+            return saida;
+        }
+
+        void visitar(long dentistaId, long inicio, long fim, VisitanteAgenda visitante) {
+            int ate = quantidadeComInicioAntesDe(fim);
+            for (int i = quantidadeComInicioAntesDe(inicio); i < ate; i++) {
+                visitante.visitar(ids[i], dentistaId, pacientes[i], dataHora(inicios[i]));
+            }
+        }
+
+        // busca binária: quantos intervalos começam estritamente antes do instante
+        private int quantidadeComInicioAntesDe(long instante) {
+            int baixo = 0;
+            int alto = inicios.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (inicios[meio] < instante) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        private static long[] inserir(long[] origem, int pos, long valor) {
+            long[] destino = Arrays.copyOf(origem, origem.length + 1);
+            System.arraycopy(origem, pos, destino, pos + 1, origem.length - pos);
+            destino[pos] = valor;
+            return destino;
+        }
+
+        private static long[] remover(long[] origem, int pos) {
+            long[] destino = new long[origem.length - 1];
+            System.arraycopy(origem, 0, destino, 0, pos);
+            System.arraycopy(origem, pos + 1, destino, pos, origem.length - pos - 1);
+            return destino;
+        }
+    }
+}
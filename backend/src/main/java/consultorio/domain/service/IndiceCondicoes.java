@@ -0,0 +1,456 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.enums.CondicaoClinica;
+import consultorio.domain.event.AnamneseAlteradaEvent;
+import consultorio.domain.event.PacienteAlteradoEvent;
+import consultorio.domain.repository.PacienteAnamneseRepository;
+import consultorio.domain.repository.projection.CondicoesPacienteProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+// Índice residente das condições da anamnese para triagem de risco: um bitmap compactado de ids de
+// paciente por CondicaoClinica. Combinações E/OU viram interseções e uniões de bitmaps, sem ir ao banco.
+// Mesmo modelo dos demais índices: snapshots imutáveis lidos sem bloqueio, escritas serializadas
+// vindas dos eventos pós-commit (anamnese gravada, paciente removido).
+@Component
+@RequiredArgsConstructor
+public class IndiceCondicoes {
+
+    private static final int TOTAL_CONDICOES = CondicaoClinica.values().length;
+
+    private final PacienteAnamneseRepository anamneseRepository;
+
+    private final Map<Long, Long> condicoesPorPaciente = new ConcurrentHashMap<>();
+    private final List<Alteracao> pendentes = new ArrayList<>();
+
+    // por ordinal de CondicaoClinica; null enquanto o índice aquece (o chamador recorre ao banco)
+    private volatile MapaBits[] mapas;
+    private boolean carregando;
+
+    private record Alteracao(long pacienteId, long condicoes) {
+    }
+
+    // ====================== CARGA ======================
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        synchronized (this) {
+            mapas = null;
+            carregando = true;
+            pendentes.clear();
+        }
+
+        List<CondicoesPacienteProjection> linhas = new ArrayList<>(anamneseRepository.findAllCondicoes());
+        linhas.sort(Comparator.comparing(CondicoesPacienteProjection::getPacienteId));
+
+        // ids crescentes por condição, depois compactados de uma vez
+        int[][] ids = new int[TOTAL_CONDICOES][16];
+        int[] quantidades = new int[TOTAL_CONDICOES];
+        for (CondicoesPacienteProjection linha : linhas) {
+            if (!indexavel(linha.getPacienteId())) continue;
+            int id = linha.getPacienteId().intValue();
+            for (long resto = linha.getCondicoes(); resto != 0; resto &= resto - 1) {
+                int bit = Long.numberOfTrailingZeros(resto);
+                if (bit >= TOTAL_CONDICOES) continue;
+                if (quantidades[bit] == ids[bit].length) ids[bit] = Arrays.copyOf(ids[bit], ids[bit].length * 2);
+                ids[bit][quantidades[bit]++] = id;
+            }
+        }
+        MapaBits[] carregados = new MapaBits[TOTAL_CONDICOES];
+        for (int c = 0; c < TOTAL_CONDICOES; c++) {
+            carregados[c] = MapaBits.de(Arrays.copyOf(ids[c], quantidades[c]));
+        }
+
+        synchronized (this) {
+            condicoesPorPaciente.clear();
+            linhas.forEach(l -> condicoesPorPaciente.put(l.getPacienteId(), l.getCondicoes()));
+            mapas = carregados;
+
+            // alterações confirmadas durante a carga são reaplicadas (idempotentes)
+            pendentes.forEach(this::aplicar);
+            pendentes.clear();
+            carregando = false;
+        }
+    }
+
+    // ====================== ATUALIZAÇÃO ======================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAnamneseAlterada(AnamneseAlteradaEvent evento) {
+        registrar(new Alteracao(evento.getPacienteId(), evento.getCondicoes()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPacienteAlterado(PacienteAlteradoEvent evento) {
+        if (evento.isRemovido()) {
+            registrar(new Alteracao(evento.getPacienteId(), 0L));
+        }
+    }
+
+    private synchronized void registrar(Alteracao alteracao) {
+        if (carregando) {
+            pendentes.add(alteracao);
+            return;
+        }
+        aplicar(alteracao);
+    }
+
+    private void aplicar(Alteracao alteracao) {
+        MapaBits[] atuais = mapas;
+        if (atuais == null || !indexavel(alteracao.pacienteId())) return;
+
+        long anterior = condicoesPorPaciente.getOrDefault(alteracao.pacienteId(), 0L);
+        long nova = alteracao.condicoes();
+        if (anterior == nova) return;
+
+        // só os bitmaps das condições que mudaram são copiados
+        MapaBits[] novos = atuais.clone();
+        int id = (int) alteracao.pacienteId();
+        for (long resto = anterior ^ nova; resto != 0; resto &= resto - 1) {
+            int bit = Long.numberOfTrailingZeros(resto);
+            if (bit >= TOTAL_CONDICOES) continue;
+            novos[bit] = (nova & (1L << bit)) != 0 ? novos[bit].com(id) : novos[bit].sem(id);
+        }
+        if (nova == 0) {
+            condicoesPorPaciente.remove(alteracao.pacienteId());
+        } else {
+            condicoesPorPaciente.put(alteracao.pacienteId(), nova);
+        }
+        mapas = novos;
+    }
+
+    // ====================== LEITURA ======================
+    public boolean pronto() {
+        return mapas != null;
+    }
+
+    public long condicoes(long pacienteId) {
+        return condicoesPorPaciente.getOrDefault(pacienteId, 0L);
+    }
+
+    // Conjunção de disjunções: cada cláusula é uma máscara OU, e todas precisam ser atendidas.
+    // {HEMORRAGIA|ANESTESIA, DIABETES} = (hemorragia ou anestesia) e diabetes. null enquanto aquece.
+    MapaBits avaliar(long[] clausulas) {
+        MapaBits[] atuais = mapas;
+        if (atuais == null) return null;
+
+        MapaBits[] unioes = new MapaBits[clausulas.length];
+        for (int i = 0; i < clausulas.length; i++) {
+            MapaBits uniao = MapaBits.VAZIO;
+            for (long resto = clausulas[i]; resto != 0; resto &= resto - 1) {
+                int bit = Long.numberOfTrailingZeros(resto);
+                if (bit < TOTAL_CONDICOES) uniao = uniao.ou(atuais[bit]);
+            }
+            unioes[i] = uniao;
+        }
+        // interseção a partir da menor união: os blocos intermediários só encolhem
+        Arrays.sort(unioes, Comparator.comparingInt(MapaBits::cardinalidade));
+        MapaBits resultado = unioes.length == 0 ? MapaBits.VAZIO : unioes[0];
+        for (int i = 1; i < unioes.length && resultado.cardinalidade() > 0; i++) {
+            resultado = resultado.e(unioes[i]);
+        }
+        return resultado;
+    }
+
+    static boolean atende(long condicoes, long[] clausulas) {
+        for (long clausula : clausulas) {
+            if ((condicoes & clausula) == 0) return false;
+        }
+        return clausulas.length > 0;
+    }
+
+    // ids acima de int não cabem no bitmap (não ocorrem com a sequência da tabela)
+    private static boolean indexavel(long pacienteId) {
+        return pacienteId >= 0 && pacienteId <= Integer.MAX_VALUE;
+    }
+
+    // ====================== ESTRUTURA ======================
+    // Bitmap compactado no estilo Roaring: os 16 bits altos do id escolhem o bloco, os 16 baixos a posição.
+    // Bloco esparso = char[] ordenado (até 4096 valores, 8 KB no máximo); acima disso, denso = long[1024]
+    // (8 KB fixos). Imutável: com/sem copiam só o bloco tocado; e/ou combinam bloco a bloco.
+    static final class MapaBits {
+
+        static final MapaBits VAZIO = new MapaBits(new int[0], new Object[0]);
+
+        private static final int LIMITE_ESPARSO = 4096;
+        private static final int PALAVRAS = 1024;
+
+        private final int[] chaves;
+        private final Object[] blocos;
+        private final int cardinalidade;
+
+        private MapaBits(int[] chaves, Object[] blocos) {
+            this.chaves = chaves;
+            this.blocos = blocos;
+            int total = 0;
+            for (Object bloco : blocos) total += tamanho(bloco);
+            this.cardinalidade = total;
+        }
+
+        // ids distintos, não negativos e em ordem crescente
+        static MapaBits de(int[] ordenados) {
+            List<Integer> chaves = new ArrayList<>();
+            List<Object> blocos = new ArrayList<>();
+            int i = 0;
+            while (i < ordenados.length) {
+                int chave = ordenados[i] >>> 16;
+                int fim = i;
+                while (fim < ordenados.length && ordenados[fim] >>> 16 == chave) fim++;
+                char[] baixos = new char[fim - i];
+                for (int j = i; j < fim; j++) baixos[j - i] = (char) ordenados[j];
+                chaves.add(chave);
+                blocos.add(baixos.length > LIMITE_ESPARSO ? denso(baixos) : baixos);
+                i = fim;
+            }
+            return new MapaBits(chaves.stream().mapToInt(Integer::intValue).toArray(), blocos.toArray());
+        }
+
+        int cardinalidade() {
+            return cardinalidade;
+        }
+
+        boolean contem(int id) {
+            int pos = Arrays.binarySearch(chaves, id >>> 16);
+            return pos >= 0 && contem(blocos[pos], (char) id);
+        }
+
+        MapaBits com(int id) {
+            int chave = id >>> 16;
+            int pos = Arrays.binarySearch(chaves, chave);
+            if (pos >= 0) {
+                if (contem(blocos[pos], (char) id)) return this;
+                Object[] novos = blocos.clone();
+                novos[pos] = com(blocos[pos], (char) id);
+                return new MapaBits(chaves, novos);
+            }
+            int insercao = -pos - 1;
+            int[] novasChaves = new int[chaves.length + 1];
+            Object[] novos = new Object[blocos.length + 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, insercao);
+            System.arraycopy(blocos, 0, novos, 0, insercao);
+            novasChaves[insercao] = chave;
+            novos[insercao] = new char[]{(char) id};
+            System.arraycopy(chaves, insercao, novasChaves, insercao + 1, chaves.length - insercao);
+            System.arraycopy(blocos, insercao, novos, insercao + 1, blocos.length - insercao);
+            return new MapaBits(novasChaves, novos);
+        }
+
+        MapaBits sem(int id) {
+            int pos = Arrays.binarySearch(chaves, id >>> 16);
+            if (pos < 0 || !contem(blocos[pos], (char) id)) return this;
+            Object bloco = sem(blocos[pos], (char) id);
+            if (bloco != null) {
+                Object[] novos = blocos.clone();
+                novos[pos] = bloco;
+                return new MapaBits(chaves, novos);
+            }
+            int[] novasChaves = new int[chaves.length - 1];
+            Object[] novos = new Object[blocos.length - 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, pos);
+            System.arraycopy(blocos, 0, novos, 0, pos);
+            System.arraycopy(chaves, pos + 1, novasChaves, pos, chaves.length - pos - 1);
+            System.arraycopy(blocos, pos + 1, novos, pos, blocos.length - pos - 1);
+            return new MapaBits(novasChaves, novos);
+        }
+
+        MapaBits e(MapaBits outro) {
+            int[] novasChaves = new int[Math.min(chaves.length, outro.chaves.length)];
+            Object[] novos = new Object[novasChaves.length];
+            int n = 0;
+            for (int i = 0, j = 0; i < chaves.length && j < outro.chaves.length; ) {
+                if (chaves[i] < outro.chaves[j]) {
+                    i++;
+                } else if (chaves[i] > outro.chaves[j]) {
+                    j++;
+                } else {
+                    Object bloco = e(blocos[i], outro.blocos[j]);
+                    if (bloco != null) {
+                        novasChaves[n] = chaves[i];
+                        novos[n++] = bloco;
+                    }
+                    i++;
+                    j++;
+                }
+            }
+            return new MapaBits(Arrays.copyOf(novasChaves, n), Arrays.copyOf(novos, n));
+        }
+
+        MapaBits ou(MapaBits outro) {
+            if (outro.chaves.length == 0) return this;
+            if (chaves.length == 0) return outro;
+            int[] novasChaves = new int[chaves.length + outro.chaves.length];
+            Object[] novos = new Object[novasChaves.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < chaves.length || j < outro.chaves.length) {
+                if (j == outro.chaves.length || (i < chaves.length && chaves[i] < outro.chaves[j])) {
+                    novasChaves[n] = chaves[i];
+                    novos[n++] = blocos[i++];
+                } else if (i == chaves.length || chaves[i] > outro.chaves[j]) {
+                    novasChaves[n] = outro.chaves[j];
+                    novos[n++] = outro.blocos[j++];
+                } else {
+                    novasChaves[n] = chaves[i];
+                    novos[n++] = ou(blocos[i++], outro.blocos[j++]);
+                }
+            }
+            return new MapaBits(Arrays.copyOf(novasChaves, n), Arrays.copyOf(novos, n));
+        }
+
+        // ids em ordem crescente
+        void paraCada(IntConsumer consumidor) {
+            for (int i = 0; i < chaves.length; i++) {
+                int base = chaves[i] << 16;
+                if (blocos[i] instanceof char[] baixos) {
+                    for (char baixo : baixos) consumidor.accept(base | baixo);
+                } else {
+                    long[] palavras = (long[]) blocos[i];
+                    for (int p = 0; p < PALAVRAS; p++) {
+                        for (long w = palavras[p]; w != 0; w &= w - 1) {
+                            consumidor.accept(base | (p << 6) | Long.numberOfTrailingZeros(w));
+                        }
+                    }
+                }
+            }
+        }
+
+        // ---------- blocos ----------
+        private static int tamanho(Object bloco) {
+            if (bloco instanceof char[] baixos) return baixos.length;
+            int total = 0;
+            for (long palavra : (long[]) bloco) total += Long.bitCount(palavra);
+            return total;
+        }
+
+        private static boolean contem(Object bloco, char baixo) {
+            if (bloco instanceof char[] baixos) return Arrays.binarySearch(baixos, baixo) >= 0;
+            return (((long[]) bloco)[baixo >>> 6] & (1L << baixo)) != 0;
+        }
+
+        // chamado só quando o valor ainda não está no bloco
+        private static Object com(Object bloco, char baixo) {
+            if (bloco instanceof char[] baixos) {
+                if (baixos.length >= LIMITE_ESPARSO) {
+                    long[] palavras = denso(baixos);
+                    palavras[baixo >>> 6] |= 1L << baixo;
+                    return palavras;
+                }
+                int pos = -Arrays.binarySearch(baixos, baixo) - 1;
+                char[] novos = new char[baixos.length + 1];
+                System.arraycopy(baixos, 0, novos, 0, pos);
+                novos[pos] = baixo;
+                System.arraycopy(baixos, pos, novos, pos + 1, baixos.length - pos);
+                return novos;
+            }
+            long[] palavras = ((long[]) bloco).clone();
+            palavras[baixo >>> 6] |= 1L << baixo;
+            return palavras;
+        }
+
+        // chamado só quando o valor está no bloco; null se o bloco esvaziar
+        private static Object sem(Object bloco, char baixo) {
+            if (bloco instanceof char[] baixos) {
+                if (baixos.length == 1) return null;
+                int pos = Arrays.binarySearch(baixos, baixo);
+                char[] novos = new char[baixos.length - 1];
+                System.arraycopy(baixos, 0, novos, 0, pos);
+                System.arraycopy(baixos, pos + 1, novos, pos, baixos.length - pos - 1);
+                return novos;
+            }
+            long[] palavras = ((long[]) bloco).clone();
+            palavras[baixo >>> 6] &= ~(1L << baixo);
+            return compactar(palavras);
+        }
+
+        private static Object e(Object a, Object b) {
+            if (a instanceof char[] x && b instanceof char[] y) {
+                char[] saida = new char[Math.min(x.length, y.length)];
+                int n = 0;
+                for (int i = 0, j = 0; i < x.length && j < y.length; ) {
+                    if (x[i] < y[j]) i++;
+                    else if (x[i] > y[j]) j++;
+                    else {
+                        saida[n++] = x[i];
+                        i++;
+                        j++;
+                    }
+                }
+                return n == 0 ? null : Arrays.copyOf(saida, n);
+            }
+            if (a instanceof char[] || b instanceof char[]) {
+                char[] esparso = a instanceof char[] x ? x : (char[]) b;
+                long[] palavras = a instanceof long[] x ? x : (long[]) b;
+                char[] saida = new char[esparso.length];
+                int n = 0;
+                for (char baixo : esparso) {
+                    if ((palavras[baixo >>> 6] & (1L << baixo)) != 0) saida[n++] = baixo;
+                }
+                return n == 0 ? null : Arrays.copyOf(saida, n);
+            }
+            long[] x = (long[]) a;
+            long[] y = (long[]) b;
+            long[] palavras = new long[PALAVRAS];
+            for (int p = 0; p < PALAVRAS; p++) palavras[p] = x[p] & y[p];
+            return compactar(palavras);
+        }
+
+        private static Object ou(Object a, Object b) {
+            if (a instanceof char[] x && b instanceof char[] y) {
+                char[] saida = new char[x.length + y.length];
+                int n = 0;
+                int i = 0;
+                int j = 0;
+                while (i < x.length || j < y.length) {
+                    if (j == y.length || (i < x.length && x[i] < y[j])) saida[n++] = x[i++];
+                    else if (i == x.length || x[i] > y[j]) saida[n++] = y[j++];
+                    else {
+                        saida[n++] = x[i++];
+                        j++;
+                    }
+                }
+                char[] uniao = Arrays.copyOf(saida, n);
+                return n > LIMITE_ESPARSO ? denso(uniao) : uniao;
+            }
+            long[] palavras = a instanceof long[] x ? x.clone() : denso((char[]) a);
+            if (b instanceof long[] y) {
+                for (int p = 0; p < PALAVRAS; p++) palavras[p] |= y[p];
+            } else {
+                for (char baixo : (char[]) b) palavras[baixo >>> 6] |= 1L << baixo;
+            }
+            return palavras;
+        }
+
+        private static long[] denso(char[] baixos) {
+            long[] palavras = new long[PALAVRAS];
+            for (char baixo : baixos) palavras[baixo >>> 6] |= 1L << baixo;
+            return palavras;
+        }
+
+        // volta para char[] quando o bloco denso fica pequeno; null se vazio
+        private static Object compactar(long[] palavras) {
+            int total = 0;
+            for (long palavra : palavras) total += Long.bitCount(palavra);
+            if (total == 0) return null;
+            if (total > LIMITE_ESPARSO) return palavras;
+            char[] baixos = new char[total];
+            int n = 0;
+            for (int p = 0; p < PALAVRAS; p++) {
+                for (long w = palavras[p]; w != 0; w &= w - 1) {
+                    baixos[n++] = (char) ((p << 6) | Long.numberOfTrailingZeros(w));
+                }
+            }
+            return baixos;
+        }
+    }
+}
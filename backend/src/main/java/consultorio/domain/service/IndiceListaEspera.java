@@ -0,0 +1,194 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.ListaEspera;
+import consultorio.domain.entity.enums.StatusListaEspera;
+import consultorio.domain.repository.ListaEsperaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Filas de prioridade residentes da lista de espera, por dentista e por especialidade, e dentro delas
+// uma fila por hora do dia: a entrada só entra nas horas em que um horário da sua janela pode começar.
+// Um horário liberado consulta apenas a fila da sua hora, a partir do topo; as entradas puladas ali são
+// as de período de datas ou duração incompatíveis, não a lista inteira. Inserção/remoção O(h log n),
+// h = horas da janela. É um índice de candidatos: o ListaEsperaService confere o status no banco antes de ofertar.
+@Component
+@RequiredArgsConstructor
+public class IndiceListaEspera {
+
+    static final Comparator<Entrada> ORDEM = Comparator
+            .comparing(Entrada::prioridade, Comparator.reverseOrder())
+            .thenComparing(Entrada::criadoEm)
+            .thenComparing(Entrada::id);
+
+    private static final int HORAS = 24;
+
+    private final ListaEsperaRepository listaEsperaRepository;
+
+    private final Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+    private final Map<Long, FilasPorHora> porDentista = new ConcurrentHashMap<>();
+    private final Map<String, FilasPorHora> porEspecialidade = new ConcurrentHashMap<>();
+
+    public record Entrada(Long id, Long dentistaId, String especialidade,
+                          LocalDate disponivelDe, LocalDate disponivelAte,
+                          LocalTime horaInicio, LocalTime horaFim,
+                          int duracaoMinutos, int prioridade, LocalDateTime criadoEm) {
+
+        static Entrada de(ListaEspera espera) {
+            return new Entrada(
+                    espera.getId(),
+                    espera.getDentista() != null ? espera.getDentista().getId() : null,
+                    normalizar(espera.getEspecialidade()),
+                    espera.getDisponivelDe(),
+                    espera.getDisponivelAte(),
+                    espera.getHoraInicio(),
+                    espera.getHoraFim(),
+                    espera.getDuracaoMinutos() != null ? espera.getDuracaoMinutos() : DisponibilidadeService.DURACAO_SLOT_MINUTOS,
+                    espera.getPrioridade() != null ? espera.getPrioridade() : 0,
+                    espera.getCreatedAt() != null ? espera.getCreatedAt() : LocalDateTime.now());
+        }
+
+        // o horário liberado precisa comportar a duração e cair dentro da janela preferida
+        boolean aceita(LocalDateTime inicio, LocalDateTime fim) {
+            if (Duration.between(inicio, fim).toMinutes() < duracaoMinutos) return false;
+            LocalDate data = inicio.toLocalDate();
+            if (disponivelDe != null && data.isBefore(disponivelDe)) return false;
+            if (disponivelAte != null && data.isAfter(disponivelAte)) return false;
+            LocalTime hora = inicio.toLocalTime();
+            if (horaInicio != null && hora.isBefore(horaInicio)) return false;
+            return horaFim == null || !hora.plusMinutes(duracaoMinutos).isAfter(horaFim);
+        }
+
+        // horas do dia em que pode começar um horário dentro da janela; vazio (-1) se a duração não cabe nela
+        int primeiraHora() {
+            return horaInicio != null ? horaInicio.getHour() : 0;
+        }
+
+        int ultimaHora() {
+            if (horaFim == null) return HORAS - 1;
+            int ultimoInicio = horaFim.toSecondOfDay() / 60 - duracaoMinutos;
+            return ultimoInicio < 0 ? -1 : ultimoInicio / 60;
+        }
+
+        boolean expirada(LocalDate hoje) {
+            return disponivelAte != null && disponivelAte.isBefore(hoje);
+        }
+    }
+
+    static final class FilasPorHora {
+        private final List<NavigableSet<Entrada>> filas = new ArrayList<>(HORAS);
+
+        FilasPorHora() {
+            for (int hora = 0; hora < HORAS; hora++) {
+                filas.add(new ConcurrentSkipListSet<>(ORDEM));
+            }
+        }
+
+        void adicionar(Entrada entrada) {
+            for (int hora = entrada.primeiraHora(); hora <= entrada.ultimaHora(); hora++) {
+                filas.get(hora).add(entrada);
+            }
+        }
+
+        void remover(Entrada entrada) {
+            for (int hora = entrada.primeiraHora(); hora <= entrada.ultimaHora(); hora++) {
+                filas.get(hora).remove(entrada);
+            }
+        }
+
+        NavigableSet<Entrada> daHora(int hora) {
+            return filas.get(hora);
+        }
+    }
+
+    // ====================== CARGA ======================
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        LocalDate hoje = LocalDate.now();
+        listaEsperaRepository.findByStatusComPaciente(StatusListaEspera.AGUARDANDO).stream()
+                .map(Entrada::de)
+                .filter(entrada -> !entrada.expirada(hoje))
+                .forEach(this::adicionar);
+    }
+
+    // ====================== ATUALIZAÇÃO ======================
+    public void adicionar(Entrada entrada) {
+        FilasPorHora filas = filas(entrada, true);
+        if (filas == null) return;
+        porId.put(entrada.id(), entrada);
+        filas.adicionar(entrada);
+    }
+
+    // Pelo id: a entrada guardada é a que foi indexada (o criadoEm relido do banco perde precisão).
+    // true apenas para quem efetivamente removeu: duas liberações simultâneas não ofertam a mesma entrada
+    public boolean remover(Long id) {
+        Entrada entrada = porId.remove(id);
+        if (entrada == null) return false;
+        FilasPorHora filas = filas(entrada, false);
+        if (filas != null) filas.remover(entrada);
+        return true;
+    }
+
+    // ====================== CONSULTA ======================
+    // Percorre a fila da hora do horário a partir do topo e para na primeira entrada compatível
+    public Optional<Entrada> melhor(Long dentistaId, String especialidade, LocalDateTime inicio, LocalDateTime fim) {
+        Entrada doDentista = primeiraCompativel(porDentista.get(dentistaId), inicio, fim);
+        String chave = normalizar(especialidade);
+        Entrada daEspecialidade = chave == null ? null : primeiraCompativel(porEspecialidade.get(chave), inicio, fim);
+
+        if (doDentista == null) return Optional.ofNullable(daEspecialidade);
+        if (daEspecialidade == null) return Optional.of(doDentista);
+        return Optional.of(ORDEM.compare(doDentista, daEspecialidade) <= 0 ? doDentista : daEspecialidade);
+    }
+
+    int tamanho() {
+        return porId.size();
+    }
+
+    private FilasPorHora filas(Entrada entrada, boolean criar) {
+        if (entrada.dentistaId() != null) {
+            return criar
+                    ? porDentista.computeIfAbsent(entrada.dentistaId(), id -> new FilasPorHora())
+                    : porDentista.get(entrada.dentistaId());
+        }
+        if (entrada.especialidade() != null) {
+            return criar
+                    ? porEspecialidade.computeIfAbsent(entrada.especialidade(), e -> new FilasPorHora())
+                    : porEspecialidade.get(entrada.especialidade());
+        }
+        return null;
+    }
+
+    // entradas com período de datas já encerrado não servem a nenhum horário futuro: saem da fila aqui
+    private Entrada primeiraCompativel(FilasPorHora filas, LocalDateTime inicio, LocalDateTime fim) {
+        if (filas == null) return null;
+        LocalDate hoje = LocalDate.now();
+        for (Entrada entrada : filas.daHora(inicio.getHour())) {
+            if (entrada.aceita(inicio, fim)) return entrada;
+            if (entrada.expirada(hoje)) remover(entrada.id());
+        }
+        return null;
+    }
+
+    static String normalizar(String especialidade) {
+        if (especialidade == null || especialidade.isBlank()) return null;
+        return especialidade.trim().toLowerCase(Locale.ROOT);
+    }
+}
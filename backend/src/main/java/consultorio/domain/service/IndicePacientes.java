@@ -0,0 +1,306 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.SugestaoPacienteResponse;
+import consultorio.domain.event.PacienteAlteradoEvent;
+import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.projection.PacienteResumoProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+// Índice residente para o autocompletar da recepção: chaves normalizadas (palavras do nome sem acento,
+// CPF e prontuário só com letras/dígitos) em um array ordenado, apontando para ids primitivos.
+// Mesmo modelo do IndiceAgenda: leituras sem bloqueio sobre snapshots imutáveis, escritas
+// serializadas vindas dos eventos pós-commit do PacienteService.
+@Component
+@RequiredArgsConstructor
+public class IndicePacientes {
+
+    // limite de chaves visitadas por consulta: prefixos muito curtos não varrem o índice inteiro
+    private static final int MAXIMO_VARREDURA = 4096;
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private final PacienteRepository pacienteRepository;
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private final List<PacienteAlteradoEvent> pendentes = new ArrayList<>();
+
+    // null enquanto o índice aquece: o chamador recorre ao banco
+    private volatile Prefixos prefixos;
+    private boolean carregando;
+
+    record Entrada(long id, String nome, String cpf, String prontuarioNumero, String nomeNormalizado, String[] chaves) {
+
+        static Entrada de(long id, String nome, String cpf, String prontuarioNumero) {
+            String nomeNormalizado = normalizar(nome);
+            Set<String> chaves = new LinkedHashSet<>();
+            for (String palavra : SEPARADORES.split(nomeNormalizado)) {
+                if (!palavra.isEmpty()) chaves.add(palavra);
+            }
+            String cpfChave = compactar(cpf);
+            if (!cpfChave.isEmpty()) chaves.add(cpfChave);
+            String prontuarioChave = compactar(prontuarioNumero);
+            if (!prontuarioChave.isEmpty()) chaves.add(prontuarioChave);
+            return new Entrada(id, nome, cpf, prontuarioNumero, nomeNormalizado, chaves.toArray(String[]::new));
+        }
+
+        // cada termo precisa ser prefixo de alguma chave do paciente ("mar sil" -> "Maria da Silva")
+        boolean atende(String[] termos) {
+            for (String termo : termos) {
+                boolean achou = false;
+                for (String chave : chaves) {
+                    if (chave.startsWith(termo)) {
+                        achou = true;
+                        break;
+                    }
+                }
+                if (!achou) return false;
+            }
+            return true;
+        }
+    }
+
+    // ====================== CARGA ======================
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        synchronized (this) {
+            prefixos = null;
+            carregando = true;
+            pendentes.clear();
+        }
+
+        List<Entrada> carregadas = new ArrayList<>();
+        for (PacienteResumoProjection p : pacienteRepository.findAllResumo()) {
+            carregadas.add(Entrada.de(p.getId(), p.getNome(), p.getCpf(), p.getProntuarioNumero()));
+        }
+
+        synchronized (this) {
+            entradas.clear();
+            carregadas.forEach(e -> entradas.put(e.id(), e));
+            prefixos = Prefixos.de(carregadas);
+
+            // alterações confirmadas durante a carga são reaplicadas (upserts idempotentes)
+            pendentes.forEach(this::aplicar);
+            pendentes.clear();
+            carregando = false;
+        }
+    }
+
+    // ====================== ATUALIZAÇÃO ======================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPacienteAlterado(PacienteAlteradoEvent evento) {
+        if (carregando) {
+            pendentes.add(evento);
+            return;
+        }
+        aplicar(evento);
+    }
+
+    private void aplicar(PacienteAlteradoEvent evento) {
+        Prefixos atual = prefixos;
+        if (atual == null) return;
+
+        long id = evento.getPacienteId();
+        Entrada anterior = entradas.remove(id);
+        if (anterior != null) {
+            atual = atual.sem(anterior);
+        }
+        if (!evento.isRemovido()) {
+            Entrada nova = Entrada.de(id, evento.getNome(), evento.getCpf(), evento.getProntuarioNumero());
+            entradas.put(id, nova);
+            atual = atual.com(nova);
+        }
+        prefixos = atual;
+    }
+
+    // ====================== LEITURA ======================
+    public boolean pronto() {
+        return prefixos != null;
+    }
+
+    public List<SugestaoPacienteResponse> sugerir(String consulta, int limite) {
+        Prefixos atual = prefixos;
+        String[] termos = termos(consulta);
+        if (atual == null || termos.length == 0) return List.of();
+
+        // o termo mais longo delimita a menor faixa do array; os demais são conferidos na entrada
+        String guia = termos[0];
+        for (String termo : termos) {
+            if (termo.length() > guia.length()) guia = termo;
+        }
+
+        List<Entrada> achadas = new ArrayList<>(limite);
+        Set<Long> vistos = new HashSet<>();
+        atual.varrer(guia, MAXIMO_VARREDURA, id -> {
+            if (vistos.add(id)) {
+                Entrada entrada = entradas.get(id);
+                if (entrada != null && entrada.atende(termos)) achadas.add(entrada);
+            }
+            return achadas.size() < limite;
+        });
+
+        // quem começa com o primeiro termo digitado vem antes; depois ordem alfabética
+        String primeiro = termos[0];
+        achadas.sort(Comparator
+                .comparing((Entrada e) -> !e.nomeNormalizado().startsWith(primeiro))
+                .thenComparing(Entrada::nomeNormalizado));
+
+        List<SugestaoPacienteResponse> sugestoes = new ArrayList<>(achadas.size());
+        for (Entrada e : achadas) {
+            sugestoes.add(new SugestaoPacienteResponse(e.id(), e.nome(), e.cpf(), e.prontuarioNumero()));
+        }
+        return sugestoes;
+    }
+
+    // "123.456" vira "123456" (CPF/prontuário digitados com pontuação); texto vira palavras sem acento
+    static String[] termos(String consulta) {
+        String normalizada = normalizar(consulta).trim();
+        if (normalizada.isEmpty()) return new String[0];
+        if (normalizada.chars().noneMatch(Character::isLetter)) {
+            String compacta = compactar(normalizada);
+            return compacta.isEmpty() ? new String[0] : new String[]{compacta};
+        }
+        return Arrays.stream(SEPARADORES.split(normalizada)).filter(t -> !t.isEmpty()).toArray(String[]::new);
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) return "";
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String compactar(String texto) {
+        return SEPARADORES.matcher(normalizar(texto)).replaceAll("");
+    }
+
+    // ====================== ESTRUTURA ======================
+    // Pares (chave, id) ordenados por chave e depois id: um prefixo corresponde a uma faixa contígua,
+    // localizada por busca binária
+    static final class Prefixos {
+
+        static final Prefixos VAZIO = new Prefixos(new String[0], new long[0]);
+
+        private final String[] chaves;
+        private final long[] ids;
+
+        private Prefixos(String[] chaves, long[] ids) {
+            this.chaves = chaves;
+            this.ids = ids;
+        }
+
+        static Prefixos de(List<Entrada> entradas) {
+            List<Object[]> pares = new ArrayList<>();
+            for (Entrada e : entradas) {
+                for (String chave : e.chaves()) pares.add(new Object[]{chave, e.id()});
+            }
+            pares.sort(Comparator.<Object[], String>comparing(p -> (String) p[0]).thenComparingLong(p -> (Long) p[1]));
+
+            String[] chaves = new String[pares.size()];
+            long[] ids = new long[pares.size()];
+            for (int i = 0; i < pares.size(); i++) {
+                chaves[i] = (String) pares.get(i)[0];
+                ids[i] = (Long) pares.get(i)[1];
+            }
+            return new Prefixos(chaves, ids);
+        }
+
+        int tamanho() {
+            return ids.length;
+        }
+
+        Prefixos com(Entrada entrada) {
+            String[] novasChaves = chaves;
+            long[] novosIds = ids;
+            for (String chave : entrada.chaves()) {
+                int pos = posicao(novasChaves, novosIds, chave, entrada.id());
+                if (pos < novosIds.length && novosIds[pos] == entrada.id() && novasChaves[pos].equals(chave)) continue;
+                novasChaves = inserir(novasChaves, pos, chave);
+                novosIds = inserir(novosIds, pos, entrada.id());
+            }
+            return new Prefixos(novasChaves, novosIds);
+        }
+
+        Prefixos sem(Entrada entrada) {
+            String[] novasChaves = chaves;
+            long[] novosIds = ids;
+            for (String chave : entrada.chaves()) {
+                int pos = posicao(novasChaves, novosIds, chave, entrada.id());
+                if (pos < novosIds.length && novosIds[pos] == entrada.id() && novasChaves[pos].equals(chave)) {
+                    novasChaves = remover(novasChaves, pos);
+                    novosIds = remover(novosIds, pos);
+                }
+            }
+            return new Prefixos(novasChaves, novosIds);
+        }
+
+        // entrega os ids das chaves com o prefixo, em ordem de chave, até o visitante recusar ou o limite
+        void varrer(String prefixo, int maximo, LongPredicate visitante) {
+            int inicio = posicao(chaves, ids, prefixo, Long.MIN_VALUE);
+            int fim = (int) Math.min(chaves.length, (long) inicio + maximo);
+            for (int i = inicio; i < fim && chaves[i].startsWith(prefixo); i++) {
+                if (!visitante.test(ids[i])) return;
+            }
+        }
+
+        // primeira posição com (chave, id) >= (alvo, idAlvo)
+        private static int posicao(String[] chaves, long[] ids, String alvo, long idAlvo) {
+            int baixo = 0;
+            int alto = chaves.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                int cmp = chaves[meio].compareTo(alvo);
+                if (cmp < 0 || (cmp == 0 && ids[meio] < idAlvo)) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        private static String[] inserir(String[] origem, int pos, String valor) {
+            String[] destino = Arrays.copyOf(origem, origem.length + 1);
+            System.arraycopy(origem, pos, destino, pos + 1, origem.length - pos);
+            destino[pos] = valor;
+            return destino;
+        }
+
+        private static long[] inserir(long[] origem, int pos, long valor) {
+            long[] destino = Arrays.copyOf(origem, origem.length + 1);
+            System.arraycopy(origem, pos, destino, pos + 1, origem.length - pos);
+            destino[pos] = valor;
+            return destino;
+        }
+
+        private static String[] remover(String[] origem, int pos) {
+            String[] destino = new String[origem.length - 1];
+            System.arraycopy(origem, 0, destino, 0, pos);
+            System.arraycopy(origem, pos + 1, destino, pos, origem.length - pos - 1);
+            return destino;
+        }
+
+        private static long[] remover(long[] origem, int pos) {
+            long[] destino = new long[origem.length - 1];
+            System.arraycopy(origem, 0, destino, 0, pos);
+            System.arraycopy(origem, pos + 1, destino, pos, origem.length - pos - 1);
+            return destino;
+        }
+    }
+}
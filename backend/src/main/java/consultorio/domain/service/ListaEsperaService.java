@@ -0,0 +1,170 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.mapper.ListaEsperaMapper;
+import consultorio.api.dto.request.ListaEsperaRequest;
+import consultorio.api.dto.request.ReservaTemporariaRequest;
+import consultorio.api.dto.response.ListaEsperaResponse;
+import consultorio.api.dto.response.ReservaTemporariaResponse;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.ListaEspera;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.entity.enums.StatusListaEspera;
+import consultorio.domain.event.HorarioLiberadoEvent;
+import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.ListaEsperaRepository;
+import consultorio.domain.repository.PacienteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ListaEsperaService {
+
+    private final ListaEsperaRepository listaEsperaRepository;
+    private final PacienteRepository pacienteRepository;
+    private final DentistaRepository dentistaRepository;
+    private final ListaEsperaMapper listaEsperaMapper;
+    private final IndiceListaEspera indiceListaEspera;
+    private final AgendamentoService agendamentoService;
+    private final Duration validadeOferta;
+
+    public ListaEsperaService(ListaEsperaRepository listaEsperaRepository,
+                              PacienteRepository pacienteRepository,
+                              DentistaRepository dentistaRepository,
+                              ListaEsperaMapper listaEsperaMapper,
+                              IndiceListaEspera indiceListaEspera,
+                              AgendamentoService agendamentoService,
+                              @Value("${consultorio.lista-espera.reserva-ttl-minutos:30}") long validadeOfertaMinutos) {
+        this.listaEsperaRepository = listaEsperaRepository;
+        this.pacienteRepository = pacienteRepository;
+        this.dentistaRepository = dentistaRepository;
+        this.listaEsperaMapper = listaEsperaMapper;
+        this.indiceListaEspera = indiceListaEspera;
+        this.agendamentoService = agendamentoService;
+        this.validadeOferta = Duration.ofMinutes(validadeOfertaMinutos);
+    }
+
+    // ====================== CRUD ======================
+    @Transactional
+    public ListaEsperaResponse criar(ListaEsperaRequest request) {
+        Paciente paciente = pacienteRepository.findById(request.getPacienteId())
+                .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
+
+        Dentista dentista = null;
+        if (request.getDentistaId() != null) {
+            dentista = dentistaRepository.findById(request.getDentistaId())
+                    .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
+        } else if (request.getEspecialidade() == null || request.getEspecialidade().isBlank()) {
+            throw new RuntimeException("Informe o dentista ou a especialidade");
+        }
+
+        ListaEspera espera = new ListaEspera();
+        espera.setPaciente(paciente);
+        espera.setDentista(dentista);
+        espera.setEspecialidade(dentista != null ? dentista.getEspecialidade() : request.getEspecialidade());
+        espera.setDisponivelDe(request.getDisponivelDe());
+        espera.setDisponivelAte(request.getDisponivelAte());
+        espera.setHoraInicio(request.getHoraInicio());
+        espera.setHoraFim(request.getHoraFim());
+        if (request.getDuracaoMinutos() != null && request.getDuracaoMinutos() > 0) {
+            espera.setDuracaoMinutos(request.getDuracaoMinutos());
+        }
+        if (request.getPrioridade() != null) {
+            espera.setPrioridade(request.getPrioridade());
+        }
+
+        ListaEspera saved = listaEsperaRepository.save(espera);
+        // entrada órfã (rollback) é descartada na oferta, que confere o status no banco
+        indiceListaEspera.adicionar(IndiceListaEspera.Entrada.de(saved));
+        return listaEsperaMapper.toResponse(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ListaEsperaResponse> listar(StatusListaEspera status) {
+        return listaEsperaMapper.toResponseList(listaEsperaRepository.findByStatusComPaciente(
+                status != null ? status : StatusListaEspera.AGUARDANDO));
+    }
+
+    @Transactional
+    public void cancelar(Long id) {
+        ListaEspera espera = listaEsperaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Entrada da lista de espera não encontrada"));
+        if (espera.getStatus() == StatusListaEspera.AGUARDANDO) {
+            indiceListaEspera.remover(espera.getId());
+        }
+        espera.setStatus(StatusListaEspera.CANCELADO);
+        listaEsperaRepository.save(espera);
+    }
+
+    // ====================== EXPIRAÇÃO DAS OFERTAS ======================
+    // Oferta não confirmada: a reserva expira junto com a validade (contada antes de ofertadoEm),
+    // então a entrada volta a aguardar e ao índice. Confirmadas já saíram como ATENDIDO.
+    @Scheduled(fixedDelayString = "${consultorio.lista-espera.expiracao-ms:60000}")
+    @Transactional
+    public void devolverOfertasExpiradas() {
+        LocalDateTime limite = LocalDateTime.now().minus(validadeOferta);
+        List<ListaEspera> expiradas = listaEsperaRepository.findByStatusAndOfertadoEmLessThanEqual(
+                StatusListaEspera.OFERTADO, limite);
+        for (ListaEspera espera : expiradas) {
+            espera.setStatus(StatusListaEspera.AGUARDANDO);
+            espera.setReservaId(null);
+            espera.setOfertadoEm(null);
+        }
+        listaEsperaRepository.saveAll(expiradas);
+        // entrada órfã (rollback) é descartada na oferta, que confere o status no banco
+        expiradas.forEach(e -> indiceListaEspera.adicionar(IndiceListaEspera.Entrada.de(e)));
+    }
+
+    // ====================== OFERTA AUTOMÁTICA ======================
+    // Fora da thread da requisição e só depois do commit: o cancelamento não espera pela oferta.
+    // Sem transação própria: cada passo (reserva, atualização da entrada) commita sozinho.
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHorarioLiberado(HorarioLiberadoEvent evento) {
+        Dentista dentista = dentistaRepository.findById(evento.getDentistaId()).orElse(null);
+        if (dentista == null || !Boolean.TRUE.equals(dentista.getAtivo())) return;
+
+        while (true) {
+            Optional<IndiceListaEspera.Entrada> melhor = indiceListaEspera.melhor(
+                    dentista.getId(), dentista.getEspecialidade(), evento.getInicio(), evento.getFim());
+            if (melhor.isEmpty()) return;
+
+            IndiceListaEspera.Entrada entrada = melhor.get();
+            if (!indiceListaEspera.remover(entrada.id())) continue; // outra liberação já levou esta entrada
+
+            ListaEspera espera = listaEsperaRepository.findById(entrada.id())
+                    .filter(e -> e.getStatus() == StatusListaEspera.AGUARDANDO)
+                    .orElse(null);
+            if (espera == null) continue; // entrada obsoleta no índice
+
+            ReservaTemporariaRequest request = new ReservaTemporariaRequest();
+            request.setDentistaId(dentista.getId());
+            request.setDataHora(evento.getInicio());
+            request.setDuracaoMinutos(entrada.duracaoMinutos());
+
+            ReservaTemporariaResponse reserva;
+            try {
+                reserva = agendamentoService.reservarHorario(request, validadeOferta);
+            } catch (RuntimeException e) {
+                // horário já ocupado ou fora das regras de agendamento: a entrada volta para a fila
+                indiceListaEspera.adicionar(entrada);
+                return;
+            }
+
+            espera.setStatus(StatusListaEspera.OFERTADO);
+            espera.setReservaId(reserva.getId());
+            espera.setOfertadoEm(LocalDateTime.now());
+            listaEsperaRepository.save(espera);
+            return;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.mapper.PacienteMapper;
+import consultorio.api.dto.mapper.PacienteSecoesMapper;
+import consultorio.api.dto.request.PacienteAnamneseRequest;
+import consultorio.api.dto.request.PacienteExameClinicoRequest;
+import consultorio.api.dto.request.PacienteRequest;
+import consultorio.api.dto.request.PacienteResponsavelRequest;
+import consultorio.api.dto.response.PacienteAnamneseResponse;
+import consultorio.api.dto.response.PacienteExameClinicoResponse;
+import consultorio.api.dto.response.PacienteResponse;
+import consultorio.api.dto.response.PacienteResponsavelResponse;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.entity.PacienteAnamnese;
+import consultorio.domain.entity.PacienteExameClinico;
+import consultorio.domain.entity.PacienteResponsavel;
+import consultorio.domain.event.AnamneseAlteradaEvent;
+import consultorio.domain.repository.PacienteAnamneseRepository;
+import consultorio.domain.repository.PacienteExameClinicoRepository;
+import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.PacienteResponsavelRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Seções 1:1 do paciente (responsável, anamnese, exame clínico), em tabelas próprias com a mesma chave.
+// Cada seção é lida pelo seu endpoint; a ficha completa junta as três por chave primária
+// (listas: uma consulta IN por seção).
+@Service
+@RequiredArgsConstructor
+public class PacienteSecoesService {
+
+    private static final int LOTE_IN = 1000;
+
+    private final PacienteRepository pacienteRepository;
+    private final PacienteResponsavelRepository responsavelRepository;
+    private final PacienteAnamneseRepository anamneseRepository;
+    private final PacienteExameClinicoRepository exameClinicoRepository;
+    private final PacienteMapper pacienteMapper;
+    private final PacienteSecoesMapper secoesMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ====================== CADASTRO ======================
+    // Grava as seções a partir do request completo do cadastro e devolve a ficha completa
+    @Transactional
+    public PacienteResponse salvar(Paciente paciente, PacienteRequest request) {
+        PacienteResponsavel responsavel = responsavelRepository.findById(paciente.getId()).orElse(null);
+        if (responsavel == null) {
+            responsavel = secoesMapper.toResponsavel(request);
+            responsavel.setPaciente(paciente);
+        } else {
+            secoesMapper.updateFromRequest(request, responsavel);
+        }
+
+        PacienteAnamnese anamnese = anamneseRepository.findById(paciente.getId()).orElse(null);
+        if (anamnese == null) {
+            anamnese = secoesMapper.toAnamnese(request);
+            anamnese.setPaciente(paciente);
+        } else {
+            secoesMapper.updateFromRequest(request, anamnese);
+        }
+
+        PacienteExameClinico exameClinico = exameClinicoRepository.findById(paciente.getId()).orElse(null);
+        if (exameClinico == null) {
+            exameClinico = secoesMapper.toExameClinico(request);
+            exameClinico.setPaciente(paciente);
+        } else {
+            secoesMapper.updateFromRequest(request, exameClinico);
+        }
+
+        PacienteAnamnese anamneseSalva = anamneseRepository.save(anamnese);
+        eventPublisher.publishEvent(AnamneseAlteradaEvent.de(anamneseSalva));
+        return pacienteMapper.toEntityResponse(paciente, responsavelRepository.save(responsavel),
+                anamneseSalva, exameClinicoRepository.save(exameClinico));
+    }
+
+    @Transactional(readOnly = true)
+    public PacienteResponse completo(Paciente paciente) {
+        Long id = paciente.getId();
+        return pacienteMapper.toEntityResponse(paciente,
+                responsavelRepository.findById(id).orElse(null),
+                anamneseRepository.findById(id).orElse(null),
+                exameClinicoRepository.findById(id).orElse(null));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PacienteResponse> completos(List<Paciente> pacientes) {
+        if (pacientes.isEmpty()) return List.of();
+        List<Long> ids = pacientes.stream().map(Paciente::getId).toList();
+
+        Map<Long, PacienteResponsavel> responsaveis = porId(ids, responsavelRepository::findAllById, PacienteResponsavel::getId);
+        Map<Long, PacienteAnamnese> anamneses = porId(ids, anamneseRepository::findAllById, PacienteAnamnese::getId);
+        Map<Long, PacienteExameClinico> exames = porId(ids, exameClinicoRepository::findAllById, PacienteExameClinico::getId);
+
+        return pacientes.stream()
+                .map(p -> pacienteMapper.toEntityResponse(p, responsaveis.get(p.getId()),
+                        anamneses.get(p.getId()), exames.get(p.getId())))
+                .toList();
+    }
+
+    // ====================== RESPONSÁVEL ======================
+    @Transactional(readOnly = true)
+    public PacienteResponsavelResponse findResponsavel(Long pacienteId) {
+        return secoesMapper.toEntityResponse(responsavel(pacienteId));
+    }
+
+    @Transactional
+    public PacienteResponsavelResponse updateResponsavel(Long pacienteId, PacienteResponsavelRequest request) {
+        tocar(pacienteId);
+        PacienteResponsavel responsavel = responsavel(pacienteId);
+        secoesMapper.updateFromRequest(request, responsavel);
+        return secoesMapper.toEntityResponse(responsavelRepository.save(responsavel));
+    }
+
+    // ====================== ANAMNESE ======================
+    @Transactional(readOnly = true)
+    public PacienteAnamneseResponse findAnamnese(Long pacienteId) {
+        return secoesMapper.toEntityResponse(anamnese(pacienteId));
+    }
+
+    @Transactional
+    public PacienteAnamneseResponse updateAnamnese(Long pacienteId, PacienteAnamneseRequest request) {
+        tocar(pacienteId);
+        PacienteAnamnese anamnese = anamnese(pacienteId);
+        secoesMapper.updateFromRequest(request, anamnese);
+        PacienteAnamnese anamneseSalva = anamneseRepository.save(anamnese);
+        eventPublisher.publishEvent(AnamneseAlteradaEvent.de(anamneseSalva));
+        return secoesMapper.toEntityResponse(anamneseSalva);
+    }
+
+    // ====================== EXAME CLÍNICO ======================
+    @Transactional(readOnly = true)
+    public PacienteExameClinicoResponse findExameClinico(Long pacienteId) {
+        return secoesMapper.toEntityResponse(exameClinico(pacienteId));
+    }
+
+    @Transactional
+    public PacienteExameClinicoResponse updateExameClinico(Long pacienteId, PacienteExameClinicoRequest request) {
+        tocar(pacienteId);
+        PacienteExameClinico exameClinico = exameClinico(pacienteId);
+        secoesMapper.updateFromRequest(request, exameClinico);
+        return secoesMapper.toEntityResponse(exameClinicoRepository.save(exameClinico));
+    }
+
+    // seção ainda não gravada: começa vazia, ligada ao paciente (persistida no primeiro PUT)
+    private PacienteResponsavel responsavel(Long pacienteId) {
+        return responsavelRepository.findById(pacienteId).orElseGet(() -> {
+            PacienteResponsavel nova = new PacienteResponsavel();
+            nova.setPaciente(referencia(pacienteId));
+            return nova;
+        });
+    }
+
+    private PacienteAnamnese anamnese(Long pacienteId) {
+        return anamneseRepository.findById(pacienteId).orElseGet(() -> {
+            PacienteAnamnese nova = new PacienteAnamnese();
+            nova.setPaciente(referencia(pacienteId));
+            return nova;
+        });
+    }
+
+    private PacienteExameClinico exameClinico(Long pacienteId) {
+        return exameClinicoRepository.findById(pacienteId).orElseGet(() -> {
+            PacienteExameClinico nova = new PacienteExameClinico();
+            nova.setPaciente(referencia(pacienteId));
+            return nova;
+        });
+    }
+
+    // A ficha completa (GET /api/pacientes/{id}) inclui as seções: alterar uma delas muda a versão do
+    // paciente (@Version), e com ela o ETag da ficha e o das listagens de pacientes
+    private void tocar(Long pacienteId) {
+        Paciente paciente = pacienteRepository.findById(pacienteId)
+                .orElseThrow(() -> new RuntimeException("Paciente não encontrado com id: " + pacienteId));
+        paciente.setUpdatedAt(LocalDateTime.now());
+    }
+
+    // referência sem carregar a linha de pacientes: basta saber que o paciente existe
+    private Paciente referencia(Long pacienteId) {
+        if (!pacienteRepository.existsById(pacienteId)) {
+            throw new RuntimeException("Paciente não encontrado com id: " + pacienteId);
+        }
+        return pacienteRepository.getReferenceById(pacienteId);
+    }
+
+    // IN em lotes: a listagem completa não estoura o limite de parâmetros do driver
+    private static <T> Map<Long, T> porId(List<Long> ids, Function<List<Long>, List<T>> busca, Function<T, Long> id) {
+        Map<Long, T> secoes = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += LOTE_IN) {
+            busca.apply(ids.subList(i, Math.min(ids.size(), i + LOTE_IN))).forEach(s -> secoes.put(id.apply(s), s));
+        }
+        return secoes;
+    }
+}
@@ -1,52 +1,94 @@
 package consultorio.domain.service;
 
 import consultorio.api.dto.mapper.PacienteMapper;
+import consultorio.api.dto.request.PacienteFiltroRequest;
 import consultorio.api.dto.request.PacienteRequest;
+import consultorio.api.dto.response.PacienteCoreResponse;
 import consultorio.api.dto.response.PacienteResponse;
+import consultorio.api.dto.response.PacienteResumoResponse;
+import consultorio.api.dto.response.PaginaResponse;
+import consultorio.api.dto.response.SugestaoPacienteResponse;
 import consultorio.domain.entity.Paciente;
+import consultorio.domain.event.PacienteAlteradoEvent;
+import consultorio.domain.exception.VersaoDivergenteException;
 import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.PadraoLike;
 import consultorio.domain.repository.projection.PacienteResumoProjection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class PacienteService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    private static final int LIMITE_BUSCA_PADRAO = 20;
+    private static final int LIMITE_BUSCA_MAXIMO = 50;
+    // trigramas: termos menores não usam o índice
+    private static final int TAMANHO_MINIMO_TERMO = 3;
+    private static final int LIMITE_SUGESTOES_PADRAO = 10;
+    private static final int LIMITE_SUGESTOES_MAXIMO = 25;
+
+    // ordenações aceitas na listagem paginada: parâmetro -> (atributo da entidade, valor do cursor)
+    private static final Map<String, String> ORDENACOES = Map.of(
+            "nome", "nome",
+            "prontuarioNumero", "prontuarioNumero",
+            "criadoEm", "createdAt"
+    );
+    private static final Map<String, Function<PacienteResumoResponse, Object>> VALOR_CURSOR = Map.of(
+            "nome", PacienteResumoResponse::getNome,
+            "prontuarioNumero", PacienteResumoResponse::getProntuarioNumero,
+            "createdAt", PacienteResumoResponse::getCriadoEm
+    );
+
     private final PacienteRepository pacienteRepository;
     private final PacienteMapper pacienteMapper;
+    private final PacienteSecoesService pacienteSecoesService;
+    private final IndicePacientes indicePacientes;
+    private final VerificadorUnicidade verificadorUnicidade;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PacienteResponse create(PacienteRequest request) {
-        // Verifica se CPF já existe
-        if (pacienteRepository.existsByCpf(request.getCpf())) {
+        // CPF, RG e prontuário: negativos pelo filtro de Bloom, possíveis positivos numa única consulta
+        Set<VerificadorUnicidade.Campo> conflitos = verificadorUnicidade.conflitos(
+                chaves(request.getCpf(), request.getRg(), request.getProntuarioNumero()), null);
+        if (conflitos.contains(VerificadorUnicidade.Campo.CPF)) {
             throw new RuntimeException("Já existe um paciente cadastrado com este CPF: " + request.getCpf());
         }
-
-        // Verifica se RG já existe (se informado)
-        if (request.getRg() != null && !request.getRg().isBlank() &&
-                pacienteRepository.existsByRg(request.getRg())) {
+        if (conflitos.contains(VerificadorUnicidade.Campo.RG)) {
             throw new RuntimeException("Já existe um paciente cadastrado com este RG: " + request.getRg());
         }
-
-        // Verifica se número de prontuário já existe (se informado)
-        if (request.getProntuarioNumero() != null && !request.getProntuarioNumero().isBlank() &&
-                pacienteRepository.existsByProntuarioNumero(request.getProntuarioNumero())) {
+        if (conflitos.contains(VerificadorUnicidade.Campo.PRONTUARIO)) {
             throw new RuntimeException("Já existe um paciente cadastrado com este número de prontuário: " + request.getProntuarioNumero());
         }
 
         Paciente paciente = pacienteMapper.toEntity(request);
+        registrarChaves(paciente);
         Paciente savedPaciente = pacienteRepository.save(paciente);
-        return pacienteMapper.toEntityResponse(savedPaciente);
+        eventPublisher.publishEvent(PacienteAlteradoEvent.de(savedPaciente));
+        return pacienteSecoesService.salvar(savedPaciente, request);
     }
 
     @Transactional(readOnly = true)
     public List<PacienteResponse> findAll() {
         List<Paciente> pacientes = pacienteRepository.findAll();
-        return pacienteMapper.toEntityResponseList(pacientes);
+        return pacienteSecoesService.completos(pacientes);
     }
 
     @Transactional(readOnly = true)
@@ -54,58 +96,147 @@ public class PacienteService {
         return pacienteRepository.findAllResumo();
     }
 
+    // Listagem paginada com filtros no servidor: offset nas primeiras páginas, keyset (cursor) nas profundas
+    @Transactional(readOnly = true)
+    public PaginaResponse<PacienteResumoResponse> findPaginado(PacienteFiltroRequest filtro, Pageable pageable, String cursor) {
+        int tamanho = Math.min(Math.max(pageable.getPageSize(), 1), TAMANHO_MAXIMO_PAGINA);
+
+        Sort.Order pedido = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("nome"));
+        String atributo = ORDENACOES.get(pedido.getProperty());
+        if (atributo == null) {
+            throw new RuntimeException("Ordenação não suportada: " + pedido.getProperty());
+        }
+        Sort.Order ordem = new Sort.Order(pedido.getDirection(), atributo);
+
+        Object valorApos = null;
+        Long idApos = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificarCursor(cursor, atributo);
+            idApos = Long.valueOf(partes[1]);
+            // sem terceira parte: o último item entregue tinha o campo de ordenação nulo
+            if (partes.length == 3) {
+                valorApos = atributo.equals("createdAt") ? LocalDateTime.parse(partes[2]) : partes[2];
+            }
+        }
+        int offset = idApos == null ? pageable.getPageNumber() * tamanho : 0;
+
+        // um item a mais indica se existe próxima página
+        List<PacienteResumoResponse> linhas = pacienteRepository.buscarResumo(filtro, ordem, valorApos, idApos, offset, tamanho + 1);
+        boolean temMais = linhas.size() > tamanho;
+        List<PacienteResumoResponse> conteudo = temMais ? linhas.subList(0, tamanho) : linhas;
+
+        long total = pacienteRepository.contarResumo(filtro);
+        int totalPaginas = (int) ((total + tamanho - 1) / tamanho);
+        String proximoCursor = temMais ? codificarCursor(atributo, conteudo.get(conteudo.size() - 1)) : null;
+
+        return new PaginaResponse<>(conteudo, total, totalPaginas, tamanho, pageable.getPageNumber(),
+                pageable.getPageNumber() == 0, !temMais, proximoCursor);
+    }
+
+    // atributo|id|valor; valor nulo (criado_em de cadastros antigos) omite a terceira parte
+    private static String codificarCursor(String atributo, PacienteResumoResponse ultimo) {
+        Object valor = VALOR_CURSOR.get(atributo).apply(ultimo);
+        String texto = atributo + "|" + ultimo.getId() + (valor != null ? "|" + valor : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificarCursor(String cursor, String atributo) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            if (partes.length < 2 || !partes[0].equals(atributo)) {
+                throw new IllegalArgumentException();
+            }
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor inválido para a ordenação informada");
+        }
+    }
+
     @Transactional(readOnly = true)
     public PacienteResponse findByProntuario(String prontuarioNumero) {
         Paciente paciente = pacienteRepository.findByProntuarioNumero(prontuarioNumero)
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado com prontuário: " + prontuarioNumero));
-        return pacienteMapper.toEntityResponse(paciente);
+        return pacienteSecoesService.completo(paciente);
+    }
+
+    // ETag/Last-Modified do GET /{id} sem carregar o paciente nem as seções; vazio se não existir
+    @Transactional(readOnly = true)
+    public Optional<VersaoRecurso> versao(Long id) {
+        return pacienteRepository.findVersaoById(id)
+                .map(v -> VersaoRecurso.de(new long[]{v.getVersao()}, v.getAtualizadoEm()));
     }
 
     @Transactional(readOnly = true)
     public PacienteResponse findById(Long id) {
+        return findByIdVersionado(id).corpo();
+    }
+
+    @Transactional(readOnly = true)
+    public VersaoRecurso.Versionado<PacienteResponse> findByIdVersionado(Long id) {
+        Paciente paciente = pacienteRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Paciente não encontrado com id: " + id));
+        return new VersaoRecurso.Versionado<>(pacienteSecoesService.completo(paciente), VersaoRecurso.de(paciente));
+    }
+
+    // Só o cadastro, sem tocar nas tabelas das seções
+    @Transactional(readOnly = true)
+    public PacienteCoreResponse findCoreById(Long id) {
+        return findCoreByIdVersionado(id).corpo();
+    }
+
+    @Transactional(readOnly = true)
+    public VersaoRecurso.Versionado<PacienteCoreResponse> findCoreByIdVersionado(Long id) {
         Paciente paciente = pacienteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado com id: " + id));
-        return pacienteMapper.toEntityResponse(paciente);
+        return new VersaoRecurso.Versionado<>(pacienteMapper.toCoreResponse(paciente), VersaoRecurso.de(paciente));
     }
 
     @Transactional(readOnly = true)
     public PacienteResponse findByCpf(String cpf) {
         Paciente paciente = pacienteRepository.findByCpf(cpf)
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado com CPF: " + cpf));
-        return pacienteMapper.toEntityResponse(paciente);
+        return pacienteSecoesService.completo(paciente);
     }
 
     @Transactional
     public PacienteResponse update(Long id, PacienteRequest request) {
+        return update(id, request, null);
+    }
+
+    // versoesAceitas: If-Match do PUT (null = sem conferência)
+    @Transactional
+    public PacienteResponse update(Long id, PacienteRequest request, Set<Long> versoesAceitas) {
         Paciente existingPaciente = pacienteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado com id: " + id));
+        VersaoRecurso.conferir(versoesAceitas, existingPaciente.getVersao());
 
-        // Verifica se o CPF já existe em outro paciente
-        if (request.getCpf() != null && !request.getCpf().equals(existingPaciente.getCpf())) {
-            if (pacienteRepository.existsByCpfAndIdNot(request.getCpf(), id)) {
-                throw new RuntimeException("Já existe outro paciente cadastrado com este CPF: " + request.getCpf());
-            }
+        // só os campos alterados são conferidos, todos na mesma consulta
+        Set<VerificadorUnicidade.Campo> conflitos = verificadorUnicidade.conflitos(chaves(
+                alterado(request.getCpf(), existingPaciente.getCpf()),
+                alterado(request.getRg(), existingPaciente.getRg()),
+                alterado(request.getProntuarioNumero(), existingPaciente.getProntuarioNumero())), id);
+        if (conflitos.contains(VerificadorUnicidade.Campo.CPF)) {
+            throw new RuntimeException("Já existe outro paciente cadastrado com este CPF: " + request.getCpf());
         }
-
-        // Verifica se o RG já existe em outro paciente (se informado)
-        if (request.getRg() != null && !request.getRg().isBlank() &&
-                !request.getRg().equals(existingPaciente.getRg())) {
-            if (pacienteRepository.existsByRgAndIdNot(request.getRg(), id)) {
-                throw new RuntimeException("Já existe outro paciente cadastrado com este RG: " + request.getRg());
-            }
+        if (conflitos.contains(VerificadorUnicidade.Campo.RG)) {
+            throw new RuntimeException("Já existe outro paciente cadastrado com este RG: " + request.getRg());
         }
-
-        // Verifica se o número de prontuário já existe em outro paciente (se informado)
-        if (request.getProntuarioNumero() != null && !request.getProntuarioNumero().isBlank() &&
-                !request.getProntuarioNumero().equals(existingPaciente.getProntuarioNumero())) {
-            if (pacienteRepository.existsByProntuarioNumeroAndIdNot(request.getProntuarioNumero(), id)) {
-                throw new RuntimeException("Já existe outro paciente cadastrado com este número de prontuário: " + request.getProntuarioNumero());
-            }
+        if (conflitos.contains(VerificadorUnicidade.Campo.PRONTUARIO)) {
+            throw new RuntimeException("Já existe outro paciente cadastrado com este número de prontuário: " + request.getProntuarioNumero());
         }
 
         pacienteMapper.updateFromRequest(request, existingPaciente);
+        registrarChaves(existingPaciente);
         Paciente updatedPaciente = pacienteRepository.save(existingPaciente);
-        return pacienteMapper.toEntityResponse(updatedPaciente);
+        eventPublisher.publishEvent(PacienteAlteradoEvent.de(updatedPaciente));
+        PacienteResponse response = pacienteSecoesService.salvar(updatedPaciente, request);
+        // gravação concorrente depois da leitura: o @Version recusa o UPDATE
+        try {
+            pacienteRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new VersaoDivergenteException("Paciente alterado por outra pessoa durante a gravação: " + id, e);
+        }
+        return response;
     }
 
     @Transactional
@@ -113,7 +244,8 @@ public class PacienteService {
         if (!pacienteRepository.existsById(id)) {
             throw new RuntimeException("Paciente não encontrado com id: " + id);
         }
-        pacienteRepository.deleteById(id);
+        pacienteRepository.deleteById(id); // seções removidas pelo ON DELETE CASCADE
+        eventPublisher.publishEvent(PacienteAlteradoEvent.removido(id));
     }
 
     @Transactional
@@ -123,7 +255,7 @@ public class PacienteService {
 
         paciente.setStatus(false);
         Paciente updatedPaciente = pacienteRepository.save(paciente);
-        return pacienteMapper.toEntityResponse(updatedPaciente);
+        return pacienteSecoesService.completo(updatedPaciente);
     }
 
     @Transactional
@@ -133,28 +265,69 @@ public class PacienteService {
 
         paciente.setStatus(true);
         Paciente updatedPaciente = pacienteRepository.save(paciente);
-        return pacienteMapper.toEntityResponse(updatedPaciente);
+        return pacienteSecoesService.completo(updatedPaciente);
     }
 
     @Transactional(readOnly = true)
     public List<PacienteResponse> findByStatus(Boolean status) {
         List<Paciente> pacientes = pacienteRepository.findByStatus(status);
-        return pacienteMapper.toEntityResponseList(pacientes);
+        return pacienteSecoesService.completos(pacientes);
     }
 
     @Transactional(readOnly = true)
     public List<PacienteResponse> findByNomeContaining(String nome) {
-        List<Paciente> pacientes = pacienteRepository.findByNomeContainingIgnoreCase(nome);
-        return pacienteMapper.toEntityResponseList(pacientes);
+        List<Paciente> pacientes = pacienteRepository.findByNomeContainingIgnoreCase(PadraoLike.escapar(nome));
+        return pacienteSecoesService.completos(pacientes);
+    }
+
+    // Busca por nome tolerante a acentos e erros de digitação, ranqueada por similaridade
+    @Transactional(readOnly = true)
+    public List<PacienteResumoProjection> buscarPorNome(String termo, Integer limite) {
+        if (termo == null || termo.trim().length() < TAMANHO_MINIMO_TERMO) {
+            return List.of();
+        }
+        int n = (limite != null && limite > 0) ? Math.min(limite, LIMITE_BUSCA_MAXIMO) : LIMITE_BUSCA_PADRAO;
+        return pacienteRepository.buscarPorNomeSemelhante(termo.trim(), PadraoLike.escapar(termo.trim()), n);
+    }
+
+    // Autocompletar da recepção: prefixo de nome, CPF ou prontuário servido pelo índice em memória
+    public List<SugestaoPacienteResponse> sugerir(String consulta, Integer limite) {
+        int n = (limite != null && limite > 0) ? Math.min(limite, LIMITE_SUGESTOES_MAXIMO) : LIMITE_SUGESTOES_PADRAO;
+        if (indicePacientes.pronto()) {
+            return indicePacientes.sugerir(consulta, n);
+        }
+
+        // índice aquecendo: busca por nome no banco
+        return buscarPorNome(consulta, n).stream()
+                .map(p -> new SugestaoPacienteResponse(p.getId(), p.getNome(), p.getCpf(), p.getProntuarioNumero()))
+                .toList();
     }
 
     @Transactional(readOnly = true)
     public boolean existsByCpf(String cpf) {
-        return pacienteRepository.existsByCpf(cpf);
+        return verificadorUnicidade.existe(VerificadorUnicidade.Campo.CPF, cpf);
     }
 
     @Transactional(readOnly = true)
     public boolean existsByRg(String rg) {
-        return pacienteRepository.existsByRg(rg);
+        return verificadorUnicidade.existe(VerificadorUnicidade.Campo.RG, rg);
+    }
+
+    private static Map<VerificadorUnicidade.Campo, String> chaves(String cpf, String rg, String prontuario) {
+        Map<VerificadorUnicidade.Campo, String> chaves = new EnumMap<>(VerificadorUnicidade.Campo.class);
+        if (cpf != null) chaves.put(VerificadorUnicidade.Campo.CPF, cpf);
+        if (rg != null) chaves.put(VerificadorUnicidade.Campo.RG, rg);
+        if (prontuario != null) chaves.put(VerificadorUnicidade.Campo.PRONTUARIO, prontuario);
+        return chaves;
+    }
+
+    private static String alterado(String novo, String atual) {
+        return (novo != null && !novo.equals(atual)) ? novo : null;
+    }
+
+    private void registrarChaves(Paciente paciente) {
+        verificadorUnicidade.registrar(VerificadorUnicidade.Campo.CPF, paciente.getCpf());
+        verificadorUnicidade.registrar(VerificadorUnicidade.Campo.RG, paciente.getRg());
+        verificadorUnicidade.registrar(VerificadorUnicidade.Campo.PRONTUARIO, paciente.getProntuarioNumero());
     }
 }
\ No newline at end of file
@@ -2,15 +2,25 @@ package consultorio.domain.service;
 
 import consultorio.api.dto.mapper.PlanoDentalMapper;
 import consultorio.api.dto.request.PlanoDentalRequest;
+import consultorio.api.dto.response.DentePlanoDentalResponse;
+import consultorio.api.dto.response.ItemPlanoDentalResponse;
+import consultorio.api.dto.response.OdontogramaResponse;
+import consultorio.api.dto.response.PlanoDentalPacienteResponse;
 import consultorio.api.dto.response.PlanoDentalResponse;
 import consultorio.domain.entity.Paciente;
 import consultorio.domain.entity.PlanoDental;
+import consultorio.domain.event.PlanoDentalAlteradoEvent;
 import consultorio.domain.repository.PacienteRepository;
 import consultorio.domain.repository.PlanoDentalRepository;
+import consultorio.domain.repository.projection.ItemPlanoDentalProjection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -19,7 +29,10 @@ public class PlanoDentalService {
     private final PlanoDentalRepository repository;
     private final PacienteRepository pacienteRepository;
     private final PlanoDentalMapper mapper;
+    private final CacheOdontograma cacheOdontograma;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public PlanoDentalResponse criar(PlanoDentalRequest dto) {
         Paciente paciente = pacienteRepository.findById(dto.getPacienteId())
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
@@ -28,6 +41,7 @@ public class PlanoDentalService {
         entity.setPaciente(paciente);
 
         repository.save(entity);
+        eventPublisher.publishEvent(new PlanoDentalAlteradoEvent(paciente.getId()));
 
         return mapper.toResponse(entity);
     }
@@ -43,6 +57,7 @@ public class PlanoDentalService {
         return mapper.toResponseList(repository.findAll());
     }
 
+    @Transactional
     public PlanoDentalResponse atualizar(Long id, PlanoDentalRequest dto) {
         PlanoDental entity = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Plano dental não encontrado"));
@@ -50,18 +65,61 @@ public class PlanoDentalService {
         Paciente paciente = pacienteRepository.findById(dto.getPacienteId())
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
 
+        // item pode mudar de paciente: os dois resumos ficam desatualizados
+        Long pacienteAnterior = entity.getPaciente().getId();
         mapper.updateFromRequest(dto, entity);
         entity.setPaciente(paciente);
 
         repository.save(entity);
+        eventPublisher.publishEvent(new PlanoDentalAlteradoEvent(paciente.getId()));
+        if (!Objects.equals(pacienteAnterior, paciente.getId())) {
+            eventPublisher.publishEvent(new PlanoDentalAlteradoEvent(pacienteAnterior));
+        }
 
         return mapper.toResponse(entity);
     }
 
+    @Transactional
     public void deletar(Long id) {
         PlanoDental entity = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Plano dental não encontrado"));
 
         repository.delete(entity);
+        eventPublisher.publishEvent(new PlanoDentalAlteradoEvent(entity.getPaciente().getId()));
+    }
+
+    // ====================== POR PACIENTE ======================
+    // Itens agrupados por dente; totais do dente e acumulado vêm do SELECT (funções de janela)
+    @Transactional(readOnly = true)
+    public PlanoDentalPacienteResponse buscarPorPaciente(Long pacienteId) {
+        verificarPaciente(pacienteId);
+
+        List<DentePlanoDentalResponse> dentes = new ArrayList<>();
+        DentePlanoDentalResponse atual = null;
+        double total = 0;
+        for (ItemPlanoDentalProjection item : repository.findItensComTotais(pacienteId)) {
+            // linhas chegam ordenadas por dente: novo grupo a cada troca
+            if (atual == null || !Objects.equals(atual.getDente(), item.getDente())) {
+                atual = new DentePlanoDentalResponse(item.getDente(), item.getQuantidadeDente().intValue(),
+                        item.getTotalDente(), new ArrayList<>());
+                dentes.add(atual);
+            }
+            atual.getItens().add(new ItemPlanoDentalResponse(item.getId(), item.getProcedimento(), item.getValor(),
+                    item.getAcumulado()));
+            total = item.getAcumulado();
+        }
+        return new PlanoDentalPacienteResponse(pacienteId, total, dentes);
+    }
+
+    @Transactional(readOnly = true)
+    public OdontogramaResponse odontograma(Long pacienteId) {
+        verificarPaciente(pacienteId);
+        return cacheOdontograma.obter(pacienteId);
+    }
+
+    private void verificarPaciente(Long pacienteId) {
+        if (!pacienteRepository.existsById(pacienteId)) {
+            throw new RuntimeException("Paciente não encontrado");
+        }
     }
 }
@@ -0,0 +1,127 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.mapper.AgendamentoMapper;
+import consultorio.api.dto.mapper.EvolucaoTratamentoMapper;
+import consultorio.api.dto.mapper.PacienteMapper;
+import consultorio.api.dto.mapper.PlanoDentalMapper;
+import consultorio.api.dto.response.AgendamentoResponse;
+import consultorio.api.dto.response.EvolucaoTratamentoResponse;
+import consultorio.api.dto.response.PacienteCoreResponse;
+import consultorio.api.dto.response.PaginaResponse;
+import consultorio.api.dto.response.PlanoDentalResponse;
+import consultorio.api.dto.response.ProntuarioCompletoResponse;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.EvolucaoTratamentoRepository;
+import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.PlanoDentalRepository;
+import consultorio.domain.repository.projection.VersaoProntuarioProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Prontuário completo (tela paciente_completo) numa única requisição. A versão (um SELECT) dá o ETag e
+// responde o 304 sem carregar nada; as quatro partes são lidas em paralelo, cada uma na sua transação
+// somente leitura (conexão própria do pool) numa thread do executor.
+@Service
+@RequiredArgsConstructor
+public class ProntuarioCompletoService {
+
+    private static final int TAMANHO_MAXIMO_EVOLUCOES = 100;
+    private static final int LIMITE_AGENDAMENTOS = 20;
+    private static final Duration ORCAMENTO = Duration.ofSeconds(10);
+    private static final Sort ORDEM_EVOLUCOES = Sort.by(Sort.Order.desc("dataProcedimento"), Sort.Order.desc("id"));
+
+    private final PacienteRepository pacienteRepository;
+    private final PlanoDentalRepository planoDentalRepository;
+    private final EvolucaoTratamentoRepository evolucaoTratamentoRepository;
+    private final AgendamentoRepository agendamentoRepository;
+    private final PacienteMapper pacienteMapper;
+    private final PlanoDentalMapper planoDentalMapper;
+    private final EvolucaoTratamentoMapper evolucaoTratamentoMapper;
+    private final AgendamentoMapper agendamentoMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final Executor applicationTaskExecutor;
+
+    // agora fica fixo entre a versão e a leitura: os dois enxergam os mesmos "próximos agendamentos"
+    public record VersaoProntuario(Long pacienteId, LocalDateTime agora, long totalEvolucoes, Pageable pagina,
+                                   String etag) {
+    }
+
+    public VersaoProntuario versao(String prontuarioNumero, Pageable pageable) {
+        LocalDateTime agora = LocalDateTime.now();
+        Pageable pagina = PageRequest.of(Math.max(pageable.getPageNumber(), 0),
+                Math.min(Math.max(pageable.getPageSize(), 1), TAMANHO_MAXIMO_EVOLUCOES), ORDEM_EVOLUCOES);
+        List<String> statuses = DisponibilidadeService.STATUS_ATIVOS.stream().map(Enum::name).toList();
+
+        VersaoProntuarioProjection v = emLeitura(() -> pacienteRepository.findVersaoProntuario(prontuarioNumero, agora, statuses))
+                .orElseThrow(() -> new RuntimeException("Paciente não encontrado com prontuário: " + prontuarioNumero));
+
+        // fraco: o corpo é JSON serializado, não bytes fixos; página faz parte da representação
+        String etag = "W/\"" + v.getPacienteId() + "-" + (v.getAtualizadoEm() != null ? v.getAtualizadoEm() : 0)
+                + "-" + v.getPlanos() + "-" + v.getEvolucoes() + "-" + v.getAgendamentos()
+                + "-" + pagina.getPageNumber() + "-" + pagina.getPageSize() + "\"";
+        return new VersaoProntuario(v.getPacienteId(), agora, v.getEvolucoes(), pagina, etag);
+    }
+
+    public ProntuarioCompletoResponse carregar(VersaoProntuario versao) {
+        Long id = versao.pacienteId();
+        Pageable pagina = versao.pagina();
+
+        CompletableFuture<PacienteCoreResponse> paciente = emParalelo(() -> pacienteMapper.toCoreResponse(
+                pacienteRepository.findById(id)
+                        .orElseThrow(() -> new RuntimeException("Paciente não encontrado com id: " + id))));
+        CompletableFuture<List<PlanoDentalResponse>> planos = emParalelo(() -> planoDentalMapper.toResponseList(
+                planoDentalRepository.findByPacienteIdOrderByIdAsc(id)));
+        CompletableFuture<List<EvolucaoTratamentoResponse>> evolucoes = emParalelo(() -> evolucaoTratamentoMapper.toResponseList(
+                evolucaoTratamentoRepository.findByPacienteId(id, pagina)));
+        CompletableFuture<List<AgendamentoResponse>> agendamentos = emParalelo(() -> agendamentoMapper.toEntityResponseList(
+                agendamentoRepository.findProximosByPacienteId(id, versao.agora(), DisponibilidadeService.STATUS_ATIVOS,
+                        PageRequest.of(0, LIMITE_AGENDAMENTOS))));
+
+        try {
+            CompletableFuture.allOf(paciente, planos, evolucoes, agendamentos).get(ORCAMENTO.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw new RuntimeException("Erro ao carregar o prontuário", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Tempo esgotado ao carregar o prontuário");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Carregamento do prontuário interrompido");
+        }
+
+        long total = versao.totalEvolucoes();
+        int tamanho = pagina.getPageSize();
+        int totalPaginas = (int) ((total + tamanho - 1) / tamanho);
+        PaginaResponse<EvolucaoTratamentoResponse> paginaEvolucoes = new PaginaResponse<>(evolucoes.join(), total,
+                totalPaginas, tamanho, pagina.getPageNumber(), pagina.getPageNumber() == 0,
+                pagina.getPageNumber() + 1 >= totalPaginas, null);
+
+        return new ProntuarioCompletoResponse(paciente.join(), planos.join(), paginaEvolucoes, agendamentos.join());
+    }
+
+    private <T> CompletableFuture<T> emParalelo(Supplier<T> leitura) {
+        return CompletableFuture.supplyAsync(() -> emLeitura(leitura), applicationTaskExecutor);
+    }
+
+    // transação somente leitura: conexão read-only e sem flush; o mapeamento roda dentro dela (associações lazy)
+    private <T> T emLeitura(Supplier<T> leitura) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> leitura.get());
+    }
+}
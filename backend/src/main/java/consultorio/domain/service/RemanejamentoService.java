@@ -0,0 +1,225 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.request.RemanejamentoRequest;
+import consultorio.api.dto.response.RemanejamentoItemResponse;
+import consultorio.api.dto.response.RemanejamentoResponse;
+import consultorio.domain.entity.Agendamento;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.HorarioTrabalho;
+import consultorio.domain.entity.enums.StatusAgendamento;
+import consultorio.domain.event.AgendamentoAlteradoEvent;
+import consultorio.domain.exception.ConflitoHorarioException;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.DentistaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Remanejamento em lote quando um dentista fica indisponível: a alocação inteira é calculada em memória
+// (uma consulta de intervalos do destino) e aplicada numa única transação, com updates em batch.
+@Service
+@RequiredArgsConstructor
+public class RemanejamentoService {
+
+    private static final int HORIZONTE_DIAS = 90;
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final DentistaRepository dentistaRepository;
+    private final CoordenadorReservas coordenadorReservas;
+    private final ReservasTemporarias reservasTemporarias;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public RemanejamentoResponse remanejar(RemanejamentoRequest request) {
+        if (!request.getInicio().isBefore(request.getFim())) {
+            throw new RuntimeException("Data inicial deve ser anterior à final");
+        }
+        if (Duration.between(request.getInicio(), request.getFim()).toDays() > HORIZONTE_DIAS) {
+            throw new RuntimeException("Período não pode exceder 3 meses");
+        }
+
+        Long origemId = request.getDentistaId();
+        Long destinoId = request.getDentistaDestinoId() != null ? request.getDentistaDestinoId() : origemId;
+
+        Dentista destino = dentistaRepository.findById(destinoId)
+                .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
+        if (!destino.getAtivo()) {
+            throw new RuntimeException("Dentista não está ativo");
+        }
+
+        // mesmo dentista: nunca antes do fim da indisponibilidade; sempre com 1 hora de antecedência
+        LocalDateTime aPartirDe = request.getReagendarAPartirDe() != null ? request.getReagendarAPartirDe() : request.getInicio();
+        if (destinoId.equals(origemId) && aPartirDe.isBefore(request.getFim())) aPartirDe = request.getFim();
+        LocalDateTime minimo = LocalDateTime.now().plusHours(1);
+        if (aPartirDe.isBefore(minimo)) aPartirDe = minimo;
+        LocalDateTime limite = aPartirDe.toLocalDate().plusDays(HORIZONTE_DIAS + 1).atStartOfDay();
+
+        // uma única rodada de locks, ordenada pelo CoordenadorReservas: todos os dias da indisponibilidade
+        // (um agendamento criado em qualquer um deles escaparia da consulta abaixo) e o horizonte inteiro
+        // do destino, lido antes da alocação. Duas rodadas arriscariam deadlock com lock-distribuido.
+        Set<CoordenadorReservas.Chave> dias = new LinkedHashSet<>();
+        for (LocalDate dia = request.getInicio().toLocalDate(); !dia.isAfter(request.getFim().toLocalDate()); dia = dia.plusDays(1)) {
+            dias.add(new CoordenadorReservas.Chave(origemId, dia));
+        }
+        for (LocalDate dia = aPartirDe.toLocalDate(); dia.isBefore(limite.toLocalDate()); dia = dia.plusDays(1)) {
+            dias.add(new CoordenadorReservas.Chave(destinoId, dia));
+        }
+        coordenadorReservas.bloquear(dias);
+
+        List<Agendamento> agendamentos = agendamentoRepository.findAtivosParaRemanejamento(
+                origemId, request.getInicio(), request.getFim(), DisponibilidadeService.STATUS_ATIVOS);
+        Set<Long> movidos = agendamentos.stream().map(Agendamento::getId).collect(Collectors.toSet());
+
+        // agenda do destino no horizonte inteiro: uma consulta + reservas temporárias
+        AgendaLivre agenda = new AgendaLivre(destino.getHorarios(), aPartirDe);
+        agendamentoRepository.findIntervalosOcupados(destinoId, aPartirDe, limite, DisponibilidadeService.STATUS_ATIVOS)
+                .stream()
+                .filter(i -> !movidos.contains(i.getId()))
+                .forEach(i -> agenda.ocupar(i.getDataHora(), i.getDataHoraFim()));
+        reservasTemporarias.intervalosReservados(destinoId, aPartirDe, limite)
+                .forEach(i -> agenda.ocupar(i.inicio(), i.fim()));
+
+        List<RemanejamentoItemResponse> remanejados = new ArrayList<>();
+        List<RemanejamentoItemResponse> cancelados = new ArrayList<>();
+        List<RemanejamentoItemResponse> mantidos = new ArrayList<>();
+
+        // ordem cronológica original: quem estava antes recebe os primeiros horários livres
+        for (Agendamento agendamento : agendamentos) {
+            LocalDateTime original = agendamento.getDataHora();
+            int duracao = agendamento.getDuracaoMinutos() != null
+                    ? agendamento.getDuracaoMinutos()
+                    : DisponibilidadeService.DURACAO_SLOT_MINUTOS;
+
+            LocalDateTime novo = agenda.alocar(duracao, limite.toLocalDate());
+            if (novo != null || Boolean.TRUE.equals(request.getCancelarSemHorario())) {
+                // horário desocupado pelo lote: a lista de espera é consultada após o commit
+                AgendamentoService.horarioLiberado(agendamento).ifPresent(eventPublisher::publishEvent);
+            }
+
+            if (novo != null) {
+                agendamento.setDentista(destino);
+                agendamento.setDataHora(novo);
+                agendamento.setDuracaoMinutos(duracao);
+                agendamento.calcularCampos();
+                remanejados.add(item(agendamento, original, destinoId, novo));
+            } else if (Boolean.TRUE.equals(request.getCancelarSemHorario())) {
+                agendamento.setStatus(StatusAgendamento.CANCELADO);
+                cancelados.add(item(agendamento, original, null, null));
+            } else {
+                mantidos.add(item(agendamento, original, null, null));
+            }
+        }
+
+        // a exclusion constraint continua como garantia final
+        try {
+            agendamentoRepository.flush(); // dirty checking + hibernate.jdbc.batch_size: updates em batch
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflitoHorarioException("Conflito de horário durante o remanejamento, tente novamente", e);
+        }
+
+        Set<Long> inalterados = new HashSet<>();
+        mantidos.forEach(m -> inalterados.add(m.getAgendamentoId()));
+        agendamentos.stream()
+                .filter(a -> !inalterados.contains(a.getId()))
+                .forEach(a -> eventPublisher.publishEvent(AgendamentoAlteradoEvent.de(a)));
+
+        return new RemanejamentoResponse(agendamentos.size(), remanejados, cancelados, mantidos);
+    }
+
+    private static RemanejamentoItemResponse item(Agendamento agendamento, LocalDateTime original,
+                                                  Long dentistaDestinoId, LocalDateTime novo) {
+        return new RemanejamentoItemResponse(agendamento.getId(), agendamento.getPaciente().getId(),
+                agendamento.getPaciente().getNome(), original, dentistaDestinoId, novo);
+    }
+
+    // Agenda mutável do destino durante o cálculo: blocos ocupados disjuntos num TreeMap (início -> fim),
+    // consultados em O(log n). Um cursor pula o prefixo de slots já sabidamente ocupados.
+    static final class AgendaLivre {
+        private final Map<DayOfWeek, List<LocalTime[]>> turnosPorDia = new EnumMap<>(DayOfWeek.class);
+        private final NavigableMap<LocalDateTime, LocalDateTime> ocupados = new TreeMap<>();
+        private LocalDateTime cursor;
+
+        AgendaLivre(List<HorarioTrabalho> horarios, LocalDateTime aPartirDe) {
+            for (HorarioTrabalho h : horarios) {
+                if (Boolean.TRUE.equals(h.getAtivo())) {
+                    turnosPorDia.putIfAbsent(h.getDiaSemana(), DisponibilidadeService.turnos(h));
+                }
+            }
+            this.cursor = aPartirDe;
+        }
+
+        // funde com os blocos que se sobrepõem ou encostam, mantendo os blocos disjuntos
+        void ocupar(LocalDateTime inicio, LocalDateTime fim) {
+            Map.Entry<LocalDateTime, LocalDateTime> anterior = ocupados.floorEntry(inicio);
+            if (anterior != null && !anterior.getValue().isBefore(inicio)) {
+                inicio = anterior.getKey();
+                if (anterior.getValue().isAfter(fim)) fim = anterior.getValue();
+            }
+            Iterator<Map.Entry<LocalDateTime, LocalDateTime>> it =
+                    ocupados.subMap(inicio, true, fim, true).entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<LocalDateTime, LocalDateTime> bloco = it.next();
+                if (bloco.getValue().isAfter(fim)) fim = bloco.getValue();
+                it.remove();
+            }
+            ocupados.put(inicio, fim);
+        }
+
+        boolean livre(LocalDateTime inicio, LocalDateTime fim) {
+            Map.Entry<LocalDateTime, LocalDateTime> anterior = ocupados.floorEntry(inicio);
+            if (anterior != null && anterior.getValue().isAfter(inicio)) return false;
+            LocalDateTime proximo = ocupados.higherKey(inicio);
+            return proximo == null || !proximo.isBefore(fim);
+        }
+
+        LocalDateTime alocar(int duracaoMinutos, LocalDate limite) {
+            boolean prefixoOcupado = true;
+            for (LocalDate data = cursor.toLocalDate(); data.isBefore(limite); data = data.plusDays(1)) {
+                List<LocalTime[]> turnos = turnosPorDia.get(data.getDayOfWeek());
+                if (turnos == null) continue;
+
+                for (LocalTime[] turno : turnos) {
+                    LocalDateTime slot = LocalDateTime.of(data, turno[0]);
+                    LocalDateTime fimTurno = LocalDateTime.of(data, turno[1]);
+
+                    for (; !slot.plusMinutes(duracaoMinutos).isAfter(fimTurno);
+                         slot = slot.plusMinutes(DisponibilidadeService.DURACAO_SLOT_MINUTOS)) {
+                        if (slot.isBefore(cursor)) continue;
+
+                        // a agenda só ganha blocos: slot ocupado até para a duração mínima continua ocupado
+                        if (prefixoOcupado && !livre(slot, slot.plusMinutes(DisponibilidadeService.DURACAO_SLOT_MINUTOS))) {
+                            cursor = slot.plusMinutes(DisponibilidadeService.DURACAO_SLOT_MINUTOS);
+                            continue;
+                        }
+                        prefixoOcupado = false;
+
+                        if (livre(slot, slot.plusMinutes(duracaoMinutos))) {
+                            ocupar(slot, slot.plusMinutes(duracaoMinutos));
+                            return slot;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.ReservaTemporaria;
+import consultorio.domain.repository.ReservaTemporariaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registro das reservas temporárias (holds) com TTL. Em memória por padrão: mapas concorrentes
+// por id e por dentista, expiração preguiçosa nas leituras e limpeza periódica.
+// Com várias instâncias, consultorio.agenda.reservas-compartilhadas=true usa a tabela reservas_temporarias.
+@Component
+public class ReservasTemporarias {
+
+    private final ReservaTemporariaRepository reservaTemporariaRepository;
+    private final boolean compartilhadas;
+    private final Duration ttl;
+
+    private final Map<UUID, ReservaTemporaria> porId = new ConcurrentHashMap<>();
+    private final Map<Long, Map<UUID, ReservaTemporaria>> porDentista = new ConcurrentHashMap<>();
+
+    public ReservasTemporarias(ReservaTemporariaRepository reservaTemporariaRepository,
+                               @Value("${consultorio.agenda.reservas-compartilhadas:false}") boolean compartilhadas,
+                               @Value("${consultorio.agenda.reserva-ttl-segundos:120}") long ttlSegundos) {
+        this.reservaTemporariaRepository = reservaTemporariaRepository;
+        this.compartilhadas = compartilhadas;
+        this.ttl = Duration.ofSeconds(ttlSegundos);
+    }
+
+    // ====================== ESCRITA ======================
+    // O chamador já detém o lock do dentista (CoordenadorReservas) e verificou conflitos
+    public ReservaTemporaria criar(Long dentistaId, LocalDateTime inicio, LocalDateTime fim) {
+        return criar(dentistaId, inicio, fim, ttl);
+    }
+
+    public ReservaTemporaria criar(Long dentistaId, LocalDateTime inicio, LocalDateTime fim, Duration validade) {
+        ReservaTemporaria reserva = new ReservaTemporaria(
+                UUID.randomUUID(), dentistaId, inicio, fim, LocalDateTime.now().plus(validade));
+
+        if (compartilhadas) {
+            return reservaTemporariaRepository.save(reserva);
+        }
+        porId.put(reserva.getId(), reserva);
+        // inserção dentro do compute: um remover concorrente não descarta o mapa entre a criação e o put
+        porDentista.compute(dentistaId, (id, reservas) -> {
+            Map<UUID, ReservaTemporaria> doDentista = reservas == null ? new ConcurrentHashMap<>() : reservas;
+            doDentista.put(reserva.getId(), reserva);
+            return doDentista;
+        });
+        return reserva;
+    }
+
+    public void remover(UUID id) {
+        if (compartilhadas) {
+            reservaTemporariaRepository.deleteById(id);
+            return;
+        }
+        ReservaTemporaria reserva = porId.remove(id);
+        if (reserva != null) {
+            porDentista.computeIfPresent(reserva.getDentistaId(), (dentistaId, reservas) -> {
+                reservas.remove(id);
+                return reservas.isEmpty() ? null : reservas;
+            });
+        }
+    }
+
+    // Consumo da reserva ao confirmar: em memória só sai após o commit (rollback mantém o hold),
+    // ainda sob o lock do dentista, liberado em afterCompletion. Na tabela compartilhada o delete
+    // já participa da transação e é desfeito junto com ela.
+    public void removerAposCommit(UUID id) {
+        if (compartilhadas || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            remover(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remover(id);
+            }
+        });
+    }
+
+    // ====================== LEITURA ======================
+    public Optional<ReservaTemporaria> buscarAtiva(UUID id) {
+        LocalDateTime agora = LocalDateTime.now();
+        Optional<ReservaTemporaria> reserva = compartilhadas
+                ? reservaTemporariaRepository.findById(id)
+                : Optional.ofNullable(porId.get(id));
+        return reserva.filter(r -> r.isAtiva(agora));
+    }
+
+    public boolean temConflito(Long dentistaId, LocalDateTime inicio, LocalDateTime fim, UUID ignorarId) {
+        return ativasNoPeriodo(dentistaId, inicio, fim).stream()
+                .anyMatch(r -> !r.getId().equals(ignorarId));
+    }
+
+    public List<DisponibilidadeService.Intervalo> intervalosReservados(Long dentistaId, LocalDateTime inicio, LocalDateTime fim) {
+        return ativasNoPeriodo(dentistaId, inicio, fim).stream()
+                .map(r -> new DisponibilidadeService.Intervalo(r.getDataHora(), r.getDataHoraFim()))
+                .toList();
+    }
+
+    private List<ReservaTemporaria> ativasNoPeriodo(Long dentistaId, LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (compartilhadas) {
+            return reservaTemporariaRepository.findAtivasNoPeriodo(dentistaId, inicio, fim, agora);
+        }
+
+        Map<UUID, ReservaTemporaria> reservas = porDentista.get(dentistaId);
+        if (reservas == null) return List.of();
+
+        List<ReservaTemporaria> ativas = new ArrayList<>();
+        for (ReservaTemporaria r : reservas.values()) {
+            if (r.isAtiva(agora) && r.sobrepoe(inicio, fim)) ativas.add(r);
+        }
+        ativas.sort(Comparator.comparing(ReservaTemporaria::getDataHora));
+        return ativas;
+    }
+
+    // ====================== EXPIRAÇÃO ======================
+    @Scheduled(fixedDelayString = "${consultorio.agenda.reserva-limpeza-ms:30000}")
+    @Transactional
+    public void limparExpiradas() {
+        LocalDateTime agora = LocalDateTime.now();
+        if (compartilhadas) {
+            reservaTemporariaRepository.deleteExpiradas(agora);
+            return;
+        }
+        porId.values().stream()
+                .filter(r -> !r.isAtiva(agora))
+                .map(ReservaTemporaria::getId)
+                .toList()
+                .forEach(this::remover);
+    }
+}
@@ -0,0 +1,101 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.AlteracoesResponse;
+import consultorio.domain.exception.TokenSincronizacaoExpiradoException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+// Sincronização incremental dos caches do front-end e das integrações ("o que mudou desde o token T").
+// Colunas xid_alteracao, lápides e triggers em db/sincronizacao.sql: cada consulta com token são duas
+// varreduras de intervalo em índice, qualquer que seja o tamanho da tabela.
+@Service
+public class SincronizacaoService {
+
+    public enum Agregado {
+        PACIENTES("pacientes"),
+        DENTISTAS("dentistas"),
+        AGENDAMENTOS("agendamentos");
+
+        private final String tabela;
+
+        Agregado(String tabela) {
+            this.tabela = tabela;
+        }
+    }
+
+    // xmin: transações com id menor já terminaram; emitidoEm (relógio do banco) para a validade do token
+    record Marca(long xmin, long emitidoEm) {
+
+        String token() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((xmin + "|" + emitidoEm).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Marca de(String token) {
+            try {
+                String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+                return new Marca(Long.parseLong(partes[0]), Long.parseLong(partes[1]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new RuntimeException("Token de sincronização inválido");
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retencao;
+
+    public SincronizacaoService(JdbcTemplate jdbcTemplate,
+                                @Value("${consultorio.sincronizacao.retencao-dias:30}") int retencaoDias) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retencao = Duration.ofDays(retencaoDias);
+    }
+
+    @Transactional(readOnly = true)
+    public AlteracoesResponse alteracoes(Agregado agregado, String token) {
+        // a marca vem ANTES das linhas: o que terminar entre as duas consultas volta de novo na próxima
+        Marca atual = jdbcTemplate.queryForObject("""
+                SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint,
+                       CAST(EXTRACT(EPOCH FROM clock_timestamp()) * 1000 AS bigint)
+                """, (rs, i) -> new Marca(rs.getLong(1), rs.getLong(2)));
+
+        if (token == null || token.isBlank()) {
+            List<Long> todos = jdbcTemplate.queryForList(
+                    "SELECT id FROM " + agregado.tabela + " ORDER BY id", Long.class);
+            return new AlteracoesResponse(todos, List.of(), atual.token(), true);
+        }
+
+        Marca desde = Marca.de(token);
+        if (atual.emitidoEm() - desde.emitidoEm() > retencao.toMillis()) {
+            throw new TokenSincronizacaoExpiradoException(
+                    "Token de sincronização expirado (mais de " + retencao.toDays() + " dias): refaça a carga completa");
+        }
+
+        List<Long> alterados = jdbcTemplate.queryForList(
+                "SELECT id FROM " + agregado.tabela + " WHERE xid_alteracao >= ? ORDER BY id",
+                Long.class, desde.xmin());
+        List<Long> excluidos = jdbcTemplate.queryForList("""
+                SELECT DISTINCT registro_id FROM sincronizacao_exclusoes
+                WHERE agregado = ? AND xid_exclusao >= ?
+                ORDER BY registro_id
+                """, Long.class, agregado.name(), desde.xmin());
+        return new AlteracoesResponse(alterados, excluidos, atual.token(), false);
+    }
+
+    // ====================== LÁPIDES ======================
+    // Um dia de folga além da validade do token cobre a diferença entre os relógios
+    @Scheduled(fixedDelayString = "${consultorio.sincronizacao.limpeza-ms:3600000}")
+    @Transactional
+    public void limparExclusoes() {
+        jdbcTemplate.update(
+                "DELETE FROM sincronizacao_exclusoes WHERE excluido_em < now() - make_interval(days => ?)",
+                (int) retencao.toDays() + 1);
+    }
+}
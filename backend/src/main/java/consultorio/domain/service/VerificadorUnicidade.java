@@ -0,0 +1,273 @@
+package consultorio.domain.service;
+
+import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.projection.ChavesDentistaProjection;
+import consultorio.domain.repository.projection.ChavesPacienteProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Checagem de unicidade (CPF, RG, prontuário, CRO, email) com um filtro de Bloom por campo.
+// "Não existe" — o caso comum enquanto o usuário digita — é respondido da memória; só os possíveis
+// positivos vão ao banco, e todos os campos de uma requisição são conferidos numa única consulta.
+// Filtros não removem chaves: valores antigos viram falsos positivos até a próxima reconstrução.
+@Component
+public class VerificadorUnicidade {
+
+    public enum Campo { CPF, RG, PRONTUARIO, CRO, EMAIL }
+
+    private static final double TAXA_FALSO_POSITIVO_ALVO = 0.01;
+    // folga para cadastros novos entre reconstruções
+    private static final int CAPACIDADE_MINIMA = 10_000;
+    private static final long SEM_EXCLUSAO = -1L;
+
+    private final PacienteRepository pacienteRepository;
+    private final DentistaRepository dentistaRepository;
+
+    // null enquanto aquece: toda checagem vai ao banco
+    private volatile Map<Campo, FiltroBloom> filtros;
+
+    private final Map<Campo, Counter> negativosMemoria = new EnumMap<>(Campo.class);
+    private final Map<Campo, Counter> positivosConfirmados = new EnumMap<>(Campo.class);
+    private final Map<Campo, Counter> falsosPositivos = new EnumMap<>(Campo.class);
+
+    public VerificadorUnicidade(PacienteRepository pacienteRepository, DentistaRepository dentistaRepository,
+                                MeterRegistry meterRegistry) {
+        this.pacienteRepository = pacienteRepository;
+        this.dentistaRepository = dentistaRepository;
+
+        for (Campo campo : Campo.values()) {
+            String tag = campo.name().toLowerCase(Locale.ROOT);
+            negativosMemoria.put(campo, Counter.builder("consultorio.unicidade.checagens")
+                    .tag("campo", tag).tag("resultado", "negativo_memoria").register(meterRegistry));
+            positivosConfirmados.put(campo, Counter.builder("consultorio.unicidade.checagens")
+                    .tag("campo", tag).tag("resultado", "positivo_confirmado").register(meterRegistry));
+            falsosPositivos.put(campo, Counter.builder("consultorio.unicidade.checagens")
+                    .tag("campo", tag).tag("resultado", "falso_positivo").register(meterRegistry));
+
+            // observada: falsos positivos / (falsos positivos + negativos verdadeiros)
+            Gauge.builder("consultorio.unicidade.taxa.falso.positivo", this, v -> v.taxaObservada(campo))
+                    .tag("campo", tag).register(meterRegistry);
+            // estimada pela ocupação dos bits: (bits ligados / m)^k
+            Gauge.builder("consultorio.unicidade.taxa.falso.positivo.estimada", this, v -> v.taxaEstimada(campo))
+                    .tag("campo", tag).register(meterRegistry);
+        }
+    }
+
+    // ====================== CARGA ======================
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${consultorio.unicidade.reconstrucao-ms:21600000}",
+            initialDelayString = "${consultorio.unicidade.reconstrucao-ms:21600000}")
+    public void reconstruir() {
+        List<ChavesPacienteProjection> pacientes = pacienteRepository.findAllChaves();
+        List<ChavesDentistaProjection> dentistas = dentistaRepository.findAllChaves();
+
+        Map<Campo, FiltroBloom> novos = new EnumMap<>(Campo.class);
+        novos.put(Campo.CPF, FiltroBloom.para(pacientes.size()));
+        novos.put(Campo.RG, FiltroBloom.para(pacientes.size()));
+        novos.put(Campo.PRONTUARIO, FiltroBloom.para(pacientes.size()));
+        novos.put(Campo.CRO, FiltroBloom.para(dentistas.size()));
+        novos.put(Campo.EMAIL, FiltroBloom.para(dentistas.size()));
+
+        for (ChavesPacienteProjection p : pacientes) {
+            adicionar(novos, Campo.CPF, p.getCpf());
+            adicionar(novos, Campo.RG, p.getRg());
+            adicionar(novos, Campo.PRONTUARIO, p.getProntuarioNumero());
+        }
+        for (ChavesDentistaProjection d : dentistas) {
+            adicionar(novos, Campo.CRO, d.getCro());
+            adicionar(novos, Campo.EMAIL, d.getEmail());
+        }
+
+        // gravações feitas durante a carga já marcaram o filtro anterior; são reaplicadas sob o mesmo lock
+        synchronized (this) {
+            Map<Campo, FiltroBloom> anteriores = filtros;
+            if (anteriores != null) {
+                anteriores.forEach((campo, filtro) -> novos.get(campo).unir(filtro.recentes()));
+            }
+            filtros = novos;
+        }
+    }
+
+    // ====================== ESCRITA ======================
+    // Chamado antes do save, dentro da transação: marcar cedo só pode gerar falso positivo (rollback),
+    // nunca um "não existe" para um valor já gravado
+    public synchronized void registrar(Campo campo, String valor) {
+        Map<Campo, FiltroBloom> atuais = filtros;
+        if (atuais != null && preenchido(valor)) {
+            atuais.get(campo).adicionarRecente(valor);
+        }
+    }
+
+    // ====================== LEITURA ======================
+    public boolean existe(Campo campo, String valor) {
+        if (!preenchido(valor)) return false;
+        Map<Campo, String> valores = new EnumMap<>(Campo.class);
+        valores.put(campo, valor);
+        return !conflitos(valores, null).isEmpty();
+    }
+
+    // Campos cujo valor já pertence a outro paciente (CPF, RG, PRONTUARIO) ou dentista (CRO, EMAIL)
+    public Set<Campo> conflitos(Map<Campo, String> valores, Long excluirId) {
+        Map<Campo, FiltroBloom> atuais = filtros;
+
+        Map<Campo, String> possiveis = new EnumMap<>(Campo.class);
+        valores.forEach((campo, valor) -> {
+            if (!preenchido(valor)) return;
+            if (atuais != null && !atuais.get(campo).podeConter(valor)) {
+                negativosMemoria.get(campo).increment();
+            } else {
+                possiveis.put(campo, valor);
+            }
+        });
+        if (possiveis.isEmpty()) return EnumSet.noneOf(Campo.class);
+
+        Set<Campo> encontrados = EnumSet.noneOf(Campo.class);
+        long excluir = excluirId != null ? excluirId : SEM_EXCLUSAO;
+
+        if (possiveis.containsKey(Campo.CPF) || possiveis.containsKey(Campo.RG) || possiveis.containsKey(Campo.PRONTUARIO)) {
+            for (ChavesPacienteProjection p : pacienteRepository.findChavesEmUso(
+                    possiveis.get(Campo.CPF), possiveis.get(Campo.RG), possiveis.get(Campo.PRONTUARIO), excluir)) {
+                if (igual(possiveis.get(Campo.CPF), p.getCpf())) encontrados.add(Campo.CPF);
+                if (igual(possiveis.get(Campo.RG), p.getRg())) encontrados.add(Campo.RG);
+                if (igual(possiveis.get(Campo.PRONTUARIO), p.getProntuarioNumero())) encontrados.add(Campo.PRONTUARIO);
+            }
+        }
+        if (possiveis.containsKey(Campo.CRO) || possiveis.containsKey(Campo.EMAIL)) {
+            for (ChavesDentistaProjection d : dentistaRepository.findChavesEmUso(
+                    possiveis.get(Campo.CRO), possiveis.get(Campo.EMAIL), excluir)) {
+                if (igual(possiveis.get(Campo.CRO), d.getCro())) encontrados.add(Campo.CRO);
+                if (igual(possiveis.get(Campo.EMAIL), d.getEmail())) encontrados.add(Campo.EMAIL);
+            }
+        }
+
+        if (atuais != null) {
+            for (Campo campo : possiveis.keySet()) {
+                (encontrados.contains(campo) ? positivosConfirmados : falsosPositivos).get(campo).increment();
+            }
+        }
+        return encontrados;
+    }
+
+    private double taxaObservada(Campo campo) {
+        double fp = falsosPositivos.get(campo).count();
+        double total = fp + negativosMemoria.get(campo).count();
+        return total == 0 ? 0.0 : fp / total;
+    }
+
+    private double taxaEstimada(Campo campo) {
+        Map<Campo, FiltroBloom> atuais = filtros;
+        return atuais == null ? 0.0 : atuais.get(campo).taxaEstimada();
+    }
+
+    private static void adicionar(Map<Campo, FiltroBloom> filtros, Campo campo, String valor) {
+        if (preenchido(valor)) filtros.get(campo).adicionar(valor);
+    }
+
+    private static boolean preenchido(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+
+    private static boolean igual(String procurado, String encontrado) {
+        return procurado != null && procurado.equals(encontrado);
+    }
+
+    // ====================== ESTRUTURA ======================
+    // Bits em AtomicLongArray (adições concorrentes com leituras); k posições por double hashing
+    // sobre um hash de 64 bits da string
+    static final class FiltroBloom {
+        private final AtomicLongArray bits;
+        private final long m;
+        private final int k;
+        // valores gravados depois da carga, reaplicados no filtro reconstruído
+        private final List<String> recentes = new ArrayList<>();
+
+        private FiltroBloom(long m, int k) {
+            this.m = m;
+            this.k = k;
+            this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+        }
+
+        static FiltroBloom para(int elementos) {
+            int n = Math.max(elementos * 2, CAPACIDADE_MINIMA);
+            long m = (long) Math.ceil(-n * Math.log(TAXA_FALSO_POSITIVO_ALVO) / (Math.log(2) * Math.log(2)));
+            int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+            return new FiltroBloom(m, k);
+        }
+
+        void adicionar(String valor) {
+            long h = hash(valor);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < k; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, m);
+                int palavra = (int) (bit >>> 6);
+                long mascara = 1L << bit;
+                long atual;
+                do {
+                    atual = bits.get(palavra);
+                    if ((atual & mascara) != 0) break;
+                } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+            }
+        }
+
+        synchronized void adicionarRecente(String valor) {
+            adicionar(valor);
+            recentes.add(valor);
+        }
+
+        synchronized List<String> recentes() {
+            return new ArrayList<>(recentes);
+        }
+
+        void unir(List<String> valores) {
+            valores.forEach(this::adicionar);
+        }
+
+        boolean podeConter(String valor) {
+            long h = hash(valor);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < k; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, m);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        double taxaEstimada() {
+            long ligados = 0;
+            for (int i = 0; i < bits.length(); i++) ligados += Long.bitCount(bits.get(i));
+            return Math.pow((double) ligados / m, k);
+        }
+
+        // FNV-1a de 64 bits com mistura final (fmix64 do MurmurHash3)
+        private static long hash(String valor) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < valor.length(); i++) {
+                h ^= valor.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
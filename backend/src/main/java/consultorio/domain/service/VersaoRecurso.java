@@ -0,0 +1,112 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.Agendamento;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.exception.CondicaoInvalidaException;
+import consultorio.domain.exception.VersaoDivergenteException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// ETag forte (coluna @Version) e Last-Modified de um registro: lidos sem carregar a entidade quando o
+// GET é condicional, ou tirados da própria entidade carregada quando não é.
+// Quando a resposta embute outros registros (agendamento: paciente e dentista), as versões deles
+// entram no ETag depois da do próprio registro, que é a conferida pelo If-Match.
+public record VersaoRecurso(String etag, long ultimaAlteracao) {
+
+    // Resposta junto com a versão da entidade de onde saiu
+    public record Versionado<T>(T corpo, VersaoRecurso versao) {
+    }
+
+    public static VersaoRecurso de(Paciente paciente) {
+        return de(new long[]{paciente.getVersao()}, paciente.getUpdatedAt());
+    }
+
+    public static VersaoRecurso de(Dentista dentista) {
+        return de(new long[]{dentista.getVersao()}, dentista.getUpdatedAt());
+    }
+
+    public static VersaoRecurso de(Agendamento agendamento) {
+        Paciente paciente = agendamento.getPaciente();
+        Dentista dentista = agendamento.getDentista();
+        return de(new long[]{agendamento.getVersao(), paciente.getVersao(), dentista.getVersao()},
+                agendamento.getUpdatedAt(), paciente.getUpdatedAt(), dentista.getUpdatedAt());
+    }
+
+    public static VersaoRecurso de(long[] versoes, LocalDateTime... alteracoes) {
+        String etag = Arrays.stream(versoes)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining("-", "\"", "\""));
+        long ultima = Arrays.stream(alteracoes)
+                .filter(Objects::nonNull)
+                .mapToLong(a -> a.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .max()
+                .orElse(-1);
+        return new VersaoRecurso(etag, ultima);
+    }
+
+    // Versões aceitas pelo If-Match: null sem o cabeçalho ou com "*" (qualquer versão).
+    // Lista de ETags: confere se qualquer uma casar (RFC 9110). ETag fraco ou de outro formato nunca casa
+    // (comparação forte); cabeçalho fora da sintaxe de entity-tag é erro do cliente (400).
+    public static Set<Long> aceitas(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versoes = new HashSet<>();
+        int i = 0;
+        int n = ifMatch.length();
+        while (i < n) {
+            char c = ifMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            boolean fraca = ifMatch.startsWith("W/", i);
+            if (fraca) i += 2;
+            if (i >= n || ifMatch.charAt(i) != '"') throw invalido(ifMatch);
+
+            int fim = i + 1;
+            while (fim < n && ifMatch.charAt(fim) != '"') {
+                char e = ifMatch.charAt(fim);
+                if (e < 0x21 || e == 0x7F) throw invalido(ifMatch);
+                fim++;
+            }
+            if (fim >= n) throw invalido(ifMatch);
+            if (!fraca) {
+                Long versao = versaoDoRegistro(ifMatch.substring(i + 1, fim));
+                if (versao != null) versoes.add(versao);
+            }
+
+            // depois de cada ETag: só espaços até a vírgula seguinte
+            i = fim + 1;
+            while (i < n && (ifMatch.charAt(i) == ' ' || ifMatch.charAt(i) == '\t')) i++;
+            if (i < n && ifMatch.charAt(i) != ',') throw invalido(ifMatch);
+        }
+        return versoes;
+    }
+
+    // primeira parte do ETag ("versao-paciente-dentista" no agendamento); null se não for um ETag nosso
+    private static Long versaoDoRegistro(String opaca) {
+        try {
+            return Long.parseLong(opaca.split("-", 2)[0]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static CondicaoInvalidaException invalido(String ifMatch) {
+        return new CondicaoInvalidaException("If-Match inválido: " + ifMatch);
+    }
+
+    public static void conferir(Set<Long> aceitas, Long atual) {
+        if (aceitas != null && !aceitas.contains(atual)) {
+            throw new VersaoDivergenteException("Registro alterado por outra pessoa (versão atual: " + atual + ")");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package consultorio.domain.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Contador de alterações por coleção: ETag e Last-Modified das listagens sem consultar o banco.
+// Incrementado após o commit pelo VersaoColecaoListener (um incremento por coleção e transação); leitura
+// feita entre o commit e o incremento só entrega dado novo com ETag velho, e a próxima requisição corrige.
+// Em memória, como os demais índices: vale para uma instância. A época (início da aplicação) entra no ETag
+// para que um reinício, que zera os contadores, não repita um ETag já entregue.
+@Component
+public class VersoesColecao {
+
+    public enum Colecao { PACIENTES, DENTISTAS, AGENDAMENTOS }
+
+    private final long epoca = System.currentTimeMillis();
+    private final Map<Colecao, AtomicLong> versoes = new EnumMap<>(Colecao.class);
+    private final Map<Colecao, AtomicLong> alteradaEm = new EnumMap<>(Colecao.class);
+
+    public VersoesColecao() {
+        for (Colecao colecao : Colecao.values()) {
+            versoes.put(colecao, new AtomicLong());
+            alteradaEm.put(colecao, new AtomicLong(epoca));
+        }
+    }
+
+    // "<época>-<versão de cada coleção>": muda quando qualquer uma das coleções muda
+    public String etag(Colecao... colecoes) {
+        return Arrays.stream(colecoes)
+                .map(c -> Long.toString(versoes.get(c).get()))
+                .collect(Collectors.joining(".", "\"" + Long.toString(epoca, 36) + "-", "\""));
+    }
+
+    public long ultimaAlteracao(Colecao... colecoes) {
+        long ultima = epoca;
+        for (Colecao colecao : colecoes) {
+            ultima = Math.max(ultima, alteradaEm.get(colecao).get());
+        }
+        return ultima;
+    }
+
+    // Dentro de transação o incremento espera o commit (rollback não muda o ETag)
+    public void alterada(Colecao colecao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(colecao);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Colecao> pendentes = (Set<Colecao>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            Set<Colecao> novas = EnumSet.noneOf(Colecao.class);
+            TransactionSynchronizationManager.bindResource(this, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VersoesColecao.this);
+                    if (status == STATUS_COMMITTED) {
+                        novas.forEach(VersoesColecao.this::incrementar);
+                    }
+                }
+            });
+            pendentes = novas;
+        }
+        pendentes.add(colecao);
+    }
+
+    private void incrementar(Colecao colecao) {
+        versoes.get(colecao).incrementAndGet();
+        alteradaEm.get(colecao).accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+}
@@ -0,0 +1,39 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+-- Separador de comandos: ^; (os blocos DO contêm ';' internos).
+
+-- Período do agendamento como tsrange semiaberto [inicio, fim)
+CREATE EXTENSION IF NOT EXISTS btree_gist^;
+
+ALTER TABLE agendamentos
+    ADD COLUMN IF NOT EXISTS periodo tsrange
+    GENERATED ALWAYS AS (tsrange(data_hora, data_hora_fim, '[)')) STORED^;
+
+-- Dois agendamentos ativos do mesmo dentista não podem se sobrepor.
+-- A constraint cria o índice GiST (dentista_id, periodo) usado também pelas consultas de conflito.
+-- Com sobreposições já gravadas a inicialização falha listando os pares a corrigir:
+-- a aplicação não sobe sem a garantia final contra reservas duplas.
+DO $$
+DECLARE
+    conflitos text;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_agendamentos_dentista_periodo') THEN
+        ALTER TABLE agendamentos
+            ADD CONSTRAINT ex_agendamentos_dentista_periodo
+            EXCLUDE USING gist (dentista_id WITH =, periodo WITH &&)
+            WHERE (status IN ('AGENDADO', 'CONFIRMADO', 'EM_ATENDIMENTO'));
+    END IF;
+EXCEPTION
+    WHEN exclusion_violation THEN
+        SELECT string_agg(format('%s x %s (dentista %s)', a.id, b.id, a.dentista_id), ', ' ORDER BY a.id, b.id)
+          INTO conflitos
+          FROM agendamentos a
+          JOIN agendamentos b
+            ON b.dentista_id = a.dentista_id
+           AND b.id > a.id
+           AND b.periodo && a.periodo
+         WHERE a.status IN ('AGENDADO', 'CONFIRMADO', 'EM_ATENDIMENTO')
+           AND b.status IN ('AGENDADO', 'CONFIRMADO', 'EM_ATENDIMENTO');
+        RAISE EXCEPTION 'ex_agendamentos_dentista_periodo não criada: agendamentos ativos sobrepostos: %', conflitos
+            USING HINT = 'Cancele ou remaneje um agendamento de cada par e reinicie a aplicação.';
+END
+$$^;
@@ -0,0 +1,5 @@
+-- Agendamento passou de IDENTITY para a sequence agendamentos_seq (allocationSize 50, criada pelo ddl-auto).
+-- Posiciona a sequence acima dos ids já existentes; nunca retrocede.
+SELECT setval('agendamentos_seq',
+              GREATEST((SELECT last_value FROM agendamentos_seq),
+                       (SELECT COALESCE(MAX(id), 0) FROM agendamentos) + 50))^;
@@ -0,0 +1,20 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+-- Separador de comandos: ^; (o corpo da função contém aspas e parênteses).
+
+-- Chave de busca de nomes: minúsculas e sem acento ("João" e "joao" viram a mesma chave)
+CREATE EXTENSION IF NOT EXISTS unaccent^;
+CREATE EXTENSION IF NOT EXISTS pg_trgm^;
+
+-- unaccent() é STABLE (depende do search_path); o wrapper com dicionário explícito pode ser IMMUTABLE
+-- e, portanto, usado em índices de expressão
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$^;
+
+-- Índices GIN de trigramas sobre a chave: atendem LIKE '%termo%' e o operador de similaridade <%.
+-- As consultas precisam usar exatamente a expressão f_unaccent(lower(coluna)) para aproveitá-los.
+CREATE INDEX IF NOT EXISTS idx_pacientes_nome_busca_trgm
+    ON pacientes USING gin (f_unaccent(lower(nome_paciente)) gin_trgm_ops)^;
+
+CREATE INDEX IF NOT EXISTS idx_dentistas_nome_busca_trgm
+    ON dentistas USING gin (f_unaccent(lower(nome)) gin_trgm_ops)^;
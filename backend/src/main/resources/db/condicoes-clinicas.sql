@@ -0,0 +1,34 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization) e depois de
+-- db/pacientes-secoes.sql. Separador de comandos: ^;
+
+-- Máscara das condições da anamnese (bit = ordinal de CondicaoClinica). A entidade recalcula a máscara
+-- a cada gravação; aqui só são preenchidas as linhas anteriores à coluna.
+UPDATE pacientes_anamnese SET condicoes =
+      CASE WHEN febre_reumatica THEN 1 ELSE 0 END
+    | CASE WHEN hepatite THEN 2 ELSE 0 END
+    | CASE WHEN diabetes THEN 4 ELSE 0 END
+    | CASE WHEN hipertensao_arterial_sistemica THEN 8 ELSE 0 END
+    | CASE WHEN portador_hiv THEN 16 ELSE 0 END
+    | CASE WHEN alteracao_coagulacao_sanguinea THEN 32 ELSE 0 END
+    | CASE WHEN reacoes_alergicas THEN 64 ELSE 0 END
+    | CASE WHEN doencas_sistemicas THEN 128 ELSE 0 END
+    | CASE WHEN internacao_recente THEN 256 ELSE 0 END
+    | CASE WHEN utilizando_medicacao THEN 512 ELSE 0 END
+    | CASE WHEN fumante THEN 1024 ELSE 0 END
+    | CASE WHEN bebidas_alcoolicas THEN 2048 ELSE 0 END
+    | CASE WHEN problemas_cardiacos THEN 4096 ELSE 0 END
+    | CASE WHEN problemas_renais THEN 8192 ELSE 0 END
+    | CASE WHEN problemas_gastricos THEN 16384 ELSE 0 END
+    | CASE WHEN problemas_respiratorios THEN 32768 ELSE 0 END
+    | CASE WHEN problemas_alergicos THEN 65536 ELSE 0 END
+    | CASE WHEN problemas_articulares_ou_reumatismo THEN 131072 ELSE 0 END
+    | CASE WHEN sofre_doenca THEN 262144 ELSE 0 END
+    | CASE WHEN tratamento_medico_atual THEN 524288 ELSE 0 END
+    | CASE WHEN gravidez THEN 1048576 ELSE 0 END
+    | CASE WHEN uso_medicacao THEN 2097152 ELSE 0 END
+    | CASE WHEN teve_alergia THEN 4194304 ELSE 0 END
+    | CASE WHEN foi_operado THEN 8388608 ELSE 0 END
+    | CASE WHEN problemas_cicatrizacao THEN 16777216 ELSE 0 END
+    | CASE WHEN problemas_anestesia THEN 33554432 ELSE 0 END
+    | CASE WHEN problemas_hemorragia THEN 67108864 ELSE 0 END
+WHERE condicoes IS NULL^;
@@ -0,0 +1,21 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization). Separador de comandos: ^;
+
+-- Busca textual nas evoluções: configuração portuguese com unaccent antes do stemmer, de modo que
+-- "extração" e "extracao" geram o mesmo lexema (o índice, a consulta e o ts_headline usam a mesma configuração)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'portugues_sem_acento') THEN
+        CREATE TEXT SEARCH CONFIGURATION portugues_sem_acento (COPY = portuguese);
+        ALTER TEXT SEARCH CONFIGURATION portugues_sem_acento
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END $$^;
+
+-- tsvector gerado pelo banco: acompanha toda gravação do texto sem trigger nem código na aplicação
+-- (a entidade não mapeia a coluna). A criação reescreve a tabela uma única vez.
+ALTER TABLE evolucao_tratamento ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (to_tsvector('portugues_sem_acento'::regconfig,
+                                     coalesce(evolucao_intercorrencias_tratamento, ''))) STORED^;
+
+CREATE INDEX IF NOT EXISTS idx_evolucao_tratamento_busca
+    ON evolucao_tratamento USING gin (busca)^;
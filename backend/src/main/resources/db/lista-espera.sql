@@ -0,0 +1,8 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+-- Separador de comandos: ^;
+
+-- O ddl-auto=update não atualiza a check constraint do enum em tabelas já existentes:
+-- recriada com todos os valores de StatusListaEspera (inclui ATENDIDO).
+ALTER TABLE lista_espera DROP CONSTRAINT IF EXISTS lista_espera_status_check^;
+ALTER TABLE lista_espera ADD CONSTRAINT lista_espera_status_check
+    CHECK (status IN ('AGUARDANDO', 'OFERTADO', 'ATENDIDO', 'CANCELADO'))^;
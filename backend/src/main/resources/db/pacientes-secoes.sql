@@ -0,0 +1,239 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+-- Separador de comandos: ^; (os blocos DO contêm ';' internos).
+
+-- Responsável, anamnese (com o questionário de saúde) e exame clínico saíram da linha de pacientes
+-- para tabelas 1:1 com a mesma chave (criadas pelo ddl-auto). Bancos anteriores à divisão ainda têm
+-- as colunas antigas: os dados são copiados e as colunas removidas, liberando espaço na heap de
+-- pacientes para a agenda e as listagens. Sem as colunas antigas nada é feito;
+-- seção ausente é tratada como vazia pelo PacienteSecoesService e gravada na primeira edição.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'pacientes' AND column_name = 'nome_responsavel') THEN
+        INSERT INTO pacientes_responsavel (paciente_id,
+            nome_responsavel,
+            rg_responsavel,
+            orgao_expedidor_responsavel,
+            cpf_responsavel,
+            estado_civil_responsavel,
+            conjuge_responsavel,
+            rg_conjuge,
+            orgao_expedidor_conjuge,
+            cpf_conjuge)
+        SELECT id,
+            nome_responsavel,
+            rg_responsavel,
+            orgao_expedidor_responsavel,
+            cpf_responsavel,
+            estado_civil_responsavel,
+            conjuge_responsavel,
+            rg_conjuge,
+            orgao_expedidor_conjuge,
+            cpf_conjuge
+        FROM pacientes
+        ON CONFLICT (paciente_id) DO NOTHING;
+
+        ALTER TABLE pacientes
+            DROP COLUMN nome_responsavel,
+            DROP COLUMN rg_responsavel,
+            DROP COLUMN orgao_expedidor_responsavel,
+            DROP COLUMN cpf_responsavel,
+            DROP COLUMN estado_civil_responsavel,
+            DROP COLUMN conjuge_responsavel,
+            DROP COLUMN rg_conjuge,
+            DROP COLUMN orgao_expedidor_conjuge,
+            DROP COLUMN cpf_conjuge;
+    END IF;
+END
+$$^;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'pacientes' AND column_name = 'febre_reumatica') THEN
+        INSERT INTO pacientes_anamnese (paciente_id,
+            febre_reumatica,
+            hepatite,
+            diabetes,
+            hipertensao_arterial_sistemica,
+            portador_hiv,
+            alteracao_coagulacao_sanguinea,
+            reacoes_alergicas,
+            doencas_sistemicas,
+            internacao_recente,
+            utilizando_medicacao,
+            fumante,
+            fumante_quantidade,
+            tempo_fumo,
+            bebidas_alcoolicas,
+            problemas_cardiacos,
+            problemas_renais,
+            problemas_gastricos,
+            problemas_respiratorios,
+            problemas_alergicos,
+            problemas_alergicos_quais,
+            problemas_articulares_ou_reumatismo,
+            queixa_principal,
+            evolucao_doenca_atual,
+            sofre_doenca,
+            sofre_doenca_quais,
+            tratamento_medico_atual,
+            gravidez,
+            uso_medicacao,
+            uso_medicacao_quais,
+            medico_assistente_telefone,
+            teve_alergia,
+            teve_alergia_quais,
+            foi_operado,
+            foi_operado_quais,
+            problemas_cicatrizacao,
+            problemas_anestesia,
+            problemas_hemorragia,
+            habitos,
+            antecedentes_familiares)
+        SELECT id,
+            febre_reumatica,
+            hepatite,
+            diabetes,
+            hipertensao_arterial_sistemica,
+            portador_hiv,
+            alteracao_coagulacao_sanguinea,
+            reacoes_alergicas,
+            doencas_sistemicas,
+            internacao_recente,
+            utilizando_medicacao,
+            fumante,
+            fumante_quantidade,
+            tempo_fumo,
+            bebidas_alcoolicas,
+            problemas_cardiacos,
+            problemas_renais,
+            problemas_gastricos,
+            problemas_respiratorios,
+            problemas_alergicos,
+            problemas_alergicos_quais,
+            problemas_articulares_ou_reumatismo,
+            queixa_principal,
+            evolucao_doenca_atual,
+            sofre_doenca,
+            sofre_doenca_quais,
+            tratamento_medico_atual,
+            gravidez,
+            uso_medicacao,
+            uso_medicacao_quais,
+            medico_assistente_telefone,
+            teve_alergia,
+            teve_alergia_quais,
+            foi_operado,
+            foi_operado_quais,
+            problemas_cicatrizacao,
+            problemas_anestesia,
+            problemas_hemorragia,
+            habitos,
+            antecedentes_familiares
+        FROM pacientes
+        ON CONFLICT (paciente_id) DO NOTHING;
+
+        ALTER TABLE pacientes
+            DROP COLUMN febre_reumatica,
+            DROP COLUMN hepatite,
+            DROP COLUMN diabetes,
+            DROP COLUMN hipertensao_arterial_sistemica,
+            DROP COLUMN portador_hiv,
+            DROP COLUMN alteracao_coagulacao_sanguinea,
+            DROP COLUMN reacoes_alergicas,
+            DROP COLUMN doencas_sistemicas,
+            DROP COLUMN internacao_recente,
+            DROP COLUMN utilizando_medicacao,
+            DROP COLUMN fumante,
+            DROP COLUMN fumante_quantidade,
+            DROP COLUMN tempo_fumo,
+            DROP COLUMN bebidas_alcoolicas,
+            DROP COLUMN problemas_cardiacos,
+            DROP COLUMN problemas_renais,
+            DROP COLUMN problemas_gastricos,
+            DROP COLUMN problemas_respiratorios,
+            DROP COLUMN problemas_alergicos,
+            DROP COLUMN problemas_alergicos_quais,
+            DROP COLUMN problemas_articulares_ou_reumatismo,
+            DROP COLUMN queixa_principal,
+            DROP COLUMN evolucao_doenca_atual,
+            DROP COLUMN sofre_doenca,
+            DROP COLUMN sofre_doenca_quais,
+            DROP COLUMN tratamento_medico_atual,
+            DROP COLUMN gravidez,
+            DROP COLUMN uso_medicacao,
+            DROP COLUMN uso_medicacao_quais,
+            DROP COLUMN medico_assistente_telefone,
+            DROP COLUMN teve_alergia,
+            DROP COLUMN teve_alergia_quais,
+            DROP COLUMN foi_operado,
+            DROP COLUMN foi_operado_quais,
+            DROP COLUMN problemas_cicatrizacao,
+            DROP COLUMN problemas_anestesia,
+            DROP COLUMN problemas_hemorragia,
+            DROP COLUMN habitos,
+            DROP COLUMN antecedentes_familiares;
+    END IF;
+END
+$$^;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'pacientes' AND column_name = 'lingua') THEN
+        INSERT INTO pacientes_exame_clinico (paciente_id,
+            lingua,
+            mucosa,
+            palato,
+            labios,
+            gengivas,
+            nariz,
+            face,
+            ganglios,
+            glandulas_salivares,
+            alteracao_oclusao,
+            alteracao_oclusao_tipo,
+            protese,
+            protese_tipo,
+            outras_observacoes)
+        SELECT id,
+            lingua,
+            mucosa,
+            palato,
+            labios,
+            gengivas,
+            nariz,
+            face,
+            ganglios,
+            glandulas_salivares,
+            alteracao_oclusao,
+            alteracao_oclusao_tipo,
+            protese,
+            protese_tipo,
+            outras_observacoes
+        FROM pacientes
+        ON CONFLICT (paciente_id) DO NOTHING;
+
+        ALTER TABLE pacientes
+            DROP COLUMN lingua,
+            DROP COLUMN mucosa,
+            DROP COLUMN palato,
+            DROP COLUMN labios,
+            DROP COLUMN gengivas,
+            DROP COLUMN nariz,
+            DROP COLUMN face,
+            DROP COLUMN ganglios,
+            DROP COLUMN glandulas_salivares,
+            DROP COLUMN alteracao_oclusao,
+            DROP COLUMN alteracao_oclusao_tipo,
+            DROP COLUMN protese,
+            DROP COLUMN protese_tipo,
+            DROP COLUMN outras_observacoes;
+    END IF;
+END
+$$^;
+
+-- As colunas removidas deixam espaço morto nas páginas até as linhas serem regravadas;
+-- um VACUUM FULL pacientes (fora do horário de atendimento) compacta a tabela de uma vez.
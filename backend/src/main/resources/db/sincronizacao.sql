@@ -0,0 +1,84 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+-- Separador de comandos: ^; (os corpos das funções contêm ';' internos).
+
+-- Sincronização incremental (SincronizacaoService): cada gravação em pacientes, dentistas e agendamentos
+-- registra o id da transação (xid8 como bigint, PostgreSQL 13+), e cada exclusão deixa uma lápide.
+-- O token entregue ao cliente é o xmin do snapshot: toda transação abaixo dele já terminou, então
+-- "xid >= token" nunca perde um commit tardio (o que um updated_at do relógio da aplicação perderia).
+-- Linhas sem xid_alteracao não mudaram desde a criação da coluna: só entram na carga completa.
+
+CREATE OR REPLACE FUNCTION f_sincronizacao_alteracao() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.xid_alteracao := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$^;
+
+CREATE OR REPLACE FUNCTION f_sincronizacao_exclusao() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO sincronizacao_exclusoes (agregado, registro_id, xid_exclusao)
+    VALUES (TG_ARGV[0], OLD.id, pg_current_xact_id()::text::bigint);
+    RETURN OLD;
+END
+$$^;
+
+-- Lápides: removidas pelo SincronizacaoService após consultorio.sincronizacao.retencao-dias
+CREATE TABLE IF NOT EXISTS sincronizacao_exclusoes (
+    id           bigserial PRIMARY KEY,
+    agregado     varchar(20) NOT NULL,
+    registro_id  bigint      NOT NULL,
+    xid_exclusao bigint      NOT NULL,
+    excluido_em  timestamp   NOT NULL DEFAULT now()
+)^;
+
+CREATE INDEX IF NOT EXISTS idx_sincronizacao_exclusoes_agregado_xid
+    ON sincronizacao_exclusoes (agregado, xid_exclusao)^;
+
+CREATE INDEX IF NOT EXISTS idx_sincronizacao_exclusoes_excluido_em
+    ON sincronizacao_exclusoes (excluido_em)^;
+
+-- ====================== PACIENTES ======================
+ALTER TABLE pacientes ADD COLUMN IF NOT EXISTS xid_alteracao bigint^;
+CREATE INDEX IF NOT EXISTS idx_pacientes_xid_alteracao ON pacientes (xid_alteracao)^;
+
+DROP TRIGGER IF EXISTS tg_pacientes_sincronizacao_alteracao ON pacientes^;
+CREATE TRIGGER tg_pacientes_sincronizacao_alteracao
+    BEFORE INSERT OR UPDATE ON pacientes
+    FOR EACH ROW EXECUTE FUNCTION f_sincronizacao_alteracao()^;
+
+DROP TRIGGER IF EXISTS tg_pacientes_sincronizacao_exclusao ON pacientes^;
+CREATE TRIGGER tg_pacientes_sincronizacao_exclusao
+    AFTER DELETE ON pacientes
+    FOR EACH ROW EXECUTE FUNCTION f_sincronizacao_exclusao('PACIENTES')^;
+
+-- ====================== DENTISTAS ======================
+ALTER TABLE dentistas ADD COLUMN IF NOT EXISTS xid_alteracao bigint^;
+CREATE INDEX IF NOT EXISTS idx_dentistas_xid_alteracao ON dentistas (xid_alteracao)^;
+
+DROP TRIGGER IF EXISTS tg_dentistas_sincronizacao_alteracao ON dentistas^;
+CREATE TRIGGER tg_dentistas_sincronizacao_alteracao
+    BEFORE INSERT OR UPDATE ON dentistas
+    FOR EACH ROW EXECUTE FUNCTION f_sincronizacao_alteracao()^;
+
+DROP TRIGGER IF EXISTS tg_dentistas_sincronizacao_exclusao ON dentistas^;
+CREATE TRIGGER tg_dentistas_sincronizacao_exclusao
+    AFTER DELETE ON dentistas
+    FOR EACH ROW EXECUTE FUNCTION f_sincronizacao_exclusao('DENTISTAS')^;
+
+-- ====================== AGENDAMENTOS ======================
+ALTER TABLE agendamentos ADD COLUMN IF NOT EXISTS xid_alteracao bigint^;
+CREATE INDEX IF NOT EXISTS idx_agendamentos_xid_alteracao ON agendamentos (xid_alteracao)^;
+
+DROP TRIGGER IF EXISTS tg_agendamentos_sincronizacao_alteracao ON agendamentos^;
+CREATE TRIGGER tg_agendamentos_sincronizacao_alteracao
+    BEFORE INSERT OR UPDATE ON agendamentos
+    FOR EACH ROW EXECUTE FUNCTION f_sincronizacao_alteracao()^;
+
+DROP TRIGGER IF EXISTS tg_agendamentos_sincronizacao_exclusao ON agendamentos^;
+CREATE TRIGGER tg_agendamentos_sincronizacao_exclusao
+    AFTER DELETE ON agendamentos
+    FOR EACH ROW EXECUTE FUNCTION f_sincronizacao_exclusao('AGENDAMENTOS')^;
@@ -0,0 +1,12 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+-- Separador de comandos: ^;
+
+-- Coluna @Version de pacientes, dentistas e agendamentos (ETag forte e If-Match no PUT).
+-- O ddl-auto cria a coluna sem valor nas linhas existentes; versão nula seria tratada como entidade nova.
+UPDATE pacientes SET versao = 0 WHERE versao IS NULL^;
+UPDATE dentistas SET versao = 0 WHERE versao IS NULL^;
+UPDATE agendamentos SET versao = 0 WHERE versao IS NULL^;
+
+ALTER TABLE pacientes ALTER COLUMN versao SET DEFAULT 0^;
+ALTER TABLE dentistas ALTER COLUMN versao SET DEFAULT 0^;
+ALTER TABLE agendamentos ALTER COLUMN versao SET DEFAULT 0^;
@@ -0,0 +1,124 @@
+package consultorio.api.controller;
+
+import consultorio.api.dto.request.DentistaRequest;
+import consultorio.domain.entity.Agendamento;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.service.DentistaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cada leitura de agenda deve sair em UM statement, independente da quantidade de agendamentos.
+// Requer o PostgreSQL do application.properties (como ConsultorioApplicationTests)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class AgendamentoControllerConsultasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DentistaService dentistaService;
+
+    @Autowired
+    private DentistaRepository dentistaRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    private Long dentistaId;
+    private Long agendamentoId;
+    private final List<Long> pacientes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+
+        DentistaRequest request = new DentistaRequest();
+        request.setNome("Dentista Consultas " + sufixo);
+        request.setCro("CRO-C-" + sufixo);
+        dentistaId = dentistaService.create(request).getId();
+        Dentista dentista = dentistaRepository.findById(dentistaId).orElseThrow();
+
+        List<Agendamento> agendamentos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Paciente paciente = new Paciente();
+            paciente.setNome("Paciente Consultas " + sufixo + " " + i);
+            paciente.setProntuarioNumero("TSTC-" + sufixo + "-" + i);
+            paciente = pacienteRepository.save(paciente);
+            pacientes.add(paciente.getId());
+
+            // metade hoje, metade amanhã; gravados direto no repositório (sem as validações de antecedência)
+            LocalDate dia = i % 2 == 0 ? LocalDate.now() : LocalDate.now().plusDays(1);
+            agendamentos.add(Agendamento.criarAgendamento(paciente, dentista, dia.atTime(20, 0).plusMinutes(30L * i), "Consulta"));
+        }
+        agendamentoId = agendamentoRepository.saveAll(agendamentos).get(0).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendamentoRepository.deleteAll(agendamentoRepository.findByDentistaId(dentistaId));
+        dentistaRepository.deleteById(dentistaId);
+        pacienteRepository.deleteAllById(pacientes);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/agendamentos",
+            "/api/agendamentos/{id}",
+            "/api/agendamentos/dentista/{dentistaId}",
+            "/api/agendamentos/paciente/{pacienteId}",
+            "/api/agendamentos/data/{hoje}",
+            "/api/agendamentos/dentista/{dentistaId}/data/{hoje}",
+            "/api/agendamentos/periodo?inicio={hoje}T00:00:00&fim={amanha}T23:59:59",
+            "/api/agendamentos/dentista/{dentistaId}/periodo?inicio={hoje}T00:00:00&fim={amanha}T23:59:59",
+            "/api/agendamentos/hoje",
+            "/api/agendamentos/proximos",
+            "/api/agendamentos/dentista/{dentistaId}/hoje"
+    })
+    void consultaEmUmUnicoStatement(String modelo) throws Exception {
+        String url = modelo
+                .replace("{id}", agendamentoId.toString())
+                .replace("{dentistaId}", dentistaId.toString())
+                .replace("{pacienteId}", pacientes.get(0).toString())
+                .replace("{hoje}", LocalDate.now().toString())
+                .replace("{amanha}", LocalDate.now().plusDays(1).toString());
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        assertThat(estatisticas.getPrepareStatementCount())
+                .as("statements em %s", url)
+                .isEqualTo(1);
+    }
+}
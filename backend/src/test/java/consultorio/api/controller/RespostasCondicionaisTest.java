@@ -0,0 +1,83 @@
+package consultorio.api.controller;
+
+import consultorio.domain.service.VersaoRecurso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET condicional sem banco: controller mínimo sobre RespostasCondicionais
+class RespostasCondicionaisTest {
+
+    // Thu, 01 Jan 2026 12:00:00 GMT
+    private static final VersaoRecurso VERSAO = new VersaoRecurso("\"3\"", 1767268800000L);
+
+    private final AtomicInteger carregamentos = new AtomicInteger();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new RegistroController()).build();
+    }
+
+    @Test
+    void ifNoneMatchDesatualizadoRespondeComUmEtagSo() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/registro").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(resultado.getResponse().getHeaders(HttpHeaders.ETAG)).containsExactly("\"3\"");
+        assertThat(resultado.getResponse().getHeaders(HttpHeaders.LAST_MODIFIED)).hasSize(1);
+        assertThat(carregamentos).hasValue(1);
+    }
+
+    @Test
+    void ifModifiedSinceDesatualizadoRespondeComUmEtagSo() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/registro")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 31 Dec 2025 12:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(resultado.getResponse().getHeaders(HttpHeaders.ETAG)).containsExactly("\"3\"");
+        assertThat(resultado.getResponse().getHeaders(HttpHeaders.LAST_MODIFIED)).hasSize(1);
+    }
+
+    @Test
+    void versaoAtualResponde304SemCarregar() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/registro").header(HttpHeaders.IF_NONE_MATCH, "\"1\", W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertThat(resultado.getResponse().getHeaders(HttpHeaders.ETAG)).containsExactly("\"3\"");
+        assertThat(carregamentos).hasValue(0);
+
+        mockMvc.perform(get("/registro").header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2026 12:00:00 GMT"))
+                .andExpect(status().isNotModified());
+        assertThat(carregamentos).hasValue(0);
+    }
+
+    @RestController
+    class RegistroController {
+
+        @GetMapping("/registro")
+        ResponseEntity<String> obter(WebRequest webRequest) {
+            return RespostasCondicionais.obter(webRequest, () -> Optional.of(VERSAO), () -> {
+                carregamentos.incrementAndGet();
+                return new VersaoRecurso.Versionado<>("registro", VERSAO);
+            });
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package consultorio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// Latência da busca textual nas evoluções numa tabela sintética de 1 milhão de anotações:
+// ILIKE sobre o texto (varredura sequencial) contra a coluna tsvector gerada com índice GIN
+// (db/evolucao-tratamento.sql), ranqueada e com ts_headline só nas 20 linhas devolvidas, como em
+// EvolucaoTratamentoRepositoryImpl. O filtro por paciente mostra o caso da busca dentro de um prontuário.
+// Precisa de um PostgreSQL com a extensão unaccent disponível. Conexão pelas propriedades
+// -Dbench.url, -Dbench.usuario e -Dbench.senha (padrão: banco local da aplicação).
+// Execução: mvn test-compile e depois rodar main() com o classpath de teste.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuscaEvolucaoBenchmark {
+
+    private static final int TOTAL_EVOLUCOES = 1_000_000;
+    private static final int TOTAL_PACIENTES = 50_000;
+
+    private static final String CONSULTA_SCAN = """
+            SELECT id, paciente_id, data_procedimento, texto FROM bench_evolucoes
+            WHERE texto ILIKE '%' || ? || '%'
+            ORDER BY data_procedimento DESC, id DESC
+            LIMIT 20
+            """;
+
+    private static final String CONSULTA_INDICE = """
+            SELECT t.id, t.paciente_id, t.data_procedimento, t.relevancia,
+                   ts_headline('portugues_sem_acento', t.texto, t.consulta,
+                               'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=25, MinWords=8')
+            FROM (
+                SELECT e.id, e.paciente_id, e.data_procedimento, e.texto, q.consulta,
+                       ts_rank_cd(e.busca, q.consulta) AS relevancia
+                FROM bench_evolucoes e, websearch_to_tsquery('portugues_sem_acento', ?) AS q(consulta)
+                WHERE e.busca @@ q.consulta
+                ORDER BY relevancia DESC, e.data_procedimento DESC NULLS LAST, e.id DESC
+                LIMIT 20
+            ) t
+            """;
+
+    private static final String CONSULTA_INDICE_PACIENTE = """
+            SELECT e.id, ts_rank_cd(e.busca, q.consulta) AS relevancia
+            FROM bench_evolucoes e, websearch_to_tsquery('portugues_sem_acento', ?) AS q(consulta)
+            WHERE e.busca @@ q.consulta AND e.paciente_id = ?
+            ORDER BY relevancia DESC, e.id DESC
+            LIMIT 20
+            """;
+
+    @Param({"complicacao extracao", "alveolite", "\"dor persistente\" -implante"})
+    public String termo;
+
+    private Connection conexao;
+    private PreparedStatement scan;
+    private PreparedStatement indice;
+    private PreparedStatement indicePaciente;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conexao = DriverManager.getConnection(
+                System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/consultorioOdonto"),
+                System.getProperty("bench.usuario", "postgres"),
+                System.getProperty("bench.senha", "Variado1234"));
+
+        try (Statement st = conexao.createStatement()) {
+            st.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            st.execute("""
+                    DO $$
+                    BEGIN
+                        IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'portugues_sem_acento') THEN
+                            CREATE TEXT SEARCH CONFIGURATION portugues_sem_acento (COPY = portuguese);
+                            ALTER TEXT SEARCH CONFIGURATION portugues_sem_acento
+                                ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+                        END IF;
+                    END $$
+                    """);
+            st.execute("DROP TABLE IF EXISTS bench_evolucoes");
+            // anotações montadas a partir de frases clínicas comuns, com e sem acento
+            st.execute("""
+                    CREATE TABLE bench_evolucoes AS
+                    SELECT g AS id,
+                           1 + g %% %d AS paciente_id,
+                           DATE '2015-01-01' + (g %% 3650) AS data_procedimento,
+                           (ARRAY['Extração do elemento','Restauração em resina no','Tratamento de canal do',
+                                  'Raspagem e alisamento radicular,','Profilaxia e aplicação de flúor,',
+                                  'Exodontia do siso','Instalação de implante na região do',
+                                  'Ajuste oclusal do'])[1 + g %% 8]
+                           || ' ' || (11 + g %% 38) || '. ' ||
+                           (ARRAY['Sem intercorrências.','Paciente relatou dor persistente após o procedimento.',
+                                  'Complicação: sangramento controlado com sutura.','Evoluiu com alveolite, prescrito analgésico.',
+                                  'Retorno em 7 dias para remoção dos pontos.','Complicacao na extracao, raiz fraturada.',
+                                  'Boa cicatrização.','Sensibilidade ao frio relatada.','Orientado quanto à higiene.',
+                                  'Anestesia complementar necessária.'])[1 + (g / 8) %% 10]
+                           || ' ' || md5(g::text) AS texto
+                    FROM generate_series(1, %d) g
+                    """.formatted(TOTAL_PACIENTES, TOTAL_EVOLUCOES));
+            st.execute("""
+                    ALTER TABLE bench_evolucoes ADD COLUMN busca tsvector
+                        GENERATED ALWAYS AS (to_tsvector('portugues_sem_acento'::regconfig, coalesce(texto, ''))) STORED
+                    """);
+            st.execute("CREATE INDEX ON bench_evolucoes USING gin (busca)");
+            st.execute("CREATE INDEX ON bench_evolucoes (paciente_id, data_procedimento, id)");
+            st.execute("ANALYZE bench_evolucoes");
+        }
+
+        scan = conexao.prepareStatement(CONSULTA_SCAN);
+        indice = conexao.prepareStatement(CONSULTA_INDICE);
+        indicePaciente = conexao.prepareStatement(CONSULTA_INDICE_PACIENTE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_evolucoes");
+        }
+        conexao.close();
+    }
+
+    // o ILIKE só acha a frase exata, sem stemming: comparação de custo, não de resultado
+    @Benchmark
+    public int ilike() throws SQLException {
+        scan.setString(1, termo.replace("\"", "").split(" -")[0]);
+        return contar(scan);
+    }
+
+    @Benchmark
+    public int tsvectorComTrecho() throws SQLException {
+        indice.setString(1, termo);
+        return contar(indice);
+    }
+
+    @Benchmark
+    public int tsvectorPorPaciente() throws SQLException {
+        indicePaciente.setString(1, termo);
+        indicePaciente.setLong(2, 1 + termo.length() % TOTAL_PACIENTES);
+        return contar(indicePaciente);
+    }
+
+    private static int contar(PreparedStatement ps) throws SQLException {
+        int linhas = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) linhas++;
+        }
+        return linhas;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(BuscaEvolucaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
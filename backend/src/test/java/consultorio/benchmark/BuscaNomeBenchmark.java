@@ -0,0 +1,137 @@
+package consultorio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// Latência da busca de pacientes por nome numa tabela sintética de 200 mil linhas:
+// LIKE com LOWER (consulta antiga, varredura sequencial) contra a chave f_unaccent(lower(nome))
+// com índice GIN de trigramas (db/busca-nomes.sql). Cada consulta no formato em que a aplicação a usa:
+// a antiga devolve todas as ocorrências, a nova as 20 mais parecidas.
+// Precisa de um PostgreSQL com as extensões unaccent e pg_trgm disponíveis. Conexão pelas propriedades
+// -Dbench.url, -Dbench.usuario e -Dbench.senha (padrão: banco local da aplicação).
+// Execução: mvn test-compile e depois rodar main() com o classpath de teste.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuscaNomeBenchmark {
+
+    private static final int TOTAL_PACIENTES = 200_000;
+
+    private static final String CONSULTA_SCAN = """
+            SELECT id, nome_paciente FROM bench_pacientes
+            WHERE LOWER(nome_paciente) LIKE LOWER(CONCAT('%', ?, '%'))
+            """;
+
+    private static final String CONSULTA_INDICE = """
+            SELECT id, nome_paciente FROM bench_pacientes
+            WHERE f_unaccent(lower(nome_paciente)) LIKE '%' || f_unaccent(lower(?)) || '%'
+               OR f_unaccent(lower(?)) <% f_unaccent(lower(nome_paciente))
+            ORDER BY word_similarity(f_unaccent(lower(?)), f_unaccent(lower(nome_paciente))) DESC, id
+            LIMIT 20
+            """;
+
+    @Param({"joao", "Conceição", "ribero"})
+    public String termo;
+
+    private Connection conexao;
+    private PreparedStatement scan;
+    private PreparedStatement indice;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conexao = DriverManager.getConnection(
+                System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/consultorioOdonto"),
+                System.getProperty("bench.usuario", "postgres"),
+                System.getProperty("bench.senha", "Variado1234"));
+
+        try (Statement st = conexao.createStatement()) {
+            st.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            st.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            st.execute("""
+                    CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+                        LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+                    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$
+                    """);
+            st.execute("DROP TABLE IF EXISTS bench_pacientes");
+            // nomes combinando prenomes e sobrenomes comuns, com e sem acento
+            st.execute("""
+                    CREATE TABLE bench_pacientes AS
+                    SELECT g AS id,
+                           (ARRAY['João','Joao','Maria','José','Ana','Antônio','Francisca','Luís','Márcia','Sebastião',
+                                  'Conceição','Raimundo','Patrícia','Paulo','Cláudia','André'])[1 + g % 16]
+                           || ' ' ||
+                           (ARRAY['Silva','Santos','Oliveira','Souza','Ribeiro','Araújo','Gonçalves','Conceição',
+                                  'Brandão','Simões','Magalhães','Assunção','Lima','Pereira','Guimarães','Falcão',
+                                  'Damião'])[1 + (g / 16) % 17]
+                           || ' ' || md5(g::text) AS nome_paciente,
+                           md5(g::text || 'x') AS preenchimento
+                    FROM generate_series(1, %d) g
+                    """.formatted(TOTAL_PACIENTES));
+            st.execute("CREATE INDEX ON bench_pacientes USING gin (f_unaccent(lower(nome_paciente)) gin_trgm_ops)");
+            st.execute("ANALYZE bench_pacientes");
+        }
+
+        scan = conexao.prepareStatement(CONSULTA_SCAN);
+        indice = conexao.prepareStatement(CONSULTA_INDICE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_pacientes");
+        }
+        conexao.close();
+    }
+
+    @Benchmark
+    public int likeComLower() throws SQLException {
+        scan.setString(1, termo);
+        return contar(scan);
+    }
+
+    @Benchmark
+    public int trigramaSemAcento() throws SQLException {
+        indice.setString(1, termo);
+        indice.setString(2, termo);
+        indice.setString(3, termo);
+        return contar(indice);
+    }
+
+    private static int contar(PreparedStatement ps) throws SQLException {
+        int linhas = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) linhas++;
+        }
+        return linhas;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(BuscaNomeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
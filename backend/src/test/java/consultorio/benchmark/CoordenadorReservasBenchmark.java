@@ -0,0 +1,103 @@
+package consultorio.benchmark;
+
+import consultorio.domain.service.CoordenadorReservas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Vazão de reservas "checa e grava" com e sem o CoordenadorReservas.
+// dentistas=1 simula a abertura da agenda de um dentista concorrido; dentistas=32 o movimento normal.
+// O caminho sem coordenação é mais rápido mas gera reservas duplicadas (contadas em "duplicadas").
+// Execução: mvn test-compile e depois rodar main() com o classpath de teste.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CoordenadorReservasBenchmark {
+
+    // poucos slots disputados; cada reserva é desfeita logo em seguida para a agenda não lotar
+    private static final int SLOTS_POR_DENTISTA = 64;
+    // custo simulado da checagem + insert no banco
+    private static final long TRABALHO_RESERVA = 200;
+
+    @Param({"1", "32"})
+    public int dentistas;
+
+    private CoordenadorReservas coordenador;
+    private Map<Long, Set<Integer>> agendas;
+    private LongAdder duplicadas;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        coordenador = new CoordenadorReservas(null, false, 3000);
+        agendas = new ConcurrentHashMap<>();
+        for (long d = 1; d <= dentistas; d++) {
+            agendas.put(d, ConcurrentHashMap.newKeySet());
+        }
+        duplicadas = new LongAdder();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        System.out.println("duplicadas=" + duplicadas.sum());
+    }
+
+    @Benchmark
+    public boolean semCoordenacao() {
+        long dentistaId = ThreadLocalRandom.current().nextLong(1, dentistas + 1);
+        return reservar(dentistaId);
+    }
+
+    @Benchmark
+    public boolean comCoordenacao() {
+        long dentistaId = ThreadLocalRandom.current().nextLong(1, dentistas + 1);
+        try (CoordenadorReservas.Bloqueio ignored = coordenador.adquirir(List.of(dentistaId))) {
+            return reservar(dentistaId);
+        }
+    }
+
+    private boolean reservar(long dentistaId) {
+        Set<Integer> agenda = agendas.get(dentistaId);
+        int slot = ThreadLocalRandom.current().nextInt(SLOTS_POR_DENTISTA);
+        if (agenda.contains(slot)) return false;
+
+        Blackhole.consumeCPU(TRABALHO_RESERVA);
+        if (!agenda.add(slot)) {
+            duplicadas.increment(); // outra thread gravou o mesmo slot entre a checagem e o insert
+            return false;
+        }
+        agenda.remove(slot);
+        return true;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CoordenadorReservasBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
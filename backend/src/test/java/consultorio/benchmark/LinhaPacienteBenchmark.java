@@ -0,0 +1,236 @@
+package consultorio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Linha larga de pacientes (cadastro + responsável + anamnese + exame clínico, como era) contra só o
+// cadastro (seções em tabelas 1:1). As consultas leem p.* como o Hibernate faz ao carregar a entidade:
+// - agenda: semana de um dentista com o paciente de cada agendamento (Agendamento.paciente)
+// - listagem: página de 50 por nome e a listagem inteira de ativos (findByStatus)
+// No setUp são impressos o tamanho médio da linha, o tamanho da heap e as páginas lidas
+// (shared hit + read do EXPLAIN ANALYZE BUFFERS) de cada consulta nos dois layouts.
+// Precisa de um PostgreSQL. Conexão pelas propriedades -Dbench.url, -Dbench.usuario e -Dbench.senha
+// (padrão: banco local da aplicação). Execução: mvn test-compile e depois rodar main() com o classpath de teste.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinhaPacienteBenchmark {
+
+    private static final int TOTAL_PACIENTES = 100_000;
+    private static final int TOTAL_AGENDAMENTOS = 300_000;
+    private static final Pattern PAGINAS = Pattern.compile("\"Shared (Hit|Read) Blocks\": (\\d+)");
+
+    private static final String CORE = """
+            g AS id,
+            'P' || g AS prontuario_numero,
+            (ARRAY['Maria','José','Ana','João','Francisca','Antônio','Márcia','Paulo'])[1 + g % 8]
+                || ' ' || (ARRAY['Silva','Santos','Oliveira','Souza','Ribeiro','Araújo','Lima'])[1 + (g / 8) % 7]
+                || ' ' || left(md5(g::text), 8) AS nome_paciente,
+            '(11) 9' || lpad((g % 100000000)::text, 8, '0') AS telefone_paciente,
+            lpad(g::text, 9, '0') AS rg_paciente,
+            'SSP' AS orgao_expedidor,
+            lpad(g::text, 11, '0') AS cpf,
+            DATE '1960-01-01' + g % 20000 AS data_nascimento,
+            'São Paulo' AS naturalidade_paciente,
+            'Brasileira' AS nacionalidade_paciente,
+            'Profissão ' || g % 50 AS profissao_paciente,
+            'Rua ' || md5(g::text) || ', ' || g % 2000 AS endereco_residencial,
+            NULL::varchar AS indicado_por,
+            g % 10 <> 0 AS status_paciente,
+            'Convênio ' || g % 12 AS convenio_paciente,
+            lpad(g::text, 12, '0') AS numero_inscricao_convenio,
+            now() - g * interval '1 minute' AS criado_em,
+            now() AS atualizado_em""";
+
+    private static final String[] SECOES_TEXTO = {
+            "nome_responsavel", "rg_responsavel", "orgao_expedidor_responsavel", "cpf_responsavel",
+            "estado_civil_responsavel", "conjuge_responsavel", "rg_conjuge", "orgao_expedidor_conjuge", "cpf_conjuge",
+            "fumante_quantidade", "tempo_fumo", "problemas_alergicos_quais", "sofre_doenca_quais", "uso_medicacao_quais",
+            "medico_assistente_telefone", "teve_alergia_quais", "foi_operado_quais", "habitos",
+            "lingua", "mucosa", "palato", "labios", "gengivas", "nariz", "face", "ganglios", "glandulas_salivares",
+            "alteracao_oclusao_tipo", "protese_tipo"
+    };
+    // textos livres da ficha: queixa, história da doença, observações do exame, antecedentes
+    private static final String[] SECOES_TEXTO_LONGO = {
+            "queixa_principal", "evolucao_doenca_atual", "outras_observacoes", "antecedentes_familiares"
+    };
+    private static final String[] SECOES_BOOLEANO = {
+            "febre_reumatica", "hepatite", "diabetes", "hipertensao_arterial_sistemica", "portador_hiv",
+            "alteracao_coagulacao_sanguinea", "reacoes_alergicas", "doencas_sistemicas", "internacao_recente",
+            "utilizando_medicacao", "fumante", "bebidas_alcoolicas", "problemas_cardiacos", "problemas_renais",
+            "problemas_gastricos", "problemas_respiratorios", "problemas_alergicos",
+            "problemas_articulares_ou_reumatismo", "alteracao_oclusao", "protese", "sofre_doenca",
+            "tratamento_medico_atual", "gravidez", "uso_medicacao", "teve_alergia", "foi_operado",
+            "problemas_cicatrizacao", "problemas_anestesia", "problemas_hemorragia"
+    };
+
+    private static final String AGENDA = """
+            SELECT a.id, a.data_hora, p.*
+            FROM bench_agendamentos a
+            JOIN %s p ON p.id = a.paciente_id
+            WHERE a.dentista_id = ? AND a.data_hora >= ? AND a.data_hora < ?
+            ORDER BY a.data_hora
+            """;
+
+    private static final String PAGINA = "SELECT p.* FROM %s p ORDER BY p.nome_paciente, p.id LIMIT 50 OFFSET 5000";
+
+    private static final String ATIVOS = "SELECT p.* FROM %s p WHERE p.status_paciente = true";
+
+    @Param({"bench_pacientes_largo", "bench_pacientes_core"})
+    public String tabela;
+
+    private Connection conexao;
+    private PreparedStatement agenda;
+    private PreparedStatement pagina;
+    private PreparedStatement ativos;
+    private final Timestamp inicioSemana = Timestamp.valueOf(LocalDateTime.of(2030, 3, 4, 0, 0));
+    private final Timestamp fimSemana = Timestamp.valueOf(LocalDateTime.of(2030, 3, 11, 0, 0));
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conexao = DriverManager.getConnection(
+                System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/consultorioOdonto"),
+                System.getProperty("bench.usuario", "postgres"),
+                System.getProperty("bench.senha", "Variado1234"));
+
+        try (Statement st = conexao.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_agendamentos, bench_pacientes_largo, bench_pacientes_core");
+
+            StringJoiner secoes = new StringJoiner(",\n");
+            for (String coluna : SECOES_TEXTO) {
+                secoes.add("left(md5(g::text || '" + coluna + "'), 20 + g % 13) AS " + coluna);
+            }
+            for (String coluna : SECOES_TEXTO_LONGO) {
+                secoes.add("left(repeat(md5(g::text || '" + coluna + "'), 8), 120 + g % 120) AS " + coluna);
+            }
+            for (String coluna : SECOES_BOOLEANO) {
+                secoes.add("(hashtext(g::text || '" + coluna + "') % 4 = 0) AS " + coluna);
+            }
+            st.execute("CREATE TABLE bench_pacientes_largo AS SELECT " + CORE + ",\n" + secoes
+                    + " FROM generate_series(1, " + TOTAL_PACIENTES + ") g");
+            st.execute("CREATE TABLE bench_pacientes_core AS SELECT " + CORE
+                    + " FROM generate_series(1, " + TOTAL_PACIENTES + ") g");
+
+            for (String t : new String[]{"bench_pacientes_largo", "bench_pacientes_core"}) {
+                st.execute("ALTER TABLE " + t + " ADD PRIMARY KEY (id)");
+                st.execute("CREATE INDEX ON " + t + " (nome_paciente, id)");
+            }
+
+            // 20 dentistas, agenda de um ano em slots de 30 minutos
+            st.execute("""
+                    CREATE TABLE bench_agendamentos AS
+                    SELECT g AS id,
+                           1 + (g * 7919) %% %d AS paciente_id,
+                           1 + g %% 20 AS dentista_id,
+                           TIMESTAMP '2030-01-01 08:00' + (g / 20) * interval '30 minutes' AS data_hora
+                    FROM generate_series(1, %d) g
+                    """.formatted(TOTAL_PACIENTES, TOTAL_AGENDAMENTOS));
+            st.execute("CREATE INDEX ON bench_agendamentos (dentista_id, data_hora)");
+            st.execute("ANALYZE bench_pacientes_largo");
+            st.execute("ANALYZE bench_pacientes_core");
+            st.execute("ANALYZE bench_agendamentos");
+        }
+
+        agenda = conexao.prepareStatement(AGENDA.formatted(tabela));
+        pagina = conexao.prepareStatement(PAGINA.formatted(tabela));
+        ativos = conexao.prepareStatement(ATIVOS.formatted(tabela));
+        medir();
+    }
+
+    private void medir() throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT avg(pg_column_size(p.*))::int, pg_relation_size('" + tabela
+                    + "') / 8192 FROM " + tabela + " p")) {
+                rs.next();
+                System.out.printf("%n[%s] linha média: %d bytes, heap: %d páginas%n", tabela, rs.getInt(1), rs.getLong(2));
+            }
+            String agendaExplicada = AGENDA.formatted(tabela)
+                    .replace("a.dentista_id = ?", "a.dentista_id = 7")
+                    .replace("a.data_hora >= ?", "a.data_hora >= '" + inicioSemana + "'")
+                    .replace("a.data_hora < ?", "a.data_hora < '" + fimSemana + "'");
+            System.out.printf("[%s] agenda da semana: %d páginas%n", tabela, paginas(st, agendaExplicada));
+            System.out.printf("[%s] página de 50 por nome: %d páginas%n", tabela, paginas(st, PAGINA.formatted(tabela)));
+            System.out.printf("[%s] todos os ativos: %d páginas%n", tabela, paginas(st, ATIVOS.formatted(tabela)));
+        }
+    }
+
+    // páginas tocadas pelo nó raiz do plano (acumula os filhos)
+    private static long paginas(Statement st, String sql) throws SQLException {
+        try (ResultSet rs = st.executeQuery("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+            rs.next();
+            Matcher m = PAGINAS.matcher(rs.getString(1));
+            long total = 0;
+            for (int i = 0; i < 2 && m.find(); i++) total += Long.parseLong(m.group(2));
+            return total;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_agendamentos, bench_pacientes_largo, bench_pacientes_core");
+        }
+        conexao.close();
+    }
+
+    @Benchmark
+    public int agendaSemana() throws SQLException {
+        agenda.setLong(1, 7);
+        agenda.setTimestamp(2, inicioSemana);
+        agenda.setTimestamp(3, fimSemana);
+        return contar(agenda);
+    }
+
+    @Benchmark
+    public int paginaPorNome() throws SQLException {
+        return contar(pagina);
+    }
+
+    @Benchmark
+    public int todosAtivos() throws SQLException {
+        return contar(ativos);
+    }
+
+    private static int contar(PreparedStatement ps) throws SQLException {
+        int linhas = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) linhas++;
+        }
+        return linhas;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LinhaPacienteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
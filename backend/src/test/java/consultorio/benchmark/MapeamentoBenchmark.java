@@ -0,0 +1,162 @@
+package consultorio.benchmark;
+
+import consultorio.api.dto.mapper.AgendamentoMapper;
+import consultorio.api.dto.mapper.AgendamentoMapperImpl;
+import consultorio.api.dto.mapper.DentistaMapperImpl;
+import consultorio.api.dto.mapper.PacienteMapper;
+import consultorio.api.dto.mapper.PacienteMapperImpl;
+import consultorio.api.dto.request.PacienteRequest;
+import consultorio.api.dto.response.AgendamentoResponse;
+import consultorio.api.dto.response.PacienteCoreResponse;
+import consultorio.domain.entity.Agendamento;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.HorarioTrabalho;
+import consultorio.domain.entity.Paciente;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo por objeto do mapeamento reflexivo (ModelMapper, configurado como era em produção)
+// contra os mappers gerados pelo MapStruct. O GCProfiler reporta a alocação por operação
+// (gc.alloc.rate.norm). Execução: mvn test-compile e depois rodar main() com o classpath de teste.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeamentoBenchmark {
+
+    private ModelMapper modelMapper;
+    private PacienteMapper pacienteMapper;
+    private AgendamentoMapper agendamentoMapper;
+
+    private Paciente paciente;
+    private PacienteRequest pacienteRequest;
+    private Agendamento agendamento;
+
+    @Setup
+    public void setUp() throws Exception {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setSkipNullEnabled(true)
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+
+        pacienteMapper = new PacienteMapperImpl();
+        agendamentoMapper = new AgendamentoMapperImpl(new DentistaMapperImpl());
+
+        // paciente com todos os campos do cadastro preenchidos
+        paciente = preencher(new Paciente());
+        paciente.setId(1L);
+        pacienteRequest = preencher(new PacienteRequest());
+
+        Dentista dentista = preencher(new Dentista());
+        dentista.setId(1L);
+        List<HorarioTrabalho> horarios = new ArrayList<>();
+        for (DayOfWeek dia : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            horarios.add(new HorarioTrabalho(dia, LocalTime.of(8, 0), LocalTime.of(12, 0),
+                    LocalTime.of(14, 0), LocalTime.of(18, 0), true));
+        }
+        dentista.setHorarios(horarios);
+
+        agendamento = new Agendamento();
+        agendamento.setId(1L);
+        agendamento.setPaciente(paciente);
+        agendamento.setDentista(dentista);
+        agendamento.setDataHora(LocalDateTime.of(2030, 1, 7, 9, 0));
+        agendamento.setProcedimento("Limpeza");
+        agendamento.calcularCampos();
+    }
+
+    // ====================== ENTIDADE -> RESPONSE ======================
+    @Benchmark
+    public PacienteCoreResponse pacienteResponseModelMapper() {
+        return modelMapper.map(paciente, PacienteCoreResponse.class);
+    }
+
+    @Benchmark
+    public PacienteCoreResponse pacienteResponseMapStruct() {
+        return pacienteMapper.toCoreResponse(paciente);
+    }
+
+    @Benchmark
+    public AgendamentoResponse agendamentoResponseModelMapper() {
+        return modelMapper.map(agendamento, AgendamentoResponse.class);
+    }
+
+    @Benchmark
+    public AgendamentoResponse agendamentoResponseMapStruct() {
+        return agendamentoMapper.toEntityResponse(agendamento);
+    }
+
+    // ====================== ATUALIZAÇÃO PARCIAL ======================
+    // Caminho antigo: request -> entidade temporária -> entidade gerenciada
+    @Benchmark
+    public Paciente pacienteUpdateModelMapper() {
+        Paciente temp = modelMapper.map(pacienteRequest, Paciente.class);
+        modelMapper.map(temp, paciente);
+        return paciente;
+    }
+
+    @Benchmark
+    public Paciente pacienteUpdateMapStruct() {
+        pacienteMapper.updateFromRequest(pacienteRequest, paciente);
+        return paciente;
+    }
+
+    private static <T> T preencher(T alvo) throws IllegalAccessException {
+        for (Field campo : alvo.getClass().getDeclaredFields()) {
+            if (Modifier.isStatic(campo.getModifiers())) continue;
+            Object valor = valorPara(campo);
+            if (valor == null) continue;
+            campo.setAccessible(true);
+            campo.set(alvo, valor);
+        }
+        return alvo;
+    }
+
+    private static Object valorPara(Field campo) {
+        Class<?> tipo = campo.getType();
+        if (tipo == String.class) return campo.getName();
+        if (tipo == Boolean.class || tipo == boolean.class) return Boolean.TRUE;
+        if (tipo == Integer.class || tipo == int.class) return 1;
+        if (tipo == Long.class || tipo == long.class) return 1L;
+        if (tipo == Double.class || tipo == double.class) return 1.0;
+        if (tipo == LocalDate.class) return LocalDate.of(1990, 5, 20);
+        if (tipo == LocalDateTime.class) return LocalDateTime.of(2024, 1, 1, 8, 0);
+        if (tipo.isEnum()) return tipo.getEnumConstants()[0];
+        return null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MapeamentoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,139 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.request.AgendamentoRequest;
+import consultorio.api.dto.request.DentistaRequest;
+import consultorio.domain.entity.Agendamento;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.exception.ConflitoHorarioException;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Requer o PostgreSQL do application.properties (como ConsultorioApplicationTests)
+@SpringBootTest
+class AgendamentoConcorrenciaTest {
+
+    private static final int TENTATIVAS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AgendamentoService agendamentoService;
+
+    @Autowired
+    private DentistaService dentistaService;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private DentistaRepository dentistaRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    private Long dentistaId;
+    private Long pacienteId;
+
+    @BeforeEach
+    void setUp() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+
+        DentistaRequest dentista = new DentistaRequest();
+        dentista.setNome("Dentista Concorrência " + sufixo);
+        dentista.setCro("CRO-" + sufixo);
+        dentistaId = dentistaService.create(dentista).getId();
+
+        Paciente paciente = new Paciente();
+        paciente.setNome("Paciente Concorrência " + sufixo);
+        paciente.setProntuarioNumero("TST-" + sufixo);
+        pacienteId = pacienteRepository.save(paciente).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendamentoRepository.deleteAll(agendamentoRepository.findByDentistaId(dentistaId));
+        dentistaRepository.deleteById(dentistaId);
+        pacienteRepository.deleteById(pacienteId);
+    }
+
+    @Test
+    void apenasUmaReservaVenceParaOMesmoHorario() throws Exception {
+        LocalDateTime horario = LocalDate.now()
+                .plusDays(1)
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Throwable> inesperados = new ArrayList<>();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < TENTATIVAS; i++) {
+                // metade tenta o slot exato, metade um intervalo deslocado que também o sobrepõe
+                LocalDateTime inicio = i % 2 == 0 ? horario : horario.plusMinutes(15);
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        agendamentoService.create(request(inicio));
+                        sucessos.incrementAndGet();
+                    } catch (ConflitoHorarioException e) {
+                        conflitos.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        synchronized (inesperados) {
+                            inesperados.add(e);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(inesperados).isEmpty();
+        assertThat(sucessos.get()).isEqualTo(1);
+        assertThat(conflitos.get()).isEqualTo(TENTATIVAS - 1);
+
+        List<Agendamento> gravados = agendamentoRepository.findByDentistaId(dentistaId);
+        assertThat(gravados).hasSize(1);
+    }
+
+    private AgendamentoRequest request(LocalDateTime dataHora) {
+        AgendamentoRequest request = new AgendamentoRequest();
+        request.setPacienteId(pacienteId);
+        request.setDentistaId(dentistaId);
+        request.setDataHora(dataHora);
+        request.setDuracaoMinutos(30);
+        request.setProcedimento("Avaliação");
+        return request;
+    }
+}
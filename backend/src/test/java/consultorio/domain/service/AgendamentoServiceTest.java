@@ -0,0 +1,91 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.mapper.AgendamentoMapper;
+import consultorio.api.dto.request.AgendamentoRequest;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.HorarioTrabalho;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.entity.ReservaTemporaria;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.ListaEsperaRepository;
+import consultorio.domain.repository.PacienteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AgendamentoServiceTest {
+
+    @Mock
+    private AgendamentoRepository agendamentoRepository;
+
+    @Mock
+    private PacienteRepository pacienteRepository;
+
+    @Mock
+    private DentistaRepository dentistaRepository;
+
+    @Mock
+    private AgendamentoMapper agendamentoMapper;
+
+    @Mock
+    private IndiceAgenda indiceAgenda;
+
+    @Mock
+    private CoordenadorReservas coordenadorReservas;
+
+    @Mock
+    private ReservasTemporarias reservasTemporarias;
+
+    @Mock
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AgendamentoService agendamentoService;
+
+    @Test
+    void confirmarReservaOfertadaAtendeAEntradaDaListaDeEspera() {
+        LocalDateTime slot = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY)).atTime(10, 0);
+        UUID reservaId = UUID.randomUUID();
+        Dentista dentista = new Dentista();
+        dentista.setId(1L);
+        dentista.setHorarios(List.of(new HorarioTrabalho(DayOfWeek.MONDAY,
+                LocalTime.of(9, 0), LocalTime.of(12, 0), LocalTime.of(14, 0), LocalTime.of(18, 0), true)));
+        Paciente paciente = new Paciente();
+        paciente.setId(20L);
+
+        when(reservasTemporarias.buscarAtiva(reservaId)).thenReturn(Optional.of(
+                new ReservaTemporaria(reservaId, 1L, slot, slot.plusMinutes(30), LocalDateTime.now().plusMinutes(30))));
+        when(pacienteRepository.findById(20L)).thenReturn(Optional.of(paciente));
+        when(dentistaRepository.findById(1L)).thenReturn(Optional.of(dentista));
+        when(agendamentoRepository.saveAndFlush(any())).thenAnswer(i -> i.getArgument(0));
+
+        AgendamentoRequest request = new AgendamentoRequest();
+        request.setPacienteId(20L);
+        request.setProcedimento("Avaliação");
+        agendamentoService.confirmarReserva(reservaId, request);
+
+        verify(reservasTemporarias).removerAposCommit(reservaId);
+        verify(listaEsperaRepository).marcarAtendidaPorReserva(reservaId);
+    }
+}
@@ -0,0 +1,65 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.OdontogramaResponse;
+import consultorio.domain.event.PacienteAlteradoEvent;
+import consultorio.domain.event.PlanoDentalAlteradoEvent;
+import consultorio.domain.repository.PlanoDentalRepository;
+import consultorio.domain.repository.projection.DenteOdontogramaProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheOdontogramaTest {
+
+    private PlanoDentalRepository repository;
+    private CacheOdontograma cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PlanoDentalRepository.class);
+        cache = new CacheOdontograma(repository);
+        when(repository.findOdontograma(1L)).thenReturn(List.of(dente("11", 2, 300.0), dente("21", 1, 150.0)));
+    }
+
+    @Test
+    void somaOsDentesECarregaUmaVez() {
+        OdontogramaResponse resumo = cache.obter(1L);
+        cache.obter(1L);
+
+        assertThat(resumo.getQuantidade()).isEqualTo(3);
+        assertThat(resumo.getTotal()).isEqualTo(450.0);
+        assertThat(resumo.getDentes()).extracting("dente").containsExactly("11", "21");
+        verify(repository, times(1)).findOdontograma(1L);
+    }
+
+    @Test
+    void alteracaoDoPlanoOuExclusaoDoPacienteDescartaOResumo() {
+        cache.obter(1L);
+        when(repository.findOdontograma(1L)).thenReturn(List.of(dente("11", 1, 100.0)));
+
+        cache.onPlanoDentalAlterado(new PlanoDentalAlteradoEvent(2L));
+        assertThat(cache.obter(1L).getTotal()).isEqualTo(450.0);
+
+        cache.onPlanoDentalAlterado(new PlanoDentalAlteradoEvent(1L));
+        assertThat(cache.obter(1L).getTotal()).isEqualTo(100.0);
+
+        cache.onPacienteAlterado(PacienteAlteradoEvent.removido(1L));
+        cache.obter(1L);
+        verify(repository, times(3)).findOdontograma(1L);
+    }
+
+    private static DenteOdontogramaProjection dente(String dente, long quantidade, double total) {
+        return new DenteOdontogramaProjection() {
+            public String getDente() { return dente; }
+            public Long getQuantidade() { return quantidade; }
+            public Double getTotal() { return total; }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.HorarioTrabalho;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.projection.IntervaloAgendamentoProjection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DisponibilidadeServiceTest {
+
+    private static final LocalDate SEGUNDA = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private AgendamentoRepository agendamentoRepository;
+
+    @Mock
+    private IndiceAgenda indiceAgenda;
+
+    @Mock
+    private ReservasTemporarias reservasTemporarias;
+
+    @InjectMocks
+    private DisponibilidadeService disponibilidadeService;
+
+    @Test
+    void consultaOsIntervalosDoDiaEmUmaUnicaQuery() {
+        when(agendamentoRepository.findIntervalosOcupados(eq(1L), any(), any(), anyList()))
+                .thenReturn(List.of());
+
+        List<LocalDateTime> livres = disponibilidadeService.consultarHorariosLivres(
+                1L, SEGUNDA, horarioPadrao(), DisponibilidadeService.DURACAO_SLOT_MINUTOS);
+
+        // 9h-12h e 14h-18h em slots de 30 minutos
+        assertThat(livres).hasSize(14);
+        verify(agendamentoRepository, times(1))
+                .findIntervalosOcupados(eq(1L), eq(SEGUNDA.atStartOfDay()), eq(SEGUNDA.plusDays(1).atStartOfDay()), anyList());
+        verifyNoMoreInteractions(agendamentoRepository);
+    }
+
+    @Test
+    void usaOIndiceResidenteSemIrAoBancoQuandoAquecido() {
+        when(indiceAgenda.cobre(SEGUNDA.atStartOfDay())).thenReturn(true);
+        when(indiceAgenda.intervalosOcupados(1L, SEGUNDA.atStartOfDay(), SEGUNDA.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(new DisponibilidadeService.Intervalo(SEGUNDA.atTime(9, 0), SEGUNDA.atTime(9, 30))));
+
+        List<LocalDateTime> livres = disponibilidadeService.consultarHorariosLivres(
+                1L, SEGUNDA, horarioPadrao(), DisponibilidadeService.DURACAO_SLOT_MINUTOS);
+
+        assertThat(livres).hasSize(13).doesNotContain(SEGUNDA.atTime(9, 0));
+        verifyNoInteractions(agendamentoRepository);
+    }
+
+    @Test
+    void reservaTemporariaVigenteBloqueiaOSlot() {
+        when(agendamentoRepository.findIntervalosOcupados(eq(1L), any(), any(), anyList()))
+                .thenReturn(List.of());
+        when(reservasTemporarias.intervalosReservados(eq(1L), any(), any()))
+                .thenReturn(List.of(new DisponibilidadeService.Intervalo(SEGUNDA.atTime(10, 0), SEGUNDA.atTime(10, 30))));
+
+        List<LocalDateTime> livres = disponibilidadeService.consultarHorariosLivres(
+                1L, SEGUNDA, horarioPadrao(), DisponibilidadeService.DURACAO_SLOT_MINUTOS);
+
+        assertThat(livres).hasSize(13).doesNotContain(SEGUNDA.atTime(10, 0));
+    }
+
+    @Test
+    void respeitaADuracaoRealDeCadaAgendamento() {
+        // consulta de 90 minutos às 9h bloqueia 9h, 9h30 e 10h
+        when(agendamentoRepository.findIntervalosOcupados(eq(1L), any(), any(), anyList()))
+                .thenReturn(List.of(intervalo(10L, SEGUNDA.atTime(9, 0), 90)));
+
+        List<LocalDateTime> livres = disponibilidadeService.consultarHorariosLivres(
+                1L, SEGUNDA, horarioPadrao(), DisponibilidadeService.DURACAO_SLOT_MINUTOS);
+
+        assertThat(livres).doesNotContain(SEGUNDA.atTime(9, 0), SEGUNDA.atTime(9, 30), SEGUNDA.atTime(10, 0));
+        assertThat(livres).contains(SEGUNDA.atTime(10, 30), SEGUNDA.atTime(14, 0));
+        assertThat(livres).hasSize(11);
+    }
+
+    @Test
+    void consideraIntervalosSobrepostosEForaDaGrade() {
+        List<DisponibilidadeService.Intervalo> ocupados = List.of(
+                new DisponibilidadeService.Intervalo(SEGUNDA.atTime(14, 45), SEGUNDA.atTime(15, 15)),
+                new DisponibilidadeService.Intervalo(SEGUNDA.atTime(14, 0), SEGUNDA.atTime(14, 50)),
+                new DisponibilidadeService.Intervalo(SEGUNDA.atTime(11, 50), SEGUNDA.atTime(14, 5))
+        );
+
+        List<LocalDateTime> livres = DisponibilidadeService.calcularHorariosLivres(
+                SEGUNDA, horarioPadrao(), ocupados, DisponibilidadeService.DURACAO_SLOT_MINUTOS);
+
+        assertThat(livres).doesNotContain(SEGUNDA.atTime(11, 30), SEGUNDA.atTime(14, 0),
+                SEGUNDA.atTime(14, 30), SEGUNDA.atTime(15, 0));
+        assertThat(livres).contains(SEGUNDA.atTime(11, 0), SEGUNDA.atTime(15, 30));
+    }
+
+    @Test
+    void montaOMapaDaSemanaComUmaUnicaQueryDePeriodo() {
+        when(agendamentoRepository.findIntervalosOcupados(eq(1L), any(), any(), anyList()))
+                .thenReturn(List.of(intervalo(10L, SEGUNDA.plusDays(1).atTime(14, 0), 60)));
+
+        List<DisponibilidadeService.MapaDia> mapas = disponibilidadeService.consultarMapaPeriodo(
+                1L, List.of(horarioPadrao(), horarioPadrao(DayOfWeek.TUESDAY)),
+                SEGUNDA, SEGUNDA.plusDays(6), DisponibilidadeService.DURACAO_SLOT_MINUTOS);
+
+        // só segunda e terça têm expediente; grade das 9h às 18h em slots de 30 minutos
+        assertThat(mapas).hasSize(2);
+        DisponibilidadeService.MapaDia terca = mapas.get(1);
+        assertThat(terca.inicio()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(terca.larguraMinutos()).isEqualTo(30);
+        assertThat(terca.totalSlots()).isEqualTo(18);
+        assertThat(terca.livres().get(0)).isTrue();
+        assertThat(terca.livres().get(6)).isFalse();   // 12h: intervalo de almoço
+        assertThat(terca.livres().get(10)).isFalse();  // 14h: ocupado
+        assertThat(terca.livres().get(11)).isFalse();  // 14h30: ocupado
+        assertThat(terca.livres().get(12)).isTrue();
+        assertThat(terca.livres().cardinality()).isEqualTo(12);
+
+        verify(agendamentoRepository, times(1))
+                .findIntervalosOcupados(eq(1L), eq(SEGUNDA.atStartOfDay()), eq(SEGUNDA.plusDays(7).atStartOfDay()), anyList());
+        verifyNoMoreInteractions(agendamentoRepository);
+    }
+
+    private static HorarioTrabalho horarioPadrao() {
+        return horarioPadrao(DayOfWeek.MONDAY);
+    }
+
+    private static HorarioTrabalho horarioPadrao(DayOfWeek dia) {
+        return new HorarioTrabalho(dia,
+                LocalTime.of(9, 0), LocalTime.of(12, 0),
+                LocalTime.of(14, 0), LocalTime.of(18, 0), true);
+    }
+
+    private static IntervaloAgendamentoProjection intervalo(Long id, LocalDateTime inicio, int duracaoMinutos) {
+        return new IntervaloAgendamentoProjection() {
+            public Long getId() { return id; }
+            public Long getDentistaId() { return 1L; }
+            public Long getPacienteId() { return 1L; }
+            public LocalDateTime getDataHora() { return inicio; }
+            public LocalDateTime getDataHoraFim() { return inicio.plusMinutes(duracaoMinutos); }
+        };
+    }
+}
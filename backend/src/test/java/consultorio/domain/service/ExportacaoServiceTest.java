@@ -0,0 +1,90 @@
+package consultorio.domain.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.PlanoDentalRepository;
+import consultorio.domain.repository.projection.PlanoDentalExportacaoProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportacaoServiceTest {
+
+    private PlanoDentalRepository planoDentalRepository;
+    private ObjectMapper objectMapper;
+    private ExportacaoService service;
+    private final AtomicBoolean fechado = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        planoDentalRepository = mock(PlanoDentalRepository.class);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new ExportacaoService(mock(AgendamentoRepository.class), planoDentalRepository, objectMapper);
+        when(planoDentalRepository.streamExportacao(null)).thenReturn(Stream.of(
+                item(1L, "Ana Souza", "11", "Restauração", 150.0),
+                item(2L, "Silva, \"Zé\"", "21", "Canal\nretorno", null)).onClose(() -> fechado.set(true)));
+    }
+
+    @Test
+    void csvEscapaSeparadoresAspasEQuebrasEFechaOStream() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        service.exportarPlanosDentais(null, ExportacaoService.Formato.CSV, saida);
+
+        assertThat(saida.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,pacienteId,pacienteNome,prontuarioNumero,dente,procedimento,valor\r\n"
+                        + "1,1,Ana Souza,P1,11,Restauração,150.0\r\n"
+                        + "2,2,\"Silva, \"\"Zé\"\"\",P2,21,\"Canal\nretorno\",\r\n");
+        assertThat(fechado).isTrue();
+    }
+
+    @Test
+    void ndjsonEscreveUmObjetoPorLinha() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        service.exportarPlanosDentais(null, ExportacaoService.Formato.NDJSON, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(linhas).hasSize(3);
+        assertThat(linhas[2]).isEmpty();
+        JsonNode segunda = objectMapper.readTree(linhas[1]);
+        assertThat(segunda.get("pacienteNome").asText()).isEqualTo("Silva, \"Zé\"");
+        assertThat(segunda.get("valor").isNull()).isTrue();
+    }
+
+    @Test
+    void validaFormatoEPeriodo() {
+        assertThat(ExportacaoService.Formato.de(null)).isEqualTo(ExportacaoService.Formato.CSV);
+        assertThat(ExportacaoService.Formato.de("NDJSON")).isEqualTo(ExportacaoService.Formato.NDJSON);
+        assertThatThrownBy(() -> ExportacaoService.Formato.de("xlsx")).hasMessageContaining("xlsx");
+
+        LocalDateTime inicio = LocalDateTime.of(2020, 1, 1, 0, 0);
+        service.validarPeriodo(inicio, inicio.plusYears(5));
+        assertThatThrownBy(() -> service.validarPeriodo(inicio, inicio)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> service.validarPeriodo(inicio, inicio.plusYears(10))).hasMessageContaining("anos");
+    }
+
+    private static PlanoDentalExportacaoProjection item(Long id, String nome, String dente, String procedimento, Double valor) {
+        return new PlanoDentalExportacaoProjection() {
+            public Long getId() { return id; }
+            public Long getPacienteId() { return id; }
+            public String getPacienteNome() { return nome; }
+            public String getProntuarioNumero() { return "P" + id; }
+            public String getDente() { return dente; }
+            public String getProcedimento() { return procedimento; }
+            public Double getValor() { return valor; }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package consultorio.domain.service;
+
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.service.IndiceAgenda.AgendaDentista;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static consultorio.domain.service.IndiceAgenda.segundos;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndiceAgendaTest {
+
+    private static final LocalDate DIA = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void detectaSobreposicaoMesmoComIntervaloLongoAnterior() {
+        // 8h-12h engloba o intervalo curto das 9h e ainda precisa ser encontrado às 11h
+        AgendaDentista agenda = AgendaDentista.VAZIA
+                .com(1, 10, s(9, 0), s(9, 30))
+                .com(2, 20, s(8, 0), s(12, 0))
+                .com(3, 30, s(14, 0), s(14, 30));
+
+        assertThat(agenda.tamanho()).isEqualTo(3);
+        assertThat(agenda.temConflito(s(11, 0), s(11, 30), -1)).isTrue();
+        assertThat(agenda.temConflito(s(12, 0), s(14, 0), -1)).isFalse();
+        assertThat(agenda.temConflito(s(14, 15), s(15, 0), -1)).isTrue();
+        assertThat(agenda.intervalos(s(9, 0), s(10, 0))).hasSize(2);
+    }
+
+    @Test
+    void ignoraOProprioAgendamentoNaReedicao() {
+        AgendaDentista agenda = AgendaDentista.VAZIA.com(1, 10, s(9, 0), s(9, 30));
+
+        assertThat(agenda.temConflito(s(9, 0), s(9, 30), 1)).isFalse();
+        assertThat(agenda.temConflito(s(9, 0), s(9, 30), 2)).isTrue();
+    }
+
+    @Test
+    void remocaoGeraNovoSnapshotSemAlterarOAnterior() {
+        AgendaDentista antes = AgendaDentista.VAZIA
+                .com(1, 10, s(9, 0), s(9, 30))
+                .com(2, 20, s(10, 0), s(10, 30));
+
+        AgendaDentista depois = antes.sem(1);
+
+        assertThat(antes.temConflito(s(9, 0), s(9, 30), -1)).isTrue();
+        assertThat(depois.temConflito(s(9, 0), s(9, 30), -1)).isFalse();
+        assertThat(depois.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    void podaDescartaOQueTerminouAntesDoCorte() {
+        AgendaDentista agenda = AgendaDentista.VAZIA
+                .com(1, 10, s(8, 0), s(12, 0))
+                .com(2, 20, s(9, 0), s(9, 30))
+                .com(3, 30, s(11, 30), s(12, 30));
+        List<Long> descartados = new ArrayList<>();
+
+        AgendaDentista podada = agenda.terminadosAte(s(12, 0), descartados::add);
+
+        assertThat(descartados).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(podada.tamanho()).isEqualTo(1);
+        assertThat(podada.temConflito(s(12, 0), s(12, 15), -1)).isTrue();
+        assertThat(agenda.tamanho()).isEqualTo(3);
+    }
+
+    @Test
+    void podaAvancaAJanelaCoberta() {
+        AgendamentoRepository repository = mock(AgendamentoRepository.class);
+        when(repository.findIntervalosAtivosAPartirDe(any(), any())).thenReturn(List.of());
+        IndiceAgenda indice = new IndiceAgenda(repository);
+        indice.carregar();
+        LocalDateTime hoje = LocalDate.now().atStartOfDay();
+
+        assertThat(indice.cobre(hoje)).isTrue();
+        indice.podar(hoje.plusDays(1));
+
+        assertThat(indice.cobre(hoje.plusHours(10))).isFalse();
+        assertThat(indice.cobre(hoje.plusDays(1))).isTrue();
+    }
+
+    private static long s(int hora, int minuto) {
+        return segundos(LocalDateTime.of(DIA, LocalTime.of(hora, minuto)));
+    }
+}
@@ -0,0 +1,139 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.entity.PacienteAnamnese;
+import consultorio.domain.entity.enums.CondicaoClinica;
+import consultorio.domain.event.AnamneseAlteradaEvent;
+import consultorio.domain.event.PacienteAlteradoEvent;
+import consultorio.domain.repository.PacienteAnamneseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndiceCondicoesTest {
+
+    private IndiceCondicoes indice;
+
+    @BeforeEach
+    void setUp() {
+        PacienteAnamneseRepository repository = mock(PacienteAnamneseRepository.class);
+        when(repository.findAllCondicoes()).thenReturn(List.of());
+        indice = new IndiceCondicoes(repository);
+        indice.carregar();
+
+        indice.onAnamneseAlterada(AnamneseAlteradaEvent.de(anamnese(1L, a -> a.setProblemasHemorragia(true))));
+        indice.onAnamneseAlterada(AnamneseAlteradaEvent.de(anamnese(2L, a -> {
+            a.setProblemasAnestesia(true);
+            a.setDiabetes(true);
+        })));
+        indice.onAnamneseAlterada(AnamneseAlteradaEvent.de(anamnese(3L, a -> a.setDiabetes(true))));
+    }
+
+    @Test
+    void avaliaConjuncaoDeDisjuncoes() {
+        assertThat(ids(indice.avaliar(CoorteService.clausulas("problemasHemorragia|problemasAnestesia"))))
+                .containsExactly(1, 2);
+        assertThat(ids(indice.avaliar(CoorteService.clausulas("problemasHemorragia|problemasAnestesia,diabetes"))))
+                .containsExactly(2);
+        assertThat(ids(indice.avaliar(CoorteService.clausulas("gravidez")))).isEmpty();
+    }
+
+    @Test
+    void acompanhaAlteracoesERemocoes() {
+        indice.onAnamneseAlterada(AnamneseAlteradaEvent.de(anamnese(1L, a -> a.setDiabetes(true))));
+        indice.onPacienteAlterado(PacienteAlteradoEvent.removido(2L));
+
+        assertThat(ids(indice.avaliar(CoorteService.clausulas("problemasHemorragia")))).isEmpty();
+        assertThat(ids(indice.avaliar(CoorteService.clausulas("diabetes")))).containsExactly(1, 3);
+        assertThat(indice.condicoes(1L)).isEqualTo(CondicaoClinica.DIABETES.bit());
+        assertThat(indice.condicoes(2L)).isZero();
+    }
+
+    @Test
+    void rejeitaCondicaoDesconhecida() {
+        assertThatThrownBy(() -> CoorteService.clausulas("diabetes,gripe"))
+                .hasMessageContaining("gripe");
+    }
+
+    @Test
+    void mapaBitsConfereComBitSetNosBlocosEsparsosEDensos() {
+        Random random = new Random(42);
+        BitSet a = new BitSet();
+        BitSet b = new BitSet();
+        IndiceCondicoes.MapaBits mapaA = IndiceCondicoes.MapaBits.VAZIO;
+        IndiceCondicoes.MapaBits mapaB = IndiceCondicoes.MapaBits.VAZIO;
+
+        // bloco 0 denso em A, bloco 1 esparso nos dois, bloco 3 só em B
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(1 << 16);
+            a.set(id);
+            mapaA = mapaA.com(id);
+        }
+        for (int i = 0; i < 3_000; i++) {
+            int idA = (1 << 16) + random.nextInt(1 << 16);
+            int idB = (1 << 16) + random.nextInt(1 << 16);
+            a.set(idA);
+            mapaA = mapaA.com(idA);
+            b.set(idB);
+            mapaB = mapaB.com(idB);
+            int idB3 = (3 << 16) + random.nextInt(1 << 16);
+            b.set(idB3);
+            mapaB = mapaB.com(idB3);
+            int idB0 = random.nextInt(1 << 16);
+            b.set(idB0);
+            mapaB = mapaB.com(idB0);
+        }
+        // remoções levam o bloco denso de volta a esparso
+        for (int id = 0; id < (1 << 16) - 6_000; id++) {
+            if (a.get(id)) {
+                a.clear(id);
+                mapaA = mapaA.sem(id);
+            }
+        }
+
+        assertThat(ids(mapaA)).containsExactlyElementsOf(ids(a));
+        assertThat(mapaA.cardinalidade()).isEqualTo(a.cardinality());
+
+        BitSet e = (BitSet) a.clone();
+        e.and(b);
+        assertThat(ids(mapaA.e(mapaB))).containsExactlyElementsOf(ids(e));
+
+        BitSet ou = (BitSet) a.clone();
+        ou.or(b);
+        assertThat(ids(mapaA.ou(mapaB))).containsExactlyElementsOf(ids(ou));
+        assertThat(mapaA.ou(mapaB).cardinalidade()).isEqualTo(ou.cardinality());
+
+        int[] ordenados = ou.stream().toArray();
+        assertThat(ids(IndiceCondicoes.MapaBits.de(ordenados))).containsExactlyElementsOf(ids(ou));
+        assertThat(IndiceCondicoes.MapaBits.de(ordenados).contem(ordenados[ordenados.length / 2])).isTrue();
+    }
+
+    private static List<Integer> ids(IndiceCondicoes.MapaBits mapa) {
+        List<Integer> ids = new ArrayList<>();
+        mapa.paraCada(ids::add);
+        return ids;
+    }
+
+    private static List<Integer> ids(BitSet bits) {
+        return bits.stream().boxed().toList();
+    }
+
+    private static PacienteAnamnese anamnese(Long pacienteId, Consumer<PacienteAnamnese> preencher) {
+        Paciente paciente = new Paciente();
+        paciente.setId(pacienteId);
+        PacienteAnamnese anamnese = new PacienteAnamnese();
+        anamnese.setPaciente(paciente);
+        preencher.accept(anamnese);
+        return anamnese;
+    }
+}
@@ -0,0 +1,69 @@
+package consultorio.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceListaEsperaTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final IndiceListaEspera indice = new IndiceListaEspera(null);
+
+    @Test
+    void escolheAMaiorPrioridadeEntreDentistaEEspecialidade() {
+        indice.adicionar(entrada(1L, 5L, null, 1, null, null, LocalDateTime.of(2029, 12, 1, 8, 0)));
+        indice.adicionar(entrada(2L, null, "ortodontia", 3, null, null, LocalDateTime.of(2029, 12, 2, 8, 0)));
+        indice.adicionar(entrada(3L, null, "ortodontia", 3, null, null, LocalDateTime.of(2029, 12, 1, 8, 0)));
+
+        // empate de prioridade: quem entrou primeiro na fila
+        assertThat(indice.melhor(5L, "Ortodontia ", SLOT, SLOT.plusMinutes(30)))
+                .hasValueSatisfying(e -> assertThat(e.id()).isEqualTo(3L));
+        assertThat(indice.melhor(5L, "Implante", SLOT, SLOT.plusMinutes(30)))
+                .hasValueSatisfying(e -> assertThat(e.id()).isEqualTo(1L));
+    }
+
+    @Test
+    void respeitaAJanelaPreferidaEADuracao() {
+        indice.adicionar(entrada(1L, 5L, null, 9, LocalTime.of(14, 0), LocalTime.of(18, 0), LocalDateTime.of(2029, 12, 1, 8, 0)));
+        indice.adicionar(entrada(2L, 5L, null, 1, LocalTime.of(8, 0), LocalTime.of(12, 0), LocalDateTime.of(2029, 12, 1, 8, 0)));
+
+        assertThat(indice.melhor(5L, null, SLOT, SLOT.plusMinutes(30)))
+                .hasValueSatisfying(e -> assertThat(e.id()).isEqualTo(2L));
+        // horário liberado menor que a duração pedida
+        assertThat(indice.melhor(5L, null, SLOT, SLOT.plusMinutes(15))).isEmpty();
+    }
+
+    @Test
+    void consultaSoAsEntradasCujaJanelaComecaNaHoraDoHorario() {
+        // janela 9h-10h15 com 30 minutos: o último início é 9h45, então a entrada só está na fila das 9h
+        indice.adicionar(entrada(1L, 5L, null, 9, LocalTime.of(9, 0), LocalTime.of(10, 15), LocalDateTime.of(2029, 12, 1, 8, 0)));
+        indice.adicionar(entrada(2L, 5L, null, 1, null, null, LocalDateTime.of(2029, 12, 1, 8, 0)));
+
+        assertThat(indice.melhor(5L, null, SLOT.minusMinutes(60), SLOT.minusMinutes(30)))
+                .hasValueSatisfying(e -> assertThat(e.id()).isEqualTo(1L));
+        assertThat(indice.melhor(5L, null, SLOT, SLOT.plusMinutes(30)))
+                .hasValueSatisfying(e -> assertThat(e.id()).isEqualTo(2L));
+    }
+
+    @Test
+    void removerPeloIdSoTemSucessoUmaVez() {
+        indice.adicionar(entrada(1L, 5L, null, 0, LocalTime.of(8, 0), LocalTime.of(12, 0), LocalDateTime.of(2029, 12, 1, 8, 0, 0, 123_456_789)));
+
+        // o id basta: a entrada relida do banco tem criadoEm truncado em microssegundos
+        assertThat(indice.remover(1L)).isTrue();
+        assertThat(indice.remover(1L)).isFalse();
+        assertThat(indice.tamanho()).isZero();
+        assertThat(indice.melhor(5L, null, SLOT, SLOT.plusMinutes(30))).isEmpty();
+    }
+
+    private static IndiceListaEspera.Entrada entrada(Long id, Long dentistaId, String especialidade, int prioridade,
+                                                     LocalTime horaInicio, LocalTime horaFim, LocalDateTime criadoEm) {
+        return new IndiceListaEspera.Entrada(id, dentistaId, IndiceListaEspera.normalizar(especialidade),
+                LocalDate.of(2029, 12, 1), LocalDate.of(2030, 2, 1), horaInicio, horaFim, 30, prioridade, criadoEm);
+    }
+}
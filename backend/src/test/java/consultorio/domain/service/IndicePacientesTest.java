@@ -0,0 +1,75 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.SugestaoPacienteResponse;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.event.PacienteAlteradoEvent;
+import consultorio.domain.repository.PacienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndicePacientesTest {
+
+    private IndicePacientes indice;
+
+    @BeforeEach
+    void setUp() {
+        PacienteRepository repository = mock(PacienteRepository.class);
+        when(repository.findAllResumo()).thenReturn(List.of());
+        indice = new IndicePacientes(repository);
+        indice.carregar();
+
+        indice.onPacienteAlterado(PacienteAlteradoEvent.de(paciente(1L, "João da Silva", "123.456.789-00", "P-0001")));
+        indice.onPacienteAlterado(PacienteAlteradoEvent.de(paciente(2L, "Maria Conceição Souza", "987.654.321-00", "P-0002")));
+        indice.onPacienteAlterado(PacienteAlteradoEvent.de(paciente(3L, "Joana Silveira", "111.222.333-44", "P-0003")));
+    }
+
+    @Test
+    void encontraPorPrefixoDeQualquerPalavraSemAcento() {
+        assertThat(ids(indice.sugerir("joao", 10))).containsExactly(1L);
+        assertThat(ids(indice.sugerir("conce", 10))).containsExactly(2L);
+        // "Joana" começa com "jo" e vem antes de "João" na ordem alfabética normalizada
+        assertThat(ids(indice.sugerir("jo", 10))).containsExactly(3L, 1L);
+        assertThat(ids(indice.sugerir("jo silv", 10))).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void encontraPorCpfEProntuarioComOuSemPontuacao() {
+        assertThat(ids(indice.sugerir("987.654", 10))).containsExactly(2L);
+        assertThat(ids(indice.sugerir("111222", 10))).containsExactly(3L);
+        assertThat(ids(indice.sugerir("p0001", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void atualizacaoERemocaoRefletemNoIndice() {
+        indice.onPacienteAlterado(PacienteAlteradoEvent.de(paciente(1L, "João Pereira", "123.456.789-00", "P-0001")));
+        assertThat(ids(indice.sugerir("silva", 10))).isEmpty();
+        assertThat(ids(indice.sugerir("pere", 10))).containsExactly(1L);
+
+        indice.onPacienteAlterado(PacienteAlteradoEvent.removido(3L));
+        assertThat(ids(indice.sugerir("jo", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void respeitaOLimite() {
+        assertThat(indice.sugerir("jo", 1)).hasSize(1);
+    }
+
+    private static List<Long> ids(List<SugestaoPacienteResponse> sugestoes) {
+        return sugestoes.stream().map(SugestaoPacienteResponse::getId).toList();
+    }
+
+    private static Paciente paciente(Long id, String nome, String cpf, String prontuario) {
+        Paciente paciente = new Paciente();
+        paciente.setId(id);
+        paciente.setNome(nome);
+        paciente.setCpf(cpf);
+        paciente.setProntuarioNumero(prontuario);
+        return paciente;
+    }
+}
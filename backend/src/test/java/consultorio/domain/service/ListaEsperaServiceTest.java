@@ -0,0 +1,54 @@
+package consultorio.domain.service;
+
+import consultorio.domain.entity.ListaEspera;
+import consultorio.domain.entity.enums.StatusListaEspera;
+import consultorio.domain.repository.ListaEsperaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListaEsperaServiceTest {
+
+    @Mock
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Test
+    void ofertaNaoConfirmadaVoltaAAguardarENoIndice() {
+        ListaEspera espera = new ListaEspera();
+        espera.setId(7L);
+        espera.setEspecialidade("Ortodontia");
+        espera.setStatus(StatusListaEspera.OFERTADO);
+        espera.setReservaId(UUID.randomUUID());
+        espera.setOfertadoEm(LocalDateTime.now().minusMinutes(31));
+        when(listaEsperaRepository.findByStatusAndOfertadoEmLessThanEqual(eq(StatusListaEspera.OFERTADO), any()))
+                .thenReturn(List.of(espera));
+        IndiceListaEspera indice = new IndiceListaEspera(null);
+
+        new ListaEsperaService(listaEsperaRepository, null, null, null, indice, null, 30)
+                .devolverOfertasExpiradas();
+
+        // só ofertas feitas antes da validade da reserva (30 minutos) são devolvidas
+        ArgumentCaptor<LocalDateTime> limite = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(listaEsperaRepository).findByStatusAndOfertadoEmLessThanEqual(eq(StatusListaEspera.OFERTADO), limite.capture());
+        assertThat(limite.getValue()).isBefore(LocalDateTime.now().minusMinutes(29));
+
+        assertThat(espera.getStatus()).isEqualTo(StatusListaEspera.AGUARDANDO);
+        assertThat(espera.getReservaId()).isNull();
+        assertThat(espera.getOfertadoEm()).isNull();
+        verify(listaEsperaRepository).saveAll(List.of(espera));
+        assertThat(indice.tamanho()).isEqualTo(1);
+    }
+}
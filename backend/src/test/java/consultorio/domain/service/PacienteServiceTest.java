@@ -0,0 +1,58 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.request.PacienteFiltroRequest;
+import consultorio.api.dto.response.PacienteResumoResponse;
+import consultorio.api.dto.response.PaginaResponse;
+import consultorio.domain.repository.PacienteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PacienteServiceTest {
+
+    @Mock
+    private PacienteRepository pacienteRepository;
+
+    @InjectMocks
+    private PacienteService pacienteService;
+
+    @Test
+    void cursorAtravessaPacienteSemDataDeCadastro() {
+        PacienteFiltroRequest filtro = new PacienteFiltroRequest();
+        Pageable pagina = PageRequest.of(0, 2, Sort.by("criadoEm"));
+        when(pacienteRepository.contarResumo(filtro)).thenReturn(3L);
+
+        // criado_em nulo (cadastro antigo) ordena por último e é o último item da primeira página
+        when(pacienteRepository.buscarResumo(eq(filtro), any(), isNull(), isNull(), eq(0), eq(3)))
+                .thenReturn(List.of(resumo(1L, LocalDateTime.of(2024, 3, 1, 9, 0)), resumo(7L, null), resumo(8L, null)));
+        PaginaResponse<PacienteResumoResponse> primeira = pacienteService.findPaginado(filtro, pagina, null);
+        assertThat(primeira.getProximoCursor()).isNotNull();
+
+        // a próxima página continua depois do id 7 entre os nulos, sem valor de cursor
+        when(pacienteRepository.buscarResumo(eq(filtro), any(), isNull(), eq(7L), eq(0), eq(3)))
+                .thenReturn(List.of(resumo(8L, null)));
+        PaginaResponse<PacienteResumoResponse> segunda = pacienteService.findPaginado(filtro, pagina, primeira.getProximoCursor());
+
+        assertThat(segunda.getContent()).extracting(PacienteResumoResponse::getId).containsExactly(8L);
+        assertThat(segunda.getLast()).isTrue();
+    }
+
+    private static PacienteResumoResponse resumo(Long id, LocalDateTime criadoEm) {
+        return PacienteResumoResponse.builder().id(id).nome("Paciente " + id).criadoEm(criadoEm).build();
+    }
+}
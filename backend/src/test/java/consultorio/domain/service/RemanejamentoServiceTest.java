@@ -0,0 +1,154 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.request.RemanejamentoRequest;
+import consultorio.api.dto.request.ReservaTemporariaRequest;
+import consultorio.api.dto.response.ReservaTemporariaResponse;
+import consultorio.domain.entity.Agendamento;
+import consultorio.domain.entity.Dentista;
+import consultorio.domain.entity.HorarioTrabalho;
+import consultorio.domain.entity.ListaEspera;
+import consultorio.domain.entity.Paciente;
+import consultorio.domain.entity.enums.StatusListaEspera;
+import consultorio.domain.event.HorarioLiberadoEvent;
+import consultorio.domain.repository.AgendamentoRepository;
+import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.ListaEsperaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RemanejamentoServiceTest {
+
+    private static final LocalDate SEGUNDA = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private AgendamentoRepository agendamentoRepository;
+
+    @Mock
+    private DentistaRepository dentistaRepository;
+
+    @Mock
+    private CoordenadorReservas coordenadorReservas;
+
+    @Mock
+    private ReservasTemporarias reservasTemporarias;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Mock
+    private AgendamentoService agendamentoService;
+
+    @Test
+    void alocaNosPrimeirosHorariosLivresRespeitandoADuracao() {
+        RemanejamentoService.AgendaLivre agenda = new RemanejamentoService.AgendaLivre(
+                List.of(horario(DayOfWeek.MONDAY), horario(DayOfWeek.TUESDAY)), SEGUNDA.atTime(9, 0));
+        agenda.ocupar(SEGUNDA.atTime(9, 0), SEGUNDA.atTime(10, 0));
+        agenda.ocupar(SEGUNDA.atTime(10, 30), SEGUNDA.atTime(12, 0));
+
+        // 60 minutos não cabem na janela das 10h; vão para a tarde
+        assertThat(agenda.alocar(60, SEGUNDA.plusDays(7))).isEqualTo(SEGUNDA.atTime(14, 0));
+        // 30 minutos ocupam a janela que sobrou de manhã
+        assertThat(agenda.alocar(30, SEGUNDA.plusDays(7))).isEqualTo(SEGUNDA.atTime(10, 0));
+        assertThat(agenda.alocar(30, SEGUNDA.plusDays(7))).isEqualTo(SEGUNDA.atTime(15, 0));
+    }
+
+    @Test
+    void passaParaOProximoDiaDeAtendimentoERespeitaOHorizonte() {
+        RemanejamentoService.AgendaLivre agenda = new RemanejamentoService.AgendaLivre(
+                List.of(horario(DayOfWeek.MONDAY), horario(DayOfWeek.WEDNESDAY)), SEGUNDA.atTime(17, 30));
+
+        assertThat(agenda.alocar(30, SEGUNDA.plusDays(7))).isEqualTo(SEGUNDA.atTime(17, 30));
+        assertThat(agenda.alocar(30, SEGUNDA.plusDays(7))).isEqualTo(SEGUNDA.plusDays(2).atTime(9, 0));
+        assertThat(agenda.alocar(30, SEGUNDA.plusDays(1))).isNull();
+    }
+
+    @Test
+    void horarioDesocupadoPeloLoteEOfertadoAListaDeEspera() {
+        LocalDateTime slot = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY)).atTime(10, 0);
+        Dentista origem = dentista(1L);
+        Dentista destino = dentista(2L);
+        Paciente paciente = new Paciente();
+        paciente.setId(20L);
+        Agendamento agendamento = Agendamento.criarAgendamento(paciente, origem, slot, "Limpeza");
+        agendamento.setId(10L);
+
+        when(dentistaRepository.findById(2L)).thenReturn(Optional.of(destino));
+        when(agendamentoRepository.findAtivosParaRemanejamento(eq(1L), any(), any(), anyList()))
+                .thenReturn(List.of(agendamento));
+
+        RemanejamentoRequest request = new RemanejamentoRequest();
+        request.setDentistaId(1L);
+        request.setDentistaDestinoId(2L);
+        request.setInicio(slot.toLocalDate().atStartOfDay());
+        request.setFim(slot.toLocalDate().plusDays(1).atStartOfDay());
+        new RemanejamentoService(agendamentoRepository, dentistaRepository, coordenadorReservas,
+                reservasTemporarias, eventPublisher).remanejar(request);
+
+        // o horário original (dentista de origem, antes da mudança) é publicado
+        ArgumentCaptor<Object> eventos = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(eventos.capture());
+        List<HorarioLiberadoEvent> liberados = eventos.getAllValues().stream()
+                .filter(HorarioLiberadoEvent.class::isInstance).map(HorarioLiberadoEvent.class::cast).toList();
+        assertThat(liberados).singleElement().satisfies(e -> {
+            assertThat(e.getDentistaId()).isEqualTo(1L);
+            assertThat(e.getInicio()).isEqualTo(slot);
+        });
+
+        // e a lista de espera oferta esse horário ao paciente que aguarda o dentista de origem
+        IndiceListaEspera indice = new IndiceListaEspera(null);
+        indice.adicionar(new IndiceListaEspera.Entrada(7L, 1L, null, null, null, null, null, 30, 0, LocalDateTime.now()));
+        ListaEspera espera = new ListaEspera();
+        espera.setId(7L);
+        ReservaTemporariaResponse reserva = new ReservaTemporariaResponse();
+        reserva.setId(UUID.randomUUID());
+        when(dentistaRepository.findById(1L)).thenReturn(Optional.of(origem));
+        when(listaEsperaRepository.findById(7L)).thenReturn(Optional.of(espera));
+        when(agendamentoService.reservarHorario(any(ReservaTemporariaRequest.class), any(Duration.class))).thenReturn(reserva);
+
+        new ListaEsperaService(listaEsperaRepository, null, dentistaRepository, null, indice, agendamentoService, 30)
+                .onHorarioLiberado(liberados.get(0));
+
+        assertThat(espera.getStatus()).isEqualTo(StatusListaEspera.OFERTADO);
+        assertThat(espera.getReservaId()).isEqualTo(reserva.getId());
+        assertThat(indice.tamanho()).isZero();
+    }
+
+    private static Dentista dentista(Long id) {
+        Dentista dentista = new Dentista();
+        dentista.setId(id);
+        dentista.setHorarios(List.of(horario(DayOfWeek.MONDAY)));
+        return dentista;
+    }
+
+    private static HorarioTrabalho horario(DayOfWeek dia) {
+        return new HorarioTrabalho(dia,
+                LocalTime.of(9, 0), LocalTime.of(12, 0),
+                LocalTime.of(14, 0), LocalTime.of(18, 0), true);
+    }
+}
@@ -0,0 +1,74 @@
+package consultorio.domain.service;
+
+import consultorio.api.dto.response.AlteracoesResponse;
+import consultorio.domain.exception.TokenSincronizacaoExpiradoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SincronizacaoServiceTest {
+
+    private static final long AGORA = 1_700_000_000_000L;
+
+    private JdbcTemplate jdbcTemplate;
+    private SincronizacaoService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new SincronizacaoService(jdbcTemplate, 30);
+        when(jdbcTemplate.queryForObject(contains("pg_current_snapshot"), any(RowMapper.class)))
+                .thenReturn(new SincronizacaoService.Marca(900L, AGORA));
+    }
+
+    @Test
+    void semTokenDevolveTodosOsIdsEOTokenAtual() {
+        when(jdbcTemplate.queryForList("SELECT id FROM pacientes ORDER BY id", Long.class)).thenReturn(List.of(1L, 2L, 3L));
+
+        AlteracoesResponse resposta = service.alteracoes(SincronizacaoService.Agregado.PACIENTES, null);
+
+        assertThat(resposta.getCompleto()).isTrue();
+        assertThat(resposta.getAlterados()).containsExactly(1L, 2L, 3L);
+        assertThat(resposta.getExcluidos()).isEmpty();
+        assertThat(SincronizacaoService.Marca.de(resposta.getToken())).isEqualTo(new SincronizacaoService.Marca(900L, AGORA));
+    }
+
+    @Test
+    void comTokenConsultaAlteracoesELapidesDesdeOXminAnterior() {
+        String token = new SincronizacaoService.Marca(750L, AGORA - 30_000).token();
+        when(jdbcTemplate.queryForList(contains("FROM dentistas WHERE xid_alteracao >= ?"), eq(Long.class), eq(750L)))
+                .thenReturn(List.of(4L));
+        when(jdbcTemplate.queryForList(contains("sincronizacao_exclusoes"), eq(Long.class), eq("DENTISTAS"), eq(750L)))
+                .thenReturn(List.of(7L));
+
+        AlteracoesResponse resposta = service.alteracoes(SincronizacaoService.Agregado.DENTISTAS, token);
+
+        assertThat(resposta.getCompleto()).isFalse();
+        assertThat(resposta.getAlterados()).containsExactly(4L);
+        assertThat(resposta.getExcluidos()).containsExactly(7L);
+        assertThat(SincronizacaoService.Marca.de(resposta.getToken()).xmin()).isEqualTo(900L);
+    }
+
+    @Test
+    void tokenExpiradoOuInvalidoERecusado() {
+        String antigo = new SincronizacaoService.Marca(10L, AGORA - Duration.ofDays(31).toMillis()).token();
+
+        assertThatThrownBy(() -> service.alteracoes(SincronizacaoService.Agregado.AGENDAMENTOS, antigo))
+                .isInstanceOf(TokenSincronizacaoExpiradoException.class);
+        assertThatThrownBy(() -> service.alteracoes(SincronizacaoService.Agregado.AGENDAMENTOS, "nao-e-token"))
+                .hasMessageContaining("inválido");
+    }
+}
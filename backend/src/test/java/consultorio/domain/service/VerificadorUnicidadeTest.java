@@ -0,0 +1,78 @@
+package consultorio.domain.service;
+
+import consultorio.domain.repository.DentistaRepository;
+import consultorio.domain.repository.PacienteRepository;
+import consultorio.domain.repository.projection.ChavesPacienteProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerificadorUnicidadeTest {
+
+    private PacienteRepository pacienteRepository;
+    private VerificadorUnicidade verificador;
+
+    @BeforeEach
+    void setUp() {
+        pacienteRepository = mock(PacienteRepository.class);
+        DentistaRepository dentistaRepository = mock(DentistaRepository.class);
+        when(pacienteRepository.findAllChaves()).thenReturn(List.of(chaves("111.111.111-11", "MG-1", "P-1")));
+        when(dentistaRepository.findAllChaves()).thenReturn(List.of());
+
+        verificador = new VerificadorUnicidade(pacienteRepository, dentistaRepository, new SimpleMeterRegistry());
+        verificador.reconstruir();
+    }
+
+    @Test
+    void valorAusenteEhRespondidoSemIrAoBanco() {
+        assertThat(verificador.existe(VerificadorUnicidade.Campo.CPF, "999.999.999-99")).isFalse();
+        verify(pacienteRepository, never()).findChavesEmUso(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void possiveisPositivosSaoConferidosNumaUnicaConsulta() {
+        when(pacienteRepository.findChavesEmUso(eq("111.111.111-11"), isNull(), eq("P-1"), anyLong()))
+                .thenReturn(List.of(chaves("111.111.111-11", "MG-1", "P-1")));
+
+        Map<VerificadorUnicidade.Campo, String> valores = new EnumMap<>(VerificadorUnicidade.Campo.class);
+        valores.put(VerificadorUnicidade.Campo.CPF, "111.111.111-11");
+        valores.put(VerificadorUnicidade.Campo.RG, "SP-2");
+        valores.put(VerificadorUnicidade.Campo.PRONTUARIO, "P-1");
+
+        assertThat(verificador.conflitos(valores, null))
+                .containsExactlyInAnyOrder(VerificadorUnicidade.Campo.CPF, VerificadorUnicidade.Campo.PRONTUARIO);
+        verify(pacienteRepository, times(1)).findChavesEmUso(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void valorRegistradoNaGravacaoPassaAIrAoBanco() {
+        verificador.registrar(VerificadorUnicidade.Campo.CPF, "222.222.222-22");
+        when(pacienteRepository.findChavesEmUso(eq("222.222.222-22"), isNull(), isNull(), anyLong()))
+                .thenReturn(List.of(chaves("222.222.222-22", null, "P-2")));
+
+        assertThat(verificador.existe(VerificadorUnicidade.Campo.CPF, "222.222.222-22")).isTrue();
+    }
+
+    private static ChavesPacienteProjection chaves(String cpf, String rg, String prontuario) {
+        return new ChavesPacienteProjection() {
+            public String getCpf() { return cpf; }
+            public String getRg() { return rg; }
+            public String getProntuarioNumero() { return prontuario; }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package consultorio.domain.service;
+
+import consultorio.domain.exception.CondicaoInvalidaException;
+import consultorio.domain.exception.VersaoDivergenteException;
+import consultorio.domain.service.VersoesColecao.Colecao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VersoesColecaoTest {
+
+    private final VersoesColecao versoes = new VersoesColecao();
+
+    @AfterEach
+    void limpar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void etagMudaSoAposOCommitEUmaVezPorTransacao() {
+        String antes = versoes.etag(Colecao.AGENDAMENTOS, Colecao.PACIENTES);
+
+        TransactionSynchronizationManager.initSynchronization();
+        versoes.alterada(Colecao.PACIENTES);
+        versoes.alterada(Colecao.PACIENTES);
+        assertThat(versoes.etag(Colecao.AGENDAMENTOS, Colecao.PACIENTES)).isEqualTo(antes);
+
+        concluir(TransactionSynchronization.STATUS_COMMITTED);
+        String depois = versoes.etag(Colecao.AGENDAMENTOS, Colecao.PACIENTES);
+        assertThat(depois).isNotEqualTo(antes).endsWith("-0.1\"");
+        assertThat(versoes.etag(Colecao.DENTISTAS)).endsWith("-0\"");
+    }
+
+    @Test
+    void rollbackNaoMudaOEtag() {
+        String antes = versoes.etag(Colecao.DENTISTAS);
+
+        TransactionSynchronizationManager.initSynchronization();
+        versoes.alterada(Colecao.DENTISTAS);
+        concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(versoes.etag(Colecao.DENTISTAS)).isEqualTo(antes);
+        versoes.alterada(Colecao.DENTISTAS);
+        assertThat(versoes.etag(Colecao.DENTISTAS)).isNotEqualTo(antes);
+    }
+
+    @Test
+    void ifMatchUsaAVersaoDoProprioRegistro() {
+        assertThat(VersaoRecurso.aceitas(null)).isNull();
+        assertThat(VersaoRecurso.aceitas("*")).isNull();
+        assertThat(VersaoRecurso.aceitas("\"7\"")).containsExactly(7L);
+        assertThat(VersaoRecurso.aceitas("\"3-12-4\"")).containsExactly(3L);
+        // lista: qualquer ETag forte pode casar; fraco ou de outro formato é ignorado
+        assertThat(VersaoRecurso.aceitas("W/\"7\", \"5\",\"x\" , \"8-1-1\"")).containsExactlyInAnyOrder(5L, 8L);
+        VersaoRecurso.conferir(VersaoRecurso.aceitas("\"5\", \"7\""), 7L);
+        assertThatThrownBy(() -> VersaoRecurso.conferir(VersaoRecurso.aceitas("W/\"7\""), 7L))
+                .isInstanceOf(VersaoDivergenteException.class);
+        // sintaxe inválida é 400, não 412
+        assertThatThrownBy(() -> VersaoRecurso.aceitas("7")).isInstanceOf(CondicaoInvalidaException.class);
+        assertThatThrownBy(() -> VersaoRecurso.aceitas("\"7")).isInstanceOf(CondicaoInvalidaException.class);
+        assertThatThrownBy(() -> VersaoRecurso.aceitas("\"7\" \"8\"")).isInstanceOf(CondicaoInvalidaException.class);
+        VersaoRecurso.conferir(null, 7L);
+        assertThatThrownBy(() -> VersaoRecurso.conferir(Set.of(6L), 7L)).isInstanceOf(VersaoDivergenteException.class);
+    }
+
+    private static void concluir(int status) {
+        var sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizacoes.forEach(s -> s.afterCompletion(status));
+    }
+}